@@ -23,6 +23,7 @@ import com.stormpath.sdk.authc.AuthenticationRequest;
 import com.stormpath.sdk.authc.AuthenticationResult;
 import com.stormpath.sdk.authc.UsernamePasswordRequestBuilder;
 import com.stormpath.sdk.directory.AccountStore;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.directory.Directory;
 import com.stormpath.sdk.directory.DirectoryCriteria;
 import com.stormpath.sdk.group.CreateGroupRequest;
@@ -236,6 +237,27 @@ public interface Application extends AccountStoreHolder<Application>, Resource,
      */
     Account createAccount(CreateAccountRequest request) throws ResourceException;
 
+    /**
+     * Creates many new accounts in the application's default account store.  This is a bulk equivalent of calling
+     * {@link #createAccount(com.stormpath.sdk.account.Account)} for each account, except that account creation
+     * requests are sent to the server concurrently (bounded by the data store's batch concurrency) instead of one
+     * after another.
+     * <p/>
+     * A failure to create any one account does not prevent the remaining accounts from being created: the outcome of
+     * each account is reported individually by the returned {@link BatchResult}, in the iteration order of the
+     * {@code accounts} argument.
+     * <p/>
+     * Like {@link #createAccount(com.stormpath.sdk.account.Account)}, each account is created with the default account
+     * store's registration workflow setting and the default password format: the options of a
+     * {@link CreateAccountRequest} (registration workflow override, password format and response expansion) are not
+     * applied to bulk creation.  Use {@link #createAccount(CreateAccountRequest)} for accounts that need them.
+     *
+     * @param accounts the account instances to create in the application's default account store.
+     * @return the per-account outcome of the operation, in the iteration order of the {@code accounts} argument.
+     * @since 1.2.0
+     */
+    BatchResult<Account> createAccounts(Iterable<Account> accounts);
+
     /**
      * Returns all Groups accessible to the application. It will not only return any group associated directly as an
      * {@link AccountStore} but also every group that exists inside every directory associated as an account store.
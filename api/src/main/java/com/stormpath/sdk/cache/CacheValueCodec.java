@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+/**
+ * Converts cached values to and from bytes for storage in a remote or off-heap cache.
+ * <p/>
+ * The SDK caches resources as nested maps of JSON-compatible values (strings, numbers, booleans, lists and maps).
+ * Remote cache adapters that support a codec store the encoded bytes instead of relying on the cache product's
+ * default (usually Java) serialization.  A compact binary codec is available via
+ * {@link Caches#newBinaryValueCodec()}.
+ * <p/>
+ * Implementations must be thread-safe.
+ *
+ * @since 1.2.0
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Encodes the specified cache value.
+     *
+     * @param value the value to encode, may be {@code null}
+     * @return the encoded value, never {@code null}.
+     * @throws IllegalArgumentException if the value (or a value nested within it) cannot be encoded
+     */
+    byte[] encode(Object value) throws IllegalArgumentException;
+
+    /**
+     * Decodes a value previously returned by {@link #encode(Object)}.
+     *
+     * @param bytes the encoded value
+     * @return the decoded value, which may be {@code null} if a {@code null} value was encoded.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    Object decode(byte[] bytes) throws IllegalArgumentException;
+}
@@ -134,4 +134,20 @@ public class Caches {
         return (CacheConfigurationBuilder) Classes.newInstance("com.stormpath.sdk.impl.cache.DefaultCacheConfigurationBuilder", name);
     }
 
+    /**
+     * Returns a new {@link CacheValueCodec} that encodes cached resource data in a compact binary format.  Encoded
+     * values are typically a fraction of the size of their Java serialized form and are considerably faster to
+     * produce and read.  For example, to store Stormpath data in Hazelcast in this format:
+     *
+     * <pre>
+     * HazelcastCacheManager cacheManager = new HazelcastCacheManager(hazelcastInstance);
+     * cacheManager.setValueCodec(<b>Caches.newBinaryValueCodec()</b>);
+     * </pre>
+     *
+     * @return a new {@link CacheValueCodec} that encodes cached resource data in a compact binary format.
+     * @since 1.2.0
+     */
+    public static CacheValueCodec newBinaryValueCodec() {
+        return (CacheValueCodec) Classes.newInstance("com.stormpath.sdk.impl.cache.BinaryCacheValueCodec");
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link Cache} that also supports bulk and fire-and-forget operations.
+ * <p/>
+ * The {@link Cache#put(Object, Object) put} and {@link Cache#remove(Object) remove} methods must return the previous
+ * value, which can be expensive for remote cache backends: the previous value has to be serialized and transferred
+ * over the network even though the caller usually discards it.  Implementations of this interface allow the SDK to
+ * write and evict entries without that cost and to read or write many entries in a single round trip.
+ * <p/>
+ * The SDK checks for this interface at runtime, so existing {@code Cache} implementations continue to work unchanged.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ * @since 1.2.0
+ */
+public interface ExtendedCache<K, V> extends Cache<K, V> {
+
+    /**
+     * Returns the cached values stored under the specified {@code keys}.  Keys without a cache entry are not present
+     * in the returned map.
+     *
+     * @param keys the keys to look up
+     * @return the cached values keyed by their key, never {@code null}.
+     */
+    Map<K, V> getAll(Collection<K> keys);
+
+    /**
+     * Adds all of the specified entries to the cache.
+     *
+     * @param entries the entries to add
+     */
+    void putAll(Map<? extends K, ? extends V> entries);
+
+    /**
+     * Adds a cache entry without returning the previous value.
+     *
+     * @param key   the key used to identify the object being stored.
+     * @param value the value to be stored in the cache.
+     */
+    void set(K key, V value);
+
+    /**
+     * Removes the cached value stored under the specified {@code key} without returning it.
+     *
+     * @param key the key used to identify the object being removed.
+     */
+    void evict(K key);
+
+    /**
+     * Adds a cache entry asynchronously without returning the previous value.  Implementations that cannot write
+     * asynchronously perform the write before returning an already completed future.
+     *
+     * @param key   the key used to identify the object being stored.
+     * @param value the value to be stored in the cache.
+     * @return a future that completes when the entry has been written.
+     */
+    Future<?> setAsync(K key, V value);
+
+    /**
+     * Removes the cached value stored under the specified {@code key} asynchronously.  Implementations that cannot
+     * evict asynchronously perform the eviction before returning an already completed future.
+     *
+     * @param key the key used to identify the object being removed.
+     * @return a future that completes when the entry has been removed.
+     */
+    Future<?> evictAsync(K key);
+}
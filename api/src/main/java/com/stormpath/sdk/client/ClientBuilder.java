@@ -17,6 +17,10 @@ package com.stormpath.sdk.client;
 
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.http.CircuitBreaker;
+import com.stormpath.sdk.metrics.MetricsRecorder;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * A <a href="http://en.wikipedia.org/wiki/Builder_pattern">Builder design pattern</a> used to
@@ -222,6 +226,12 @@ public interface ClientBuilder {
     String DEFAULT_CLIENT_PROXY_HOST_PROPERTY_NAME = "stormpath.client.proxy.host";
     String DEFAULT_CLIENT_PROXY_USERNAME_PROPERTY_NAME = "stormpath.client.proxy.username";
     String DEFAULT_CLIENT_PROXY_PASSWORD_PROPERTY_NAME = "stormpath.client.proxy.password";
+    /** @since 1.2.0 */
+    String DEFAULT_CLIENT_CONNECTION_POOL_MAX_TOTAL_PROPERTY_NAME = "stormpath.client.connectionPool.maxTotal";
+    /** @since 1.2.0 */
+    String DEFAULT_CLIENT_CONNECTION_POOL_MAX_PER_ROUTE_PROPERTY_NAME = "stormpath.client.connectionPool.maxPerRoute";
+    /** @since 1.2.0 */
+    String DEFAULT_CLIENT_CONNECTION_POOL_MAX_IDLE_TIME_PROPERTY_NAME = "stormpath.client.connectionPool.maxIdleTime";
 
     /**
      * Allows specifying an {@code ApiKey} instance directly instead of relying on the
@@ -337,6 +347,115 @@ public interface ClientBuilder {
      */
     ClientBuilder setConnectionTimeout(int timeout);
 
+    /**
+     * Sets the maximum number of HTTP connections the client may keep open to the Stormpath API server at any one
+     * time, across all hosts.  Requests that need a connection while the pool is exhausted wait for one to be
+     * released (up to the {@link #setConnectionTimeout(int) connection timeout}).
+     *
+     * <p>If unspecified, the {@code connPoolControl.maxTotal} system property of the HTTP client implementation is
+     * used if set, otherwise the default of {@code 200} connections.</p>
+     *
+     * @param maxConnections the maximum number of pooled connections, must be greater than zero
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setConnectionPoolMaxTotal(int maxConnections);
+
+    /**
+     * Sets the maximum number of HTTP connections the client may keep open to a single host (route) at any one time.
+     * This value should not exceed the {@link #setConnectionPoolMaxTotal(int) total maximum}.
+     *
+     * <p>If unspecified, the {@code connPoolControl.maxPerRoute} system property of the HTTP client implementation is
+     * used if set, otherwise the default of {@code 100} connections.</p>
+     *
+     * @param maxConnections the maximum number of pooled connections per host, must be greater than zero
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setConnectionPoolMaxPerRoute(int maxConnections);
+
+    /**
+     * Sets the number of seconds a pooled HTTP connection may remain idle before it is closed and evicted from the
+     * pool.  Shorter values free server and proxy resources sooner; longer values avoid re-establishing TCP and TLS
+     * sessions for clients that make requests infrequently.
+     *
+     * <p>If unspecified, idle connections are evicted after {@code 60} seconds.</p>
+     *
+     * @param seconds the maximum idle time in seconds, must be greater than zero
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setConnectionPoolMaxIdleTime(int seconds);
+
+    /**
+     * Sets the {@link MetricsRecorder} that receives performance measurements from the client: per-operation data
+     * store timings, cache hits and misses per region, HTTP latency, retries, throttled (HTTP 429) responses, bytes
+     * sent and received, and JSON marshalling time.
+     *
+     * <p>If unspecified, no measurements are taken at all.</p>
+     *
+     * @param metricsRecorder the recorder to receive performance measurements, or {@code null} to disable metrics
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setMetricsRecorder(MetricsRecorder metricsRecorder);
+
+    /**
+     * Guards requests to the Stormpath API server with the specified {@link CircuitBreaker}, so that requests fail
+     * fast while the server appears to be unavailable instead of waiting for retries.  The SDK's default
+     * implementation is {@code com.stormpath.sdk.impl.http.support.DefaultCircuitBreaker}.
+     *
+     * <p>If unspecified, every request is sent to the server.</p>
+     *
+     * @param circuitBreaker the circuit breaker guarding requests to the API server, or {@code null} to disable it
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setCircuitBreaker(CircuitBreaker circuitBreaker);
+
+    /**
+     * Sets how long expired cache entries may still be returned when resources are read while the
+     * {@link #setCircuitBreaker(CircuitBreaker) circuit breaker} is open.  Only applies to the SDK's default cache
+     * manager, and requires a circuit breaker: {@link #build()} fails if none is configured.
+     *
+     * <p>If unspecified, expired cache entries are never returned.</p>
+     *
+     * @param maxStaleness how long expired cache entries may still be served while the circuit is open
+     * @param unit         the unit of the {@code maxStaleness} value
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setMaxStaleness(long maxStaleness, TimeUnit unit);
+
+    /**
+     * Enables revalidation of expired cache entries: a resource whose cache entry expired no longer than
+     * {@code revalidationWindow} ago is requested with an {@code If-Modified-Since} header, and a
+     * {@code 304 Not Modified} response renews the cached entry instead of transferring and parsing the resource
+     * again.  Only applies to the SDK's default cache manager.
+     *
+     * <p>If unspecified, expired cache entries are always fetched again in full.</p>
+     *
+     * @param revalidationWindow how long expired cache entries are retained for revalidation
+     * @param unit               the unit of the {@code revalidationWindow} value
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setRevalidationWindow(long revalidationWindow, TimeUnit unit);
+
+    /**
+     * Enables negative caching: a resource that the Stormpath API server reported as not found is remembered for the
+     * specified (short) time, so that repeated lookups of the same missing resource fail right away instead of each
+     * sending a request.  A remembered resource is forgotten as soon as it is created through this client.
+     *
+     * <p>If unspecified, every lookup of a missing resource is sent to the server.</p>
+     *
+     * @param timeToLive how long a resource that was not found is remembered
+     * @param unit       the unit of the {@code timeToLive} value
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.2.0
+     */
+    ClientBuilder setNegativeCacheTimeToLive(long timeToLive, TimeUnit unit);
+
     /**
      * Sets the base URL of the Stormpath REST API to use.  If unspecified, this value defaults to
      * {@code https://api.stormpath.com/v1} - the most common use case for Stormpath's public SaaS cloud.
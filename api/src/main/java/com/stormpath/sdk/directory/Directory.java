@@ -19,6 +19,7 @@ import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.account.AccountCriteria;
 import com.stormpath.sdk.account.AccountList;
 import com.stormpath.sdk.account.CreateAccountRequest;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.group.CreateGroupRequest;
 import com.stormpath.sdk.group.Group;
 import com.stormpath.sdk.group.GroupCriteria;
@@ -175,6 +176,22 @@ public interface Directory extends Resource, Saveable, Deletable, AccountStore,
      */
     Account createAccount(CreateAccountRequest request);
 
+    /**
+     * Creates many new account instances in the directory using the Directory's default registration workflow
+     * setting.  This is a bulk equivalent of calling {@link #createAccount(com.stormpath.sdk.account.Account)} for
+     * each account, except that account creation requests are sent to the server concurrently (bounded by the
+     * data store's batch concurrency) instead of one after another.
+     * <p/>
+     * A failure to create any one account does not prevent the remaining accounts from being created: the outcome of
+     * each account is reported individually by the returned {@link BatchResult}, in the iteration order of the
+     * {@code accounts} argument.
+     *
+     * @param accounts the account instances to create in the directory.
+     * @return the per-account outcome of the operation, in the iteration order of the {@code accounts} argument.
+     * @since 1.2.0
+     */
+    BatchResult<Account> createAccounts(Iterable<Account> accounts);
+
     /**
      * Returns a paginated list of all accounts in the Directory.
      * <p/>
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.ds;
+
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk data store operation that was applied to many resources at once, for example
+ * {@link com.stormpath.sdk.directory.Directory#createAccounts(Iterable) directory.createAccounts(accounts)}.
+ * <p/>
+ * Each item in the batch either succeeds or fails on its own: one failed item never aborts the others.  Items are
+ * reported by their zero-based index in the order they were submitted, so callers can correlate a failure with the
+ * input that caused it:
+ * <pre>
+ * BatchResult&lt;Account&gt; result = directory.createAccounts(accounts);
+ * for (int i = 0; i &lt; result.size(); i++) {
+ *     if (!result.isSuccess(i)) {
+ *         log.warn("Unable to import account " + accounts.get(i).getEmail(), result.getException(i));
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the type of resource processed in the batch
+ * @since 1.2.0
+ */
+public interface BatchResult<T extends Resource> {
+
+    /**
+     * Returns the total number of items that were processed in the batch, successful or not.
+     *
+     * @return the total number of items that were processed in the batch, successful or not.
+     */
+    int size();
+
+    /**
+     * Returns {@code true} if the item at the specified index was processed successfully, {@code false} otherwise.
+     *
+     * @param index the zero-based index of the item in submission order
+     * @return {@code true} if the item at the specified index was processed successfully, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    boolean isSuccess(int index);
+
+    /**
+     * Returns the resource resulting from the item at the specified index, or {@code null} if that item failed.
+     *
+     * @param index the zero-based index of the item in submission order
+     * @return the resource resulting from the item at the specified index, or {@code null} if that item failed.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    T getResource(int index);
+
+    /**
+     * Returns the exception that caused the item at the specified index to fail, or {@code null} if that item
+     * succeeded.  This is usually a {@link com.stormpath.sdk.resource.ResourceException ResourceException} reflecting
+     * the error returned by the Stormpath API server for that item.
+     *
+     * @param index the zero-based index of the item in submission order
+     * @return the exception that caused the item at the specified index to fail, or {@code null} if that item
+     * succeeded.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    RuntimeException getException(int index);
+
+    /**
+     * Returns all resources of the batch in submission order.  A failed item is represented by a {@code null}
+     * element so that list indices always match the submitted item indices.
+     *
+     * @return all resources of the batch in submission order, with {@code null} elements for failed items.
+     */
+    List<T> getResources();
+
+    /**
+     * Returns the number of items that were processed successfully.
+     *
+     * @return the number of items that were processed successfully.
+     */
+    int getSuccessCount();
+
+    /**
+     * Returns the number of items that failed.
+     *
+     * @return the number of items that failed.
+     */
+    int getFailureCount();
+
+    /**
+     * Returns {@code true} if at least one item in the batch failed, {@code false} if all items succeeded.
+     *
+     * @return {@code true} if at least one item in the batch failed, {@code false} if all items succeeded.
+     */
+    boolean hasFailures();
+}
@@ -20,6 +20,8 @@ import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.query.Options;
 import com.stormpath.sdk.resource.Resource;
 
+import java.util.Collection;
+
 /**
  * A {@code DataStore} is the liaison between client SDK components and the raw Stormpath REST API.  It is responsible
  * for converting SDK objects (Account, Directory, Group instances, etc) into REST HTTP requests, executing those
@@ -67,6 +69,42 @@ public interface DataStore {
      */
     <T extends Resource, O extends Options> T getResource(String href, Class<T> clazz, O options);
 
+    /**
+     * Looks up (retrieves) all of the resources at the specified {@code hrefs} and returns them as instances of the
+     * specified {@code clazz}, in the iteration order of the {@code hrefs} argument.
+     * <p/>
+     * This is more efficient than calling {@link #getResource(String, Class)} for each href: all hrefs that can be
+     * answered from the {@link #getCacheManager() cache} are resolved first in a single pass, and only the remaining
+     * cache misses are retrieved from the server, concurrently.  The number of concurrent requests is bounded by the
+     * data store's default batch concurrency; use {@link #getResources(Collection, Class, int)} to specify a different
+     * limit.
+     * <p/>
+     * A failure to retrieve any one resource (for example, because it does not exist anymore) does not prevent the
+     * remaining resources from being retrieved: the outcome of each href is reported individually by the returned
+     * {@link BatchResult}.
+     *
+     * @param hrefs the resource URLs of the resources to retrieve
+     * @param clazz the {@link Resource} sub-interface to instantiate
+     * @param <T>   type parameter indicating the returned values are {@link Resource} instances.
+     * @return the per-href outcome of the lookup, in the iteration order of the {@code hrefs} argument.
+     * @since 1.2.0
+     */
+    <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz);
+
+    /**
+     * Looks up (retrieves) all of the resources at the specified {@code hrefs} exactly like
+     * {@link #getResources(Collection, Class)}, but issues at most {@code maxConcurrency} concurrent requests to the
+     * server for hrefs that could not be found in the cache.
+     *
+     * @param hrefs          the resource URLs of the resources to retrieve
+     * @param clazz          the {@link Resource} sub-interface to instantiate
+     * @param maxConcurrency the maximum number of concurrent server requests, must be greater than zero
+     * @param <T>            type parameter indicating the returned values are {@link Resource} instances.
+     * @return the per-href outcome of the lookup, in the iteration order of the {@code hrefs} argument.
+     * @since 1.2.0
+     */
+    <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz, int maxConcurrency);
+
     /**
      * Returns the ApiKey used to authenticate HTTPS requests sent to the Stormpath API server.
      *
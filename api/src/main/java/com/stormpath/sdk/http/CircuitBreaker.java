@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.http;
+
+/**
+ * A circuit breaker stops requests from being sent to the Stormpath API server while it appears to be unavailable,
+ * so that callers fail (or fall back to cached data) right away instead of waiting for retries and back-off delays
+ * that are unlikely to succeed.
+ * <p/>
+ * A circuit breaker is configured via {@link com.stormpath.sdk.client.ClientBuilder#setCircuitBreaker(CircuitBreaker)
+ * ClientBuilder.setCircuitBreaker}.  The SDK's default implementation is
+ * {@code com.stormpath.sdk.impl.http.support.DefaultCircuitBreaker}.
+ * <p/>
+ * Every call to {@link #tryAcquire()} that returns {@code true} is followed by exactly one call to
+ * {@link #onSuccess(long)} or {@link #onFailure(long)}.  Implementations are invoked concurrently from many threads,
+ * so they <em>must</em> be thread-safe.
+ *
+ * @since 1.2.0
+ */
+public interface CircuitBreaker {
+
+    /**
+     * Returns {@code true} if a request may be sent, {@code false} if it must be rejected because the circuit is open.
+     *
+     * @return {@code true} if a request may be sent, {@code false} otherwise.
+     */
+    boolean tryAcquire();
+
+    /**
+     * Records a request that completed normally after the specified duration.
+     *
+     * @param durationNanos the duration of the request in nanoseconds
+     */
+    void onSuccess(long durationNanos);
+
+    /**
+     * Records a request that failed after the specified duration because the server could not be reached or returned a
+     * server error.
+     *
+     * @param durationNanos the duration of the request in nanoseconds
+     */
+    void onFailure(long durationNanos);
+}
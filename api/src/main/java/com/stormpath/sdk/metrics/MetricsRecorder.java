@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.metrics;
+
+import com.stormpath.sdk.http.HttpMethod;
+
+/**
+ * A Service Provider Interface that receives performance measurements from a {@link com.stormpath.sdk.client.Client
+ * Client}, allowing SDK latency to be attributed to its components (filter chain, cache, HTTP, JSON marshalling) and
+ * forwarded to a metrics system such as Micrometer, Dropwizard Metrics or JMX.
+ * <p/>
+ * A recorder is configured via {@link com.stormpath.sdk.client.ClientBuilder#setMetricsRecorder(MetricsRecorder)
+ * ClientBuilder.setMetricsRecorder}.  When no recorder is configured, the SDK does not take any measurements at all,
+ * so there is no overhead.
+ * <p/>
+ * Implementations are invoked synchronously on the threads that execute SDK requests, and concurrently from many
+ * threads, so they <em>must</em> be thread-safe, should be cheap (for example, updating counters or histograms), and
+ * should never throw exceptions.
+ * <p/>
+ * For example, a Micrometer adapter could be as simple as:
+ * <pre>
+ * public void recordHttpRequest(HttpMethod method, int statusCode, long durationNanos, int retryCount,
+ *                               int throttledCount, long bytesSent, long bytesReceived) {
+ *     registry.timer("stormpath.http.requests", "method", method.name(), "status", String.valueOf(statusCode))
+ *             .record(durationNanos, TimeUnit.NANOSECONDS);
+ *     registry.counter("stormpath.http.retries").increment(retryCount);
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 1.2.0
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Records a single {@link com.stormpath.sdk.ds.DataStore DataStore} operation, measured across the entire
+     * filter chain: cache lookups, HTTP communication (including retries) and response processing.
+     *
+     * @param action        the type of operation: {@code READ}, {@code CREATE}, {@code UPDATE} or {@code DELETE}
+     * @param resourceType  the requested resource type, for example {@code com.stormpath.sdk.account.Account}
+     * @param durationNanos the duration of the operation in nanoseconds
+     * @param success       {@code true} if the operation completed normally, {@code false} if it threw an exception
+     */
+    void recordDataStoreOperation(String action, Class<?> resourceType, long durationNanos, boolean success);
+
+    /**
+     * Records a resource lookup in the SDK cache.
+     *
+     * @param region the name of the cache region that was consulted
+     * @param hit    {@code true} if the resource was found in the cache, {@code false} otherwise
+     */
+    void recordCacheAccess(String region, boolean hit);
+
+    /**
+     * Records a single logical HTTP request to the Stormpath API, including any retries.
+     *
+     * @param method         the HTTP method
+     * @param statusCode     the final HTTP status code, or {@code -1} if no response could be obtained
+     * @param durationNanos  the duration of the request including all retries and back-off delays, in nanoseconds
+     * @param retryCount     the number of times the request was retried
+     * @param throttledCount the number of HTTP 429 (Too Many Requests) responses received for the request
+     * @param bytesSent      the size of the request body in bytes, or {@code -1} if unknown
+     * @param bytesReceived  the number of response body bytes received for the request (including the responses of
+     *                       retried attempts, and before any decompression), or {@code -1} if no response was received.
+     *                       A large response body is streamed to the caller, in which case the request is recorded
+     *                       once its body has been read to the end or closed.
+     */
+    void recordHttpRequest(HttpMethod method, int statusCode, long durationNanos, int retryCount, int throttledCount,
+                           long bytesSent, long bytesReceived);
+
+    /**
+     * Records the conversion of resource data to a JSON request body.
+     *
+     * @param durationNanos the duration of the conversion in nanoseconds
+     * @param bytes         the size of the resulting JSON in bytes
+     */
+    void recordSerialization(long durationNanos, long bytes);
+
+    /**
+     * Records the parsing of a JSON response body.  Response bodies are parsed as they are streamed from the
+     * network, so this duration includes the time spent reading the body from the connection.
+     *
+     * @param durationNanos the duration of the parsing in nanoseconds
+     */
+    void recordDeserialization(long durationNanos);
+}
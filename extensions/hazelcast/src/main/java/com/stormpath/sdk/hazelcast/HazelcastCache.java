@@ -15,22 +15,42 @@
  */
 package com.stormpath.sdk.hazelcast;
 
-import com.stormpath.sdk.cache.Cache;
+import com.hazelcast.core.IMap;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.cache.ExtendedCache;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * A simple {@code Cache} implementation that merely wraps a {@link ConcurrentMap} obtained from a
  * {@link com.hazelcast.core.HazelcastInstance HazelcastInstance}.  The backing Hazelcast-based map is used for all
  * caching operations.
+ * <p/>
+ * As of 1.2.0, when the backing map is a Hazelcast {@link IMap}, the {@link ExtendedCache} operations use the native
+ * Hazelcast equivalents: {@code getAll}/{@code putAll} need a single round trip per partition owner, and
+ * {@code set}/{@code delete} do not ship the previous value back over the network.
+ * <p/>
+ * Also as of 1.2.0, values may be stored in the map encoded by a {@link CacheValueCodec} instead of being serialized
+ * by Hazelcast.
  *
  * @param <K> cache key type
  * @param <V> cache value type
  */
-public class HazelcastCache<K, V> implements Cache<K, V> {
+public class HazelcastCache<K, V> implements ExtendedCache<K, V> {
 
-    private final ConcurrentMap<K, V> HAZELCAST_MAP;
+    private final ConcurrentMap<K, Object> HAZELCAST_MAP;
+
+    private final IMap<K, Object> IMAP; //null if the backing map is not a Hazelcast IMap
+
+    private final CacheValueCodec CODEC; //null if values are stored as-is
 
     /**
      * Creates a new instance, delegating all caching operations to the specified {@code hazelcastMap}.
@@ -38,22 +58,153 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
      * @param hazelcastMap the backing map instance that will be used to satisfy caching operations.
      */
     public HazelcastCache(ConcurrentMap<K, V> hazelcastMap) {
+        this(hazelcastMap, null);
+    }
+
+    /**
+     * Creates a new instance, delegating all caching operations to the specified {@code hazelcastMap} and storing
+     * values encoded by the specified {@code codec}.
+     *
+     * @param hazelcastMap the backing map instance that will be used to satisfy caching operations.
+     * @param codec        the codec used to encode values before they are stored, or {@code null} to store values
+     *                     as-is.
+     * @since 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public HazelcastCache(ConcurrentMap<K, ?> hazelcastMap, CacheValueCodec codec) {
         Assert.notNull(hazelcastMap, "hazelcastMap argument cannot be null.");
-        this.HAZELCAST_MAP = hazelcastMap;
+        this.HAZELCAST_MAP = (ConcurrentMap<K, Object>) hazelcastMap;
+        this.IMAP = hazelcastMap instanceof IMap ? (IMap<K, Object>) hazelcastMap : null;
+        this.CODEC = codec;
+    }
+
+    private Object toStored(V value) {
+        return CODEC != null ? CODEC.encode(value) : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V fromStored(Object stored) {
+        if (stored == null) {
+            return null;
+        }
+        return (V) (CODEC != null ? CODEC.decode((byte[]) stored) : stored);
     }
 
     @Override
     public V get(K key) {
-        return HAZELCAST_MAP.get(key);
+        return fromStored(HAZELCAST_MAP.get(key));
     }
 
     @Override
     public V put(K key, V value) {
-        return HAZELCAST_MAP.put(key, value);
+        return fromStored(HAZELCAST_MAP.put(key, toStored(value)));
     }
 
     @Override
     public V remove(K key) {
-        return HAZELCAST_MAP.remove(key);
+        return fromStored(HAZELCAST_MAP.remove(key));
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Assert.notNull(keys, "keys cannot be null.");
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        if (IMAP != null) {
+            for (Map.Entry<K, Object> entry : IMAP.getAll(new LinkedHashSet<K>(keys)).entrySet()) {
+                values.put(entry.getKey(), fromStored(entry.getValue()));
+            }
+            return values;
+        }
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        Assert.notNull(entries, "entries cannot be null.");
+        if (CODEC == null) {
+            HAZELCAST_MAP.putAll(entries);
+            return;
+        }
+        Map<K, Object> encoded = new LinkedHashMap<K, Object>(entries.size());
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            encoded.put(entry.getKey(), toStored(entry.getValue()));
+        }
+        HAZELCAST_MAP.putAll(encoded);
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void set(K key, V value) {
+        if (IMAP != null) {
+            IMAP.set(key, toStored(value));
+        } else {
+            HAZELCAST_MAP.put(key, toStored(value));
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void evict(K key) {
+        if (IMAP != null) {
+            IMAP.delete(key);
+        } else {
+            HAZELCAST_MAP.remove(key);
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> setAsync(final K key, final V value) {
+        if (IMAP != null) {
+            return IMAP.putAsync(key, toStored(value));
+        }
+        return completed(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                set(key, value);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> evictAsync(final K key) {
+        if (IMAP != null) {
+            return IMAP.removeAsync(key);
+        }
+        return completed(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                evict(key);
+                return null;
+            }
+        });
+    }
+
+    private static Future<?> completed(Callable<Object> operation) {
+        FutureTask<Object> task = new FutureTask<Object>(operation);
+        task.run();
+        return task;
     }
 }
@@ -16,10 +16,13 @@
 package com.stormpath.sdk.hazelcast;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -79,12 +82,41 @@ import java.util.concurrent.ConcurrentMap;
  * Client stormpathClient = {@link com.stormpath.sdk.client.Clients Clients}.builder()<b>.setCacheManager(cacheManager)</b>.build();
  * </pre>
  *
+ * <h3>Near Caching</h3>
+ *
+ * <p>Every cache read ordinarily requires a lookup in the Hazelcast cluster, usually over the network, and the
+ * deserialization of the cached resource.  For read-heavy applications you may enable a local near-cache per region:</p>
+ *
+ * <pre>
+ * HazelcastCacheManager cacheManager = new HazelcastCacheManager(hazelcast);
+ * <b>cacheManager.setNearCacheEnabled(true);</b>
+ * </pre>
+ *
+ * <p>Each region is then served by a {@link HazelcastNearCache} that keeps up to
+ * {@link #setNearCacheMaxSize(int) nearCacheMaxSize} recently used entries in local memory and discards them whenever
+ * the entry changes anywhere in the cluster.</p>
+ *
+ * <h3>Value Encoding</h3>
+ *
+ * <p>By default Hazelcast stores cached resources using Java serialization.  A more compact and faster format may be
+ * used instead by specifying a {@link #setValueCodec(CacheValueCodec) valueCodec}, for example
+ * {@link com.stormpath.sdk.cache.Caches#newBinaryValueCodec() Caches.newBinaryValueCodec()}.  All cluster members
+ * sharing the same maps must use the same codec.</p>
+ *
  * @since 1.0.RC3
  */
 public class HazelcastCacheManager implements CacheManager {
 
     private HazelcastInstance hazelcastInstance;
 
+    private boolean nearCacheEnabled = false;
+    private int nearCacheMaxSize = HazelcastNearCache.DEFAULT_MAX_SIZE;
+    private long nearCacheTimeToLiveMillis = HazelcastNearCache.DEFAULT_TIME_TO_LIVE_MILLIS;
+    private CacheValueCodec valueCodec;
+
+    //near caches register a cluster listener, so only one instance is created per region:
+    private final ConcurrentMap<String, HazelcastNearCache> nearCaches = new ConcurrentHashMap<String, HazelcastNearCache>();
+
     /**
      * Creates a new {@code HazelcastCacheManager} that, after creation, must be configured with a
      * {@link HazelcastInstance} via the
@@ -119,10 +151,116 @@ public class HazelcastCacheManager implements CacheManager {
         this.hazelcastInstance = hazelcastInstance;
     }
 
+    /**
+     * Returns {@code true} if regions are served by a {@link HazelcastNearCache}, {@code false} (the default) if
+     * every read is delegated to the cluster.
+     *
+     * @return {@code true} if regions are served by a {@link HazelcastNearCache}, {@code false} otherwise.
+     * @since 1.2.0
+     */
+    public boolean isNearCacheEnabled() {
+        return nearCacheEnabled;
+    }
+
+    /**
+     * Sets whether regions are served by a {@link HazelcastNearCache} that keeps recently read entries in local
+     * memory.  Defaults to {@code false}.
+     *
+     * @param nearCacheEnabled whether regions are served by a {@link HazelcastNearCache}.
+     * @since 1.2.0
+     */
+    public void setNearCacheEnabled(boolean nearCacheEnabled) {
+        this.nearCacheEnabled = nearCacheEnabled;
+    }
+
+    /**
+     * Returns the maximum number of entries each region keeps in local memory when near caching is enabled.
+     *
+     * @return the maximum number of entries each region keeps in local memory when near caching is enabled.
+     * @since 1.2.0
+     */
+    public int getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of entries each region keeps in local memory when near caching is enabled.  Defaults
+     * to {@link HazelcastNearCache#DEFAULT_MAX_SIZE}.
+     *
+     * @param nearCacheMaxSize the maximum number of entries each region keeps in local memory.
+     * @since 1.2.0
+     */
+    public void setNearCacheMaxSize(int nearCacheMaxSize) {
+        Assert.isTrue(nearCacheMaxSize > 0, "nearCacheMaxSize must be greater than zero.");
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds a locally held entry is used before it is read from the cluster again.
+     *
+     * @return the maximum time in milliseconds a locally held entry is used before it is read from the cluster again.
+     * @since 1.2.0
+     */
+    public long getNearCacheTimeToLiveMillis() {
+        return nearCacheTimeToLiveMillis;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds a locally held entry is used before it is read from the cluster again.
+     * This bounds staleness should a cluster invalidation event be delayed.  Defaults to
+     * {@link HazelcastNearCache#DEFAULT_TIME_TO_LIVE_MILLIS}.
+     *
+     * @param nearCacheTimeToLiveMillis the maximum time in milliseconds a locally held entry is used.
+     * @since 1.2.0
+     */
+    public void setNearCacheTimeToLiveMillis(long nearCacheTimeToLiveMillis) {
+        Assert.isTrue(nearCacheTimeToLiveMillis > 0, "nearCacheTimeToLiveMillis must be greater than zero.");
+        this.nearCacheTimeToLiveMillis = nearCacheTimeToLiveMillis;
+    }
+
+    /**
+     * Returns the codec used to encode values before they are stored in Hazelcast, or {@code null} (the default) if
+     * values are stored as-is and serialized by Hazelcast.
+     *
+     * @return the codec used to encode values before they are stored in Hazelcast, or {@code null}.
+     * @since 1.2.0
+     */
+    public CacheValueCodec getValueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * Sets the codec used to encode values before they are stored in Hazelcast.  {@code null} (the default) stores
+     * values as-is so they are serialized by Hazelcast.
+     *
+     * @param valueCodec the codec used to encode values before they are stored in Hazelcast, or {@code null}.
+     * @since 1.2.0
+     */
+    public void setValueCodec(CacheValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getCache(String name) {
         Assert.hasText(name, "name argument cannot be null or empty.");
-        ConcurrentMap<K, V> hazelcastMap = hazelcastInstance.getMap(name);
-        return new HazelcastCache<K, V>(hazelcastMap);
+
+        if (nearCacheEnabled) {
+            HazelcastNearCache<K, V> cache = nearCaches.get(name);
+            if (cache == null) {
+                IMap<K, Object> hazelcastMap = hazelcastInstance.getMap(name);
+                cache = new HazelcastNearCache<K, V>(hazelcastMap, valueCodec, nearCacheMaxSize,
+                                                     nearCacheTimeToLiveMillis);
+                HazelcastNearCache<K, V> existing = nearCaches.putIfAbsent(name, cache);
+                if (existing != null) {
+                    cache.close();
+                    cache = existing;
+                }
+            }
+            return cache;
+        }
+
+        ConcurrentMap<K, Object> hazelcastMap = hazelcastInstance.getMap(name);
+        return new HazelcastCache<K, V>(hazelcastMap, valueCodec);
     }
 }
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.cache.ExtendedCache;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A two-level {@code Cache}: a bounded, local near-cache in front of a distributed Hazelcast {@link IMap}.
+ * <p/>
+ * Reads are served from local memory when possible, avoiding a network round trip and the deserialization of the
+ * cached resource.  Local entries are kept coherent with the cluster by a Hazelcast entry listener: whenever an entry
+ * is updated, removed or evicted anywhere in the cluster, the corresponding local entry is discarded.  Because
+ * Hazelcast delivers events asynchronously, local entries also expire after a short time-to-live to bound staleness
+ * should an event be delayed or lost.
+ * <p/>
+ * Local hits and misses are counted separately from the Hazelcast map's own statistics and are available via
+ * {@link #getLocalHitCount()}, {@link #getLocalMissCount()} and {@link #getLocalHitRatio()}.
+ * <p/>
+ * Instances are usually created by a {@link HazelcastCacheManager} with
+ * {@link HazelcastCacheManager#setNearCacheEnabled(boolean) near caching enabled}.  Call {@link #close()} when an
+ * instance is no longer used to deregister its entry listener.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ * @since 1.2.0
+ */
+public class HazelcastNearCache<K, V> implements ExtendedCache<K, V> {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 60 * 1000;
+
+    private final IMap<K, ?> map;
+    private final HazelcastCache<K, V> remote;
+    private final Map<K, LocalEntry<V>> local; //synchronized, the map itself is the mutex
+    private final long timeToLiveMillis;
+    private final String listenerId;
+
+    //incremented on every invalidation so a concurrent remote read never re-populates a just-invalidated entry:
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Creates a new near-cache in front of the specified map with the default maximum size and time-to-live.
+     *
+     * @param map the distributed Hazelcast map
+     */
+    public HazelcastNearCache(IMap<K, V> map) {
+        this(map, DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * Creates a new near-cache in front of the specified map.
+     *
+     * @param map              the distributed Hazelcast map
+     * @param maxSize          the maximum number of entries held locally; least recently used entries are discarded
+     *                         first
+     * @param timeToLiveMillis the maximum time a local entry is used before it is read from the cluster again
+     */
+    public HazelcastNearCache(IMap<K, V> map, int maxSize, long timeToLiveMillis) {
+        this(map, null, maxSize, timeToLiveMillis);
+    }
+
+    /**
+     * Creates a new near-cache in front of the specified map, which stores values encoded by the specified codec.
+     * Local entries are held decoded, so a local hit never pays for decoding.
+     *
+     * @param map              the distributed Hazelcast map
+     * @param codec            the codec used to encode values stored in the map, or {@code null} to store values
+     *                         as-is
+     * @param maxSize          the maximum number of entries held locally; least recently used entries are discarded
+     *                         first
+     * @param timeToLiveMillis the maximum time a local entry is used before it is read from the cluster again
+     */
+    public HazelcastNearCache(IMap<K, ?> map, CacheValueCodec codec, final int maxSize, long timeToLiveMillis) {
+        Assert.notNull(map, "map argument cannot be null.");
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than zero.");
+        Assert.isTrue(timeToLiveMillis > 0, "timeToLiveMillis must be greater than zero.");
+        this.map = map;
+        this.remote = new HazelcastCache<K, V>(map, codec);
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.local = Collections.synchronizedMap(new LinkedHashMap<K, LocalEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, LocalEntry<V>> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.listenerId = map.addEntryListener(new InvalidationListener(), false);
+    }
+
+    @Override
+    public V get(K key) {
+        V value = getLocal(key);
+        if (value != null) {
+            return value;
+        }
+        long sequence = invalidationSequence.get();
+        value = remote.get(key);
+        if (value != null) {
+            putLocal(key, value, sequence);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        invalidate(key);
+        return remote.put(key, value);
+    }
+
+    @Override
+    public V remove(K key) {
+        invalidate(key);
+        return remote.remove(key);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Assert.notNull(keys, "keys cannot be null.");
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        List<K> missing = new ArrayList<K>();
+        for (K key : keys) {
+            V value = getLocal(key);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long sequence = invalidationSequence.get();
+            Map<K, V> found = remote.getAll(missing);
+            for (Map.Entry<K, V> entry : found.entrySet()) {
+                putLocal(entry.getKey(), entry.getValue(), sequence);
+            }
+            values.putAll(found);
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        Assert.notNull(entries, "entries cannot be null.");
+        for (K key : entries.keySet()) {
+            invalidate(key);
+        }
+        remote.putAll(entries);
+    }
+
+    @Override
+    public void set(K key, V value) {
+        invalidate(key);
+        remote.set(key, value);
+    }
+
+    @Override
+    public void evict(K key) {
+        invalidate(key);
+        remote.evict(key);
+    }
+
+    @Override
+    public Future<?> setAsync(K key, V value) {
+        invalidate(key);
+        return remote.setAsync(key, value);
+    }
+
+    @Override
+    public Future<?> evictAsync(K key) {
+        invalidate(key);
+        return remote.evictAsync(key);
+    }
+
+    private V getLocal(K key) {
+        LocalEntry<V> entry = local.get(key);
+        if (entry != null) {
+            if (entry.expirationTimeMillis > System.currentTimeMillis()) {
+                hitCount.incrementAndGet();
+                return entry.value;
+            }
+            local.remove(key);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    private void putLocal(K key, V value, long sequence) {
+        LocalEntry<V> entry = new LocalEntry<V>(value, System.currentTimeMillis() + timeToLiveMillis);
+        synchronized (local) {
+            if (invalidationSequence.get() == sequence) {
+                local.put(key, entry);
+            }
+        }
+    }
+
+    private void invalidate(Object key) {
+        synchronized (local) {
+            invalidationSequence.incrementAndGet();
+            local.remove(key);
+        }
+    }
+
+    private void invalidateAll() {
+        synchronized (local) {
+            invalidationSequence.incrementAndGet();
+            local.clear();
+        }
+    }
+
+    /**
+     * Deregisters this near-cache's entry listener from the Hazelcast map and discards all local entries.  The
+     * distributed map itself is not modified.
+     */
+    public void close() {
+        map.removeEntryListener(listenerId);
+        invalidateAll();
+    }
+
+    /**
+     * Returns the number of reads that were served from local memory.
+     *
+     * @return the number of reads that were served from local memory.
+     */
+    public long getLocalHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of reads that could not be served from local memory and were delegated to the cluster.
+     *
+     * @return the number of reads that could not be served from local memory and were delegated to the cluster.
+     */
+    public long getLocalMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the ratio of local hits to all reads, or {@code 0} if there were no reads yet.
+     *
+     * @return the ratio of local hits to all reads, or {@code 0} if there were no reads yet.
+     */
+    public double getLocalHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the number of local entries discarded because of cluster events.
+     *
+     * @return the number of local entries discarded because of cluster events.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * Returns the number of entries currently held in local memory.
+     *
+     * @return the number of entries currently held in local memory.
+     */
+    public int getLocalSize() {
+        return local.size();
+    }
+
+    @Override
+    public String toString() {
+        return "HazelcastNearCache[map=" + map.getName() + ", localSize=" + getLocalSize() +
+               ", localHitCount=" + getLocalHitCount() + ", localMissCount=" + getLocalMissCount() +
+               ", invalidationCount=" + getInvalidationCount() + "]";
+    }
+
+    private static final class LocalEntry<V> {
+
+        private final V value;
+        private final long expirationTimeMillis;
+
+        private LocalEntry(V value, long expirationTimeMillis) {
+            this.value = value;
+            this.expirationTimeMillis = expirationTimeMillis;
+        }
+    }
+
+    private class InvalidationListener implements EntryAddedListener<K, Object>, EntryUpdatedListener<K, Object>,
+        EntryRemovedListener<K, Object>, EntryEvictedListener<K, Object>, MapClearedListener, MapEvictedListener {
+
+        private void onEntryEvent(EntryEvent<K, Object> event) {
+            invalidationCount.incrementAndGet();
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<K, Object> event) {
+            onEntryEvent(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<K, Object> event) {
+            onEntryEvent(event);
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<K, Object> event) {
+            onEntryEvent(event);
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<K, Object> event) {
+            onEntryEvent(event);
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            invalidationCount.incrementAndGet();
+            invalidateAll();
+        }
+
+        @Override
+        public void mapEvicted(MapEvent event) {
+            invalidationCount.incrementAndGet();
+            invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.stormpath.sdk.idsite.NonceStore;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A distributed {@link NonceStore} backed by a dedicated Hazelcast map, for applications deployed to more than one
+ * JVM.  Each nonce is stored with its own Hazelcast time-to-live, so replay protection does not depend on the cache
+ * settings of the Stormpath resource cache regions, and expired nonces are evicted by the cluster itself.
+ * <p/>
+ * Usage:
+ * <pre>
+ * NonceStore nonceStore = new HazelcastNonceStore(hazelcastInstance);
+ * application.newIdSiteCallbackHandler(request).setNonceStore(nonceStore);
+ * </pre>
+ *
+ * @since 1.2.0
+ */
+public class HazelcastNonceStore implements NonceStore {
+
+    public static final String DEFAULT_MAP_NAME = "com.stormpath.sdk.idsite.Nonce";
+
+    /**
+     * Two minutes: comfortably longer than the one minute lifespan of ID Site and SAML reply messages.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final IMap<String, Boolean> map;
+    private final long timeToLiveMillis;
+
+    public HazelcastNonceStore(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, DEFAULT_MAP_NAME, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    public HazelcastNonceStore(HazelcastInstance hazelcastInstance, String mapName, long timeToLiveMillis) {
+        Assert.notNull(hazelcastInstance, "HazelcastInstance argument cannot be null.");
+        Assert.hasText(mapName, "mapName argument cannot be null or empty.");
+        Assert.isTrue(timeToLiveMillis > 0, "timeToLiveMillis must be greater than zero.");
+        this.map = hazelcastInstance.getMap(mapName);
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    @Override
+    public boolean hasNonce(String nonce) {
+        Assert.hasText(nonce);
+        return map.containsKey(nonce);
+    }
+
+    @Override
+    public void putNonce(String nonce) {
+        Assert.hasText(nonce);
+        //set does not return the previous value, avoiding an unnecessary network transfer:
+        map.set(nonce, Boolean.TRUE, timeToLiveMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -85,4 +85,28 @@ class HazelcastCacheManagerTest {
 
         verify hz, imap
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testGetCacheWithNearCacheEnabled() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setNearCacheEnabled(true)
+        cm.setNearCacheMaxSize(10)
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+        expect(imap.addEntryListener(anyObject(com.hazelcast.map.listener.MapListener), eq(false))).andReturn('id')
+
+        replay hz, imap
+
+        def cache = cm.getCache('foo')
+
+        assertTrue cache instanceof HazelcastNearCache
+        assertSame cm.getCache('foo'), cache //listener is registered only once per region
+
+        verify hz, imap
+    }
 }
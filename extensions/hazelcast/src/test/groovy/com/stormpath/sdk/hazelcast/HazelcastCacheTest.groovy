@@ -19,8 +19,7 @@ import org.testng.annotations.Test
 
 import java.util.concurrent.ConcurrentHashMap
 
-import static org.testng.Assert.assertEquals
-import static org.testng.Assert.assertNull
+import static org.testng.Assert.*
 
 class HazelcastCacheTest {
 
@@ -47,4 +46,51 @@ class HazelcastCacheTest {
 
         assertNull cache.get('foo')
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testExtendedOperationsWithConcurrentMap() {
+        def map = new ConcurrentHashMap()
+        def cache = new HazelcastCache(map)
+
+        cache.putAll([a: 1, b: 2])
+        cache.set('c', 3)
+        assertEquals cache.getAll(['a', 'c', 'missing']), [a: 1, c: 3]
+
+        cache.evict('a')
+        assertFalse map.containsKey('a')
+
+        assertTrue cache.setAsync('d', 4).isDone()
+        assertEquals map.get('d'), 4
+
+        assertTrue cache.evictAsync('d').isDone()
+        assertFalse map.containsKey('d')
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testValueCodec() {
+        def codec = [
+                encode: { Object v -> v.toString().getBytes('UTF-8') },
+                decode: { byte[] b -> new String(b, 'UTF-8') }
+        ] as com.stormpath.sdk.cache.CacheValueCodec
+
+        def map = new ConcurrentHashMap()
+        def cache = new HazelcastCache(map, codec)
+
+        assertNull cache.put('foo', 'bar')
+        assertTrue map.get('foo') instanceof byte[]
+        assertEquals cache.get('foo'), 'bar'
+
+        cache.putAll([baz: 'qux'])
+        assertTrue map.get('baz') instanceof byte[]
+        assertEquals cache.getAll(['foo', 'baz']), [foo: 'bar', baz: 'qux']
+
+        assertEquals cache.remove('foo'), 'bar'
+        assertNull cache.get('foo')
+    }
 }
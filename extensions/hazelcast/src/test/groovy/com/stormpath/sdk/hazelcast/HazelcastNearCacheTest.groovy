@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast
+
+import com.hazelcast.core.EntryEvent
+import com.hazelcast.core.IMap
+import com.hazelcast.core.MapEvent
+import com.hazelcast.map.listener.MapListener
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class HazelcastNearCacheTest {
+
+    private static IMap mockMap(def listener) {
+        def map = createMock(IMap)
+        expect(map.addEntryListener(capture(listener), eq(false))).andReturn('listenerId')
+        return map
+    }
+
+    private static EntryEvent event(String key) {
+        def event = createMock(EntryEvent)
+        expect(event.getKey()).andStubReturn(key)
+        replay event
+        return event
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullMap() {
+        new HazelcastNearCache(null)
+    }
+
+    @Test
+    void testReadsAreServedLocally() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get('a')).andReturn('1').once()
+        expect(map.get('b')).andReturn(null).times(2)
+        replay map
+
+        def cache = new HazelcastNearCache(map)
+
+        assertEquals cache.get('a'), '1'
+        assertEquals cache.get('a'), '1'
+        assertEquals cache.get('a'), '1'
+        assertNull cache.get('b')
+        assertNull cache.get('b')
+
+        assertEquals cache.localHitCount, 2
+        assertEquals cache.localMissCount, 3
+        assertEquals cache.localHitRatio, 0.4d, 0.0001d
+        assertEquals cache.localSize, 1
+
+        verify map
+    }
+
+    @Test
+    void testClusterEventsInvalidateLocalEntries() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get('a')).andReturn('1')
+        expect(map.get('a')).andReturn('2')
+        expect(map.get('a')).andReturn('3')
+        replay map
+
+        def cache = new HazelcastNearCache(map)
+
+        assertEquals cache.get('a'), '1'
+        listener.value.entryUpdated(event('a'))
+        assertEquals cache.get('a'), '2'
+        listener.value.mapCleared(createMock(MapEvent))
+        assertEquals cache.get('a'), '3'
+        assertEquals cache.get('a'), '3'
+
+        assertEquals cache.invalidationCount, 2
+        verify map
+    }
+
+    @Test
+    void testWritesInvalidateLocalEntries() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get('a')).andReturn('1')
+        map.set('a', '2')
+        expect(map.get('a')).andReturn('2')
+        map.delete('a')
+        expect(map.get('a')).andReturn(null)
+        replay map
+
+        def cache = new HazelcastNearCache(map)
+
+        assertEquals cache.get('a'), '1'
+        cache.set('a', '2')
+        assertEquals cache.get('a'), '2'
+        cache.evict('a')
+        assertNull cache.get('a')
+
+        verify map
+    }
+
+    @Test
+    void testGetAllOnlyFetchesMissingKeys() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get('a')).andReturn('1')
+        expect(map.getAll(['b', 'c'] as Set)).andReturn([b: '2'])
+        replay map
+
+        def cache = new HazelcastNearCache(map)
+        cache.get('a')
+
+        assertEquals cache.getAll(['a', 'b', 'c']), [a: '1', b: '2']
+        assertEquals cache.localSize, 2
+
+        verify map
+    }
+
+    @Test
+    void testLocalSizeIsBounded() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get(anyObject())).andAnswer({ getCurrentArguments()[0] + '-value' }).anyTimes()
+        replay map
+
+        def cache = new HazelcastNearCache(map, 2, HazelcastNearCache.DEFAULT_TIME_TO_LIVE_MILLIS)
+        cache.get('a')
+        cache.get('b')
+        cache.get('a')
+        cache.get('c') //evicts 'b', the least recently used entry
+
+        assertEquals cache.localSize, 2
+        cache.get('a')
+        assertEquals cache.localHitCount, 2
+    }
+
+    @Test
+    void testLocalEntriesExpire() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.get('a')).andReturn('1').times(2)
+        replay map
+
+        def cache = new HazelcastNearCache(map, 10, 10)
+        cache.get('a')
+        Thread.sleep(30)
+        cache.get('a')
+
+        assertEquals cache.localHitCount, 0
+        verify map
+    }
+
+    @Test
+    void testClose() {
+        def listener = newCapture()
+        def map = mockMap(listener)
+        expect(map.removeEntryListener('listenerId')).andReturn(true)
+        replay map
+
+        new HazelcastNearCache(map).close()
+
+        assertTrue listener.value instanceof MapListener
+        verify map
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast
+
+import com.hazelcast.core.HazelcastInstance
+import com.hazelcast.core.IMap
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class HazelcastNonceStoreTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullInstance() {
+        new HazelcastNonceStore(null)
+    }
+
+    @Test
+    void testPutAndHas() {
+        def hz = createStrictMock(HazelcastInstance)
+        def map = createStrictMock(IMap)
+
+        expect(hz.getMap(HazelcastNonceStore.DEFAULT_MAP_NAME)).andReturn(map)
+        expect(map.containsKey('a')).andReturn(false)
+        map.set('a', Boolean.TRUE, HazelcastNonceStore.DEFAULT_TIME_TO_LIVE_MILLIS, TimeUnit.MILLISECONDS)
+        expect(map.containsKey('a')).andReturn(true)
+
+        replay hz, map
+
+        def store = new HazelcastNonceStore(hz)
+        assertFalse store.hasNonce('a')
+        store.putNonce('a')
+        assertTrue store.hasNonce('a')
+
+        verify hz, map
+    }
+}
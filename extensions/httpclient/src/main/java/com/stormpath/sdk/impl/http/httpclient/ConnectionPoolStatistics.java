@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.httpclient;
+
+/**
+ * A point-in-time snapshot of the {@link HttpClientRequestExecutor}'s HTTP connection pool.
+ * <p/>
+ * The lease counters are cumulative since the executor was created and can be used to tell whether requests are
+ * waiting on the pool: a growing {@link #getTotalLeaseWaitMillis() total wait time} or a non-zero
+ * {@link #getPending() pending} count usually means the pool is too small for the application's concurrency.
+ *
+ * @since 1.2.0
+ */
+public class ConnectionPoolStatistics {
+
+    private final int leased;
+    private final int pending;
+    private final int available;
+    private final int max;
+    private final long leaseCount;
+    private final long totalLeaseWaitMillis;
+    private final long maxLeaseWaitMillis;
+
+    public ConnectionPoolStatistics(int leased, int pending, int available, int max,
+                                    long leaseCount, long totalLeaseWaitMillis, long maxLeaseWaitMillis) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+        this.leaseCount = leaseCount;
+        this.totalLeaseWaitMillis = totalLeaseWaitMillis;
+        this.maxLeaseWaitMillis = maxLeaseWaitMillis;
+    }
+
+    /**
+     * Returns the number of connections currently in use by executing requests.
+     *
+     * @return the number of connections currently in use by executing requests.
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * Returns the number of requests currently waiting for a connection to become available.
+     *
+     * @return the number of requests currently waiting for a connection to become available.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Returns the number of idle connections that are open and ready to be reused.
+     *
+     * @return the number of idle connections that are open and ready to be reused.
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * Returns the maximum number of connections the pool may hold.
+     *
+     * @return the maximum number of connections the pool may hold.
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the total number of connection leases requested from the pool.
+     *
+     * @return the total number of connection leases requested from the pool.
+     */
+    public long getLeaseCount() {
+        return leaseCount;
+    }
+
+    /**
+     * Returns the cumulative time, in milliseconds, requests have spent waiting to lease a connection.
+     *
+     * @return the cumulative time, in milliseconds, requests have spent waiting to lease a connection.
+     */
+    public long getTotalLeaseWaitMillis() {
+        return totalLeaseWaitMillis;
+    }
+
+    /**
+     * Returns the longest time, in milliseconds, a single request has waited to lease a connection.
+     *
+     * @return the longest time, in milliseconds, a single request has waited to lease a connection.
+     */
+    public long getMaxLeaseWaitMillis() {
+        return maxLeaseWaitMillis;
+    }
+
+    /**
+     * Returns the average time, in milliseconds, a request has waited to lease a connection.
+     *
+     * @return the average time, in milliseconds, a request has waited to lease a connection.
+     */
+    public double getAverageLeaseWaitMillis() {
+        return leaseCount == 0 ? 0 : (double) totalLeaseWaitMillis / leaseCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{" +
+                "leased=" + leased +
+                ", pending=" + pending +
+                ", available=" + available +
+                ", max=" + max +
+                ", leaseCount=" + leaseCount +
+                ", totalLeaseWaitMillis=" + totalLeaseWaitMillis +
+                ", maxLeaseWaitMillis=" + maxLeaseWaitMillis +
+                '}';
+    }
+}
@@ -18,20 +18,33 @@ package com.stormpath.sdk.impl.http.httpclient;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials;
 import com.stormpath.sdk.client.Proxy;
+import com.stormpath.sdk.impl.http.ConnectionPoolConfiguration;
+import com.stormpath.sdk.impl.http.Deadline;
+import com.stormpath.sdk.impl.http.DeadlineExceededException;
+import com.stormpath.sdk.impl.http.DeadlineHolder;
+import com.stormpath.sdk.http.HttpMethod;
 import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.Request;
 import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.http.RequestPriority;
+import com.stormpath.sdk.impl.http.RequestPriorityHolder;
 import com.stormpath.sdk.impl.http.Response;
 import com.stormpath.sdk.impl.http.RestException;
+import com.stormpath.sdk.impl.http.TooManyRequestsException;
 import com.stormpath.sdk.impl.http.authc.DefaultRequestAuthenticatorFactory;
 import com.stormpath.sdk.impl.http.authc.RequestAuthenticator;
 import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
+import com.stormpath.sdk.impl.http.support.AdaptiveConcurrencyLimiter;
 import com.stormpath.sdk.impl.http.support.BackoffStrategy;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.DefaultResponse;
+import com.stormpath.sdk.impl.http.support.HedgingPolicy;
+import com.stormpath.sdk.impl.metrics.MetricsAware;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricsRecorder;
+import org.apache.http.Consts;
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
 import org.apache.http.HttpEntity;
@@ -39,29 +52,47 @@ import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.HttpVersion;
 import org.apache.http.NoHttpResponseException;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.client.params.AllClientPNames;
-import org.apache.http.client.params.ClientPNames;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectTimeoutException;
-import org.apache.http.conn.params.ConnRoutePNames;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.PoolingClientConnectionManager;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.util.Date;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@code RequestExecutor} implementation that uses the
@@ -70,7 +101,7 @@ import java.util.Random;
  *
  * @since 0.1
  */
-public class HttpClientRequestExecutor implements RequestExecutor {
+public class HttpClientRequestExecutor implements RequestExecutor, MetricsAware, Closeable {
 
     private static final Logger log = LoggerFactory.getLogger(HttpClientRequestExecutor.class);
 
@@ -81,24 +112,61 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
     private static final int DEFAULT_MAX_RETRIES = 4;
 
-    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = Integer.MAX_VALUE/2;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 100;
     private static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY_KEY = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.connPoolControl.maxPerRoute";
     private static final int MAX_CONNECTIONS_PER_ROUTE;
 
-    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = Integer.MAX_VALUE;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 200;
     private static final String MAX_CONNECTIONS_TOTAL_PROPERTY_KEY = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.connPoolControl.maxTotal";
     private static final int MAX_CONNECTIONS_TOTAL;
 
+    /**
+     * Seconds a pooled connection may stay idle before it is evicted.
+     */
+    private static final int DEFAULT_CONNECTION_MAX_IDLE_TIME = 60;
+
+    /**
+     * Response bodies up to this many bytes are read while the request can still be retried.
+     */
+    private static final int DEFAULT_MAX_BUFFERED_BODY_SIZE = 256 * 1024;
+
+    private static final AtomicInteger HEDGE_POOL_COUNT = new AtomicInteger();
+
+    /**
+     * The maximum number of hedges sent concurrently by one executor.  A hedge that cannot be sent right away waits,
+     * and is not sent at all if the original request completes in the meantime.
+     */
+    private static final int MAX_CONCURRENT_HEDGES = 8;
+
     private int numRetries = DEFAULT_MAX_RETRIES;
 
+    private int maxBufferedBodySize = DEFAULT_MAX_BUFFERED_BODY_SIZE;
+
     private final RequestAuthenticator requestAuthenticator;
 
-    private DefaultHttpClient httpClient;
+    private final InstrumentedConnectionManager connectionManager;
+
+    /**
+     * The client created (and therefore owned and closed) by this executor, as opposed to one set by the application.
+     */
+    private final CloseableHttpClient ownHttpClient;
+
+    private HttpClient httpClient;
 
     private BackoffStrategy backoffStrategy;
 
+    private AdaptiveConcurrencyLimiter rateLimiter;
+
     private HttpClientRequestFactory httpClientRequestFactory;
 
+    private final RequestConfig defaultRequestConfig;
+
+    private volatile MetricsRecorder metricsRecorder;
+
+    private volatile HedgingPolicy hedgingPolicy;
+
+    private volatile ScheduledThreadPoolExecutor hedgeExecutor;
+
     //doesn't need to be SecureRandom: only used in backoff strategy, not for crypto:
     private final Random random = new Random();
 
@@ -141,6 +209,18 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      *                             If null, then Sauthc1 will be used.
      */
     public HttpClientRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, Integer connectionTimeout) {
+        this(clientCredentials, proxy, authenticationScheme, requestAuthenticatorFactory, connectionTimeout, null);
+    }
+
+    /**
+     * Creates a new {@code HttpClientRequestExecutor} whose connection pool is sized according to the specified
+     * {@code connectionPoolConfiguration}.  Pool settings that are not configured fall back to the
+     * {@code connPoolControl} system properties and then to this class's bounded defaults.
+     *
+     * @param connectionPoolConfiguration the connection pool settings (can be null to use the defaults)
+     * @since 1.2.0
+     */
+    public HttpClientRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, Integer connectionTimeout, ConnectionPoolConfiguration connectionPoolConfiguration) {
         Assert.notNull(clientCredentials, "clientCredentials argument is required.");
         Assert.isTrue(connectionTimeout >= 0, "Timeout cannot be a negative number.");
 
@@ -152,46 +232,77 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
         this.httpClientRequestFactory = new HttpClientRequestFactory();
 
-        PoolingClientConnectionManager connMgr = new PoolingClientConnectionManager();
-        if (MAX_CONNECTIONS_TOTAL >= MAX_CONNECTIONS_PER_ROUTE) {
-            connMgr.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
-            connMgr.setMaxTotal(MAX_CONNECTIONS_TOTAL);
-        } else {
-            connMgr.setDefaultMaxPerRoute(DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
-            connMgr.setMaxTotal(DEFAULT_MAX_CONNECTIONS_TOTAL);
+        int maxTotal = MAX_CONNECTIONS_TOTAL;
+        int maxPerRoute = MAX_CONNECTIONS_PER_ROUTE;
+        int maxIdleTime = DEFAULT_CONNECTION_MAX_IDLE_TIME;
+
+        if (connectionPoolConfiguration != null) {
+            if (connectionPoolConfiguration.getMaxConnectionsTotal() > 0) {
+                maxTotal = connectionPoolConfiguration.getMaxConnectionsTotal();
+            }
+            if (connectionPoolConfiguration.getMaxConnectionsPerRoute() > 0) {
+                maxPerRoute = connectionPoolConfiguration.getMaxConnectionsPerRoute();
+            }
+            if (connectionPoolConfiguration.getMaxIdleTime() > 0) {
+                maxIdleTime = connectionPoolConfiguration.getMaxIdleTime();
+            }
+        }
 
-            log.warn(
-                "{} ({}) is less than {} ({}). " +
-                "Reverting to defaults: connectionMaxTotal ({}) and connectionMaxPerRoute ({}).",
-                MAX_CONNECTIONS_TOTAL_PROPERTY_KEY, MAX_CONNECTIONS_TOTAL,
-                MAX_CONNECTIONS_PER_ROUTE_PROPERTY_KEY, MAX_CONNECTIONS_PER_ROUTE,
-                DEFAULT_MAX_CONNECTIONS_TOTAL, DEFAULT_MAX_CONNECTIONS_PER_ROUTE
-            );
+        if (maxTotal < maxPerRoute) {
+            log.warn("Connection pool maxTotal ({}) is less than maxPerRoute ({}).  Limiting maxPerRoute to {}.",
+                    maxTotal, maxPerRoute, maxTotal);
+            maxPerRoute = maxTotal;
         }
 
         // The connectionTimeout value is specified in seconds in Stormpath configuration settings.
-        // Therefore, multiply it by 1000 to be milliseconds since DefaultHttpClient expects milliseconds.
+        // Therefore, multiply it by 1000 to be milliseconds since HttpClient expects milliseconds.
         int connectionTimeoutAsMilliseconds = connectionTimeout * 1000;
 
-        this.httpClient = new DefaultHttpClient(connMgr);
-        httpClient.getParams().setParameter(AllClientPNames.PROTOCOL_VERSION, HttpVersion.HTTP_1_1);
-        httpClient.getParams().setParameter(AllClientPNames.SO_TIMEOUT, connectionTimeoutAsMilliseconds);
-        httpClient.getParams().setParameter(AllClientPNames.CONNECTION_TIMEOUT, connectionTimeoutAsMilliseconds);
-        httpClient.getParams().setParameter(ClientPNames.HANDLE_REDIRECTS, false);
-        httpClient.getParams().setParameter("http.protocol.content-charset", "UTF-8");
+        // A single connection manager (and therefore a single SSLContext) is shared by all requests, so pooled
+        // connections are kept alive and TLS sessions are resumed instead of renegotiated:
+        this.connectionManager = new InstrumentedConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .setSoTimeout(connectionTimeoutAsMilliseconds)
+                .build());
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectionTimeoutAsMilliseconds)
+                .setSocketTimeout(connectionTimeoutAsMilliseconds)
+                .setConnectionRequestTimeout(connectionTimeoutAsMilliseconds)
+                // redirects are followed in executeRequest because every redirected request must be re-signed:
+                .setRedirectsEnabled(false)
+                .build();
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .setDefaultConnectionConfig(ConnectionConfig.custom().setCharset(Consts.UTF_8).build())
+                // gzip responses are decompressed in toSdkResponse:
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections((long) maxIdleTime, TimeUnit.SECONDS);
 
         if (proxy != null) {
             //We have some proxy setting to use!
-            HttpHost httpProxyHost = new HttpHost(proxy.getHost(), proxy.getPort());
-            httpClient.getParams().setParameter(ConnRoutePNames.DEFAULT_PROXY, httpProxyHost);
+            builder.setProxy(new HttpHost(proxy.getHost(), proxy.getPort()));
 
             if (proxy.isAuthenticationRequired()) {
-                httpClient.getCredentialsProvider().setCredentials(
+                CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+                credentialsProvider.setCredentials(
                         new AuthScope(proxy.getHost(), proxy.getPort()),
                         new UsernamePasswordCredentials(proxy.getUsername(), proxy.getPassword()));
+                builder.setDefaultCredentialsProvider(credentialsProvider);
             }
-
         }
+
+        this.ownHttpClient = builder.build();
+        this.httpClient = ownHttpClient;
+
+        this.rateLimiter = new AdaptiveConcurrencyLimiter(maxPerRoute);
     }
 
     public int getNumRetries() {
@@ -202,6 +313,28 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.numRetries = numRetries;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    public int getMaxBufferedBodySize() {
+        return maxBufferedBodySize;
+    }
+
+    /**
+     * Sets the maximum number of response body bytes that are read before the response is returned.  A body of at most
+     * this size is read completely while the request can still be retried, so a timeout or connection reset while
+     * reading it is retried like any other transport failure.  Only the remainder of a larger body is streamed to the
+     * caller, and a failure while reading that remainder is not retried.  Defaults to 256 KB.
+     *
+     * @param maxBufferedBodySize the maximum number of response body bytes that are read before the response is
+     *                            returned, {@code 0} to always stream the body.
+     * @since 1.2.0
+     */
+    public void setMaxBufferedBodySize(int maxBufferedBodySize) {
+        Assert.isTrue(maxBufferedBodySize >= 0, "maxBufferedBodySize cannot be negative.");
+        this.maxBufferedBodySize = maxBufferedBodySize;
+    }
+
     /**
      * @since 0.3
      */
@@ -213,8 +346,123 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.backoffStrategy = backoffStrategy;
     }
 
-    public void setHttpClient(DefaultHttpClient httpClient) {
+    /**
+     * Returns the limiter that adapts the number of concurrent requests sent by this executor to the server's rate
+     * limiting, or {@code null} if client-side rate limiting is disabled.
+     *
+     * @since 1.2.0
+     */
+    public AdaptiveConcurrencyLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets the limiter that adapts the number of concurrent requests sent by this executor to the server's rate
+     * limiting.  By default each executor (and therefore each {@code Client}) has its own limiter, which allows as
+     * many concurrent requests as the connection pool allows per route and only reduces concurrency after the server
+     * throttles a request.  Several clients of the same tenant do not coordinate their requests unless they are
+     * configured with the same limiter instance.  Set to {@code null} to disable client-side rate limiting.
+     * <p/>
+     * Independently of the limiter, a throttled request is retried after the delay requested by the server's
+     * {@code Retry-After} header, unless that delay exceeds the maximum backoff delay of 20 seconds: the request then
+     * fails right away with a {@code TooManyRequestsException} carrying the requested delay.
+     *
+     * @since 1.2.0
+     */
+    public void setRateLimiter(AdaptiveConcurrencyLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Sets the client used to execute requests instead of the one created by this executor.  The executor's own client
+     * and connection pool are closed, since they are no longer used; the specified client is owned by the caller and
+     * is not closed by {@link #close()}.
+     *
+     * @param httpClient the client used to execute requests
+     * @since 1.2.0
+     */
+    public void setHttpClient(HttpClient httpClient) {
+        Assert.notNull(httpClient, "httpClient argument cannot be null.");
         this.httpClient = httpClient;
+        if (httpClient != ownHttpClient) {
+            closeQuietly(ownHttpClient);
+        }
+    }
+
+    /**
+     * @deprecated since 1.2.0 in favor of {@link #setHttpClient(HttpClient)}; retained for binary compatibility.
+     */
+    @Deprecated
+    public void setHttpClient(DefaultHttpClient httpClient) {
+        setHttpClient((HttpClient) httpClient);
+    }
+
+    /**
+     * Closes the HTTP client created by this executor, which stops its idle connection evictor and closes every
+     * pooled connection, and stops any hedging threads.  A client set via {@link #setHttpClient(HttpClient)} is owned by
+     * the caller and is not closed.  The executor cannot be used after it has been closed.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public void close() {
+        closeQuietly(ownHttpClient);
+        ScheduledThreadPoolExecutor executor = this.hedgeExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Unable to close HTTP client: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns a snapshot of this executor's connection pool, including the number of leased, pending and available
+     * connections and how long requests have waited to lease a connection.  If a custom client was provided via
+     * {@link #setHttpClient(HttpClient)}, the returned statistics reflect the executor's own (unused) pool.
+     *
+     * @return a snapshot of this executor's connection pool.
+     * @since 1.2.0
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return this.connectionManager.getStatistics();
+    }
+
+    /**
+     * Returns the policy used to hedge slow {@code GET} requests, or {@code null} if hedging is disabled.
+     *
+     * @since 1.2.0
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Sets the policy used to hedge slow {@code GET} requests: a {@code GET} request that takes longer than the
+     * policy's delay is sent a second time and whichever response arrives first is used.  Only {@code GET} requests
+     * are hedged because they are idempotent.  Hedging is disabled by default ({@code null}).
+     * <p/>
+     * The original request is sent (and, if necessary, retried) on the calling thread.  The hedge is sent exactly once,
+     * without retries, from a small pool of at most 8 threads, so a hedged request causes at most one more request
+     * than an unhedged one, and every hedge is paid for by the policy's budget.
+     *
+     * @since 1.2.0
+     */
+    public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
     }
 
     @Override
@@ -222,10 +470,69 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
         Assert.notNull(request, "Request argument cannot be null.");
 
+        final MetricsRecorder recorder = this.metricsRecorder;
+        if (recorder == null) {
+            return executeRequest(request, null);
+        }
+
+        final HttpMethod method = request.getMethod();
+        final long bytesSent = request.getBody() != null ? request.getHeaders().getContentLength() : 0;
+        final RequestMetrics metrics = new RequestMetrics();
+        long start = System.nanoTime();
+        Response response = null;
+        boolean deferred = false;
+        try {
+            response = executeRequest(request, metrics);
+            if (metrics.streamedBody != null) {
+                //the rest of the body has not been received yet: record the request once it has been consumed
+                final long durationNanos = System.nanoTime() - start;
+                deferred = true;
+                metrics.streamedBody.onConsumed(new Runnable() {
+                    @Override
+                    public void run() {
+                        metrics.record(recorder, method, durationNanos, bytesSent, true);
+                    }
+                });
+            }
+            return response;
+        } finally {
+            if (!deferred) {
+                metrics.record(recorder, method, System.nanoTime() - start, bytesSent, response != null);
+            }
+        }
+    }
+
+    private Response executeRequest(Request request, RequestMetrics metrics) throws RestException {
+
+        Deadline deadline = DeadlineHolder.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(getDeadlineExceededMessage(request));
+        }
+
+        HedgingPolicy policy = this.hedgingPolicy;
+        if (policy != null && request.getMethod() == HttpMethod.GET) {
+            return executeHedged(request, policy, deadline, metrics);
+        }
+
+        return executeWithRetries(request, deadline, metrics, null);
+    }
+
+    /**
+     * Sends the request, retrying it as configured.
+     *
+     * @param attempt the hedged attempt the request is sent for, or {@code null} if the request is not hedged.  A
+     *                hedged attempt may be cancelled, and a hedge is never retried.
+     */
+    private Response executeWithRetries(Request request, Deadline deadline, RequestMetrics metrics,
+                                        HedgedAttempt attempt) throws RestException {
+
+        int maxRetries = attempt != null ? attempt.maxRetries : this.numRetries;
+
         int retryCount = 0;
         URI redirectUri = null;
         HttpEntity entity = null;
         RestException exception = null;
+        Throwable lastFailure = null;
 
         // Make a copy of the original request params and headers so that we can
         // permute them in the loop and start over with the original every time.
@@ -235,6 +542,9 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         HttpHeaders originalHeaders = new HttpHeaders();
         originalHeaders.putAll(request.getHeaders());
 
+        RequestPriority priority = RequestPriorityHolder.get();
+        AdaptiveConcurrencyLimiter limiter = this.rateLimiter;
+
         while (true) {
 
             if (redirectUri != null) {
@@ -265,12 +575,14 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
 
             HttpResponse httpResponse = null;
+            boolean bodyHandedOff = false;
+            boolean permitAcquired = false;
             try {
                 // We don't want to treat a redirect like a retry,
                 // so if redirectUri is not null, we won't pause
                 // before executing the request below.
                 if (retryCount > 0 && redirectUri == null) {
-                    pauseExponentially(retryCount, exception);
+                    pauseExponentially(retryCount, exception, deadline, attempt);
                     if (entity != null) {
                         InputStream content = entity.getContent();
                         if (content.markSupported()) {
@@ -283,6 +595,26 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                 redirectUri = null;
                 exception = null;
                 retryCount++;
+                if (metrics != null) {
+                    metrics.attempts = retryCount;
+                    metrics.streamedBody = null;
+                }
+
+                if (deadline != null) {
+                    if (deadline.isExpired()) {
+                        throw new DeadlineExceededException(getDeadlineExceededMessage(request), lastFailure);
+                    }
+                    httpRequest.setConfig(getRequestConfig(deadline));
+                }
+
+                if (limiter != null) {
+                    limiter.acquire(priority);
+                    permitAcquired = true;
+                }
+
+                if (attempt != null) {
+                    attempt.sending(httpRequest);
+                }
 
                 httpResponse = httpClient.execute(httpRequest);
 
@@ -294,37 +626,224 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                     httpRequest.setURI(redirectUri);
                 } else {
 
-                    Response response = toSdkResponse(httpResponse);
+                    //read inside the retry scope, so a failure while reading a (small) body is retried too:
+                    Response response = toSdkResponse(httpResponse, metrics);
 
                     int httpStatus = response.getHttpStatus();
 
+                    if (metrics != null) {
+                        metrics.httpStatus = httpStatus;
+                        if (httpStatus == 429) {
+                            metrics.throttled++;
+                        }
+                    }
+
                     if (httpStatus == 429) {
-                        throw new RestException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.");
+                        long retryAfterMillis = getRetryAfterMillis(httpResponse);
+                        if (permitAcquired) {
+                            permitAcquired = false;
+                            limiter.onThrottled(retryAfterMillis);
+                        }
+                        throw new TooManyRequestsException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.", retryAfterMillis);
+                    }
+                    if (permitAcquired && httpStatus != 503 && httpStatus != 504) {
+                        permitAcquired = false;
+                        limiter.onSuccess();
                     }
-                    if ((httpStatus == 503 || httpStatus == 504) && retryCount <= this.numRetries) {
+                    if ((httpStatus == 503 || httpStatus == 504) && retryCount <= maxRetries &&
+                        (deadline == null || !deadline.isExpired())) {
                         //allow the loop to continue to execute a retry request
                         continue;
                     }
 
+                    //the caller now owns the body: if it was too large to be buffered, the connection is released when
+                    //the rest of it is read or closed
+                    bodyHandedOff = response.getBody() != null;
                     return response;
                 }
             } catch (Throwable t) {
+                if (t instanceof DeadlineExceededException) {
+                    throw (DeadlineExceededException) t;
+                }
+
+                if (attempt != null && attempt.isCancelled()) {
+                    //the other attempt of the hedged request already won:
+                    throw new RestException("Hedged request attempt cancelled.", t);
+                }
+
                 log.warn("Unable to execute HTTP request: ", t.getMessage(), t);
+                lastFailure = t;
+
+                if (t instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+
+                if (deadline != null && deadline.isExpired()) {
+                    throw new DeadlineExceededException(getDeadlineExceededMessage(request), t);
+                }
 
                 if (t instanceof RestException) {
                     exception = (RestException)t;
                 }
 
-                if (!shouldRetry(httpRequest, t, retryCount)) {
+                if (isRetryAfterTooLong(t)) {
+                    //waiting that long would block the caller for longer than any backoff, and retrying any sooner
+                    //would only be throttled again, so let the caller decide when to try again:
+                    throw (TooManyRequestsException) t;
+                }
+
+                if (!shouldRetry(httpRequest, t, retryCount, maxRetries)) {
                     throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
                 }
             } finally {
-                try {
-                    httpResponse.getEntity().getContent().close();
-                } catch (Throwable ignored) {
+                if (permitAcquired) {
+                    limiter.onDropped();
+                }
+                if (!bodyHandedOff) {
+                    try {
+                        httpResponse.getEntity().getContent().close();
+                    } catch (Throwable ignored) {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a {@code GET} request on the calling thread and, if it has not completed after the policy's delay, sends it
+     * a second time from the hedging pool and returns whichever response arrives first.  The attempt that loses is
+     * cancelled (or closes its response as soon as it arrives) so its connection is returned to the pool.
+     *
+     * @since 1.2.0
+     */
+    private Response executeHedged(Request request, HedgingPolicy policy, Deadline deadline, RequestMetrics metrics)
+        throws RestException {
+
+        policy.onRequest();
+
+        long delay = policy.getDelayMillis();
+        if (deadline != null && deadline.getRemainingMillis() <= delay) {
+            //a hedge could not be sent before the deadline anyway:
+            return executeWithRetries(request, deadline, metrics, null);
+        }
+
+        AtomicBoolean claimed = new AtomicBoolean();
+        HedgedAttempt primary = new HedgedAttempt(claimed, this.numRetries);
+        //the hedge is sent once: any retries are left to the primary attempt, so hedging adds at most one request
+        HedgedAttempt hedge = new HedgedAttempt(claimed, 0);
+        Hedge task = new Hedge(copy(request), policy, RequestPriorityHolder.get(), deadline, primary, hedge,
+                               metrics != null ? new RequestMetrics() : null, delay);
+        Future<?> scheduled = getHedgeExecutor().schedule(task, delay, TimeUnit.MILLISECONDS);
+
+        Response response = null;
+        RestException failure = null;
+        boolean hedgeWon = false;
+        long start = System.nanoTime();
+        try {
+            try {
+                response = executeWithRetries(request, deadline, metrics, primary);
+                policy.recordLatency(System.nanoTime() - start);
+            } catch (RestException e) {
+                failure = e;
+            }
+
+            if (response != null && primary.claim()) {
+                return response;
+            }
+            closeBody(response); //the hedge already won
+
+            if (scheduled.cancel(false)) {
+                //the hedge was never sent:
+                throw failure;
+            }
+
+            try {
+                task.awaitCompletion();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RestException("Interrupted while awaiting HTTP response: " + e.getMessage(), e);
+            }
+
+            if (task.response != null) {
+                if (metrics != null) {
+                    task.metrics.copyTo(metrics);
+                }
+                hedgeWon = true;
+                return task.response;
+            }
+            throw failure != null && !primary.isCancelled() ? failure : toRestException(task.failure);
+        } finally {
+            if (!hedgeWon) {
+                //however the request ends - unexpected exceptions included - the hedge must not outlive it.  Claiming
+                //the request makes a hedge that is still in flight close its response instead of keeping it:
+                primary.claim();
+                scheduled.cancel(false);
+                hedge.cancel();
+            }
+        }
+    }
+
+    private static void closeBody(Response response) {
+        if (response != null && response.getBody() != null) {
+            try {
+                response.getBody().close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static Request copy(Request request) {
+        QueryString query = new QueryString();
+        query.putAll(request.getQueryString());
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        return new DefaultRequest(request.getMethod(), request.getResourceUrl().toString(), query, headers, null, -1);
+    }
+
+    private static RestException toRestException(Throwable t) {
+        if (t instanceof RestException) {
+            return (RestException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
+    }
+
+    private ScheduledThreadPoolExecutor getHedgeExecutor() {
+        ScheduledThreadPoolExecutor executor = this.hedgeExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.hedgeExecutor;
+                if (executor == null) {
+                    executor = new ScheduledThreadPoolExecutor(MAX_CONCURRENT_HEDGES, new HedgeThreadFactory());
+                    //idle threads are not kept around, and hedges that are no longer needed are dropped right away:
+                    executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+                    executor.allowCoreThreadTimeOut(true);
+                    executor.setRemoveOnCancelPolicy(true);
+                    this.hedgeExecutor = executor;
                 }
             }
         }
+        return executor;
+    }
+
+    /**
+     * Returns the default request configuration with all timeouts limited to the time left until the deadline.
+     *
+     * @since 1.2.0
+     */
+    private RequestConfig getRequestConfig(Deadline deadline) {
+        RequestConfig config = this.defaultRequestConfig;
+        return RequestConfig.copy(config)
+                .setConnectTimeout(deadline.limit(config.getConnectTimeout()))
+                .setSocketTimeout(deadline.limit(config.getSocketTimeout()))
+                .setConnectionRequestTimeout(deadline.limit(config.getConnectionRequestTimeout()))
+                .build();
+    }
+
+    private static String getDeadlineExceededMessage(Request request) {
+        return "Deadline exceeded before " + request.getMethod() + " " + request.getResourceUrl() + " completed.";
     }
 
     private boolean isRedirect(org.apache.http.HttpResponse response) {
@@ -342,8 +861,11 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      *
      * @param retries           Current retry count.
      * @param previousException Exception information for the previous attempt, if any.
+     * @param deadline          The deadline of the request, if any.
+     * @param attempt           The hedged attempt being retried, if any: the pause ends early if it is cancelled.
      */
-    private void pauseExponentially(int retries, RestException previousException) {
+    private void pauseExponentially(int retries, RestException previousException, Deadline deadline,
+                                    HedgedAttempt attempt) {
         long delay;
         if (backoffStrategy != null) {
             delay = this.backoffStrategy.getDelayMillis(retries);
@@ -356,10 +878,26 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         }
 
         delay = Math.min(delay, MAX_BACKOFF_IN_MILLISECONDS);
+
+        if (previousException instanceof TooManyRequestsException) {
+            //never retry sooner than the server asked us to (a longer Retry-After is not retried at all, see
+            //isRetryAfterTooLong):
+            delay = Math.max(delay, ((TooManyRequestsException) previousException).getRetryAfterMillis());
+        }
+
+        if (deadline != null && delay >= deadline.getRemainingMillis()) {
+            //the retry could not complete in time, so don't wait for nothing:
+            throw new DeadlineExceededException("Deadline would be exceeded before retrying the request.", previousException);
+        }
+
         log.debug("Retryable condition detected, will retry in {}ms, attempt number: {}", delay, retries);
 
         try {
-            Thread.sleep(delay);
+            if (attempt != null) {
+                attempt.awaitCancellation(delay);
+            } else {
+                Thread.sleep(delay);
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RestException(e.getMessage(), e);
@@ -372,10 +910,11 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      * @param method  The current HTTP method being executed.
      * @param t       The throwable from the failed request.
      * @param retries The number of times the current request has been attempted.
+     * @param maxRetries The maximum number of retries for the current request.
      * @return True if the failed request should be retried.
      */
-    private boolean shouldRetry(HttpRequestBase method, Throwable t, int retries) {
-        if (retries > this.numRetries) {
+    private boolean shouldRetry(HttpRequestBase method, Throwable t, int retries, int maxRetries) {
+        if (retries > maxRetries) {
             return false;
         }
 
@@ -416,37 +955,96 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      * @return {@code true} if the exception resulted from a throttling error, {@code false} otherwise.
      */
     private boolean isThrottlingException(RestException re) {
-        String msg = re.getMessage();
-        return msg != null && msg.contains("HTTP 429");
+        return re instanceof TooManyRequestsException;
     }
 
-    protected byte[] toBytes(HttpEntity entity) throws IOException {
-        return EntityUtils.toByteArray(entity);
+    /**
+     * Returns {@code true} if the throwable is a throttling error whose {@code Retry-After} delay exceeds the maximum
+     * backoff delay, {@code false} otherwise.  Such requests fail fast instead of being retried.
+     *
+     * @since 1.2.0
+     */
+    private boolean isRetryAfterTooLong(Throwable t) {
+        return t instanceof TooManyRequestsException &&
+               ((TooManyRequestsException) t).getRetryAfterMillis() > MAX_BACKOFF_IN_MILLISECONDS;
+    }
+
+    /**
+     * Returns the delay in milliseconds requested by the response's {@code Retry-After} header (which may be either
+     * a number of seconds or an HTTP date), or {@code -1} if the header is absent or invalid.
+     *
+     * @since 1.2.0
+     */
+    private long getRetryAfterMillis(HttpResponse httpResponse) {
+        Header header = httpResponse.getFirstHeader("Retry-After");
+        if (header == null || header.getValue() == null) {
+            return -1;
+        }
+        String value = header.getValue().trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            if (date != null) {
+                return Math.max(0, date.getTime() - System.currentTimeMillis());
+            }
+        }
+        log.debug("Ignoring invalid Retry-After header value: {}", value);
+        return -1;
     }
 
+    /**
+     * Converts the HttpClient response into an SDK {@code Response}.  A body of at most
+     * {@link #setMaxBufferedBodySize(int) maxBufferedBodySize} bytes (after decompression) is read completely and the
+     * connection is released right away.  Only a larger body is streamed: the returned body stream reads (and if
+     * necessary gzip-decompresses) the remainder directly from the pooled connection, so memory use does not grow with
+     * the size of the response, and whoever consumes the response must close the body stream to return the connection
+     * to the pool.
+     */
     protected Response toSdkResponse(HttpResponse httpResponse) throws IOException {
+        return toSdkResponse(httpResponse, null);
+    }
+
+    private Response toSdkResponse(HttpResponse httpResponse, RequestMetrics metrics) throws IOException {
 
         int httpStatus = httpResponse.getStatusLine().getStatusCode();
 
         HttpHeaders headers = getHeaders(httpResponse);
         MediaType mediaType = headers.getContentType();
 
-        HttpEntity entity = getHttpEntity(httpResponse);
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity != null && metrics != null) {
+            //bytes are counted as they are received, before any decompression:
+            entity = new CountingEntity(entity, metrics.bytesReceived);
+        }
+        entity = getHttpEntity(entity);
 
-        InputStream body = entity != null ? entity.getContent() : null;
         long contentLength = entity != null ? entity.getContentLength() : -1;
 
-        //ensure that the content has been fully acquired before closing the http stream
-        if (body != null) {
-            byte[] bytes = toBytes(entity);
-
-            if(bytes != null) {
-                body = new ByteArrayInputStream(bytes);
-            }  else {
-                body = null;
+        //an empty body is not handed to the caller so the connection is released right away:
+        InputStream body = entity != null && contentLength != 0 ? entity.getContent() : null;
+
+        if (body != null && contentLength <= maxBufferedBodySize) {
+            byte[] prefix = read(body, maxBufferedBodySize);
+            int next = body.read();
+            if (next == -1) {
+                //completely read: the connection is released right away
+                body.close();
+                body = new ByteArrayInputStream(prefix);
+                contentLength = prefix.length;
+            } else {
+                PushbackInputStream remainder = new PushbackInputStream(body, 1);
+                remainder.unread(next);
+                body = new SequenceInputStream(new ByteArrayInputStream(prefix), remainder);
             }
         }
 
+        if (body != null && metrics != null && !(body instanceof ByteArrayInputStream)) {
+            //the rest of the body is received while the caller reads it:
+            metrics.streamedBody = new ConsumptionAwareInputStream(body);
+            body = metrics.streamedBody;
+        }
+
         Response response = new DefaultResponse(httpStatus, mediaType, body, contentLength);
 
         response.getHeaders().add(HttpHeaders.STORMPATH_REQUEST_ID, headers.getStormpathRequestId());
@@ -454,15 +1052,33 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         return response;
     }
 
-    private HttpEntity getHttpEntity(HttpResponse response) {
+    /**
+     * Reads at most {@code max} bytes, fewer only if the end of the stream is reached first.
+     *
+     * @since 1.2.0
+     */
+    private static byte[] read(InputStream in, int max) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(max, 8192));
+        byte[] buffer = new byte[Math.min(Math.max(max, 1), 8192)];
+        int remaining = max;
+        while (remaining > 0) {
+            int n = in.read(buffer, 0, Math.min(buffer.length, remaining));
+            if (n == -1) {
+                break;
+            }
+            out.write(buffer, 0, n);
+            remaining -= n;
+        }
+        return out.toByteArray();
+    }
 
-        HttpEntity entity = response.getEntity();
+    private HttpEntity getHttpEntity(HttpEntity entity) {
         if (entity != null) {
             Header contentEncodingHeader = entity.getContentEncoding();
             if (contentEncodingHeader != null) {
                 for (HeaderElement element : contentEncodingHeader.getElements()) {
                     if (element.getName().equalsIgnoreCase("gzip")) {
-                        return new GzipDecompressingEntity(response.getEntity());
+                        return new GzipDecompressingEntity(entity);
                     }
                 }
             }
@@ -484,4 +1100,273 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
         return headers;
     }
+
+    /**
+     * The measurements of a single logical request, which may span several HTTP attempts.
+     *
+     * @since 1.2.0
+     */
+    private static final class RequestMetrics {
+        private int attempts;
+        private int throttled;
+        private int httpStatus = -1;
+        //response body bytes received by all attempts, counted as they are read from the connection:
+        private AtomicLong bytesReceived = new AtomicLong();
+        //the body of the final response, if it has not been received completely yet:
+        private ConsumptionAwareInputStream streamedBody;
+
+        private void copyTo(RequestMetrics target) {
+            target.attempts = attempts;
+            target.throttled = throttled;
+            target.httpStatus = httpStatus;
+            target.bytesReceived = bytesReceived;
+            target.streamedBody = streamedBody;
+        }
+
+        private void record(MetricsRecorder recorder, HttpMethod method, long durationNanos, long bytesSent,
+                            boolean responded) {
+            recorder.recordHttpRequest(method, httpStatus, durationNanos, Math.max(attempts - 1, 0), throttled,
+                                       bytesSent, responded ? bytesReceived.get() : -1);
+        }
+    }
+
+    /**
+     * An entity whose content stream counts the bytes read from it.
+     *
+     * @since 1.2.0
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final AtomicLong count;
+        private InputStream content;
+
+        private CountingEntity(HttpEntity entity, AtomicLong count) {
+            super(entity);
+            this.count = count;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                InputStream in = super.getContent();
+                if (in == null) {
+                    return null;
+                }
+                content = new FilterInputStream(in) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b != -1) {
+                            count.incrementAndGet();
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = super.read(b, off, len);
+                        if (n > 0) {
+                            count.addAndGet(n);
+                        }
+                        return n;
+                    }
+                };
+            }
+            return content;
+        }
+    }
+
+    /**
+     * A streamed response body that runs a callback once, when it is read to the end or closed, whichever comes
+     * first.
+     *
+     * @since 1.2.0
+     */
+    private static final class ConsumptionAwareInputStream extends FilterInputStream {
+
+        private final AtomicBoolean consumed = new AtomicBoolean();
+        private volatile Runnable callback;
+
+        private ConsumptionAwareInputStream(InputStream in) {
+            super(in);
+        }
+
+        private void onConsumed(Runnable callback) {
+            this.callback = callback;
+            if (consumed.get()) {
+                consumed();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                consumed();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                consumed();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                consumed();
+            }
+        }
+
+        private void consumed() {
+            consumed.set(true);
+            Runnable callback = this.callback;
+            if (callback != null) {
+                this.callback = null;
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * One of the (at most two) attempts of a hedged request.  Only the first attempt to receive a response may
+     * {@code claim} it.  An attempt is cancelled once the other one has won: its in-flight request is aborted and it
+     * is neither paused nor retried any further.
+     *
+     * @since 1.2.0
+     */
+    private static final class HedgedAttempt {
+
+        private final AtomicBoolean claimed;
+        private final int maxRetries;
+        private final CountDownLatch cancellation = new CountDownLatch(1);
+        private volatile HttpRequestBase inFlight;
+
+        private HedgedAttempt(AtomicBoolean claimed, int maxRetries) {
+            this.claimed = claimed;
+            this.maxRetries = maxRetries;
+        }
+
+        private void sending(HttpRequestBase request) {
+            this.inFlight = request;
+            if (isCancelled()) {
+                request.abort();
+            }
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void cancel() {
+            cancellation.countDown();
+            HttpRequestBase request = this.inFlight;
+            if (request != null) {
+                request.abort();
+            }
+        }
+
+        private boolean isCancelled() {
+            return cancellation.getCount() == 0;
+        }
+
+        private void awaitCancellation(long millis) throws InterruptedException {
+            cancellation.await(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the hedge of a request from the hedging pool, unless the request has completed or the hedging budget is
+     * exhausted by the time the hedge is due.  If the hedge wins, the primary attempt is cancelled.
+     *
+     * @since 1.2.0
+     */
+    private final class Hedge implements Runnable {
+
+        private final Request request;
+        private final HedgingPolicy policy;
+        private final RequestPriority priority;
+        private final Deadline deadline;
+        private final HedgedAttempt primary;
+        private final HedgedAttempt attempt;
+        private final RequestMetrics metrics;
+        private final long delay;
+        private final CountDownLatch completion = new CountDownLatch(1);
+
+        private volatile Response response;
+        private volatile Throwable failure;
+
+        private Hedge(Request request, HedgingPolicy policy, RequestPriority priority, Deadline deadline,
+                      HedgedAttempt primary, HedgedAttempt attempt, RequestMetrics metrics, long delay) {
+            this.request = request;
+            this.policy = policy;
+            this.priority = priority;
+            this.deadline = deadline;
+            this.primary = primary;
+            this.attempt = attempt;
+            this.metrics = metrics;
+            this.delay = delay;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (attempt.isCancelled() || primary.claimed.get() ||
+                    (deadline != null && deadline.isExpired()) || !policy.tryAcquireHedge()) {
+                    failure = new RestException("Request was not hedged.");
+                    return;
+                }
+                log.debug("No response after {}ms, hedging {} {}", delay, request.getMethod(), request.getResourceUrl());
+                RequestPriorityHolder.set(priority);
+                DeadlineHolder.set(deadline);
+                try {
+                    long start = System.nanoTime();
+                    Response response = executeWithRetries(request, deadline, metrics, attempt);
+                    policy.recordLatency(System.nanoTime() - start);
+                    int status = response.getHttpStatus();
+                    if (status == 503 || status == 504) {
+                        //the primary attempt retries such responses, so let it carry on:
+                        closeBody(response);
+                        failure = new RestException("Hedged request received HTTP " + status + ".");
+                    } else if (attempt.claim()) {
+                        this.response = response;
+                        primary.cancel();
+                    } else {
+                        closeBody(response);
+                    }
+                } finally {
+                    RequestPriorityHolder.clear();
+                    DeadlineHolder.clear();
+                }
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                completion.countDown();
+            }
+        }
+
+        private void awaitCompletion() throws InterruptedException {
+            completion.await();
+        }
+    }
+
+    private static class HedgeThreadFactory implements ThreadFactory {
+
+        private final String prefix = "stormpath-hedge-" + HEDGE_POOL_COUNT.incrementAndGet() + "-thread-";
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, prefix + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
 }
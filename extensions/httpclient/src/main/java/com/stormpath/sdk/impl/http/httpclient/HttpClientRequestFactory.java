@@ -16,9 +16,11 @@
 package com.stormpath.sdk.impl.http.httpclient;
 
 import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.Request;
 import com.stormpath.sdk.impl.http.RestException;
+import com.stormpath.sdk.impl.util.BytesInputStream;
 import com.stormpath.sdk.impl.util.RequestUtils;
 import com.stormpath.sdk.lang.Strings;
 import org.apache.http.HttpEntity;
@@ -30,6 +32,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.params.CoreProtocolPNames;
 
 import java.io.IOException;
@@ -75,7 +78,7 @@ class HttpClientRequestFactory {
                 break;
             case POST:
                 base = new HttpPost(uri);
-                ((HttpEntityEnclosingRequestBase)base).setEntity(new RepeatableInputStreamEntity(request));
+                ((HttpEntityEnclosingRequestBase)base).setEntity(createEntity(request));
                 break;
             case PUT:
                 base = new HttpPut(uri);
@@ -88,6 +91,8 @@ class HttpClientRequestFactory {
 
                 if (previousEntity != null) {
                     ((HttpEntityEnclosingRequestBase)base).setEntity(previousEntity);
+                } else if (body instanceof BytesInputStream) {
+                    ((HttpEntityEnclosingRequestBase)base).setEntity(createEntity(request));
                 } else if (body != null) {
                     HttpEntity entity = new RepeatableInputStreamEntity(request);
                     if (contentLength < 0) {
@@ -105,6 +110,26 @@ class HttpClientRequestFactory {
         return base;
     }
 
+    /**
+     * Creates the entity for a request body.  A pre-serialized {@link BytesInputStream} body is sent as-is from its
+     * byte array, which is naturally repeatable for retries and needs no stream resets.
+     *
+     * @since 1.2.0
+     */
+    private HttpEntity createEntity(Request request) {
+        InputStream body = request.getBody();
+        if (body instanceof BytesInputStream) {
+            BytesInputStream bytes = (BytesInputStream) body;
+            ByteArrayEntity entity = new ByteArrayEntity(bytes.getBytes());
+            MediaType contentType = request.getHeaders().getContentType();
+            if (contentType != null) {
+                entity.setContentType(contentType.toString());
+            }
+            return entity;
+        }
+        return new RepeatableInputStreamEntity(request);
+    }
+
     /**
      * Configures the headers in the specified Apache HTTP request.
      */
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.httpclient;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PoolingHttpClientConnectionManager} that records how long each request waits to lease a connection so
+ * pool starvation can be observed via {@link #getStatistics()}.
+ *
+ * @since 1.2.0
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        final ConnectionRequest delegate = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return delegate.get(timeout, tunit);
+                } finally {
+                    recordLease(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    private void recordLease(long waitNanos) {
+        leaseCount.incrementAndGet();
+        totalLeaseWaitNanos.addAndGet(waitNanos);
+        long max = maxLeaseWaitNanos.get();
+        while (waitNanos > max && !maxLeaseWaitNanos.compareAndSet(max, waitNanos)) {
+            max = maxLeaseWaitNanos.get();
+        }
+    }
+
+    public ConnectionPoolStatistics getStatistics() {
+        PoolStats stats = getTotalStats();
+        return new ConnectionPoolStatistics(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax(),
+                leaseCount.get(), TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()));
+    }
+}
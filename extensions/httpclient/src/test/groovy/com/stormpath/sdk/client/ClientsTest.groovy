@@ -25,7 +25,6 @@ import com.stormpath.sdk.impl.client.DefaultClientBuilder
 import com.stormpath.sdk.impl.http.authc.BasicRequestAuthenticator
 import com.stormpath.sdk.impl.http.authc.SAuthc1RequestAuthenticator
 import com.stormpath.sdk.lang.Duration
-import org.apache.http.client.params.AllClientPNames
 import org.testng.annotations.Test
 
 import java.util.concurrent.TimeUnit
@@ -59,8 +58,8 @@ public class ClientsTest {
         //match what is set in stormpath.properties since it can't be created/deleted while testing
         assertEquals client.dataStore.cacheManager.defaultTimeToLive, new Duration(300, TimeUnit.SECONDS)
         assertEquals client.dataStore.cacheManager.defaultTimeToIdle, new Duration(300, TimeUnit.SECONDS)
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.SO_TIMEOUT), 30 * 1000)
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.CONNECTION_TIMEOUT), 30 * 1000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.socketTimeout, 30 * 1000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.connectTimeout, 30 * 1000)
     }
 
     @Test
@@ -195,8 +194,8 @@ public class ClientsTest {
         def builder = Clients.builder().setConnectionTimeout(990)
         assertEquals(builder.clientConfig.connectionTimeout, 990)
         def client = builder.build()
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.SO_TIMEOUT), 990000)
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.CONNECTION_TIMEOUT), 990000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.socketTimeout, 990000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.connectTimeout, 990000)
     }
 
     /* @since 1.0.RC3 */
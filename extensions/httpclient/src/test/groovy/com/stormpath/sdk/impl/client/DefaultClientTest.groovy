@@ -42,7 +42,6 @@ import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
 import com.stormpath.sdk.impl.http.support.DefaultRequest
 import com.stormpath.sdk.tenant.Tenant
-import org.apache.http.client.params.AllClientPNames
 import org.easymock.IArgumentMatcher
 import org.testng.annotations.Test
 
@@ -78,8 +77,8 @@ class DefaultClientTest {
         Client client = new DefaultClient(apiKeyCredentials, apiKeyResolver, baseUrl, proxy, cacheManager, authcScheme, null, connectionTimeout)
 
         assertEquals(client.dataStore.requestExecutor.requestAuthenticator.apiKeyCredentials, apiKeyCredentials)
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.SO_TIMEOUT), connectionTimeout * 1000)
-        assertEquals(client.dataStore.requestExecutor.httpClient.getParams().getParameter(AllClientPNames.CONNECTION_TIMEOUT), connectionTimeout * 1000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.socketTimeout, connectionTimeout * 1000)
+        assertEquals(client.dataStore.requestExecutor.defaultRequestConfig.connectTimeout, connectionTimeout * 1000)
 
         verify(apiKeyCredentials, proxy, cacheManager)
     }
@@ -18,14 +18,31 @@
 package com.stormpath.sdk.impl.http.httpclient
 
 import com.stormpath.sdk.client.AuthenticationScheme
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.http.ConnectionPoolConfiguration
+import com.stormpath.sdk.impl.http.TooManyRequestsException
+import com.stormpath.sdk.impl.http.support.DefaultRequest
 import org.apache.http.HttpEntity
 import org.apache.http.HttpResponse
+import org.apache.http.HttpVersion
 import org.apache.http.StatusLine
+import org.apache.http.client.HttpClient
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.entity.BasicHttpEntity
+import org.apache.http.message.BasicHttpResponse
 import org.testng.annotations.Test
 
+import java.util.zip.GZIPOutputStream
+
 import static org.easymock.EasyMock.*
+import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNotSame
 import static org.testng.Assert.assertNull
+import static org.testng.Assert.assertSame
+import static org.testng.Assert.assertTrue
+import static org.testng.Assert.fail
 
 class HttpClientRequestExecutorTest {
 
@@ -37,30 +54,169 @@ class HttpClientRequestExecutorTest {
         HttpResponse httpResponse = createStrictMock(HttpResponse)
         StatusLine statusLine = createStrictMock(StatusLine)
         HttpEntity entity = createStrictMock(HttpEntity)
-        InputStream entityContent = createStrictMock(InputStream)
 
-        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 20000) {
-            @Override
-            protected byte[] toBytes(HttpEntity he) throws IOException {
-                return null
-            }
-        }
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 20000)
 
         expect(httpResponse.getStatusLine()).andStubReturn(statusLine)
         expect(statusLine.getStatusCode()).andStubReturn(200)
         expect(httpResponse.getAllHeaders()).andStubReturn(null)
         expect(httpResponse.getEntity()).andStubReturn(entity)
         expect(entity.getContentEncoding())andStubReturn(null)
-        expect(entity.getContent()).andStubReturn(entityContent)
+        expect(entity.getContent()).andStubReturn(null)
         expect(entity.getContentLength()).andStubReturn(-1)
 
-        replay apiKeyCredentials, httpResponse, statusLine, entity, entityContent
+        replay apiKeyCredentials, httpResponse, statusLine, entity
 
         def sdkResponse = e.toSdkResponse(httpResponse)
 
         assertNull sdkResponse.body
 
-        verify apiKeyCredentials, httpResponse, statusLine, entity, entityContent
+        verify apiKeyCredentials, httpResponse, statusLine, entity
+
+    }
+
+    @Test
+    void testToSdkResponseBuffersSmallBody() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10)
+
+        def json = '{"href":"https://api.stormpath.com/v1/accounts/foo"}'
+        def content = new ByteArrayInputStream(json.getBytes('UTF-8'))
+        def entity = new BasicHttpEntity(content: content, contentLength: 52)
+        def httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        httpResponse.setEntity(entity)
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        //read while the request could still be retried:
+        assertNotSame sdkResponse.body, content
+        assertEquals content.available(), 0
+        assertEquals sdkResponse.body.getText('UTF-8'), json
+        assertEquals sdkResponse.headers.getContentLength(), 52
+    }
+
+    @Test
+    void testToSdkResponseStreamsLargeBody() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10)
+        e.setMaxBufferedBodySize(16)
+
+        def json = '{"href":"https://api.stormpath.com/v1/accounts/foo"}'
+
+        //known length:
+        def content = new ByteArrayInputStream(json.getBytes('UTF-8'))
+        def httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        httpResponse.setEntity(new BasicHttpEntity(content: content, contentLength: 52))
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertSame sdkResponse.body, content
+        assertEquals content.available(), 52
+
+        //unknown (chunked) length: only the first 16 bytes are read up front
+        content = new ByteArrayInputStream(json.getBytes('UTF-8'))
+        httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        httpResponse.setEntity(new BasicHttpEntity(content: content, contentLength: -1))
+
+        sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertEquals content.available(), 52 - 17
+        assertEquals sdkResponse.body.getText('UTF-8'), json
+        assertEquals sdkResponse.headers.getContentLength(), -1
+    }
+
+    @Test
+    void testToSdkResponseStreamsGzipBody() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10)
+
+        def json = '{"href":"https://api.stormpath.com/v1/accounts/foo"}'
+        def baos = new ByteArrayOutputStream()
+        def gzip = new GZIPOutputStream(baos)
+        gzip.write(json.getBytes('UTF-8'))
+        gzip.close()
+
+        def entity = new BasicHttpEntity(content: new ByteArrayInputStream(baos.toByteArray()), contentLength: baos.size())
+        entity.setContentEncoding('gzip')
+        def httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        httpResponse.setEntity(entity)
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertEquals sdkResponse.body.getText('UTF-8'), json
+        //the decompressed body was small enough to be buffered:
+        assertEquals sdkResponse.headers.getContentLength(), json.length()
+    }
+
+    @Test
+    void testDefaultConnectionPoolIsBounded() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10)
+
+        def stats = e.getConnectionPoolStatistics()
+        assertEquals stats.max, 200
+        assertEquals stats.leased, 0
+        assertEquals stats.pending, 0
+        assertEquals stats.available, 0
+        assertEquals stats.leaseCount, 0
+        assertEquals e.connectionManager.defaultMaxPerRoute, 100
+    }
+
+    @Test
+    void testConnectionPoolConfiguration() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+
+        def config = new ConnectionPoolConfiguration(20, 10, 5)
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10, config)
+
+        assertEquals e.getConnectionPoolStatistics().max, 20
+        assertEquals e.connectionManager.defaultMaxPerRoute, 10
+    }
+
+    @Test
+    void testConnectionPoolMaxPerRouteIsLimitedToMaxTotal() {
+
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+
+        def config = new ConnectionPoolConfiguration(5, 0, 0)
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10, config)
+
+        assertEquals e.getConnectionPoolStatistics().max, 5
+        assertEquals e.connectionManager.defaultMaxPerRoute, 5
+    }
+
+    @Test
+    void testRetryAfterLongerThanMaxBackoffFailsFast() {
+
+        def apiKeyCredentials = new ApiKeyCredentials(new ClientApiKey('id', 'secret'))
+        def e = new HttpClientRequestExecutor(apiKeyCredentials, null, AuthenticationScheme.SAUTHC1, null, 10)
+
+        def httpClient = createMock(HttpClient)
+        def httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, 'Too Many Requests')
+        httpResponse.setHeader('Retry-After', '30')
+
+        //sent only once: retrying within the 20 second backoff cap would only be throttled again
+        expect(httpClient.execute(anyObject(HttpUriRequest) as HttpUriRequest)).andReturn(httpResponse).once()
+
+        replay httpClient
+
+        e.setHttpClient(httpClient)
+
+        long start = System.currentTimeMillis()
+        try {
+            e.executeRequest(new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/tenants/current'))
+            fail('TooManyRequestsException expected')
+        } catch (TooManyRequestsException expected) {
+            assertEquals expected.retryAfterMillis, 30000L
+        }
+        assertTrue System.currentTimeMillis() - start < 20000
 
+        verify httpClient
     }
 }
@@ -15,13 +15,14 @@
  */
 package com.stormpath.sdk.servlet.account;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.lang.Function;
 import com.stormpath.sdk.servlet.http.Resolver;
-import com.stormpath.sdk.servlet.json.JsonFunction;
 import com.stormpath.sdk.servlet.json.ResourceJsonFunction;
+import com.stormpath.sdk.servlet.json.StreamingResourceJsonFunction;
 import com.stormpath.sdk.servlet.mvc.ResourceMapFunction;
 
 import javax.servlet.http.HttpServletRequest;
@@ -52,14 +53,26 @@ public class AccountStringResolver implements Resolver<String> {
     private AccountResolver accountResolver;
 
     /**
-     * Default constructor that uses a {@link ResourceJsonFunction ResourceJsonFunction} to convert any discovered
-     * account to a string.
+     * Default constructor that uses a {@link StreamingResourceJsonFunction StreamingResourceJsonFunction} with a
+     * default {@code ObjectMapper} to convert any discovered account to a string.
      */
     public AccountStringResolver() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * Creates a new instance that uses a {@link StreamingResourceJsonFunction StreamingResourceJsonFunction} with the
+     * specified {@code ObjectMapper} to convert any discovered account to a string.
+     *
+     * @param objectMapper the {@code ObjectMapper} used to write the account's JSON representation
+     * @since 1.2.0
+     */
+    public AccountStringResolver(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "objectMapper cannot be null.");
         this.accountResolver = new DefaultAccountResolver();
         ResourceMapFunction<Account> mapFunction = new ResourceMapFunction<>();
         mapFunction.setIncludedFields(Collections.toSet("groups")); //represent this one collection by default
-        this.accountStringFunction = new ResourceJsonFunction<>(mapFunction, new JsonFunction<>());
+        this.accountStringFunction = new StreamingResourceJsonFunction<>(mapFunction, objectMapper);
     }
 
     /**
@@ -74,6 +87,16 @@ public class AccountStringResolver implements Resolver<String> {
         this.accountStringFunction = accountStringFunction;
     }
 
+    /**
+     * Returns the function used to convert a discovered {@link Account} to a String representation.
+     *
+     * @return the function used to convert a discovered {@link Account} to a String representation.
+     * @since 1.2.0
+     */
+    public Function<Account, String> getAccountStringFunction() {
+        return accountStringFunction;
+    }
+
     /**
      * Sets the account resolver to use to look a request's associated account.  Unless overridden, the default
      * instance is a {@link DefaultAccountResolver}.  Once located, the account will be converted to a string
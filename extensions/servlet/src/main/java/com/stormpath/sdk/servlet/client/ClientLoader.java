@@ -23,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletContext;
+import java.io.Closeable;
+import java.io.IOException;
 
 /**
  * A {@code ClientLoader} is responsible for loading a web application's Stormpath {@link Client} instance and making it
@@ -225,12 +227,21 @@ public class ClientLoader {
     }
 
     /**
-     * Destroys the {@link Client} for the given servlet context.
+     * Destroys the {@link Client} for the given servlet context, closing it if it holds resources such as an HTTP
+     * connection pool.
      *
      * @param servletContext the ServletContext attributed to the WebSecurityManager
      */
     public void destroyClient(ServletContext servletContext) {
         servletContext.log("Cleaning up Stormpath client.");
+        Object client = servletContext.getAttribute(CLIENT_ATTRIBUTE_KEY);
         servletContext.removeAttribute(CLIENT_ATTRIBUTE_KEY);
+        if (client instanceof Closeable) {
+            try {
+                ((Closeable) client).close();
+            } catch (IOException e) {
+                log.warn("Unable to close the Stormpath client: {}", e.getMessage(), e);
+            }
+        }
     }
 }
@@ -2,6 +2,8 @@ package com.stormpath.sdk.servlet.config.filter;
 
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.config.Config;
+import com.stormpath.sdk.servlet.config.impl.ConfigReader;
+import com.stormpath.sdk.servlet.config.impl.ExpressionConfigReader;
 import com.stormpath.sdk.servlet.filter.StaticResourceFilter;
 
 import javax.servlet.ServletContext;
@@ -21,6 +23,10 @@ public class StaticResourceFilterFactory extends FilterFactory<StaticResourceFil
             filter.setDefaultServletName(defaultFilterName);
         }
 
+        ConfigReader reader = new ExpressionConfigReader(servletContext, config);
+        filter.setCacheEnabled(reader.getBoolean("stormpath.web.assets.cache.enabled"));
+        filter.setMaxAge(reader.getInt("stormpath.web.assets.cache.maxAge"));
+
         filter.init(servletContext);
 
         return filter;
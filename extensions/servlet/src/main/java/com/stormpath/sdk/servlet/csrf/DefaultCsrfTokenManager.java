@@ -17,6 +17,8 @@ package com.stormpath.sdk.servlet.csrf;
 
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.idsite.NonceStore;
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
 import io.jsonwebtoken.Claims;
@@ -34,6 +36,13 @@ import java.util.UUID;
 /**
  * Default implementation of the {@link com.stormpath.sdk.servlet.csrf.CsrfTokenManager} interface.  To ensure correct
  * behavior, the specified TTL <em>MUST</em> be the equal to or greater than the specified nonce cache's TTL.
+ * <p/>
+ * As of 1.2.0, used token ids may be remembered by any {@link NonceStore}.  Unless a cache or nonce store is
+ * specified, a {@link TimeBucketedNonceStore} that remembers used tokens for the token TTL is used, which protects a
+ * single JVM without depending on any cache configuration.  Should that store ever fill up, new tokens are rejected
+ * until consumed tokens expire, so a flood of submissions can never cause a consumed token to be accepted again.  An
+ * application that prefers availability may specify a {@code TimeBucketedNonceStore} with the
+ * {@link TimeBucketedNonceStore.OverflowPolicy#FORGET_OLDEST FORGET_OLDEST} policy instead.
  *
  * @since 1.0.RC3
  */
@@ -43,7 +52,16 @@ public class DefaultCsrfTokenManager implements CsrfTokenManager {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultCsrfTokenManager.class);
 
-    private final Cache<String, String> nonceCache;
+    /**
+     * The maximum number of used tokens remembered by the default nonce store.  Once it is reached, new tokens are
+     * rejected until consumed tokens expire.  The limit is high enough that a flood of submissions is expected to be
+     * rate-limited long before it is reached.
+     *
+     * @since 1.2.0
+     */
+    public static final int DEFAULT_MAX_USED_TOKENS = 1000000;
+
+    private final NonceStore nonceStore;
     private final String signingKey;
     private final long ttlMillis;
     private final String tokenName;
@@ -62,8 +80,34 @@ public class DefaultCsrfTokenManager implements CsrfTokenManager {
      *                   created, it cannot be used after this duration, even if it has not been consumed yet.
      */
     public DefaultCsrfTokenManager(String tokenName, Cache<String, String> nonceCache, String signingKey, long ttlMillis) {
-        Assert.notNull(nonceCache, "nonce cache cannot be null.");
-        this.nonceCache = nonceCache;
+        this(tokenName, new CacheNonceStore(nonceCache), signingKey, ttlMillis);
+    }
+
+    /**
+     * Instantiates a new DefaultCsrfTokenManager that remembers used tokens in a {@link TimeBucketedNonceStore}.
+     *
+     * @param tokenName  The name that will be used to identify the CSRF token.
+     * @param signingKey a (hopefully secure-random) cryptographic signing key used to digitally sign the CSRF token.
+     * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.
+     * @since 1.2.0
+     */
+    public DefaultCsrfTokenManager(String tokenName, String signingKey, long ttlMillis) {
+        this(tokenName, newDefaultNonceStore(ttlMillis), signingKey, ttlMillis);
+    }
+
+    /**
+     * Instantiates a new DefaultCsrfTokenManager.
+     *
+     * @param tokenName  The name that will be used to identify the CSRF token.
+     * @param nonceStore the store used to remember consumed token ids.  It <em>MUST</em> remember ids for at least
+     *                   {@code ttlMillis}.
+     * @param signingKey a (hopefully secure-random) cryptographic signing key used to digitally sign the CSRF token.
+     * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.
+     * @since 1.2.0
+     */
+    public DefaultCsrfTokenManager(String tokenName, NonceStore nonceStore, String signingKey, long ttlMillis) {
+        Assert.notNull(nonceStore, "nonce store cannot be null.");
+        this.nonceStore = nonceStore;
         Assert.hasText(signingKey, "signingKey cannot be null or empty.");
         this.signingKey = signingKey;
         Assert.isTrue(ttlMillis > 0, "ttlMillis must be greater than zero.");
@@ -108,11 +152,9 @@ public class DefaultCsrfTokenManager implements CsrfTokenManager {
 
             String id = jws.getBody().getId();
 
-            String usedNonce = nonceCache.get(id);
-
-            if (usedNonce == null) {
+            if (!nonceStore.hasNonce(id)) {
                 //CSRF token hasn't been used yet, mark it as used:
-                nonceCache.put(id, csrfToken);
+                nonceStore.putNonce(id);
                 return true;
             }
         } catch (Exception e) {
@@ -121,4 +163,42 @@ public class DefaultCsrfTokenManager implements CsrfTokenManager {
 
         return false;
     }
+
+    /**
+     * Returns the in-memory store used to remember consumed tokens unless another store is specified.  A full store
+     * rejects new tokens: forgetting consumed tokens early would let anyone able to obtain tokens evict them by
+     * flooding the store, and then replay them for the rest of their lifetime.
+     *
+     * @since 1.2.0
+     */
+    static NonceStore newDefaultNonceStore(long ttlMillis) {
+        Assert.isTrue(ttlMillis > 0, "ttlMillis must be greater than zero.");
+        return new TimeBucketedNonceStore(ttlMillis, TimeBucketedNonceStore.DEFAULT_BUCKET_COUNT,
+                                          DEFAULT_MAX_USED_TOKENS, TimeBucketedNonceStore.OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Adapts the {@code Cache} accepted by earlier versions to the {@code NonceStore} interface.
+     *
+     * @since 1.2.0
+     */
+    static class CacheNonceStore implements NonceStore {
+
+        private final Cache<String, String> cache;
+
+        CacheNonceStore(Cache<String, String> cache) {
+            Assert.notNull(cache, "nonce cache cannot be null.");
+            this.cache = cache;
+        }
+
+        @Override
+        public boolean hasNonce(String nonce) {
+            return cache.get(nonce) != null;
+        }
+
+        @Override
+        public void putNonce(String nonce) {
+            cache.put(nonce, nonce);
+        }
+    }
 }
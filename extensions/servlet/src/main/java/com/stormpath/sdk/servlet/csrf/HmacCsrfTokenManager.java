@@ -0,0 +1,298 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.csrf;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.idsite.NonceStore;
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.servlet.account.AccountResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * A {@link CsrfTokenManager} that issues compact, stateless HMAC tokens instead of JWTs, intended for applications
+ * that render and post many forms.
+ * <p/>
+ * A token is the URL-safe Base64 encoding of a 34 byte value:
+ * <pre>
+ * version (1) | binding type (1) | expiration in epoch seconds (4) | random id (12) | truncated HMAC-SHA256 (16)
+ * </pre>
+ * The HMAC covers the first 18 bytes as well as the value the token is bound to: the href of the current account if
+ * the request is authenticated, otherwise the id of the current HTTP session if one exists.  A token issued to one
+ * user or session is therefore rejected for any other.  A token issued to an anonymous request without a session is
+ * not bound, but it is rejected once the request is authenticated, so an anonymous token harvested by an attacker
+ * cannot be used against a logged-in user.
+ * <p/>
+ * Validation only performs a few arithmetic checks, one HMAC computation and a lookup in a {@link NonceStore} that
+ * remembers consumed tokens until they expire.  No JWT parsing happens, and unless another store is specified, the
+ * nonce store is an in-memory {@link TimeBucketedNonceStore} (which rejects new tokens rather than forgetting consumed
+ * ones should it ever fill up), so no remote cache is involved.  Note that an in-memory
+ * store only prevents replays within a single JVM; clustered applications that do not use sticky sessions may specify
+ * a distributed {@code NonceStore} or {@code Cache} instead - as the default configuration does when the client's
+ * {@code CacheManager} is not the SDK's own in-memory implementation.
+ *
+ * @see DefaultCsrfTokenManager
+ * @since 1.2.0
+ */
+public class HmacCsrfTokenManager implements CsrfTokenManager {
+
+    private static final Logger log = LoggerFactory.getLogger(HmacCsrfTokenManager.class);
+
+    private static final String DEFAULT_CSRF_TOKEN_NAME = "csrfToken";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte VERSION = 1;
+
+    private static final byte UNBOUND = 0;
+    private static final byte SESSION_BOUND = 1;
+    private static final byte ACCOUNT_BOUND = 2;
+
+    private static final int PAYLOAD_LENGTH = 18;
+    private static final int ID_OFFSET = 6;
+    private static final int ID_LENGTH = 12;
+    private static final int MAC_LENGTH = 16;
+    private static final int TOKEN_LENGTH = PAYLOAD_LENGTH + MAC_LENGTH;
+
+    //34 bytes of URL-safe Base64 without padding:
+    private static final int ENCODED_TOKEN_LENGTH = (TOKEN_LENGTH * 4 + 2) / 3;
+
+    private static final byte[] NO_BINDING = new byte[0];
+
+    private final String tokenName;
+    private final NonceStore nonceStore;
+    private final long ttlMillis;
+    private final SecureRandom random;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Instantiates a new HmacCsrfTokenManager that remembers consumed tokens in memory.
+     *
+     * @param tokenName  the name used to identify the CSRF token, for example as a form field name.
+     * @param signingKey a (hopefully secure-random) key used to compute the token HMAC.
+     * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.
+     */
+    public HmacCsrfTokenManager(String tokenName, String signingKey, long ttlMillis) {
+        this(tokenName, DefaultCsrfTokenManager.newDefaultNonceStore(ttlMillis), signingKey, ttlMillis);
+    }
+
+    /**
+     * Instantiates a new HmacCsrfTokenManager that remembers consumed tokens in the specified cache, for example a
+     * distributed cache shared by all JVMs of a clustered application.
+     *
+     * @param tokenName  the name used to identify the CSRF token, for example as a form field name.
+     * @param nonceCache the cache used to remember consumed tokens.  It <em>MUST</em> have a TTL value equal to or
+     *                   greater than {@code ttlMillis}.
+     * @param signingKey a (hopefully secure-random) key used to compute the token HMAC.
+     * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.
+     */
+    public HmacCsrfTokenManager(String tokenName, Cache<String, String> nonceCache, String signingKey, long ttlMillis) {
+        this(tokenName, new DefaultCsrfTokenManager.CacheNonceStore(nonceCache), signingKey, ttlMillis);
+    }
+
+    /**
+     * Instantiates a new HmacCsrfTokenManager.
+     *
+     * @param tokenName  the name used to identify the CSRF token, for example as a form field name.
+     * @param nonceStore the store used to remember consumed tokens.  It <em>MUST</em> remember tokens for at least
+     *                   {@code ttlMillis}.
+     * @param signingKey a (hopefully secure-random) key used to compute the token HMAC.
+     * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.
+     */
+    public HmacCsrfTokenManager(String tokenName, NonceStore nonceStore, String signingKey, long ttlMillis) {
+        Assert.notNull(nonceStore, "nonce store cannot be null.");
+        Assert.hasText(signingKey, "signingKey cannot be null or empty.");
+        assertTtl(ttlMillis);
+        this.tokenName = Strings.hasText(tokenName) ? tokenName : DEFAULT_CSRF_TOKEN_NAME;
+        this.nonceStore = nonceStore;
+        this.ttlMillis = ttlMillis;
+        this.random = new SecureRandom();
+        final SecretKeySpec key = new SecretKeySpec(signingKey.getBytes(UTF_8), MAC_ALGORITHM);
+        //Mac instances are not thread-safe and relatively expensive to look up and initialize, so each thread keeps
+        //its own:
+        this.macs = new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                try {
+                    Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                    mac.init(key);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to initialize " + MAC_ALGORITHM + " instance.", e);
+                }
+            }
+        };
+        //fail fast if the algorithm is unavailable:
+        this.macs.get();
+    }
+
+    @Override
+    public String getTokenName() {
+        return this.tokenName;
+    }
+
+    @Override
+    public String createCsrfToken(HttpServletRequest request, HttpServletResponse response) {
+
+        byte[] token = new byte[TOKEN_LENGTH];
+
+        byte bindingType;
+        byte[] binding;
+        Account account = getAccount(request);
+        if (account != null) {
+            bindingType = ACCOUNT_BOUND;
+            binding = account.getHref().getBytes(UTF_8);
+        } else {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                bindingType = SESSION_BOUND;
+                binding = session.getId().getBytes(UTF_8);
+            } else {
+                bindingType = UNBOUND;
+                binding = NO_BINDING;
+            }
+        }
+
+        long expiration = (currentTimeMillis() + ttlMillis + 999) / 1000;
+
+        token[0] = VERSION;
+        token[1] = bindingType;
+        token[2] = (byte) (expiration >>> 24);
+        token[3] = (byte) (expiration >>> 16);
+        token[4] = (byte) (expiration >>> 8);
+        token[5] = (byte) expiration;
+
+        byte[] id = new byte[ID_LENGTH];
+        random.nextBytes(id);
+        System.arraycopy(id, 0, token, ID_OFFSET, ID_LENGTH);
+
+        byte[] mac = computeMac(token, binding);
+        System.arraycopy(mac, 0, token, PAYLOAD_LENGTH, MAC_LENGTH);
+
+        return Base64.encodeBase64URLSafeString(token);
+    }
+
+    @Override
+    public boolean isValidCsrfToken(HttpServletRequest request, HttpServletResponse response, String csrfToken) {
+
+        if (csrfToken == null || csrfToken.length() != ENCODED_TOKEN_LENGTH) {
+            return false;
+        }
+
+        try {
+            byte[] token = Base64.decodeBase64(csrfToken);
+
+            if (token.length != TOKEN_LENGTH || token[0] != VERSION) {
+                return false;
+            }
+
+            long expiration = ((token[2] & 0xFFL) << 24) | ((token[3] & 0xFFL) << 16) |
+                              ((token[4] & 0xFFL) << 8) | (token[5] & 0xFFL);
+            if (expiration * 1000 <= currentTimeMillis()) {
+                log.debug("CSRF token has expired.");
+                return false;
+            }
+
+            byte[] binding = getBinding(request, token[1]);
+            if (binding == null) {
+                log.debug("CSRF token is not bound to the current request's account or session.");
+                return false;
+            }
+
+            byte[] mac = computeMac(token, binding);
+            if (!isEqual(mac, token, PAYLOAD_LENGTH)) {
+                log.debug("CSRF token signature is invalid.");
+                return false;
+            }
+
+            //signature is valid, now let's ensure it hasn't been submitted before:
+            if (!nonceStore.hasNonce(csrfToken)) {
+                nonceStore.putNonce(csrfToken);
+                return true;
+            }
+        } catch (Exception e) {
+            log.debug("CSRF token is invalid (this is likely to happen and not an error condition).", e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the binding value of the current request for the specified binding type, or {@code null} if the request
+     * cannot satisfy that binding type.
+     */
+    private byte[] getBinding(HttpServletRequest request, byte bindingType) {
+        Account account = getAccount(request);
+        switch (bindingType) {
+            case ACCOUNT_BOUND:
+                return account != null ? account.getHref().getBytes(UTF_8) : null;
+            case SESSION_BOUND:
+                HttpSession session = request.getSession(false);
+                return session != null ? session.getId().getBytes(UTF_8) : null;
+            case UNBOUND:
+                //an anonymous token must never be accepted on behalf of an authenticated user:
+                return account == null ? NO_BINDING : null;
+            default:
+                return null;
+        }
+    }
+
+    protected Account getAccount(HttpServletRequest request) {
+        return AccountResolver.INSTANCE.getAccount(request);
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private byte[] computeMac(byte[] token, byte[] binding) {
+        Mac mac = macs.get();
+        mac.update(token, 0, PAYLOAD_LENGTH);
+        mac.update(binding);
+        return mac.doFinal();
+    }
+
+    /**
+     * Compares the first {@code MAC_LENGTH} bytes of {@code mac} with the token's MAC in constant time.
+     */
+    private static boolean isEqual(byte[] mac, byte[] token, int offset) {
+        int result = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            result |= mac[i] ^ token[offset + i];
+        }
+        return result == 0;
+    }
+
+    private static long assertTtl(long ttlMillis) {
+        Assert.isTrue(ttlMillis > 0, "ttlMillis must be greater than zero.");
+        return ttlMillis;
+    }
+}
@@ -18,11 +18,14 @@ package com.stormpath.sdk.servlet.csrf.config;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.client.ClientResolver;
 import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
 import com.stormpath.sdk.servlet.csrf.CsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DefaultCsrfTokenManager;
+import com.stormpath.sdk.servlet.csrf.HmacCsrfTokenManager;
 
 import javax.servlet.ServletContext;
 
@@ -35,6 +38,16 @@ public class CsrfTokenManagerFactory extends ConfigSingletonFactory<CsrfTokenMan
     public static final String CSRF_TOKEN_TTL = "stormpath.web.csrf.token.ttl";
     public static final String NONCE_CACHE_NAME = "stormpath.web.nonce.cache.name";
 
+    /**
+     * @since 1.2.0
+     */
+    public static final String CSRF_TOKEN_FORMAT = "stormpath.web.csrf.token.format";
+
+    /**
+     * @since 1.2.0
+     */
+    public static final String HMAC_FORMAT = "hmac";
+
     @Override
     protected CsrfTokenManager createInstance(ServletContext servletContext) throws Exception {
 
@@ -51,12 +64,24 @@ public class CsrfTokenManagerFactory extends ConfigSingletonFactory<CsrfTokenMan
 
         Client client = ClientResolver.INSTANCE.getClient(servletContext);
         CacheManager cacheManager = client.getCacheManager();
-        Cache<String,String> usedNonceCache = cacheManager.getCache(usedNonceCacheName);
 
         String signingKey = client.getApiKey().getSecret();
 
         String tokenName = getConfig().get(CSRF_TOKEN_NAME);
 
+        boolean hmac = HMAC_FORMAT.equalsIgnoreCase(Strings.clean(getConfig().get(CSRF_TOKEN_FORMAT)));
+
+        //since 1.2.0: a dedicated in-memory store unless the cache manager might be shared across JVMs:
+        if (TimeBucketedNonceStore.isPreferredOver(cacheManager)) {
+            return hmac ? new HmacCsrfTokenManager(tokenName, signingKey, ttlMillis) :
+                   new DefaultCsrfTokenManager(tokenName, signingKey, ttlMillis);
+        }
+
+        Cache<String,String> usedNonceCache = cacheManager.getCache(usedNonceCacheName);
+
+        if (hmac) {
+            return new HmacCsrfTokenManager(tokenName, usedNonceCache, signingKey, ttlMillis);
+        }
         return new DefaultCsrfTokenManager(tokenName, usedNonceCache, signingKey, ttlMillis);
     }
 }
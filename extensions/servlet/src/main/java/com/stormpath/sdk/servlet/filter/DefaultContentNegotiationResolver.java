@@ -19,10 +19,14 @@ import com.stormpath.sdk.servlet.http.MediaType;
 import com.stormpath.sdk.servlet.http.UnresolvedMediaTypeException;
 import com.stormpath.sdk.servlet.http.UserAgent;
 import com.stormpath.sdk.servlet.http.UserAgents;
+import com.stormpath.sdk.servlet.http.impl.DefaultUserAgent;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation for the
@@ -30,13 +34,80 @@ import java.util.List;
  * Content Negotiation Strategy</a> defined as part of our <a href="https://github.com/stormpath/stormpath-framework-spec">
  * Stormpath Framework Integration</a> specification.
  *
+ * <p/>
+ * As of 1.2.0, the outcome of negotiating a given {@code Accept} header against a given list of produced media types
+ * is remembered, so repeat negotiations - browsers send the same few {@code Accept} values over and over - cost a
+ * couple of hash lookups.  Both the number of produces lists and the number of {@code Accept} values remembered per
+ * list are bounded.
+ *
  * @since 1.0.0
  */
 public class DefaultContentNegotiationResolver implements ContentNegotiationResolver {
 
+    private static final int MAX_CACHED_PRODUCES_LISTS = 64;
+
+    private static final int MAX_CACHED_ACCEPT_HEADERS = 1024;
+
+    //marks a cached negotiation that could not be resolved:
+    private static final Object UNRESOLVED = new Object();
+
+    private final ConcurrentMap<List<MediaType>, ConcurrentMap<String, Object>> negotiated = new ConcurrentHashMap<>();
+
     public MediaType getContentType(HttpServletRequest request, HttpServletResponse response, List<MediaType> producesMediaTypes) throws UnresolvedMediaTypeException {
 
         UserAgent ua = UserAgents.get(request);
+
+        if (!(ua instanceof DefaultUserAgent)) {
+            return negotiate(request, null, ua, producesMediaTypes);
+        }
+
+        String accept = ((DefaultUserAgent) ua).getAcceptHeader();
+        if (accept == null) {
+            return negotiate(request, null, ua, producesMediaTypes);
+        }
+
+        ConcurrentMap<String, Object> results = negotiated.get(producesMediaTypes);
+        if (results == null) {
+            results = new ConcurrentHashMap<>();
+            if (negotiated.size() >= MAX_CACHED_PRODUCES_LISTS) {
+                negotiated.clear();
+            }
+            //copy the key so later changes to the caller's list can't corrupt the cache:
+            ConcurrentMap<String, Object> existing = negotiated.putIfAbsent(new ArrayList<>(producesMediaTypes), results);
+            if (existing != null) {
+                results = existing;
+            }
+        }
+
+        Object result = results.get(accept);
+
+        if (result == null) {
+            try {
+                result = negotiate(request, accept, ua, producesMediaTypes);
+            } catch (UnresolvedMediaTypeException e) {
+                result = UNRESOLVED;
+            }
+            if (results.size() >= MAX_CACHED_ACCEPT_HEADERS) {
+                results.clear();
+            }
+            results.put(accept, result);
+        }
+
+        if (result == UNRESOLVED) {
+            throw unresolved(ua, producesMediaTypes);
+        }
+
+        return (MediaType) result;
+    }
+
+    /**
+     * Negotiates the content type from scratch.  {@code accept} is the request's {@code Accept} header if it has
+     * already been read, or {@code null} if it still needs to be read from the request.
+     *
+     * @since 1.2.0
+     */
+    private MediaType negotiate(HttpServletRequest request, String accept, UserAgent ua, List<MediaType> producesMediaTypes) throws UnresolvedMediaTypeException {
+
         List<MediaType> preferredMediaTypes = ua.getAcceptedMediaTypes();
 
         if (preferredMediaTypes.size() == 0 || preferredMediaTypes.get(0).equals(MediaType.ALL)) {
@@ -52,11 +123,21 @@ public class DefaultContentNegotiationResolver implements ContentNegotiationReso
         }
 
         // 781: Add support for application/x-www-form-urlencoded in verify endpoint
-        if (request.getHeader("accept").contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+        if (accept == null) {
+            accept = request.getHeader("accept");
+        }
+        if (accept.contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
             return MediaType.APPLICATION_JSON;
         }
 
-        throw new UnresolvedMediaTypeException(preferredMediaTypes, producesMediaTypes,
+        throw unresolved(ua, producesMediaTypes);
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private UnresolvedMediaTypeException unresolved(UserAgent ua, List<MediaType> producesMediaTypes) {
+        return new UnresolvedMediaTypeException(ua.getAcceptedMediaTypes(), producesMediaTypes,
                 "The ContentNegotiationResolver was not able to come up with a valid MediaType.");
     }
 
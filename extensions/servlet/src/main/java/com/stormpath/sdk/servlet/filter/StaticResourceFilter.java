@@ -17,6 +17,9 @@ package com.stormpath.sdk.servlet.filter;
 
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.util.ServletContextInitializable;
+import com.stormpath.sdk.servlet.util.ServletUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -26,7 +29,16 @@ import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * A {@link Filter} for serving static files using the Servlet container's &quot;default&quot; Servlet.
@@ -42,6 +54,15 @@ import java.io.IOException;
  * container where the default Servlet's name is not known, or where it has been customized
  * via server configuration, the {@code defaultServletName} will need to be set explicitly.</p>
  * <p>
+ * <p>As of 1.2.0, when {@link #setCacheEnabled(boolean) caching} is enabled (the default), {@code GET} and
+ * {@code HEAD} requests for resources that exist in the {@link ServletContext} are not forwarded but served from
+ * memory: each resource is read once, fingerprinted by a hash of its content and, if it is worth it, gzipped once.
+ * Responses carry a strong {@code ETag} so conditional requests are answered with {@code 304 Not Modified}. Requests
+ * that carry the resource's current fingerprint in the {@link #VERSION_PARAMETER_NAME version parameter} - see
+ * {@link #getVersionedPath(String)} - are marked as {@code immutable} and cacheable for a year; any other request must
+ * be revalidated after {@link #setMaxAge(int) maxAge} seconds.  The filter makes itself available as a
+ * {@code ServletContext} attribute named after this class so views can link to versioned paths.</p>
+ * <p>
  * <p>Attribution: most of this logic was gratefully acquired from the Spring Framework's
  * {@code DefaultServletHttpRequestHandler}. Author attribution and Apache 2.0 license remain in-tact.</p>
  *
@@ -76,14 +97,65 @@ public class StaticResourceFilter implements Filter, ServletContextInitializable
      */
     private static final String WEBSPHERE_DEFAULT_SERVLET_NAME = "SimpleFileServlet";
 
+    private static final Logger log = LoggerFactory.getLogger(StaticResourceFilter.class);
+
+    /**
+     * Name of the query parameter that carries a resource's fingerprint.
+     *
+     * @since 1.2.0
+     */
+    public static final String VERSION_PARAMETER_NAME = "v";
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    //resources larger than this are always forwarded to the default servlet instead of being held in memory:
+    private static final int MAX_CACHED_RESOURCE_SIZE = 1024 * 1024;
+
+    //gzip adds a fixed overhead, so compressing very small resources doesn't pay off:
+    private static final int MIN_COMPRESSED_RESOURCE_SIZE = 256;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    //marks paths that have no resource that can be served from memory:
+    private static final CachedResource NOT_CACHEABLE = new CachedResource(null, null, null, null);
+
+    private final ConcurrentMap<String, CachedResource> resources = new ConcurrentHashMap<>();
+
     private String defaultServletName;
 
     private ServletContext servletContext;
 
+    private boolean cacheEnabled = true;
+
+    private int maxAge = 0;
+
     public void setDefaultServletName(String defaultServletName) {
         this.defaultServletName = defaultServletName;
     }
 
+    /**
+     * Sets whether resources are served from memory rather than by the container's default servlet.  Defaults to
+     * {@code true}.
+     *
+     * @param cacheEnabled whether resources are served from memory rather than by the container's default servlet.
+     * @since 1.2.0
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /**
+     * Sets the number of seconds clients may use a resource requested without its current fingerprint before they
+     * have to revalidate it.  Defaults to {@code 0}, i.e. clients revalidate on every use, which costs them a
+     * {@code 304 Not Modified} response as long as the resource has not changed.
+     *
+     * @param maxAge the number of seconds clients may use an unversioned resource without revalidating it.
+     * @since 1.2.0
+     */
+    public void setMaxAge(int maxAge) {
+        this.maxAge = maxAge;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         init(filterConfig.getServletContext());
@@ -97,6 +169,7 @@ public class StaticResourceFilter implements Filter, ServletContextInitializable
     @Override
     public void init(ServletContext servletContext) throws ServletException {
         this.servletContext = servletContext;
+        this.servletContext.setAttribute(StaticResourceFilter.class.getName(), this);
         if (!Strings.hasText(this.defaultServletName)) {
             if (this.servletContext.getNamedDispatcher(COMMON_DEFAULT_SERVLET_NAME) != null) {
                 this.defaultServletName = COMMON_DEFAULT_SERVLET_NAME;
@@ -117,6 +190,21 @@ public class StaticResourceFilter implements Filter, ServletContextInitializable
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+
+        if (cacheEnabled && request instanceof HttpServletRequest && response instanceof HttpServletResponse) {
+
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            String method = httpRequest.getMethod();
+
+            if ("GET".equals(method) || "HEAD".equals(method)) {
+                CachedResource resource = getResource(ServletUtils.getContextRelativeUri(httpRequest));
+                if (resource != null) {
+                    resource.write(httpRequest, (HttpServletResponse) response, maxAge);
+                    return;
+                }
+            }
+        }
+
         RequestDispatcher rd = this.servletContext.getNamedDispatcher(this.defaultServletName);
         if (rd == null) {
             throw new IllegalStateException("A RequestDispatcher could not be located for the default servlet '" +
@@ -125,6 +213,239 @@ public class StaticResourceFilter implements Filter, ServletContextInitializable
         rd.forward(request, response);
     }
 
+    /**
+     * Returns the specified context-relative path with the fingerprint of the resource's current content appended as
+     * the {@link #VERSION_PARAMETER_NAME version parameter}, e.g. {@code /assets/css/stormpath.css?v=3f2a...}.  Such
+     * a path changes whenever the resource changes, so it is served with a far-future, immutable
+     * {@code Cache-Control} header.  If the resource cannot be served from memory, the path is returned unchanged.
+     *
+     * @param path the context-relative path of the resource, e.g. {@code /assets/css/stormpath.css}
+     * @return the path, versioned with the resource's fingerprint if the resource can be served from memory.
+     * @since 1.2.0
+     */
+    public String getVersionedPath(String path) {
+        CachedResource resource = cacheEnabled ? getResource(path) : null;
+        return resource != null ? path + '?' + VERSION_PARAMETER_NAME + '=' + resource.fingerprint : path;
+    }
+
+    /**
+     * Returns the in-memory representation of the resource at the specified path, reading it on first access, or
+     * {@code null} if the resource must be served by the container's default servlet.
+     *
+     * @since 1.2.0
+     */
+    private CachedResource getResource(String path) {
+
+        CachedResource resource = resources.get(path);
+
+        if (resource == null) {
+            resource = loadResource(path);
+            CachedResource existing = resources.putIfAbsent(path, resource);
+            if (existing != null) {
+                resource = existing;
+            }
+        }
+
+        return resource != NOT_CACHEABLE ? resource : null;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private CachedResource loadResource(String path) {
+
+        //the default servlet knows how to refuse these; we shouldn't even look:
+        if (!Strings.startsWithIgnoreCase(path, "/") || Strings.startsWithIgnoreCase(path, "/WEB-INF") ||
+            Strings.startsWithIgnoreCase(path, "/META-INF")) {
+            return NOT_CACHEABLE;
+        }
+
+        byte[] content;
+        try {
+            content = read(path);
+        } catch (IOException e) {
+            log.debug("Unable to read static resource {}, it will be served by the default servlet.", path, e);
+            return NOT_CACHEABLE;
+        }
+        if (content == null) {
+            return NOT_CACHEABLE;
+        }
+
+        byte[] gzipped = null;
+        if (content.length >= MIN_COMPRESSED_RESOURCE_SIZE) {
+            try {
+                gzipped = gzip(content);
+                if (gzipped.length >= content.length) {
+                    gzipped = null;
+                }
+            } catch (IOException e) {
+                log.debug("Unable to compress static resource {}, it will only be served uncompressed.", path, e);
+            }
+        }
+
+        return new CachedResource(servletContext.getMimeType(path), fingerprint(content), content, gzipped);
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private byte[] read(String path) throws IOException {
+
+        InputStream is = servletContext.getResourceAsStream(path);
+        if (is == null) {
+            return null;
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                if (out.size() > MAX_CACHED_RESOURCE_SIZE) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static String fingerprint(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every Java platform.", e);
+        }
+        //the first 64 bits are plenty to tell versions of the same resource apart:
+        char[] hex = new char[16];
+        for (int i = 0; i < 8; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Returns {@code true} if the specified {@code Accept-Encoding} header value accepts gzip, {@code false}
+     * otherwise.
+     *
+     * @since 1.2.0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : Strings.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = Strings.tokenizeToStringArray(coding, ";");
+            if (parts.length > 0 && ("gzip".equalsIgnoreCase(parts[0]) || "x-gzip".equalsIgnoreCase(parts[0]))) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].replace(" ", "");
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if the specified {@code If-None-Match} header value matches the specified entity tag
+     * (using the weak comparison required for {@code If-None-Match}), {@code false} otherwise.
+     *
+     * @since 1.2.0
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : Strings.tokenizeToStringArray(ifNoneMatch, ",")) {
+            if ("*".equals(candidate) || etag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An immutable, in-memory static resource along with its precompressed variant.
+     *
+     * @since 1.2.0
+     */
+    private static class CachedResource {
+
+        private final String contentType;
+        private final String fingerprint;
+        private final byte[] content;
+        private final byte[] gzipped;
+        private final String etag;
+        private final String gzippedEtag;
+
+        private CachedResource(String contentType, String fingerprint, byte[] content, byte[] gzipped) {
+            this.contentType = contentType;
+            this.fingerprint = fingerprint;
+            this.content = content;
+            this.gzipped = gzipped;
+            //strong entity tags must differ between content encodings:
+            this.etag = '"' + fingerprint + '"';
+            this.gzippedEtag = '"' + fingerprint + "-gzip" + '"';
+        }
+
+        private void write(HttpServletRequest request, HttpServletResponse response, int maxAge) throws IOException {
+
+            boolean gzip = gzipped != null && acceptsGzip(request.getHeader("Accept-Encoding"));
+            String etag = gzip ? this.gzippedEtag : this.etag;
+
+            if (gzipped != null) {
+                response.setHeader("Vary", "Accept-Encoding");
+            }
+            response.setHeader("ETag", etag);
+            response.setHeader("Cache-Control", fingerprint.equals(request.getParameter(VERSION_PARAMETER_NAME)) ?
+                IMMUTABLE_CACHE_CONTROL : "public, max-age=" + maxAge + ", must-revalidate");
+
+            if (matches(request.getHeader("If-None-Match"), etag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            byte[] body = gzip ? gzipped : content;
+
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            if (gzip) {
+                response.setHeader("Content-Encoding", "gzip");
+            }
+            response.setContentLength(body.length);
+
+            if (!"HEAD".equals(request.getMethod())) {
+                response.getOutputStream().write(body);
+            }
+        }
+    }
+
     @Override
     public void destroy() {
     }
@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.servlet.filter.account;
 
+import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.authc.AuthenticationResult;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.impl.util.Base64;
@@ -27,8 +28,16 @@ import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.Key;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Resolves the HMAC signing key for a JWT from the API Key Secret of the request's {@link Client}.
+ * <p/>
+ * As of 1.2.0, keys are memoized per API Key id and algorithm rather than decoded on every request.  A memoized key
+ * is only used while the client's API Key still has the same secret, so rotating the client's API Key takes effect
+ * on the next request.
+ *
  * @since 1.0.RC3
  */
 public class DefaultJwtSigningKeyResolver implements JwtSigningKeyResolver {
@@ -43,6 +52,11 @@ public class DefaultJwtSigningKeyResolver implements JwtSigningKeyResolver {
                                              "may want to implement your own JwtSigningKeyResolver implementation " +
                                              "to support Elliptic Curve keys.";
 
+    //an application normally only ever signs with one or two keys; this just guards against unbounded growth:
+    private static final int MAX_CACHED_KEYS = 64;
+
+    private final ConcurrentMap<String, CachedKey> keys = new ConcurrentHashMap<>();
+
     @Override
     public Key getSigningKey(HttpServletRequest request, HttpServletResponse response, AuthenticationResult result,
                              SignatureAlgorithm alg) {
@@ -62,12 +76,51 @@ public class DefaultJwtSigningKeyResolver implements JwtSigningKeyResolver {
         Client client = (Client) request.getAttribute(Client.class.getName());
         Assert.notNull(client, "Client must be accessible as a request attribute.");
 
-        String apiKeySecret = client.getApiKey().getSecret();
+        ApiKey apiKey = client.getApiKey();
+        String apiKeySecret = apiKey.getSecret();
+
+        String cacheKey = apiKey.getId() + ':' + alg.getJcaName();
+
+        CachedKey cached = keys.get(cacheKey);
+
+        //a different secret for the same id means the key was rotated/replaced - never use the old key material:
+        if (cached == null || !cached.secret.equals(apiKeySecret)) {
+
+            //Stormpath API Keys are base-64-encoded secure random byte arrays:
+            byte[] apiKeySecretBytes = Base64.decodeBase64(apiKeySecret);
+
+            cached = new CachedKey(apiKeySecret, new SecretKeySpec(apiKeySecretBytes, alg.getJcaName()));
+
+            if (keys.size() >= MAX_CACHED_KEYS) {
+                keys.clear();
+            }
+            keys.put(cacheKey, cached);
+        }
+
+        return cached.key;
+    }
+
+    /**
+     * Discards all memoized signing keys, forcing them to be derived again from the client's API Key.
+     *
+     * @since 1.2.0
+     */
+    public void clearCache() {
+        keys.clear();
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static class CachedKey {
 
-        //Stormpath API Keys are base-64-encoded secure random byte arrays:
-        byte[] apiKeySecretBytes = Base64.decodeBase64(apiKeySecret);
+        private final String secret;
 
-        return new SecretKeySpec(apiKeySecretBytes, alg.getJcaName());
+        private final Key key;
 
+        private CachedKey(String secret, Key key) {
+            this.secret = secret;
+            this.key = key;
+        }
     }
 }
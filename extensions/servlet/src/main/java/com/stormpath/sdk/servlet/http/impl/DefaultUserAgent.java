@@ -23,6 +23,8 @@ import com.stormpath.sdk.servlet.http.UserAgent;
 import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 1.0.RC3
@@ -31,8 +33,14 @@ public class DefaultUserAgent implements UserAgent {
 
     private static final String ACCEPT_HEADER_NAME = "Accept";
 
+    //clients send a small number of distinct Accept headers, so parsed values are shared across requests (@since 1.2.0):
+    private static final int MAX_CACHED_ACCEPT_HEADERS = 1024;
+
+    private static final ConcurrentMap<String, List<MediaType>> PARSED_ACCEPT_HEADERS = new ConcurrentHashMap<>();
+
     private final HttpServletRequest request;
 
+    private String acceptHeader; //cached value to eliminate multiple header lookups (@since 1.2.0)
     private List<MediaType> acceptedMediaTypes; //cached value to eliminate multiple parse invocations
     private Boolean jsonPreferred; //cached value to eliminate multiple iterations
     private Boolean htmlPreferred; //cached value to eliminate multiple iterations
@@ -95,11 +103,19 @@ public class DefaultUserAgent implements UserAgent {
             accepted = Collections.emptyList();
 
             //then reflect any header that might be present:
-            String val = request.getHeader(ACCEPT_HEADER_NAME);
-            val = Strings.clean(val);
+            String val = getAcceptHeader();
             if (val != null) {
-                accepted = MediaType.parseMediaTypes(val);
-                MediaType.sortBySpecificityAndQuality(accepted);
+                accepted = PARSED_ACCEPT_HEADERS.get(val);
+                if (accepted == null) {
+                    List<MediaType> parsed = MediaType.parseMediaTypes(val);
+                    MediaType.sortBySpecificityAndQuality(parsed);
+                    //shared across requests, so it must not be modified by any of them:
+                    accepted = Collections.unmodifiableList(parsed);
+                    if (PARSED_ACCEPT_HEADERS.size() >= MAX_CACHED_ACCEPT_HEADERS) {
+                        PARSED_ACCEPT_HEADERS.clear();
+                    }
+                    PARSED_ACCEPT_HEADERS.put(val, accepted);
+                }
             }
 
             this.acceptedMediaTypes = accepted;
@@ -108,6 +124,21 @@ public class DefaultUserAgent implements UserAgent {
         return accepted;
     }
 
+    /**
+     * Returns the request's {@code Accept} header value, trimmed, or {@code null} if the header is absent or empty.
+     *
+     * @return the request's {@code Accept} header value, trimmed, or {@code null} if the header is absent or empty.
+     * @since 1.2.0
+     */
+    public String getAcceptHeader() {
+        if (acceptHeader == null) {
+            //the empty string marks an absent header, so we only ever look it up once:
+            String val = Strings.clean(request.getHeader(ACCEPT_HEADER_NAME));
+            acceptHeader = val != null ? val : "";
+        }
+        return acceptHeader.isEmpty() ? null : acceptHeader;
+    }
+
     @Override
     public boolean isHtmlPreferred() {
         if (htmlPreferred == null) {
@@ -18,13 +18,25 @@ package com.stormpath.sdk.servlet.i18n;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Locale;
-import java.util.MissingResourceException;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * {@code MessageSource} backed by the {@link #BUNDLE_BASE_NAME} resource bundle.
+ * <p/>
+ * As of 1.2.0, the bundle for a locale is only looked up once: all of its messages - including those inherited from
+ * its fallback (parent) bundles - are decoded and their {@link MessageFormat} patterns parsed up front into an
+ * immutable catalog.  Messages without arguments are formatted once at that time, so looking them up afterwards is a
+ * single map lookup.
+ *
  * @since 1.0.RC3
  */
 public class DefaultMessageSource implements MessageSource {
@@ -32,60 +44,146 @@ public class DefaultMessageSource implements MessageSource {
     private static final Logger log = LoggerFactory.getLogger(DefaultMessageSource.class);
     public static final String BUNDLE_BASE_NAME = "com.stormpath.sdk.servlet.i18n";
 
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Object[] NO_ARGS = new Object[]{};
+
+    //requested locales come from clients (e.g. Accept-Language) so we bound how many we remember; the number of
+    //distinct bundles they resolve to is bounded by the bundles on the classpath:
+    private static final int MAX_CACHED_LOCALES = 128;
+
+    private final ConcurrentMap<Locale, Map<String, Message>> catalogsByLocale = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ResourceBundle, Map<String, Message>> catalogsByBundle = new ConcurrentHashMap<>();
+
     @Override
     public String getMessage(String key, Locale locale) {
-        return getMessage(key, locale, new Object[]{});
+        return getMessage(key, locale, NO_ARGS);
     }
 
     @Override
     public String getMessage(String key, String defaultMessage, Locale locale) {
-        ResourceBundle bundle = getBundle(locale);
-
-        try {
-            String msg = new String(bundle.getString(key).getBytes("ISO-8859-1"), "UTF-8");
-            return MessageFormat.format(msg, new Object[]{});
-        } catch (MissingResourceException e) {
-            log.debug("Couldn't load the property: {} ", key);
-            return defaultMessage;
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException("Couldn't load property from resource bundle", e);
-        }
+        return getMessage(key, defaultMessage, locale, NO_ARGS);
     }
 
     @Override
     public String getMessage(String key, String defaultMessage, Locale locale, Object... args) {
-        ResourceBundle bundle = getBundle(locale);
-        try {
-            String msg = new String(bundle.getString(key).getBytes("ISO-8859-1"), "UTF-8");
-            return MessageFormat.format(msg, args);
-        } catch (MissingResourceException e) {
+        Message message = getCatalog(locale).get(key);
+        if (message == null) {
             log.debug("Couldn't load the property: {}", key);
             return defaultMessage;
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException("Couldn't load property from resource bundle", e);
         }
+        return message.format(args);
     }
 
     @Override
     public String getMessage(String key, Locale locale, Object... args) {
-        ResourceBundle bundle = getBundle(locale);
-
-        try {
-            /* To enable accents and other UTF-8 characters inside properties file we need to read the value in ISO-8858-1
-               which is the default encoding for properties files according to the Java documentation and re-encode it in UTF-8 */
-            String msg = new String(bundle.getString(key).getBytes("ISO-8859-1"), "UTF-8");
-            return MessageFormat.format(msg, args);
-        } catch (MissingResourceException e) {
+        Message message = getCatalog(locale).get(key);
+        if (message == null) {
             log.debug("Couldn't load the property: {}", key);
             return '!' + key + '!';
-        } catch (UnsupportedEncodingException e) {
-            /* Should not happen since properties are always encoded in ISO-8850-1 thus is supported and UTF-8 is supported
-               by the JVM in all platforms */
-            throw new IllegalStateException("Couldn't load property from resource bundle", e);
         }
+        return message.format(args);
     }
 
     protected ResourceBundle getBundle(Locale locale) {
         return ResourceBundle.getBundle(BUNDLE_BASE_NAME, locale);
     }
+
+    /**
+     * Returns the immutable message catalog for the specified locale, loading it on first use.
+     *
+     * @since 1.2.0
+     */
+    private Map<String, Message> getCatalog(Locale locale) {
+
+        Map<String, Message> catalog = catalogsByLocale.get(locale);
+
+        if (catalog == null) {
+
+            ResourceBundle bundle = getBundle(locale);
+
+            catalog = catalogsByBundle.get(bundle);
+            if (catalog == null) {
+                catalog = loadCatalog(bundle);
+                Map<String, Message> existing = catalogsByBundle.putIfAbsent(bundle, catalog);
+                if (existing != null) {
+                    catalog = existing;
+                }
+            }
+
+            if (catalogsByLocale.size() < MAX_CACHED_LOCALES) {
+                catalogsByLocale.put(locale, catalog);
+            }
+        }
+
+        return catalog;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private Map<String, Message> loadCatalog(ResourceBundle bundle) {
+
+        Map<String, Message> catalog = new HashMap<>();
+
+        //getKeys() includes the keys of the parent bundles, so fallbacks are resolved here once:
+        for (Enumeration<String> keys = bundle.getKeys(); keys.hasMoreElements(); ) {
+            String key = keys.nextElement();
+            Object value = bundle.getObject(key);
+            if (value instanceof String) {
+                /* To enable accents and other UTF-8 characters inside properties file we need to read the value in ISO-8858-1
+                   which is the default encoding for properties files according to the Java documentation and re-encode it in UTF-8 */
+                String pattern = new String(((String) value).getBytes(ISO_8859_1), UTF_8);
+                catalog.put(key, new Message(pattern));
+            }
+        }
+
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    /**
+     * A pre-parsed message pattern.
+     *
+     * @since 1.2.0
+     */
+    private static class Message {
+
+        private final MessageFormat format;
+
+        //the formatted text if the pattern has no arguments:
+        private final String text;
+
+        //patterns are only validated when used, as they were before they were pre-parsed:
+        private final IllegalArgumentException invalidPattern;
+
+        private Message(String pattern) {
+            MessageFormat format = null;
+            String text = null;
+            IllegalArgumentException invalidPattern = null;
+            try {
+                format = new MessageFormat(pattern);
+                if (format.getFormatsByArgumentIndex().length == 0) {
+                    text = format.format(NO_ARGS);
+                }
+            } catch (IllegalArgumentException e) {
+                invalidPattern = e;
+            }
+            this.format = format;
+            this.text = text;
+            this.invalidPattern = invalidPattern;
+        }
+
+        private String format(Object[] args) {
+            if (text != null) {
+                return text;
+            }
+            if (invalidPattern != null) {
+                throw invalidPattern;
+            }
+            //MessageFormat (and its sub-formats) are not thread-safe, so each call formats with its own copy:
+            return ((MessageFormat) format.clone()).format(args);
+        }
+    }
 }
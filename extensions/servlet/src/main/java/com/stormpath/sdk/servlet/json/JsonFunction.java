@@ -36,6 +36,16 @@ public class JsonFunction<T> implements Function<T, String> {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Returns the {@code ObjectMapper} used to convert values to JSON.
+     *
+     * @return the {@code ObjectMapper} used to convert values to JSON.
+     * @since 1.2.0
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     @Override
     public String apply(T value) {
         try {
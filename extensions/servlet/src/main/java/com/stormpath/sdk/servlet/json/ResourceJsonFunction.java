@@ -37,6 +37,20 @@ public class ResourceJsonFunction<T extends Resource> implements Function<T, Str
         this.jsonFunction = jsonFunction;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    public Function<T, Map<String, Object>> getMapFunction() {
+        return mapFunction;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public Function<Object, String> getJsonFunction() {
+        return jsonFunction;
+    }
+
     @Override
     public String apply(T resource) {
         if (resource == null) {
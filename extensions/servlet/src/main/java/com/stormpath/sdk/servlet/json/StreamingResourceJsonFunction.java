@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stormpath.sdk.directory.CustomData;
+import com.stormpath.sdk.impl.resource.AbstractResource;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.CollectionResource;
+import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.servlet.mvc.ResourceMapFunction;
+import com.stormpath.sdk.servlet.mvc.ResourcePropertyAccessors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+/**
+ * A {@link ResourceJsonFunction} that renders exactly the properties its {@link ResourceMapFunction} would, but
+ * writes them directly to a Jackson {@link JsonGenerator} instead of building intermediate {@code Map}s and
+ * {@code List}s first.  Property getters are resolved once per resource class via {@link ResourcePropertyAccessors}.
+ *
+ * @since 1.2.0
+ */
+public class StreamingResourceJsonFunction<T extends Resource> extends ResourceJsonFunction<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingResourceJsonFunction.class);
+
+    private final ResourceMapFunction<T> mapFunction;
+
+    private final ObjectMapper objectMapper;
+
+    private final ResourcePropertyAccessors accessors = new ResourcePropertyAccessors();
+
+    public StreamingResourceJsonFunction(ResourceMapFunction<T> mapFunction, ObjectMapper objectMapper) {
+        super(mapFunction, new JsonFunction<>(objectMapper));
+        this.mapFunction = mapFunction;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String apply(T resource) {
+        if (resource == null) {
+            return null;
+        }
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            //apply the mapper's configuration (e.g. indentation), just like ObjectMapper.writeValueAsString would:
+            objectMapper.getSerializationConfig().initialize(generator);
+            write(resource, generator);
+        } catch (IOException e) {
+            String msg = "Cannot convert resource [" + resource.getHref() + "] to JSON string: " + e.getMessage();
+            throw new IllegalArgumentException(msg, e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the JSON representation of the specified resource to the given generator.
+     *
+     * @param o         the resource to write
+     * @param generator the generator to write to
+     * @throws IOException if the generator cannot be written to
+     */
+    public void write(Object o, JsonGenerator generator) throws IOException {
+
+        Assert.notNull(o, "Resource object cannot be null");
+        Assert.isInstanceOf(AbstractResource.class, o, "Object must be an instance of " + AbstractResource.class.getName());
+        AbstractResource resource = (AbstractResource) o;
+
+        if (o instanceof CustomData) {
+
+            CustomData cd = (CustomData) o;
+
+            //force data load before writing:
+            cd.getCreatedAt();
+
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> entry : cd.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                generator.writeObject(entry.getValue());
+            }
+            generator.writeEndObject();
+            return;
+        }
+
+        generator.writeStartObject();
+
+        for (String propName : resource.getPropertyNames()) {
+
+            if (!mapFunction.isIncluded(propName)) {
+                continue;
+            }
+
+            Object propValue;
+
+            try {
+                propValue = accessors.getValue(resource, propName);
+            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+                if (log.isWarnEnabled()) {
+                    String msg = "Unable to access account property '" + propName + "': " + e.getMessage();
+                    log.warn(msg, e);
+                }
+                continue;
+            }
+
+            if (!mapFunction.isIncluded(propName, propValue)) {
+                continue;
+            }
+
+            generator.writeFieldName(propName);
+
+            if (propValue instanceof CollectionResource) {
+                generator.writeStartArray();
+                for (Object item : (CollectionResource) propValue) {
+                    write(item, generator);
+                }
+                generator.writeEndArray();
+            } else if (propValue instanceof AbstractResource) {
+                write(propValue, generator);
+            } else {
+                generator.writeObject(propValue);
+            }
+        }
+
+        generator.writeEndObject();
+    }
+}
@@ -8,13 +8,11 @@ import com.stormpath.sdk.impl.resource.Property;
 import com.stormpath.sdk.impl.resource.EnumProperty;
 import com.stormpath.sdk.impl.resource.StringProperty;
 import com.stormpath.sdk.lang.Assert;
-import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.resource.CollectionResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -28,6 +26,8 @@ public class DefaultAccountModelFactory implements AccountModelFactory {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultAccountModelFactory.class);
 
+    private final ResourcePropertyAccessors accessors = new ResourcePropertyAccessors();
+
     @Override
     public Map<String, Object> toMap(Account account, List<String> expands) {
         Assert.notNull(account, "account cannot be null");
@@ -38,8 +38,7 @@ public class DefaultAccountModelFactory implements AccountModelFactory {
         for (String property : expands) {
             if (defaultAccount.getPropertyDescriptors().containsKey(property)) {
                 try {
-                    Method method = defaultAccount.getClass().getMethod("get" + Strings.capitalize(property));
-                    Object propertyValue = method.invoke(account);
+                    Object propertyValue = accessors.getValue(defaultAccount, property);
 
                     if (propertyValue instanceof CollectionResource) {
                         List<Map<String, Object>> resourcesMap = new ArrayList<Map<String, Object>>();
@@ -20,16 +20,15 @@ import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.lang.Function;
-import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -48,8 +47,10 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
     private Collection<String> excludedFields = java.util.Collections.emptySet();
     private Collection<String> includedFields = java.util.Collections.emptySet();
 
+    private final ResourcePropertyAccessors accessors = new ResourcePropertyAccessors();
+
     public void setExcludedFields(Collection<String> excludedFields) {
-        this.excludedFields = excludedFields == null ? java.util.Collections.<String>emptySet() : excludedFields;
+        this.excludedFields = toSet(excludedFields);
     }
 
     public Collection<String> getExcludedFields() {
@@ -61,7 +62,20 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
     }
 
     public void setIncludedFields(Collection<String> includedFields) {
-        this.includedFields = includedFields == null ? java.util.Collections.<String>emptySet() : includedFields;
+        this.includedFields = toSet(includedFields);
+    }
+
+    /**
+     * Copies the configured names into a hash set once, so they don't need to be searched linearly (and can't change
+     * underneath us) for every property of every rendered resource.
+     *
+     * @since 1.2.0
+     */
+    private static Collection<String> toSet(Collection<String> fields) {
+        if (Collections.isEmpty(fields)) {
+            return java.util.Collections.emptySet();
+        }
+        return java.util.Collections.unmodifiableSet(new HashSet<>(fields));
     }
 
     @Override
@@ -69,8 +83,15 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
         return toMap(t);
     }
 
+    /**
+     * Returns {@code true} if a property with the specified name may be rendered, {@code false} otherwise.
+     *
+     * @param propName the property name
+     * @return {@code true} if a property with the specified name may be rendered, {@code false} otherwise.
+     * @since 1.2.0
+     */
     @SuppressWarnings("RedundantIfStatement") //for readability
-    private boolean include(String propName) {
+    public boolean isIncluded(String propName) {
 
         if (propName.equals("password")) { //don't expose sensitive data
             return false;
@@ -87,8 +108,18 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
         return true;
     }
 
+    /**
+     * Returns {@code true} if a property with the specified name and value should be rendered, {@code false}
+     * otherwise.  Nested resources other than custom data are only rendered if they are explicitly included.
+     *
+     * @param propName  the property name
+     * @param propValue the property value
+     * @return {@code true} if a property with the specified name and value should be rendered, {@code false}
+     * otherwise.
+     * @since 1.2.0
+     */
     @SuppressWarnings("SimplifiableIfStatement") //for readability
-    private boolean include(String propName, Object propValue) {
+    public boolean isIncluded(String propName, Object propValue) {
 
         if (propName.equals("password")) { //don't expose sensitive data
             return false;
@@ -125,17 +156,14 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
 
         for (String propName : resource.getPropertyNames()) {
 
-            if (!include(propName)) {
+            if (!isIncluded(propName)) {
                 continue;
             }
 
             Object propValue;
 
             try {
-                final Class<? extends AbstractResource> resourceClass = resource.getClass();
-                final String methodName = "get" + Strings.capitalize(propName);
-                Method method = resourceClass.getMethod(methodName);
-                propValue = method.invoke(resource);
+                propValue = accessors.getValue(resource, propName);
             } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
                 if (log.isWarnEnabled()) {
                     String msg = "Unable to access account property '" + propName + "': " + e.getMessage();
@@ -144,7 +172,7 @@ public class ResourceMapFunction<T extends Resource> implements Function<T, Map<
                 continue;
             }
 
-            if (!include(propName, propValue)) {
+            if (!isIncluded(propName, propValue)) {
                 continue;
             }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.mvc;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves and caches the public getter method of each resource property per resource class, so rendering a resource
+ * does not need to look up methods reflectively every time.  Properties without a getter are cached as well, so a
+ * missing method is only looked up once per class.  Values are still read reflectively, via {@link Method#invoke}.
+ * <p/>
+ * Each component that renders resources holds its own instance, so the cached classes can be garbage collected (and
+ * their web application undeployed) together with that component instead of being pinned by a static cache.
+ *
+ * @since 1.2.0
+ */
+public final class ResourcePropertyAccessors {
+
+    private static final Accessor NO_ACCESSOR = new Accessor(null);
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Accessor>> accessors = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the public, no-argument getter method for the specified property, or {@code null} if the class does not
+     * have one.
+     *
+     * @param clazz    the resource class
+     * @param propName the property name
+     * @return the public, no-argument getter method for the specified property, or {@code null} if the class does
+     * not have one.
+     */
+    public Method getAccessor(Class<?> clazz, String propName) {
+        Assert.notNull(clazz, "clazz cannot be null.");
+        Assert.hasText(propName, "propName cannot be null or empty.");
+
+        ConcurrentMap<String, Accessor> classAccessors = accessors.get(clazz);
+        if (classAccessors == null) {
+            classAccessors = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Accessor> existing = accessors.putIfAbsent(clazz, classAccessors);
+            if (existing != null) {
+                classAccessors = existing;
+            }
+        }
+
+        Accessor accessor = classAccessors.get(propName);
+        if (accessor == null) {
+            try {
+                accessor = new Accessor(clazz.getMethod("get" + Strings.capitalize(propName)));
+            } catch (NoSuchMethodException e) {
+                accessor = NO_ACCESSOR;
+            }
+            classAccessors.putIfAbsent(propName, accessor);
+        }
+
+        return accessor.method;
+    }
+
+    /**
+     * Invokes the getter method of the specified property on the given resource.
+     *
+     * @param resource the resource to read from
+     * @param propName the property name
+     * @return the property value returned by the getter method
+     * @throws NoSuchMethodException     if the resource class does not have a getter for the property
+     * @throws InvocationTargetException if the getter method throws an exception
+     * @throws IllegalAccessException    if the getter method cannot be accessed
+     */
+    public Object getValue(Object resource, String propName)
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        Method method = getAccessor(resource.getClass(), propName);
+        if (method == null) {
+            throw new NoSuchMethodException(resource.getClass().getName() + ".get" + Strings.capitalize(propName) + "()");
+        }
+        return method.invoke(resource);
+    }
+
+    private static final class Accessor {
+
+        private final Method method;
+
+        private Accessor(Method method) {
+            this.method = method;
+        }
+    }
+}
@@ -131,6 +131,7 @@
             </div>
         </div>
 
-        <script src='${pageContext.request.contextPath}/assets/js/stormpath.js'></script>
+        <c:set var="stormpathAssets" value="${applicationScope['com.stormpath.sdk.servlet.filter.StaticResourceFilter']}"/>
+        <script src='${pageContext.request.contextPath}${empty stormpathAssets ? "/assets/js/stormpath.js" : stormpathAssets.getVersionedPath("/assets/js/stormpath.js")}'></script>
     </jsp:body>
 </t:page>
@@ -15,9 +15,11 @@
  */
 package com.stormpath.sdk.servlet.account
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.lang.Function
 import com.stormpath.sdk.servlet.json.ResourceJsonFunction
+import com.stormpath.sdk.servlet.json.StreamingResourceJsonFunction
 import com.stormpath.sdk.servlet.mvc.ResourceMapFunction
 import org.testng.annotations.Test
 
@@ -41,9 +43,19 @@ class AccountStringResolverTest {
         def resolver = new AccountStringResolver()
         assertTrue resolver.accountResolver instanceof DefaultAccountResolver
         assertTrue resolver.accountStringFunction instanceof ResourceJsonFunction
+        assertTrue resolver.accountStringFunction instanceof StreamingResourceJsonFunction
         assertTrue resolver.accountStringFunction.mapFunction instanceof ResourceMapFunction
     }
 
+    @Test
+    void testObjectMapperConstructor() {
+        def mapper = new ObjectMapper()
+        def resolver = new AccountStringResolver(mapper)
+        assertTrue resolver.accountStringFunction instanceof StreamingResourceJsonFunction
+        assertSame resolver.accountStringFunction.objectMapper, mapper
+        assertSame resolver.accountStringFunction.jsonFunction.objectMapper, mapper
+    }
+
     @Test
     void testSetAccountStringFunction() {
         def resolver = new AccountStringResolver()
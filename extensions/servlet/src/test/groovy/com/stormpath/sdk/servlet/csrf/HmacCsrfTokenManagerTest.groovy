@@ -0,0 +1,262 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.csrf
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.cache.Cache
+import com.stormpath.sdk.idsite.NonceStore
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import javax.servlet.http.HttpSession
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class HmacCsrfTokenManagerTest {
+
+    static final String KEY = 'aSigningKeyThatIsLongEnoughForHmacSha256'
+
+    static class TestManager extends HmacCsrfTokenManager {
+
+        long now = System.currentTimeMillis()
+        Account account
+
+        TestManager(String key, long ttl) {
+            super(null, key, ttl)
+        }
+
+        TestManager(NonceStore nonceStore, String key, long ttl) {
+            super(null, nonceStore, key, ttl)
+        }
+
+        TestManager(Cache<String, String> nonceCache, String key, long ttl) {
+            super(null, nonceCache, key, ttl)
+        }
+
+        @Override
+        protected Account getAccount(HttpServletRequest request) {
+            return account
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now
+        }
+    }
+
+    /**
+     * A nonce store that shares its manager's clock.
+     */
+    static class TestNonceStore extends TimeBucketedNonceStore {
+
+        TestManager manager
+
+        TestNonceStore(long ttl, int maxSize, TimeBucketedNonceStore.OverflowPolicy policy) {
+            super(ttl, TimeBucketedNonceStore.DEFAULT_BUCKET_COUNT, maxSize, policy)
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return manager.now
+        }
+    }
+
+    static HttpServletRequest request(String sessionId) {
+        def request = createMock(HttpServletRequest)
+        if (sessionId != null) {
+            def session = createMock(HttpSession)
+            expect(session.getId()).andStubReturn(sessionId)
+            expect(request.getSession(false)).andStubReturn(session)
+            replay session
+        } else {
+            expect(request.getSession(false)).andStubReturn(null)
+        }
+        replay request
+        return request
+    }
+
+    static Account account(String href) {
+        def account = createMock(Account)
+        expect(account.getHref()).andStubReturn(href)
+        replay account
+        return account
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testMissingSigningKey() {
+        new HmacCsrfTokenManager('csrfToken', null, 1000)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidTtl() {
+        new HmacCsrfTokenManager('csrfToken', KEY, 0)
+    }
+
+    @Test
+    void testDefaultTokenName() {
+        assertEquals new HmacCsrfTokenManager(null, KEY, 1000).getTokenName(), 'csrfToken'
+    }
+
+    @Test
+    void testTokenIsCompactAndSingleUse() {
+        def mgr = new TestManager(KEY, 60000)
+        def request = request(null)
+        def response = createMock(HttpServletResponse)
+
+        String token = mgr.createCsrfToken(request, response)
+        assertEquals token.length(), 46
+        assertTrue token.matches('[A-Za-z0-9_-]+')
+        assertNotEquals mgr.createCsrfToken(request, response), token
+
+        assertTrue mgr.isValidCsrfToken(request, response, token)
+        assertFalse mgr.isValidCsrfToken(request, response, token) //replay
+    }
+
+    @Test
+    void testInvalidTokens() {
+        def mgr = new TestManager(KEY, 60000)
+        def request = request(null)
+
+        assertFalse mgr.isValidCsrfToken(request, null, null)
+        assertFalse mgr.isValidCsrfToken(request, null, '')
+        assertFalse mgr.isValidCsrfToken(request, null, 'foo')
+        assertFalse mgr.isValidCsrfToken(request, null, 'a' * 46)
+
+        String token = mgr.createCsrfToken(request, null)
+        char c = token.charAt(40) == 'A' as char ? 'B' as char : 'A' as char
+        String tampered = token.substring(0, 40) + c + token.substring(41)
+        assertFalse mgr.isValidCsrfToken(request, null, tampered)
+
+        //signed with another key:
+        def other = new TestManager(KEY + 'x', 60000)
+        assertFalse mgr.isValidCsrfToken(request, null, other.createCsrfToken(request, null))
+    }
+
+    @Test
+    void testExpiredToken() {
+        def mgr = new TestManager(KEY, 60000)
+        def request = request(null)
+
+        String token = mgr.createCsrfToken(request, null)
+        mgr.now += 61000
+        assertFalse mgr.isValidCsrfToken(request, null, token)
+    }
+
+    @Test
+    void testDefaultNonceStoreRejectsNewTokensWhenFull() {
+        def store = new HmacCsrfTokenManager(null, KEY, 1000).nonceStore
+        assertEquals store.overflowPolicy, TimeBucketedNonceStore.OverflowPolicy.REJECT
+    }
+
+    @Test
+    void testFullNonceStoreRejectingNewTokens() {
+        def mgr = new TestManager(new TimeBucketedNonceStore(60000, 8, 2), KEY, 60000)
+        def request = request(null)
+
+        String first = mgr.createCsrfToken(request, null)
+        String second = mgr.createCsrfToken(request, null)
+        String third = mgr.createCsrfToken(request, null)
+
+        assertTrue mgr.isValidCsrfToken(request, null, first)
+        assertTrue mgr.isValidCsrfToken(request, null, second)
+        assertFalse mgr.isValidCsrfToken(request, null, third) //the store cannot remember it
+        assertFalse mgr.isValidCsrfToken(request, null, first) //replays are still rejected
+    }
+
+    @Test
+    void testFullNonceStoreForgettingOldestTokens() {
+        def store = new TestNonceStore(70000, 2, TimeBucketedNonceStore.OverflowPolicy.FORGET_OLDEST)
+        def mgr = new TestManager(store, KEY, 70000) //10 seconds per nonce store bucket
+        store.manager = mgr
+        def request = request(null)
+
+        String first = mgr.createCsrfToken(request, null)
+        assertTrue mgr.isValidCsrfToken(request, null, first)
+
+        mgr.now += 10000
+        String second = mgr.createCsrfToken(request, null)
+        String third = mgr.createCsrfToken(request, null)
+        assertTrue mgr.isValidCsrfToken(request, null, second)
+        assertTrue mgr.isValidCsrfToken(request, null, third) //the oldest token was forgotten to make room
+
+        assertFalse mgr.isValidCsrfToken(request, null, second)
+        assertFalse mgr.isValidCsrfToken(request, null, third)
+    }
+
+    @Test
+    void testCacheNonceStore() {
+        def cache = createMock(Cache)
+        def mgr = new TestManager(cache, KEY, 60000)
+        def request = request(null)
+
+        String token = mgr.createCsrfToken(request, null)
+
+        expect(cache.get(token)).andReturn(null)
+        expect(cache.put(token, token)).andReturn(null)
+        expect(cache.get(token)).andReturn(token)
+        replay cache
+
+        assertTrue mgr.isValidCsrfToken(request, null, token)
+        assertFalse mgr.isValidCsrfToken(request, null, token) //replay
+
+        verify cache
+    }
+
+    @Test
+    void testSessionBinding() {
+        def mgr = new TestManager(KEY, 60000)
+
+        String token = mgr.createCsrfToken(request('session1'), null)
+        assertFalse mgr.isValidCsrfToken(request('session2'), null, token)
+        assertFalse mgr.isValidCsrfToken(request(null), null, token)
+        assertTrue mgr.isValidCsrfToken(request('session1'), null, token)
+    }
+
+    @Test
+    void testAccountBinding() {
+        def mgr = new TestManager(KEY, 60000)
+        def request = request('session1')
+
+        mgr.account = account('https://api.stormpath.com/v1/accounts/1')
+        String token = mgr.createCsrfToken(request, null)
+
+        mgr.account = account('https://api.stormpath.com/v1/accounts/2')
+        assertFalse mgr.isValidCsrfToken(request, null, token)
+
+        mgr.account = null
+        assertFalse mgr.isValidCsrfToken(request, null, token)
+
+        mgr.account = account('https://api.stormpath.com/v1/accounts/1')
+        assertTrue mgr.isValidCsrfToken(request, null, token)
+    }
+
+    @Test
+    void testUnboundTokenIsRejectedForAuthenticatedRequests() {
+        def mgr = new TestManager(KEY, 60000)
+        def request = request(null)
+
+        String token = mgr.createCsrfToken(request, null)
+
+        mgr.account = account('https://api.stormpath.com/v1/accounts/1')
+        assertFalse mgr.isValidCsrfToken(request, null, token)
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter
+
+import com.stormpath.sdk.servlet.http.MediaType
+import com.stormpath.sdk.servlet.http.UnresolvedMediaTypeException
+import com.stormpath.sdk.servlet.http.UserAgents
+import com.stormpath.sdk.servlet.http.impl.DefaultUserAgent
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class DefaultContentNegotiationResolverTest {
+
+    private static final String BROWSER_ACCEPT = 'text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8'
+
+    private static final List<MediaType> PRODUCES = [MediaType.APPLICATION_JSON, MediaType.TEXT_HTML]
+
+    @Test
+    void testNegotiation() {
+
+        def resolver = new DefaultContentNegotiationResolver()
+
+        //each negotiation is done twice so the second one is answered from the cache:
+        for (int i = 0; i < 2; i++) {
+            assertEquals resolver.getContentType(createRequest(BROWSER_ACCEPT), null, PRODUCES), MediaType.TEXT_HTML
+            assertEquals resolver.getContentType(createRequest('application/json'), null, PRODUCES), MediaType.APPLICATION_JSON
+            assertEquals resolver.getContentType(createRequest('*/*'), null, PRODUCES), MediaType.APPLICATION_JSON
+            assertEquals resolver.getContentType(createRequest(null), null, PRODUCES), MediaType.APPLICATION_JSON
+            assertEquals resolver.getContentType(createRequest(BROWSER_ACCEPT), null, [MediaType.TEXT_HTML]), MediaType.TEXT_HTML
+            assertEquals resolver.getContentType(createRequest('*/*'), null, [MediaType.TEXT_HTML]), MediaType.TEXT_HTML
+        }
+    }
+
+    @Test
+    void testUnresolvedIsThrownEveryTime() {
+
+        def resolver = new DefaultContentNegotiationResolver()
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                resolver.getContentType(createRequest('application/json'), null, [MediaType.TEXT_HTML])
+                fail "shouldn't be here"
+            } catch (UnresolvedMediaTypeException expected) {
+            }
+        }
+    }
+
+    @Test
+    void testChangingProducesListDoesNotAffectCachedResults() {
+
+        def resolver = new DefaultContentNegotiationResolver()
+        def produces = [MediaType.TEXT_HTML, MediaType.APPLICATION_JSON]
+
+        assertEquals resolver.getContentType(createRequest('*/*'), null, produces), MediaType.TEXT_HTML
+
+        produces.remove(MediaType.TEXT_HTML)
+
+        assertEquals resolver.getContentType(createRequest('*/*'), null, produces), MediaType.APPLICATION_JSON
+    }
+
+    @Test
+    void testAcceptHeaderIsParsedOncePerRequest() {
+
+        def resolver = new DefaultContentNegotiationResolver()
+        def request = createRequest(BROWSER_ACCEPT)
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals resolver.getContentType(request, null, PRODUCES), MediaType.TEXT_HTML
+        }
+
+        verify request
+    }
+
+    @Test
+    void testParsedAcceptHeadersAreSharedAcrossRequests() {
+
+        def accepted = UserAgents.get(createRequest(BROWSER_ACCEPT)).getAcceptedMediaTypes()
+
+        assertSame UserAgents.get(createRequest(BROWSER_ACCEPT)).getAcceptedMediaTypes(), accepted
+
+        try {
+            accepted.clear()
+            fail "shouldn't be here"
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    private static HttpServletRequest createRequest(String accept) {
+
+        def request = createMock(HttpServletRequest)
+        def ua = new DefaultUserAgent(request)
+
+        expect(request.getAttribute(UserAgents.USER_AGENT_REQUEST_ATTRIBUTE_NAME)).andReturn(ua).anyTimes()
+        //must only be read once per request, no matter how often it is negotiated:
+        expect(request.getHeader('Accept')).andReturn(accept).once()
+
+        replay request
+
+        return request
+    }
+}
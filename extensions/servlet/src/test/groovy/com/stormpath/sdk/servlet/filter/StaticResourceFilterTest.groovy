@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter
+
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.mock.web.MockServletContext
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.zip.GZIPInputStream
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class StaticResourceFilterTest {
+
+    private static final String CSS_PATH = '/assets/css/stormpath.css'
+
+    MockServletContext servletContext
+    StaticResourceFilter filter
+    byte[] css
+
+    @BeforeMethod
+    void setUp() {
+        servletContext = new MockServletContext('META-INF/resources')
+        filter = new StaticResourceFilter()
+        filter.init(servletContext)
+        css = getClass().getResourceAsStream('/META-INF/resources' + CSS_PATH).bytes
+    }
+
+    @Test
+    void testServesResourceFromMemory() {
+
+        def response = get(CSS_PATH)
+
+        assertEquals response.status, 200
+        assertEquals response.contentAsByteArray, css
+        assertEquals response.contentLength, css.length
+        assertEquals response.contentType, servletContext.getMimeType(CSS_PATH)
+        assertNull response.getHeader('Content-Encoding')
+        assertEquals response.getHeader('Cache-Control'), 'public, max-age=0, must-revalidate'
+        assertEquals response.getHeader('Vary'), 'Accept-Encoding'
+        assertTrue response.getHeader('ETag').matches('"[0-9a-f]{16}"')
+        //not forwarded:
+        assertNull response.forwardedUrl
+    }
+
+    @Test
+    void testServesPrecompressedResource() {
+
+        def response = get(CSS_PATH, ['Accept-Encoding': 'gzip, deflate, br'])
+
+        assertEquals response.getHeader('Content-Encoding'), 'gzip'
+        assertTrue response.contentAsByteArray.length < css.length
+        assertEquals new GZIPInputStream(new ByteArrayInputStream(response.contentAsByteArray)).bytes, css
+        assertTrue response.getHeader('ETag').endsWith('-gzip"')
+
+        response = get(CSS_PATH, ['Accept-Encoding': 'gzip;q=0, deflate'])
+        assertNull response.getHeader('Content-Encoding')
+        assertEquals response.contentAsByteArray, css
+    }
+
+    @Test
+    void testConditionalRequest() {
+
+        String etag = get(CSS_PATH).getHeader('ETag')
+
+        def response = get(CSS_PATH, ['If-None-Match': etag])
+        assertEquals response.status, 304
+        assertEquals response.contentAsByteArray.length, 0
+        assertEquals response.getHeader('ETag'), etag
+
+        response = get(CSS_PATH, ['If-None-Match': '"somethingelse", W/' + etag])
+        assertEquals response.status, 304
+
+        response = get(CSS_PATH, ['If-None-Match': '"somethingelse"'])
+        assertEquals response.status, 200
+    }
+
+    @Test
+    void testVersionedPathIsImmutable() {
+
+        String versionedPath = filter.getVersionedPath(CSS_PATH)
+        String fingerprint = get(CSS_PATH).getHeader('ETag').replace('"', '')
+        assertEquals versionedPath, CSS_PATH + '?v=' + fingerprint
+
+        def request = new MockHttpServletRequest(servletContext, 'GET', CSS_PATH)
+        request.addParameter('v', fingerprint)
+        def response = new MockHttpServletResponse()
+        filter.doFilter(request, response, null)
+        assertEquals response.getHeader('Cache-Control'), 'public, max-age=31536000, immutable'
+
+        //a stale fingerprint must not be cached forever:
+        request = new MockHttpServletRequest(servletContext, 'GET', CSS_PATH)
+        request.addParameter('v', 'stale')
+        response = new MockHttpServletResponse()
+        filter.doFilter(request, response, null)
+        assertEquals response.getHeader('Cache-Control'), 'public, max-age=0, must-revalidate'
+
+        assertSame servletContext.getAttribute(StaticResourceFilter.class.getName()), filter
+    }
+
+    @Test
+    void testHead() {
+
+        def request = new MockHttpServletRequest(servletContext, 'HEAD', CSS_PATH)
+        def response = new MockHttpServletResponse()
+        filter.doFilter(request, response, null)
+
+        assertEquals response.status, 200
+        assertEquals response.contentLength, css.length
+        assertEquals response.contentAsByteArray.length, 0
+    }
+
+    @Test
+    void testMissingResourcesAreForwarded() {
+
+        def response = get('/assets/css/override.stormpath.css')
+        assertEquals response.forwardedUrl, 'default'
+
+        assertEquals filter.getVersionedPath('/assets/css/override.stormpath.css'), '/assets/css/override.stormpath.css'
+    }
+
+    @Test
+    void testDisabledCacheForwards() {
+
+        filter.setCacheEnabled(false)
+
+        assertEquals get(CSS_PATH).forwardedUrl, 'default'
+        assertEquals filter.getVersionedPath(CSS_PATH), CSS_PATH
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertFalse StaticResourceFilter.acceptsGzip(null)
+        assertFalse StaticResourceFilter.acceptsGzip('deflate, br')
+        assertFalse StaticResourceFilter.acceptsGzip('gzip;q=0')
+        assertFalse StaticResourceFilter.acceptsGzip('gzip; q=0.000')
+        assertTrue StaticResourceFilter.acceptsGzip('gzip')
+        assertTrue StaticResourceFilter.acceptsGzip('deflate, GZIP;q=0.5')
+        assertTrue StaticResourceFilter.acceptsGzip('x-gzip')
+    }
+
+    private MockHttpServletResponse get(String path, Map<String, String> headers = [:]) {
+        def request = new MockHttpServletRequest(servletContext, 'GET', path)
+        headers.each { k, v -> request.addHeader(k, v) }
+        def response = new MockHttpServletResponse()
+        filter.doFilter(request, response, null)
+        return response
+    }
+}
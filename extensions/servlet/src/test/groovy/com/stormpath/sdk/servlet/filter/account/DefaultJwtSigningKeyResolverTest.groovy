@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.account
+
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.client.Client
+import com.stormpath.sdk.impl.util.Base64
+import io.jsonwebtoken.SignatureAlgorithm
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class DefaultJwtSigningKeyResolverTest {
+
+    private static final String SECRET = Base64.encodeBase64String('0123456789abcdef0123456789abcdef'.getBytes('UTF-8'))
+
+    private static final String ROTATED_SECRET = Base64.encodeBase64String('fedcba9876543210fedcba9876543210'.getBytes('UTF-8'))
+
+    @Test
+    void testKeysAreMemoizedPerAlgorithm() {
+
+        def resolver = new DefaultJwtSigningKeyResolver()
+        def request = createRequest('id1', SECRET, SECRET, SECRET)
+
+        def key = resolver.getSigningKey(request, SignatureAlgorithm.HS256)
+        assertEquals key.getAlgorithm(), SignatureAlgorithm.HS256.getJcaName()
+        assertEquals key.getEncoded(), Base64.decodeBase64(SECRET)
+
+        assertSame resolver.getSigningKey(request, SignatureAlgorithm.HS256), key
+
+        def hs512 = resolver.getSigningKey(request, SignatureAlgorithm.HS512)
+        assertEquals hs512.getAlgorithm(), SignatureAlgorithm.HS512.getJcaName()
+        assertNotSame hs512, key
+    }
+
+    @Test
+    void testRotatedSecretInvalidatesMemoizedKey() {
+
+        def resolver = new DefaultJwtSigningKeyResolver()
+        def request = createRequest('id1', SECRET, ROTATED_SECRET, ROTATED_SECRET)
+
+        def key = resolver.getSigningKey(request, SignatureAlgorithm.HS256)
+        assertEquals key.getEncoded(), Base64.decodeBase64(SECRET)
+
+        def rotated = resolver.getSigningKey(request, SignatureAlgorithm.HS256)
+        assertEquals rotated.getEncoded(), Base64.decodeBase64(ROTATED_SECRET)
+
+        assertSame resolver.getSigningKey(request, SignatureAlgorithm.HS256), rotated
+    }
+
+    @Test
+    void testClearCache() {
+
+        def resolver = new DefaultJwtSigningKeyResolver()
+        def request = createRequest('id1', SECRET, SECRET)
+
+        def key = resolver.getSigningKey(request, SignatureAlgorithm.HS256)
+        resolver.clearCache()
+        def rederived = resolver.getSigningKey(request, SignatureAlgorithm.HS256)
+
+        assertNotSame rederived, key
+        assertEquals rederived, key
+    }
+
+    /**
+     * Creates a request whose client returns an API Key with the specified id and, on each successive call, the
+     * specified secrets.
+     */
+    private static HttpServletRequest createRequest(String apiKeyId, String... secrets) {
+
+        def request = createMock(HttpServletRequest)
+        def client = createMock(Client)
+        def apiKey = createMock(ApiKey)
+
+        expect(request.getAttribute(Client.class.getName())).andReturn(client).times(secrets.length)
+        expect(client.getApiKey()).andReturn(apiKey).times(secrets.length)
+        expect(apiKey.getId()).andReturn(apiKeyId).times(secrets.length)
+        for (String secret : secrets) {
+            expect(apiKey.getSecret()).andReturn(secret)
+        }
+
+        replay request, client, apiKey
+
+        return request
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.i18n
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class DefaultMessageSourceTest {
+
+    @Test
+    void testMessagesFromBundle() {
+
+        def messageSource = new DefaultMessageSource()
+
+        assertEquals messageSource.getMessage('stormpath.web.login.form.titleWithRegister', Locale.ENGLISH, 'Register'),
+                'Login or Register'
+        assertEquals messageSource.getMessage('stormpath.web.login.form.titleWithRegister', Locale.ENGLISH),
+                'Login or {0}'
+        assertEquals messageSource.getMessage('not.a.key', Locale.ENGLISH), '!not.a.key!'
+        assertEquals messageSource.getMessage('not.a.key', 'default', Locale.ENGLISH), 'default'
+        assertEquals messageSource.getMessage('not.a.key', 'default', Locale.ENGLISH, 'arg'), 'default'
+    }
+
+    @Test
+    void testBundleIsLoadedOncePerLocaleWithFallbacks() {
+
+        def parent = new TestBundle([greeting: 'Hello {0}', farewell: 'Don\'\'t go', accented: new String('Café'.getBytes('UTF-8'), 'ISO-8859-1')])
+        def child = new TestBundle([greeting: 'Bonjour {0}'])
+        child.setParent(parent)
+
+        def lookups = [:].withDefault { 0 }
+
+        def messageSource = new DefaultMessageSource() {
+            @Override
+            protected ResourceBundle getBundle(Locale locale) {
+                lookups[locale]++
+                return locale == Locale.FRENCH ? child : parent
+            }
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals messageSource.getMessage('greeting', Locale.FRENCH, 'Jean'), 'Bonjour Jean'
+            assertEquals messageSource.getMessage('farewell', Locale.FRENCH), 'Don\'t go'
+            assertEquals messageSource.getMessage('accented', Locale.FRENCH), 'Café'
+            assertEquals messageSource.getMessage('greeting', Locale.ENGLISH, 'John'), 'Hello John'
+        }
+
+        assertEquals lookups, [(Locale.FRENCH): 1, (Locale.ENGLISH): 1]
+    }
+
+    @Test
+    void testInvalidPatternFailsOnlyWhenUsed() {
+
+        def bundle = new TestBundle([valid: 'Valid', invalid: 'Invalid {'])
+
+        def messageSource = new DefaultMessageSource() {
+            @Override
+            protected ResourceBundle getBundle(Locale locale) {
+                return bundle
+            }
+        }
+
+        assertEquals messageSource.getMessage('valid', Locale.ENGLISH), 'Valid'
+        try {
+            messageSource.getMessage('invalid', Locale.ENGLISH)
+            fail "shouldn't be here"
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static class TestBundle extends ListResourceBundle {
+
+        private final Map<String, String> messages
+
+        TestBundle(Map<String, String> messages) {
+            this.messages = messages
+        }
+
+        @Override
+        protected Object[][] getContents() {
+            return messages.collect { k, v -> [k, v] as Object[] } as Object[][]
+        }
+
+        @Override
+        void setParent(ResourceBundle parent) {
+            super.setParent(parent)
+        }
+    }
+}
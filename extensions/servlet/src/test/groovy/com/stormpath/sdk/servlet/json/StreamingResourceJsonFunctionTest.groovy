@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.json
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.lang.Collections
+import com.stormpath.sdk.servlet.mvc.ResourceMapFunction
+import com.stormpath.sdk.servlet.mvc.ResourcePropertyAccessors
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.createNiceMock
+import static org.easymock.EasyMock.replay
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class StreamingResourceJsonFunctionTest {
+
+    private static Account newAccount() {
+        def dataStore = createNiceMock(InternalDataStore)
+        replay dataStore
+        return new DefaultAccount(dataStore, [
+                href      : 'https://api.stormpath.com/v1/accounts/foo',
+                email     : 'jsmith@acme.com',
+                username  : 'jsmith',
+                givenName : 'John',
+                surname   : 'Smith',
+                password  : 'secret',
+                status    : 'ENABLED',
+                notAField : 'ignored'
+        ])
+    }
+
+    @Test
+    void testApplyWithNull() {
+        def fn = new StreamingResourceJsonFunction<Account>(new ResourceMapFunction<Account>(), new ObjectMapper())
+        assertNull fn.apply(null)
+    }
+
+    @Test
+    void testOutputMatchesResourceJsonFunction() {
+        def mapFunction = new ResourceMapFunction<Account>()
+        mapFunction.setExcludedFields(['surname'])
+        def mapper = new ObjectMapper()
+
+        def expected = new ResourceJsonFunction<Account>(mapFunction, new JsonFunction<Object>(mapper)).apply(newAccount())
+        def actual = new StreamingResourceJsonFunction<Account>(mapFunction, mapper).apply(newAccount())
+
+        assertEquals actual, expected
+
+        def parsed = mapper.readValue(actual, Map)
+        assertEquals parsed.email, 'jsmith@acme.com'
+        assertFalse parsed.containsKey('password')
+        assertFalse parsed.containsKey('surname')
+        assertFalse parsed.containsKey('notAField')
+    }
+
+    @Test
+    void testIncludedFieldsAreResolvedOnce() {
+        def mapFunction = new ResourceMapFunction<Account>()
+        def fields = ['groups'] as Set
+        mapFunction.setIncludedFields(fields)
+        fields.clear()
+
+        assertTrue mapFunction.isIncluded('groups', createNiceMock(Account))
+        assertFalse mapFunction.isIncluded('password')
+        assertTrue mapFunction.getIncludedFields().contains('groups')
+        assertEquals mapFunction.getExcludedFields(), Collections.toSet()
+    }
+
+    @Test
+    void testAccessorsAreCached() {
+        def accessors = new ResourcePropertyAccessors()
+        def getter = accessors.getAccessor(DefaultAccount, 'email')
+        assertNotNull getter
+        assertSame accessors.getAccessor(DefaultAccount, 'email'), getter
+        assertNull accessors.getAccessor(DefaultAccount, 'notAField')
+        assertNull accessors.getAccessor(DefaultAccount, 'notAField')
+    }
+}
@@ -25,8 +25,10 @@ import com.stormpath.sdk.servlet.account.AccountStringResolver;
 import com.stormpath.sdk.servlet.http.Resolver;
 import com.stormpath.sdk.servlet.json.JsonFunction;
 import com.stormpath.sdk.servlet.json.ResourceJsonFunction;
+import com.stormpath.sdk.servlet.json.StreamingResourceJsonFunction;
 import com.stormpath.sdk.servlet.mvc.ResourceMapFunction;
 import com.stormpath.spring.boot.autoconfigure.StormpathWebMvcAutoConfiguration;
+import com.stormpath.zuul.account.CachingAccountStringFunction;
 import com.stormpath.zuul.account.ForwardedAccountHeaderFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -67,6 +69,13 @@ public class StormpathZuulAutoConfiguration {
     @Value("${stormpath.zuul.account.header.name:X-Forwarded-Account}")
     private String forwardedAccountHeaderName = "X-Forwarded-Account";
 
+    //rendered account values are not cached by default, so group membership changes are forwarded right away:
+    @Value("${stormpath.zuul.account.header.cache.enabled:false}")
+    private boolean forwardedAccountCacheEnabled = false;
+
+    @Value("${stormpath.zuul.account.header.cache.timeToLiveMillis:60000}")
+    private long forwardedAccountCacheTimeToLiveMillis = CachingAccountStringFunction.DEFAULT_TIME_TO_LIVE_MILLIS;
+
     @Value("#{ @environment['stormpath.zuul.account.header.includedProperties'] ?: {'groups', 'customData'} }")
     private Set<String> accountToMapConverterIncludedFields = Collections.toSet("groups", "customData");
 
@@ -91,16 +100,31 @@ public class StormpathZuulAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(name = "stormpathForwardedAccountStringFunction")
+    @SuppressWarnings("unchecked")
     public Function<Account, String> stormpathForwardedAccountStringFunction() {
-        return new ResourceJsonFunction<>(stormpathForwardedAccountMapFunction(), stormpathJsonFunction());
+        Function<Account, Map<String, Object>> mapFunction = stormpathForwardedAccountMapFunction();
+        Function<Object, String> jsonFunction = stormpathJsonFunction();
+        if (mapFunction instanceof ResourceMapFunction && jsonFunction.getClass() == JsonFunction.class) {
+            //the default JSON function only delegates to its ObjectMapper, so render the same properties with that
+            //mapper, but write them directly as JSON without building intermediate maps.  Any other (user-defined)
+            //JSON function is always honored:
+            ObjectMapper mapper = ((JsonFunction<Object>) jsonFunction).getObjectMapper();
+            return new StreamingResourceJsonFunction<>((ResourceMapFunction<Account>) mapFunction, mapper);
+        }
+        return new ResourceJsonFunction<>(mapFunction, jsonFunction);
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "stormpathForwardedAccountHeaderValueResolver")
     public Resolver<String> stormpathForwardedAccountHeaderValueResolver() {
-        AccountStringResolver resolver = new AccountStringResolver();
+        AccountStringResolver resolver = new AccountStringResolver(objectMapper);
         resolver.setAccountResolver(accountResolver);
-        resolver.setAccountStringFunction(stormpathForwardedAccountStringFunction());
+        Function<Account, String> accountStringFunction = stormpathForwardedAccountStringFunction();
+        if (forwardedAccountCacheEnabled) {
+            accountStringFunction =
+                new CachingAccountStringFunction(accountStringFunction, forwardedAccountCacheTimeToLiveMillis);
+        }
+        resolver.setAccountStringFunction(accountStringFunction);
         return resolver;
     }
 
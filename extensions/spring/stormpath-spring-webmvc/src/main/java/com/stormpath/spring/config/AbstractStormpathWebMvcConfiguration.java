@@ -22,6 +22,7 @@ import com.stormpath.sdk.authc.AuthenticationResult;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.idsite.IdSiteResultListener;
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.BiPredicate;
 import com.stormpath.sdk.lang.Collections;
@@ -40,6 +41,7 @@ import com.stormpath.sdk.servlet.config.impl.RefreshTokenCookieConfig;
 import com.stormpath.sdk.servlet.csrf.CsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DefaultCsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DisabledCsrfTokenManager;
+import com.stormpath.sdk.servlet.csrf.HmacCsrfTokenManager;
 import com.stormpath.sdk.servlet.event.RequestEvent;
 import com.stormpath.sdk.servlet.event.RequestEventListener;
 import com.stormpath.sdk.servlet.event.RequestEventListenerAdapter;
@@ -262,6 +264,9 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     @Value("#{ @environment['stormpath.web.csrf.token.name'] ?: 'csrfToken'}")
     protected String csrfTokenName;
 
+    @Value("#{ @environment['stormpath.web.csrf.token.format'] ?: 'jwt'}")
+    protected String csrfTokenFormat;
+
     @Value("#{ @environment['stormpath.web.nonce.cache.name'] ?: 'com.stormpath.sdk.servlet.nonces' }")
     protected String nonceCacheName;
 
@@ -802,6 +807,15 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     public CsrfTokenManager stormpathCsrfTokenManager() {
 
         if (csrfTokenEnabled) {
+            boolean hmac = "hmac".equalsIgnoreCase(csrfTokenFormat);
+            //since 1.2.0: a dedicated in-memory store unless the cache manager might be shared across JVMs:
+            if (TimeBucketedNonceStore.isPreferredOver(client.getCacheManager())) {
+                return hmac ? new HmacCsrfTokenManager(csrfTokenName, stormpathCsrfTokenSigningKey(), csrfTokenTtl) :
+                       new DefaultCsrfTokenManager(csrfTokenName, stormpathCsrfTokenSigningKey(), csrfTokenTtl);
+            }
+            if (hmac) {
+                return new HmacCsrfTokenManager(csrfTokenName, stormpathNonceCache(), stormpathCsrfTokenSigningKey(), csrfTokenTtl);
+            }
             return new DefaultCsrfTokenManager(csrfTokenName, stormpathNonceCache(), stormpathCsrfTokenSigningKey(), csrfTokenTtl);
         }
 
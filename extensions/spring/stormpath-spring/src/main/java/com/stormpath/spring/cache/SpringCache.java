@@ -15,8 +15,15 @@
  */
 package com.stormpath.spring.cache;
 
-import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.cache.ExtendedCache;
 import com.stormpath.sdk.lang.Assert;
+import org.springframework.scheduling.annotation.AsyncResult;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * A Stormpath SDK {@link com.stormpath.sdk.cache.Cache} implementation that wraps a Spring {@link org.springframework.cache.Cache Cache} instance.
@@ -24,19 +31,44 @@ import com.stormpath.sdk.lang.Assert;
  * caching implementation.
  * <p/>
  * This implementation effectively acts as an adapter or bridge from the Stormpath SDK cache API to the Spring cache API.
+ * <p/>
+ * As of 1.2.0 this class implements {@link ExtendedCache}: the SDK writes and evicts entries via
+ * {@link #set(Object, Object) set} and {@link #evict(Object) evict}, which map directly to Spring's {@code put} and
+ * {@code evict} without the additional lookup needed to return a previous value.  Values may also be stored encoded
+ * by a {@link CacheValueCodec}, which is useful when the Spring cache is backed by a remote store.
  *
  * @param <K> The cache key type
  * @param <V> The cache value type
  * @since 1.0.RC4
  */
 @SuppressWarnings("unchecked")
-public class SpringCache<K, V> implements Cache<K, V> {
+public class SpringCache<K, V> implements ExtendedCache<K, V> {
 
     private final org.springframework.cache.Cache springCache;
 
+    private final CacheValueCodec codec; //null if values are stored as-is
+
     public SpringCache(org.springframework.cache.Cache springCache) {
+        this(springCache, null);
+    }
+
+    /**
+     * Creates a new instance that stores values in the specified Spring cache encoded by the specified
+     * {@code codec}.
+     *
+     * @param springCache the Spring cache to wrap
+     * @param codec       the codec used to encode values before they are stored, or {@code null} to store values
+     *                    as-is.
+     * @since 1.2.0
+     */
+    public SpringCache(org.springframework.cache.Cache springCache, CacheValueCodec codec) {
         Assert.notNull(springCache, "spring cache instance cannot be null.");
         this.springCache = springCache;
+        this.codec = codec;
+    }
+
+    private Object toStored(V value) {
+        return codec != null ? codec.encode(value) : value;
     }
 
     @Override
@@ -45,12 +77,16 @@ public class SpringCache<K, V> implements Cache<K, V> {
         if (vw == null) {
             return null;
         }
-        return (V) vw.get();
+        Object stored = vw.get();
+        if (codec != null && stored != null) {
+            return (V) codec.decode((byte[]) stored);
+        }
+        return (V) stored;
     }
 
     @Override
     public V put(K key, V value) {
-        springCache.put(key, value);
+        springCache.put(key, toStored(value));
         return get(key);
     }
 
@@ -60,4 +96,71 @@ public class SpringCache<K, V> implements Cache<K, V> {
         springCache.evict(key);
         return v;
     }
+
+    /**
+     * Spring caches have no bulk read operation, so this implementation looks up each key in turn.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Assert.notNull(keys, "keys cannot be null.");
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        Assert.notNull(entries, "entries cannot be null.");
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            springCache.put(entry.getKey(), toStored(entry.getValue()));
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void set(K key, V value) {
+        springCache.put(key, toStored(value));
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void evict(K key) {
+        springCache.evict(key);
+    }
+
+    /**
+     * Spring caches are synchronous, so this implementation writes the entry before returning a completed future.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> setAsync(K key, V value) {
+        set(key, value);
+        return new AsyncResult<Void>(null);
+    }
+
+    /**
+     * Spring caches are synchronous, so this implementation evicts the entry before returning a completed future.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> evictAsync(K key) {
+        evict(key);
+        return new AsyncResult<Void>(null);
+    }
 }
@@ -17,6 +17,7 @@ package com.stormpath.spring.cache;
 
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
 import com.stormpath.sdk.lang.Assert;
 import org.springframework.beans.factory.InitializingBean;
 
@@ -34,6 +35,8 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
 
     private org.springframework.cache.CacheManager springCacheManager;
 
+    private CacheValueCodec valueCodec;
+
     public SpringCacheManager(){}
 
     /**
@@ -51,6 +54,30 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
         this.springCacheManager = cacheManager;
     }
 
+    /**
+     * Returns the codec used to encode values before they are stored in Spring caches, or {@code null} (the default)
+     * if values are stored as-is.
+     *
+     * @return the codec used to encode values before they are stored in Spring caches, or {@code null}.
+     * @since 1.2.0
+     */
+    public CacheValueCodec getValueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * Sets the codec used to encode values before they are stored in Spring caches.  This is useful when the Spring
+     * caches are backed by a remote or off-heap store that would otherwise use Java serialization, for example
+     * {@link com.stormpath.sdk.cache.Caches#newBinaryValueCodec() Caches.newBinaryValueCodec()}.  {@code null} (the
+     * default) stores values as-is.
+     *
+     * @param valueCodec the codec used to encode values before they are stored, or {@code null}.
+     * @since 1.2.0
+     */
+    public void setValueCodec(CacheValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         Assert.notNull(springCacheManager, "springCacheManager instance must be specified.");
@@ -69,6 +96,6 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
     @Override
     public <K, V> Cache<K, V> getCache(String name) {
         org.springframework.cache.Cache springCache = this.springCacheManager.getCache(name);
-        return new SpringCache<K,V>(springCache);
+        return new SpringCache<K,V>(springCache, valueCodec);
     }
 }
@@ -116,4 +116,61 @@ class SpringCacheTest {
         verify(springCache, valueWrapper)
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testSetAndEvictDoNotReadPreviousValue() {
+
+        def springCache = createStrictMock(org.springframework.cache.Cache)
+
+        springCache.put('key', 'value')
+        springCache.evict('key')
+
+        replay springCache
+
+        def cache = new SpringCache(springCache)
+        cache.set('key', 'value')
+        cache.evict('key')
+
+        verify springCache
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testExtendedOperations() {
+
+        def cache = new SpringCache(new ConcurrentMapCache('foo'))
+
+        cache.putAll([a: 1, b: 2])
+        assertEquals cache.getAll(['a', 'b', 'missing']), [a: 1, b: 2]
+
+        assertTrue cache.setAsync('c', 3).isDone()
+        assertEquals cache.get('c'), 3
+
+        assertTrue cache.evictAsync('c').isDone()
+        assertNull cache.get('c')
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testValueCodec() {
+
+        def codec = [
+                encode: { Object v -> v.toString().getBytes('UTF-8') },
+                decode: { byte[] b -> new String(b, 'UTF-8') }
+        ] as com.stormpath.sdk.cache.CacheValueCodec
+
+        def springCache = new ConcurrentMapCache('foo')
+        def cache = new SpringCache(springCache, codec)
+
+        cache.set('key', 'value')
+        assertTrue springCache.get('key').get() instanceof byte[]
+        assertEquals cache.get('key'), 'value'
+        assertNull cache.get('missing')
+    }
 }
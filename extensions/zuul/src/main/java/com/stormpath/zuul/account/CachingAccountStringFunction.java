@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.zuul.account;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.util.SoftHashMap;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+import com.stormpath.sdk.lang.Function;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code Function<Account,String>} that remembers the string rendered by a delegate function for each account, so
+ * the (comparatively expensive) rendering - for example serializing the account and its groups to JSON - only happens
+ * once per account version instead of on every proxied request.
+ * <p>
+ * A cached value is reused as long as the account's {@code href} and {@code modifiedAt} timestamp are unchanged and
+ * the value is younger than the configured time-to-live.  Because changes to related resources (such as the account's
+ * group memberships) do not change the account's {@code modifiedAt} timestamp, the time-to-live bounds how long such
+ * changes may take to be reflected in the rendered value: for example, an account removed from a group may still be
+ * forwarded as a member of that group for up to the time-to-live.  Use a shorter time-to-live (or no caching at all)
+ * if origin servers make authorization decisions that must not lag behind such changes.
+ * </p>
+ * <p>
+ * When the delegate is a {@link JwtAccountStringFunction}, the time-to-live cannot exceed the token's own
+ * {@link JwtAccountStringFunction#setTimeToLiveMillis(long) time-to-live}, so an expired token is never reused.
+ * </p>
+ *
+ * @since 1.2.0
+ */
+public class CachingAccountStringFunction implements Function<Account, String> {
+
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Function<Account, String> delegate;
+
+    private final long timeToLiveMillis;
+
+    private final Cache<String, RenderedValue> cache;
+
+    public CachingAccountStringFunction(Function<Account, String> delegate) {
+        this(delegate, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * @param delegate           the function that renders accounts whose value is not cached (or outdated)
+     * @param timeToLiveMillis   the maximum time in milliseconds a rendered value may be reused
+     */
+    public CachingAccountStringFunction(Function<Account, String> delegate, long timeToLiveMillis) {
+        Assert.notNull(delegate, "delegate function cannot be null.");
+        Assert.isTrue(timeToLiveMillis > 0, "timeToLiveMillis must be greater than zero.");
+        if (delegate instanceof JwtAccountStringFunction) {
+            Assert.isTrue(timeToLiveMillis <= ((JwtAccountStringFunction) delegate).getTimeToLiveMillis(),
+                    "timeToLiveMillis cannot exceed the time-to-live of the delegate's tokens, otherwise expired " +
+                    "tokens would be reused.");
+        }
+        this.delegate = delegate;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.cache = new DefaultCache<>(getClass().getName(), new SoftHashMap<String, DefaultCache.Entry<RenderedValue>>(),
+                new Duration(timeToLiveMillis, TimeUnit.MILLISECONDS), null);
+    }
+
+    public Function<Account, String> getDelegate() {
+        return delegate;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    @Override
+    public String apply(Account account) {
+        if (account == null) {
+            return null;
+        }
+
+        String href = account.getHref();
+        if (href == null) { //not persisted - nothing to key on
+            return delegate.apply(account);
+        }
+
+        Date modifiedAt = account.getModifiedAt();
+
+        RenderedValue rendered = cache.get(href);
+        if (rendered != null && rendered.isVersion(modifiedAt)) {
+            return rendered.value;
+        }
+
+        String value = delegate.apply(account);
+        cache.put(href, new RenderedValue(modifiedAt, value));
+        return value;
+    }
+
+    private static final class RenderedValue {
+
+        private final long modifiedAt;
+        private final String value;
+
+        private RenderedValue(Date modifiedAt, String value) {
+            this.modifiedAt = modifiedAt != null ? modifiedAt.getTime() : Long.MIN_VALUE;
+            this.value = value;
+        }
+
+        private boolean isVersion(Date modifiedAt) {
+            return this.modifiedAt == (modifiedAt != null ? modifiedAt.getTime() : Long.MIN_VALUE);
+        }
+    }
+}
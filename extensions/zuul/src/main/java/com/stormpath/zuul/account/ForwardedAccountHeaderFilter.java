@@ -36,6 +36,11 @@ import javax.servlet.ServletRequest;
  * {@link AccountStringResolver} instance by default.  If there is not an account associated with the
  * request, the header is not set at all.
  * </p>
+ * <p>
+ * The account is rendered on every request by default.  To render each account version only once, wrap the value
+ * resolver's account string function in a {@link CachingAccountStringFunction} - keeping in mind that changes to the
+ * account's group memberships are then only reflected once the cached value expires.
+ * </p>
  * <h5>Header Name</h5>
  * <p>If an account string is available, this filter sets the {@code X-Forwarded-Account} header with the account
  * string value.  The header name may be changed if desired by setting the superclass
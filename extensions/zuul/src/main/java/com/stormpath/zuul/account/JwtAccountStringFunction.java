@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.zuul.account;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Collections;
+import com.stormpath.sdk.lang.Function;
+import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.servlet.mvc.ResourcePropertyAccessors;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code Function<Account,String>} that represents an account as a compact, signed JWT instead of the full JSON
+ * document.  The JWT's {@code sub} claim is the account {@code href}; the account properties named by
+ * {@link #setClaimProperties(Collection) claimProperties} (and optionally the names of the account's groups) are
+ * added as additional claims.  Every token expires (its {@code exp} claim) after the configured
+ * {@link #setTimeToLiveMillis(long) timeToLiveMillis}, so a captured header cannot be replayed indefinitely.  Origin
+ * servers verify the signature with the shared signing key - for example with {@link #getClaims(String)}, which also
+ * requires an unexpired {@code exp} claim - so they can trust the header even if it passed through other
+ * intermediaries.
+ * <p>
+ * This may be combined with a {@link CachingAccountStringFunction} so the token is only created and signed once per
+ * account version.  The cache's time-to-live cannot exceed the token's, so a cached token is never forwarded after it
+ * has expired:
+ * <pre>
+ * resolver.setAccountStringFunction(new CachingAccountStringFunction(new JwtAccountStringFunction(key)));
+ * </pre>
+ * </p>
+ *
+ * @since 1.2.0
+ */
+public class JwtAccountStringFunction implements Function<Account, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAccountStringFunction.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public static final Set<String> DEFAULT_CLAIM_PROPERTIES =
+            java.util.Collections.unmodifiableSet(Collections.toSet("email", "username", "givenName", "surname", "status"));
+
+    public static final String GROUPS_CLAIM_NAME = "groups";
+
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final byte[] signingKey;
+
+    private SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
+
+    private Collection<String> claimProperties = DEFAULT_CLAIM_PROPERTIES;
+
+    private boolean groupsIncluded = false;
+
+    private long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+
+    private final ResourcePropertyAccessors accessors = new ResourcePropertyAccessors();
+
+    public JwtAccountStringFunction(String signingKey) {
+        this(signingKey != null ? signingKey.getBytes(UTF_8) : null);
+    }
+
+    public JwtAccountStringFunction(byte[] signingKey) {
+        Assert.isTrue(signingKey != null && signingKey.length > 0, "signingKey cannot be null or empty.");
+        this.signingKey = signingKey;
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Sets the HMAC algorithm used to sign the token.  The default is {@code HS256}.
+     *
+     * @param signatureAlgorithm the HMAC algorithm used to sign the token.
+     */
+    public void setSignatureAlgorithm(SignatureAlgorithm signatureAlgorithm) {
+        Assert.notNull(signatureAlgorithm, "signatureAlgorithm cannot be null.");
+        Assert.isTrue(signatureAlgorithm.isHmac(), "Only HMAC signature algorithms are supported.");
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public Collection<String> getClaimProperties() {
+        return claimProperties;
+    }
+
+    /**
+     * Sets the names of the account properties to add as claims.  Properties that reference other resources are
+     * ignored.  The default is {@link #DEFAULT_CLAIM_PROPERTIES}.
+     *
+     * @param claimProperties the names of the account properties to add as claims.
+     */
+    public void setClaimProperties(Collection<String> claimProperties) {
+        this.claimProperties = claimProperties == null ? java.util.Collections.<String>emptySet() :
+                java.util.Collections.unmodifiableSet(new LinkedHashSet<>(claimProperties));
+    }
+
+    public boolean isGroupsIncluded() {
+        return groupsIncluded;
+    }
+
+    /**
+     * Sets whether the names of the account's groups are added as a {@code groups} claim.  The default is
+     * {@code false}, which avoids iterating the account's group memberships.
+     *
+     * @param groupsIncluded whether the names of the account's groups are added as a {@code groups} claim.
+     */
+    public void setGroupsIncluded(boolean groupsIncluded) {
+        this.groupsIncluded = groupsIncluded;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * Sets the time in milliseconds after which a token expires.  The default is one minute
+     * ({@link #DEFAULT_TIME_TO_LIVE_MILLIS}), the same as the default time-to-live of a
+     * {@link CachingAccountStringFunction}.
+     *
+     * @param timeToLiveMillis the time in milliseconds after which a token expires.
+     */
+    public void setTimeToLiveMillis(long timeToLiveMillis) {
+        Assert.isTrue(timeToLiveMillis > 0, "timeToLiveMillis must be greater than zero.");
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    /**
+     * Verifies a token created by this function (or one configured with the same signing key) and returns its
+     * claims.  Unlike a plain JWT parser, this rejects tokens without an {@code exp} claim, so a token can never be
+     * accepted forever.
+     *
+     * @param jwt the token to verify
+     * @return the token's claims
+     * @throws io.jsonwebtoken.JwtException if the token is invalid, has expired, or does not expire at all
+     */
+    public Claims getClaims(String jwt) {
+        Jws<Claims> jws = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(jwt);
+        Claims claims = jws.getBody();
+        if (claims.getExpiration() == null) {
+            throw new MissingClaimException(jws.getHeader(), claims,
+                    "JWT does not contain the required '" + Claims.EXPIRATION + "' claim.");
+        }
+        return claims;
+    }
+
+    @Override
+    public String apply(Account account) {
+        if (account == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder().setSubject(account.getHref())
+                .setIssuedAt(new Date(now)).setExpiration(new Date(now + timeToLiveMillis));
+
+        for (String propName : claimProperties) {
+            Object value;
+            try {
+                value = accessors.getValue(account, propName);
+            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+                log.warn("Unable to access account property '{}': {}", propName, e.getMessage(), e);
+                continue;
+            }
+            if (value == null || value instanceof Resource) {
+                continue;
+            }
+            if (value instanceof Enum) {
+                value = ((Enum) value).name();
+            } else if (value instanceof Date) {
+                value = ((Date) value).getTime() / 1000; //JWT NumericDate
+            }
+            builder.claim(propName, value);
+        }
+
+        if (groupsIncluded) {
+            List<String> groupNames = new ArrayList<>();
+            for (Group group : account.getGroups()) {
+                groupNames.add(group.getName());
+            }
+            builder.claim(GROUPS_CLAIM_NAME, groupNames);
+        }
+
+        return builder.signWith(signatureAlgorithm, signingKey).compact();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.zuul.account
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.lang.Function
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class CachingAccountStringFunctionTest {
+
+    private static Account account(String href, Date modifiedAt) {
+        def account = createMock(Account)
+        expect(account.getHref()).andStubReturn(href)
+        expect(account.getModifiedAt()).andStubReturn(modifiedAt)
+        replay account
+        return account
+    }
+
+    @Test
+    void testNull() {
+        def delegate = createMock(Function)
+        replay delegate
+        assertNull new CachingAccountStringFunction(delegate).apply(null)
+        verify delegate
+    }
+
+    @Test
+    void testRenderedOncePerVersion() {
+        int count = 0
+        def delegate = { Account a -> "${a.href}@${count++}".toString() } as Function<Account, String>
+        def fn = new CachingAccountStringFunction(delegate)
+
+        def v1 = new Date(1000)
+        def first = fn.apply(account('https://api.stormpath.com/v1/accounts/a', v1))
+        assertEquals fn.apply(account('https://api.stormpath.com/v1/accounts/a', v1)), first
+        assertEquals count, 1
+
+        //a different account is rendered separately:
+        fn.apply(account('https://api.stormpath.com/v1/accounts/b', v1))
+        assertEquals count, 2
+
+        //a modified account is rendered again:
+        def updated = fn.apply(account('https://api.stormpath.com/v1/accounts/a', new Date(2000)))
+        assertNotEquals updated, first
+        assertEquals count, 3
+    }
+
+    @Test
+    void testExpiredValueIsRenderedAgain() {
+        int count = 0
+        def delegate = { Account a -> "${count++}".toString() } as Function<Account, String>
+        def fn = new CachingAccountStringFunction(delegate, 20)
+
+        def modifiedAt = new Date(1000)
+        fn.apply(account('https://api.stormpath.com/v1/accounts/a', modifiedAt))
+        Thread.sleep(50)
+        fn.apply(account('https://api.stormpath.com/v1/accounts/a', modifiedAt))
+
+        assertEquals count, 2
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testTimeToLiveCannotExceedTokenTimeToLive() {
+        def jwtFunction = new JwtAccountStringFunction('a-signing-key-that-is-long-enough-for-hs256')
+        jwtFunction.setTimeToLiveMillis(30000)
+        new CachingAccountStringFunction(jwtFunction, 60000)
+    }
+}
@@ -40,6 +40,8 @@ class ForwardedAccountHeaderFilterTest {
         assertEquals filter.getHeaderName(), 'X-Forwarded-Account'
         assertTrue filter.accountResolver instanceof DefaultAccountResolver
         assertTrue filter.getValueResolver() instanceof AccountStringResolver
+        //rendered values are not cached unless configured:
+        assertFalse filter.getValueResolver().getAccountStringFunction() instanceof CachingAccountStringFunction
     }
 
     @Test
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.zuul.account
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountStatus
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.GroupList
+import io.jsonwebtoken.ExpiredJwtException
+import io.jsonwebtoken.Jwts
+import io.jsonwebtoken.MissingClaimException
+import io.jsonwebtoken.SignatureAlgorithm
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class JwtAccountStringFunctionTest {
+
+    static final String KEY = 'a-signing-key-that-is-long-enough-for-hs256'
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testEmptyKey() {
+        new JwtAccountStringFunction('')
+    }
+
+    @Test
+    void testApply() {
+        def account = createNiceMock(Account)
+        expect(account.getHref()).andStubReturn('https://api.stormpath.com/v1/accounts/a')
+        expect(account.getEmail()).andStubReturn('jsmith@acme.com')
+        expect(account.getUsername()).andStubReturn('jsmith')
+        expect(account.getGivenName()).andStubReturn('John')
+        expect(account.getSurname()).andStubReturn(null)
+        expect(account.getStatus()).andStubReturn(AccountStatus.ENABLED)
+        replay account
+
+        def jwt = new JwtAccountStringFunction(KEY).apply(account)
+
+        def claims = Jwts.parser().setSigningKey(KEY.getBytes('UTF-8')).parseClaimsJws(jwt).getBody()
+        assertEquals claims.getSubject(), 'https://api.stormpath.com/v1/accounts/a'
+        assertEquals claims.email, 'jsmith@acme.com'
+        assertEquals claims.username, 'jsmith'
+        assertEquals claims.givenName, 'John'
+        assertEquals claims.status, 'ENABLED'
+        assertFalse claims.containsKey('surname')
+        assertFalse claims.containsKey('groups')
+        assertNotNull claims.getIssuedAt()
+        //tokens expire after the default time-to-live:
+        assertEquals claims.getExpiration().time - claims.getIssuedAt().time, 60000L
+    }
+
+    @Test
+    void testGetClaims() {
+        def account = createNiceMock(Account)
+        expect(account.getHref()).andStubReturn('https://api.stormpath.com/v1/accounts/a')
+        replay account
+
+        def fn = new JwtAccountStringFunction(KEY)
+        fn.setTimeToLiveMillis(5000)
+
+        def claims = fn.getClaims(fn.apply(account))
+        assertEquals claims.getSubject(), 'https://api.stormpath.com/v1/accounts/a'
+        assertTrue claims.getExpiration().time <= System.currentTimeMillis() + 5000
+    }
+
+    @Test(expectedExceptions = MissingClaimException)
+    void testGetClaimsRequiresExpiration() {
+        def jwt = Jwts.builder().setSubject('https://api.stormpath.com/v1/accounts/a')
+                .signWith(SignatureAlgorithm.HS256, KEY.getBytes('UTF-8')).compact()
+        new JwtAccountStringFunction(KEY).getClaims(jwt)
+    }
+
+    @Test(expectedExceptions = ExpiredJwtException)
+    void testGetClaimsRejectsExpiredToken() {
+        def jwt = Jwts.builder().setSubject('https://api.stormpath.com/v1/accounts/a')
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS256, KEY.getBytes('UTF-8')).compact()
+        new JwtAccountStringFunction(KEY).getClaims(jwt)
+    }
+
+    @Test
+    void testApplyWithGroups() {
+        def group = createNiceMock(Group)
+        expect(group.getName()).andStubReturn('admins')
+        def groups = createNiceMock(GroupList)
+        expect(groups.iterator()).andStubAnswer({ [group].iterator() })
+        def account = createNiceMock(Account)
+        expect(account.getHref()).andStubReturn('https://api.stormpath.com/v1/accounts/a')
+        expect(account.getGroups()).andStubReturn(groups)
+        replay group, groups, account
+
+        def fn = new JwtAccountStringFunction(KEY)
+        fn.setClaimProperties([])
+        fn.setGroupsIncluded(true)
+
+        def claims = Jwts.parser().setSigningKey(KEY.getBytes('UTF-8')).parseClaimsJws(fn.apply(account)).getBody()
+        assertEquals claims.groups, ['admins']
+        assertFalse claims.containsKey('email')
+    }
+}
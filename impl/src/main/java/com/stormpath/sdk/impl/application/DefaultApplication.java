@@ -33,6 +33,7 @@ import com.stormpath.sdk.directory.Directories;
 import com.stormpath.sdk.directory.Directory;
 import com.stormpath.sdk.directory.DirectoryCriteria;
 import com.stormpath.sdk.directory.DirectoryList;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.group.CreateGroupRequest;
 import com.stormpath.sdk.group.Group;
 import com.stormpath.sdk.group.GroupCriteria;
@@ -441,6 +442,16 @@ public class DefaultApplication extends AbstractExtendableInstanceResource imple
         return getDataStore().create(href, account);
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public BatchResult<Account> createAccounts(Iterable<Account> accounts) {
+        Assert.notNull(accounts, "accounts cannot be null.");
+        String href = getAccounts().getHref();
+        return getDataStore().createAll(href, accounts);
+    }
+
     @Override
     public void delete() {
         getDataStore().delete(this);
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.lang.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CacheValueCodec} that encodes cached resource data in a compact, self-describing binary format.
+ * <p/>
+ * Each value is written as a one-byte type tag followed by its payload.  Integral numbers and lengths are written as
+ * variable-length integers, every string after its first occurrence is written as a reference to that first
+ * occurrence, and long strings are written as the suffix they do not share with the previous long string.  Because
+ * cached resources are maps whose property names repeat across nested and collection item resources ({@code href},
+ * {@code createdAt}, {@code status}, ...) and whose hrefs share long common prefixes, this typically makes the
+ * encoding a fraction of the size of the Java serialized form.
+ * <p/>
+ * Maps decode as {@link LinkedHashMap}s (preserving iteration order) and lists as {@link ArrayList}s.  Values of any
+ * other {@link Serializable} type are embedded using Java serialization so that no data is ever lost.
+ * <p/>
+ * This implementation is stateless and thread-safe.
+ *
+ * @since 1.2.0
+ */
+public class BinaryCacheValueCodec implements CacheValueCodec {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte STRING = 7;
+    private static final byte STRING_REF = 8;
+    private static final byte MAP = 9;
+    private static final byte LIST = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte DATE = 13;
+    private static final byte BYTES = 14;
+    private static final byte SERIALIZED = 15;
+    private static final byte PREFIXED_STRING = 16;
+
+    //strings at least this long take part in prefix sharing:
+    private static final int MIN_PREFIXED_LENGTH = 16;
+
+    @Override
+    public byte[] encode(Object value) throws IllegalArgumentException {
+        Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeValue(value);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws IllegalArgumentException {
+        Assert.notNull(bytes, "bytes argument cannot be null.");
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported cache value format version " + version + ".");
+        }
+        Object value = reader.readValue();
+        if (reader.pos != bytes.length) {
+            throw new IllegalArgumentException("Unexpected trailing data in encoded cache value.");
+        }
+        return value;
+    }
+
+    private static final class Writer {
+
+        private byte[] buf = new byte[256];
+        private int pos = 0;
+        private Map<String, Integer> strings;
+        private String lastLongString;
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensureCapacity(int additional) {
+            int required = pos + additional;
+            if (required > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(required, buf.length * 2));
+            }
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buf[pos++] = (byte) b;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        private void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void writeValue(Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                //short and byte values are widened: JSON-derived data never contains them
+                writeByte(INT);
+                writeZigZag(((Number) value).intValue());
+            } else if (value instanceof Long) {
+                writeByte(LONG);
+                writeZigZag((Long) value);
+            } else if (value instanceof Double) {
+                writeByte(DOUBLE);
+                writeFixedLong(Double.doubleToLongBits((Double) value));
+            } else if (value instanceof Float) {
+                writeByte(FLOAT);
+                writeVarLong(Float.floatToIntBits((Float) value) & 0xFFFFFFFFL);
+            } else if (value instanceof Map) {
+                Map<Object, Object> map = (Map<Object, Object>) value;
+                writeByte(MAP);
+                writeVarLong(map.size());
+                for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof List) {
+                Collection<Object> list = (Collection<Object>) value;
+                writeByte(LIST);
+                writeVarLong(list.size());
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else if (value instanceof BigInteger) {
+                writeByte(BIG_INTEGER);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (value instanceof BigDecimal) {
+                BigDecimal decimal = (BigDecimal) value;
+                writeByte(BIG_DECIMAL);
+                writeZigZag(decimal.scale());
+                writeBytes(decimal.unscaledValue().toByteArray());
+            } else if (value.getClass() == Date.class) {
+                writeByte(DATE);
+                writeZigZag(((Date) value).getTime());
+            } else if (value instanceof byte[]) {
+                writeByte(BYTES);
+                writeBytes((byte[]) value);
+            } else if (value instanceof Serializable) {
+                writeByte(SERIALIZED);
+                writeBytes(serialize(value));
+            } else {
+                throw new IllegalArgumentException("Unable to encode cache value of type " +
+                                                   value.getClass().getName() + ": it is not Serializable.");
+            }
+        }
+
+        private void writeString(String s) {
+            if (strings == null) {
+                strings = new HashMap<String, Integer>();
+            }
+            Integer index = strings.get(s);
+            if (index != null) {
+                writeByte(STRING_REF);
+                writeVarLong(index);
+                return;
+            }
+            strings.put(s, strings.size());
+
+            int length = s.length();
+            int prefixLength = 0;
+            if (length >= MIN_PREFIXED_LENGTH) {
+                prefixLength = commonPrefixLength(lastLongString, s);
+                lastLongString = s;
+            }
+
+            if (prefixLength > 0) {
+                writeByte(PREFIXED_STRING);
+                writeVarLong(prefixLength);
+            } else {
+                writeByte(STRING);
+            }
+            writeChars(s, prefixLength, length);
+        }
+
+        private static int commonPrefixLength(String previous, String s) {
+            if (previous == null) {
+                return 0;
+            }
+            int max = Math.min(previous.length(), s.length());
+            int i = 0;
+            while (i < max && previous.charAt(i) == s.charAt(i)) {
+                i++;
+            }
+            if (i > 0 && i < s.length() && Character.isLowSurrogate(s.charAt(i))) {
+                i--; //never split a surrogate pair
+            }
+            return i;
+        }
+
+        private void writeChars(String s, int start, int end) {
+            //fast path for ASCII, which all property names and nearly all values are:
+            boolean ascii = true;
+            for (int i = start; i < end; i++) {
+                if (s.charAt(i) >= 0x80) {
+                    ascii = false;
+                    break;
+                }
+            }
+            if (ascii) {
+                int length = end - start;
+                writeVarLong(length);
+                ensureCapacity(length);
+                for (int i = start; i < end; i++) {
+                    buf[pos++] = (byte) s.charAt(i);
+                }
+            } else {
+                writeBytes(s.substring(start, end).getBytes(UTF_8));
+            }
+        }
+
+        private static byte[] serialize(Object value) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try {
+                ObjectOutputStream oos = new ObjectOutputStream(baos);
+                oos.writeObject(value);
+                oos.close();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to serialize cache value of type " +
+                                                   value.getClass().getName() + ": " + e.getMessage(), e);
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos = 0;
+        private final List<String> strings = new ArrayList<String>();
+        private String lastLongString;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("Unexpected end of encoded cache value.");
+            }
+            return buf[pos++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer in encoded cache value.");
+        }
+
+        private int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > buf.length - pos) {
+                throw new IllegalArgumentException("Invalid length " + length + " in encoded cache value.");
+            }
+            return (int) length;
+        }
+
+        private int readCount() {
+            long count = readVarLong();
+            //every element needs at least one byte:
+            if (count < 0 || count > buf.length - pos) {
+                throw new IllegalArgumentException("Invalid element count " + count + " in encoded cache value.");
+            }
+            return (int) count;
+        }
+
+        private long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        private byte[] readBytes() {
+            int length = readLength();
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        Object readValue() {
+            int tag = readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) readZigZag();
+                case LONG:
+                    return readZigZag();
+                case FLOAT:
+                    return Float.intBitsToFloat((int) readVarLong());
+                case DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case STRING:
+                    return readString(0);
+                case PREFIXED_STRING:
+                    long prefixLength = readVarLong();
+                    if (lastLongString == null || prefixLength <= 0 || prefixLength > lastLongString.length()) {
+                        throw new IllegalArgumentException("Invalid string prefix in encoded cache value.");
+                    }
+                    return readString((int) prefixLength);
+                case STRING_REF:
+                    long index = readVarLong();
+                    if (index < 0 || index >= strings.size()) {
+                        throw new IllegalArgumentException("Invalid string reference in encoded cache value.");
+                    }
+                    return strings.get((int) index);
+                case MAP:
+                    int size = readCount();
+                    Map<Object, Object> map = new LinkedHashMap<Object, Object>(Math.max(16, (int) (size / .75f) + 1));
+                    for (int i = 0; i < size; i++) {
+                        Object key = readValue();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                case LIST:
+                    int count = readCount();
+                    List<Object> list = new ArrayList<Object>(count);
+                    for (int i = 0; i < count; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                case BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case BIG_DECIMAL:
+                    int scale = (int) readZigZag();
+                    return new BigDecimal(new BigInteger(readBytes()), scale);
+                case DATE:
+                    return new Date(readZigZag());
+                case BYTES:
+                    return readBytes();
+                case SERIALIZED:
+                    return deserialize(readBytes());
+                default:
+                    throw new IllegalArgumentException("Unknown type tag " + tag + " in encoded cache value.");
+            }
+        }
+
+        private String readString(int prefixLength) {
+            int length = readLength();
+            String s;
+            boolean ascii = true;
+            for (int i = pos, end = pos + length; i < end; i++) {
+                if (buf[i] < 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+            if (ascii) {
+                char[] chars = new char[prefixLength + length];
+                if (prefixLength > 0) {
+                    lastLongString.getChars(0, prefixLength, chars, 0);
+                }
+                for (int i = 0; i < length; i++) {
+                    chars[prefixLength + i] = (char) buf[pos + i];
+                }
+                s = new String(chars);
+            } else {
+                s = new String(buf, pos, length, UTF_8);
+                if (prefixLength > 0) {
+                    s = lastLongString.substring(0, prefixLength) + s;
+                }
+            }
+            pos += length;
+            strings.add(s);
+            if (s.length() >= MIN_PREFIXED_LENGTH) {
+                lastLongString = s;
+            }
+            return s;
+        }
+
+        private static Object deserialize(byte[] bytes) {
+            try {
+                ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+                try {
+                    return ois.readObject();
+                } finally {
+                    ois.close();
+                }
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Unable to deserialize embedded cache value: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Future} for a value that is already available, returned by caches that perform their 'asynchronous'
+ * operations synchronously.
+ *
+ * @since 1.2.0
+ */
+final class CompletedFuture<V> implements Future<V> {
+
+    static final CompletedFuture<Void> VOID = new CompletedFuture<Void>(null);
+
+    private final V value;
+
+    CompletedFuture(V value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return true;
+    }
+
+    @Override
+    public V get() {
+        return value;
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) {
+        return value;
+    }
+}
@@ -16,12 +16,16 @@
 package com.stormpath.sdk.impl.cache;
 
 import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.ExtendedCache;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -33,7 +37,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @since 1.0
  */
-public class DefaultCache<K, V> implements Cache<K, V> {
+public class DefaultCache<K, V> implements ExtendedCache<K, V> {
 
     /**
      * Backing map instance that stores the cache entries.
@@ -52,6 +56,14 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      */
     private volatile Duration timeToIdle;
 
+    /**
+     * The amount of time an expired entry is retained so it can still be served by {@link #getStale(Object)} when
+     * fresh data cannot be obtained.  {@code null} means expired entries are removed right away.
+     *
+     * @since 1.2.0
+     */
+    private volatile Duration staleRetention;
+
     /**
      * The name of this cache.
      */
@@ -161,25 +173,14 @@ public class DefaultCache<K, V> implements Cache<K, V> {
 
         long nowMillis = System.currentTimeMillis();
 
-        Duration ttl = this.timeToLive;
-        Duration tti = this.timeToIdle;
-
-        if (ttl != null) {
-            Duration sinceCreation = new Duration(nowMillis - entry.getCreationTimeMillis(), TimeUnit.MILLISECONDS);
-            if (sinceCreation.isGreaterThan(ttl)) {
-                map.remove(key);
-                missCount.incrementAndGet(); //count an expired TTL as a miss
-                return null;
-            }
-        }
+        long expirationMillis = getExpirationTimeMillis(entry);
 
-        if (tti != null) {
-            Duration sinceLastAccess = new Duration(nowMillis - entry.getLastAccessTimeMillis(), TimeUnit.MILLISECONDS);
-            if (sinceLastAccess.isGreaterThan(tti)) {
+        if (nowMillis > expirationMillis) {
+            if (!isStaleRetained(expirationMillis, nowMillis)) {
                 map.remove(key);
-                missCount.incrementAndGet(); //count an expired TTI as a miss
-                return null;
             }
+            missCount.incrementAndGet(); //count an expired TTL or TTI as a miss
+            return null;
         }
 
         entry.lastAccessTimeMillis = nowMillis;
@@ -189,6 +190,108 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         return entry.getValue();
     }
 
+    /**
+     * Returns the value stored under the specified {@code key} even if it has expired, as long as it expired no longer
+     * than the {@link #getStaleRetention() staleRetention} ago.  This allows callers to fall back to slightly outdated
+     * data when fresh data cannot be obtained, for example while the Stormpath API is unavailable.
+     * <p/>
+     * Stale reads do not affect the entry's last access time or this cache's statistics.
+     *
+     * @param key the key of the entry to return
+     * @return the possibly expired value stored under the specified key, or {@code null} if there is no such entry or
+     *         it expired longer than the {@code staleRetention} ago.
+     * @since 1.2.0
+     */
+    public V getStale(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long nowMillis = System.currentTimeMillis();
+        long expirationMillis = getExpirationTimeMillis(entry);
+        if (nowMillis > expirationMillis && !isStaleRetained(expirationMillis, nowMillis)) {
+            return null;
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the value stored under the specified {@code key} even if it has expired, as long as it expired no longer
+     * than both the {@link #getStaleRetention() staleRetention} and the specified {@code maxStaleness} ago.
+     *
+     * @param key          the key of the entry to return
+     * @param maxStaleness how long ago the entry may have expired at most
+     * @return the possibly expired value stored under the specified key, or {@code null} if there is no such entry or
+     *         it expired too long ago.
+     * @since 1.2.0
+     */
+    public V getStale(K key, Duration maxStaleness) {
+        Assert.notNull(maxStaleness, "maxStaleness cannot be null.");
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long nowMillis = System.currentTimeMillis();
+        long expirationMillis = getExpirationTimeMillis(entry);
+        if (nowMillis > expirationMillis &&
+            (!isStaleRetained(expirationMillis, nowMillis) ||
+             nowMillis - expirationMillis > maxStaleness.getTimeUnit().toMillis(maxStaleness.getValue()))) {
+            return null;
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Restarts the lifetime of the entry stored under the specified {@code key} as if its value had just been put,
+     * provided that the entry still holds the specified {@code value}.  This allows an expired entry that is known to
+     * still be current - for example because the server reported that the resource was not modified - to be reused
+     * without replacing it by an identical copy.
+     *
+     * @param key   the key of the entry to renew
+     * @param value the value the entry is expected to hold
+     * @return {@code true} if the entry was renewed, {@code false} if it was removed or replaced in the meantime.
+     * @since 1.2.0
+     */
+    public boolean renew(K key, V value) {
+        Entry<V> entry = map.get(key);
+        if (entry == null || entry.getValue() != value) {
+            return false;
+        }
+        map.put(key, new Entry<V>(value));
+        return true;
+    }
+
+    /**
+     * Returns the time in millis since Epoch when the specified entry expires according to the current
+     * {@code timeToLive} and {@code timeToIdle} settings, or {@code Long.MAX_VALUE} if it never expires.
+     *
+     * @since 1.2.0
+     */
+    private long getExpirationTimeMillis(Entry<V> entry) {
+        long expirationMillis = Long.MAX_VALUE;
+
+        Duration ttl = this.timeToLive;
+        if (ttl != null) {
+            expirationMillis = entry.getCreationTimeMillis() + ttl.getTimeUnit().toMillis(ttl.getValue());
+        }
+
+        Duration tti = this.timeToIdle;
+        if (tti != null) {
+            expirationMillis = Math.min(expirationMillis,
+                                        entry.getLastAccessTimeMillis() + tti.getTimeUnit().toMillis(tti.getValue()));
+        }
+
+        return expirationMillis;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private boolean isStaleRetained(long expirationMillis, long nowMillis) {
+        Duration retention = this.staleRetention;
+        return retention != null && nowMillis - expirationMillis <= retention.getTimeUnit().toMillis(retention.getValue());
+    }
+
     public V put(K key, V value) {
         Entry<V> newEntry = new Entry<V>(value);
         Entry<V> previous = map.put(key, newEntry);
@@ -211,6 +314,71 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         }
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Assert.notNull(keys, "keys cannot be null.");
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        Assert.notNull(entries, "entries cannot be null.");
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            set(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void set(K key, V value) {
+        map.put(key, new Entry<V>(value));
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void evict(K key) {
+        map.remove(key);
+    }
+
+    /**
+     * This implementation sets the entry synchronously; the returned future is always complete.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> setAsync(K key, V value) {
+        set(key, value);
+        return CompletedFuture.VOID;
+    }
+
+    /**
+     * This implementation evicts the entry synchronously; the returned future is always complete.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> evictAsync(K key) {
+        evict(key);
+        return CompletedFuture.VOID;
+    }
+
     /**
      * Returns the amount of time a cache entry may exist after first being created before it will expire and no
      * longer be available.  If a cache entry ever becomes older than this amount of time (regardless of how often
@@ -261,6 +429,32 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         this.timeToIdle = timeToIdle;
     }
 
+    /**
+     * Returns the amount of time an expired entry is retained so that it can still be returned by
+     * {@link #getStale(Object)}, or {@code null} if expired entries are removed as soon as they are encountered.
+     *
+     * @return the amount of time an expired entry is retained, or {@code null} if expired entries are not retained.
+     * @since 1.2.0
+     */
+    public Duration getStaleRetention() {
+        return staleRetention;
+    }
+
+    /**
+     * Sets the amount of time an expired entry is retained so that it can still be returned by
+     * {@link #getStale(Object)}.  Expired entries are never returned by {@link #get(Object)}.
+     *
+     * @param staleRetention the amount of time an expired entry is retained, or {@code null} to remove expired
+     *                       entries as soon as they are encountered.
+     * @since 1.2.0
+     */
+    public void setStaleRetention(Duration staleRetention) {
+        if (staleRetention != null) {
+            Assert.isTrue(staleRetention.getValue() >= 0, "staleRetention duration cannot be negative.");
+        }
+        this.staleRetention = staleRetention;
+    }
+
     /**
      * Returns the number of attempts to return a cache entry.  Note that because {@link #remove(Object)} will return
      * a value, calls to both {@link #get(Object)} and {@link #remove(Object)} will increment this number.
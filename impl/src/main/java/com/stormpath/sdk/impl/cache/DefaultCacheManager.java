@@ -86,6 +86,7 @@ public class DefaultCacheManager implements CacheManager {
 
     private volatile Duration defaultTimeToLive;
     private volatile Duration defaultTimeToIdle;
+    private volatile Duration defaultStaleRetention;
 
     /**
      * Default no-arg constructor that instantiates an internal name-to-cache {@code ConcurrentMap}.
@@ -167,6 +168,36 @@ public class DefaultCacheManager implements CacheManager {
         setDefaultTimeToIdle(new Duration(seconds, TimeUnit.SECONDS));
     }
 
+    /**
+     * Returns the default {@link DefaultCache#getStaleRetention() staleRetention} duration to apply to newly created
+     * {@link DefaultCache} instances, or {@code null} if expired entries are not retained.
+     *
+     * @return the default {@link DefaultCache#getStaleRetention() staleRetention} duration to apply to newly created
+     *         {@link DefaultCache} instances.
+     * @since 1.2.0
+     */
+    public Duration getDefaultStaleRetention() {
+        return defaultStaleRetention;
+    }
+
+    /**
+     * Sets the default {@link DefaultCache#getStaleRetention() staleRetention} duration to apply to newly created
+     * {@link DefaultCache} instances.  Existing {@link DefaultCache} instances are updated as well, so that stale
+     * fallback can be enabled after caches have already been used.
+     *
+     * @param defaultStaleRetention the amount of time expired entries are retained for stale reads, or {@code null}
+     *                              to remove expired entries right away.
+     * @since 1.2.0
+     */
+    public void setDefaultStaleRetention(Duration defaultStaleRetention) {
+        this.defaultStaleRetention = defaultStaleRetention;
+        for (Cache cache : caches.values()) {
+            if (cache instanceof DefaultCache) {
+                ((DefaultCache) cache).setStaleRetention(defaultStaleRetention);
+            }
+        }
+    }
+
     /**
      * Sets cache-specific configuration entries, to be utilized when creating cache instances.
      *
@@ -230,7 +261,9 @@ public class DefaultCacheManager implements CacheManager {
             }
         }
 
-        return new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        DefaultCache cache = new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        cache.setStaleRetention(this.defaultStaleRetention);
+        return cache;
     }
 
     public String toString() {
@@ -15,7 +15,12 @@
  */
 package com.stormpath.sdk.impl.cache;
 
-import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.ExtendedCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * A disabled implementation that does nothing.  This is useful for a CacheManager implementation to return instead
@@ -23,7 +28,7 @@ import com.stormpath.sdk.cache.Cache;
  *
  * @since 0.8
  */
-public class DisabledCache<K, V> implements Cache<K, V> {
+public class DisabledCache<K, V> implements ExtendedCache<K, V> {
 
     /**
      * This implementation does not do anything and always returns null.
@@ -57,4 +62,67 @@ public class DisabledCache<K, V> implements Cache<K, V> {
     public V remove(K key) {
         return null;
     }
+
+    /**
+     * This implementation does not do anything and always returns an empty map.
+     *
+     * @param keys the keys to look up
+     * @return an empty map always.
+     * @since 1.2.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * This implementation does not do anything (no caching).
+     *
+     * @param entries the entries to add
+     * @since 1.2.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+    }
+
+    /**
+     * This implementation does not do anything (no caching).
+     *
+     * @param key   the key used to identify the object being stored.
+     * @param value the value to be stored in the cache.
+     * @since 1.2.0
+     */
+    @Override
+    public void set(K key, V value) {
+    }
+
+    /**
+     * This implementation does not do anything (no caching).
+     *
+     * @param key the key used to identify the object being removed.
+     * @since 1.2.0
+     */
+    @Override
+    public void evict(K key) {
+    }
+
+    /**
+     * This implementation does not do anything (no caching) and always returns a completed future.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> setAsync(K key, V value) {
+        return CompletedFuture.VOID;
+    }
+
+    /**
+     * This implementation does not do anything (no caching) and always returns a completed future.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public Future<?> evictAsync(K key) {
+        return CompletedFuture.VOID;
+    }
 }
@@ -33,13 +33,17 @@ import com.stormpath.sdk.directory.CreateDirectoryRequest;
 import com.stormpath.sdk.directory.Directory;
 import com.stormpath.sdk.directory.DirectoryCriteria;
 import com.stormpath.sdk.directory.DirectoryList;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.ds.DataStore;
 import com.stormpath.sdk.group.GroupCriteria;
 import com.stormpath.sdk.group.GroupList;
 import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.http.ConnectionPoolConfiguration;
+import com.stormpath.sdk.impl.metrics.MetricsAware;
 import com.stormpath.sdk.impl.http.RequestExecutor;
 import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricsRecorder;
 import com.stormpath.sdk.lang.Classes;
 import com.stormpath.sdk.organization.*;
 import com.stormpath.sdk.query.Options;
@@ -47,8 +51,13 @@ import com.stormpath.sdk.resource.Resource;
 import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.sdk.tenant.Tenant;
 import com.stormpath.sdk.tenant.TenantOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -58,11 +67,19 @@ import java.util.Map;
  * DataStore} interface, but this implementation merely acts as a wrapper to the underlying 'real' {@code DataStore}
  * instance. This is a convenience mechanism to eliminate the constant need to call {@code client.getDataStore()} every
  * time one needs to instantiate or look up a Resource.</p>
+ * <h3>Shutdown</h3>
+ * <p>As of 1.2.0, this class implements {@link Closeable}: closing the client releases the HTTP connection pool and
+ * the background thread that evicts idle connections from it.  Applications that create clients dynamically (rather
+ * than one client for the lifetime of the application) should close each client when it is no longer needed.</p>
  *
  * @see <a href="http://www.stormpath.com/docs/quickstart/connect">Communicating with Stormpath: Get your API Key</a>
  * @since 1.0.alpha
  */
-public class DefaultClient implements Client {
+public class DefaultClient implements Client, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultClient.class);
+
+    private final RequestExecutor requestExecutor;
 
     private final DataStore dataStore;
 
@@ -83,11 +100,64 @@ public class DefaultClient implements Client {
      *                             server (can be null)
      */
     public DefaultClient(ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, int connectionTimeout) {
+        this(clientCredentials, apiKeyResolver, baseUrl, proxy, cacheManager, authenticationScheme, requestAuthenticatorFactory, connectionTimeout, null);
+    }
+
+    /**
+     * Instantiates a new Client instance whose HTTP connection pool is sized according to the specified
+     * {@code connectionPoolConfiguration}.
+     *
+     * @param connectionPoolConfiguration the HTTP connection pool settings (can be null to use the defaults)
+     * @since 1.2.0
+     */
+    public DefaultClient(ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, int connectionTimeout, ConnectionPoolConfiguration connectionPoolConfiguration) {
+        this(clientCredentials, apiKeyResolver, baseUrl, proxy, cacheManager, authenticationScheme, requestAuthenticatorFactory, connectionTimeout, connectionPoolConfiguration, null);
+    }
+
+    /**
+     * Instantiates a new Client instance that reports performance measurements to the specified
+     * {@code metricsRecorder}.
+     *
+     * @param connectionPoolConfiguration the HTTP connection pool settings (can be null to use the defaults)
+     * @param metricsRecorder             the recipient of performance measurements (can be null to disable metrics)
+     * @since 1.2.0
+     */
+    public DefaultClient(ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, int connectionTimeout, ConnectionPoolConfiguration connectionPoolConfiguration, MetricsRecorder metricsRecorder) {
         Assert.notNull(clientCredentials, "clientCredentials argument cannot be null.");
         Assert.notNull(apiKeyResolver, "apiKeyResolver argument cannot be null.");
         Assert.isTrue(connectionTimeout >= 0, "connectionTimeout cannot be a negative number.");
-        RequestExecutor requestExecutor = createRequestExecutor(clientCredentials, proxy, authenticationScheme, requestAuthenticatorFactory,connectionTimeout);
+        RequestExecutor requestExecutor = createRequestExecutor(clientCredentials, proxy, authenticationScheme, requestAuthenticatorFactory, connectionTimeout, connectionPoolConfiguration);
+        this.requestExecutor = requestExecutor;
         this.dataStore = createDataStore(requestExecutor, baseUrl, clientCredentials, apiKeyResolver, cacheManager);
+        if (metricsRecorder != null) {
+            applyMetricsRecorder(requestExecutor, metricsRecorder);
+            applyMetricsRecorder(this.dataStore, metricsRecorder);
+        }
+    }
+
+    private static void applyMetricsRecorder(Object target, MetricsRecorder metricsRecorder) {
+        if (target instanceof MetricsAware) {
+            ((MetricsAware) target).setMetricsRecorder(metricsRecorder);
+        } else {
+            log.debug("{} does not support metrics.  Its measurements will not be recorded.", target.getClass().getName());
+        }
+    }
+
+    /**
+     * Releases the resources held by this client's HTTP request executor, such as its connection pool.  The client
+     * cannot be used after it has been closed.
+     *
+     * @since 1.2.0
+     */
+    @Override
+    public void close() {
+        if (this.requestExecutor instanceof Closeable) {
+            try {
+                ((Closeable) this.requestExecutor).close();
+            } catch (IOException e) {
+                log.warn("Unable to close the client's request executor: {}", e.getMessage(), e);
+            }
+        }
     }
 
     protected DataStore createDataStore(RequestExecutor requestExecutor, String baseUrl, ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, CacheManager cacheManager) {
@@ -121,7 +191,7 @@ public class DefaultClient implements Client {
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private RequestExecutor createRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, int connectionTimeout) {
+    private RequestExecutor createRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, int connectionTimeout, ConnectionPoolConfiguration connectionPoolConfiguration) {
 
         String className = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor";
 
@@ -138,6 +208,17 @@ public class DefaultClient implements Client {
             throw new RuntimeException(msg);
         }
 
+        if (connectionPoolConfiguration != null) {
+            try {
+                Constructor<RequestExecutor> ctor = requestExecutorClass.getConstructor(ClientCredentials.class, Proxy.class, AuthenticationScheme.class, RequestAuthenticatorFactory.class, Integer.class, ConnectionPoolConfiguration.class);
+                return Classes.instantiate(ctor, clientCredentials, proxy, authenticationScheme, requestAuthenticatorFactory, connectionTimeout, connectionPoolConfiguration);
+            } catch (NoSuchMethodException e) {
+                //an older stormpath-sdk-httpclient .jar is on the classpath: it can only use its own pool settings
+                log.warn("The '{}' implementation on the classpath does not support connection pool configuration.  " +
+                        "The configured connection pool settings will be ignored.", className);
+            }
+        }
+
         Constructor<RequestExecutor> ctor = Classes.getConstructor(requestExecutorClass, ClientCredentials.class, Proxy.class, AuthenticationScheme.class, RequestAuthenticatorFactory.class, Integer.class);
 
         return Classes.instantiate(ctor, clientCredentials, proxy, authenticationScheme, requestAuthenticatorFactory, connectionTimeout);
@@ -190,6 +271,37 @@ public class DefaultClient implements Client {
         return this.dataStore.getResource(href, clazz, options);
     }
 
+    /**
+     * Delegates to the internal {@code dataStore} instance. This is a convenience mechanism to eliminate the constant
+     * need to call {@code client.getDataStore()} every time one needs to look up many Resources.
+     *
+     * @param hrefs the resource URLs of the resources to retrieve
+     * @param clazz the {@link Resource} sub-interface to instantiate
+     * @param <T>   type parameter indicating the returned values are {@link Resource} instances.
+     * @return the per-href outcome of the lookup, in the iteration order of the {@code hrefs} argument.
+     * @since 1.2.0
+     */
+    @Override
+    public <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz) {
+        return this.dataStore.getResources(hrefs, clazz);
+    }
+
+    /**
+     * Delegates to the internal {@code dataStore} instance. This is a convenience mechanism to eliminate the constant
+     * need to call {@code client.getDataStore()} every time one needs to look up many Resources.
+     *
+     * @param hrefs          the resource URLs of the resources to retrieve
+     * @param clazz          the {@link Resource} sub-interface to instantiate
+     * @param maxConcurrency the maximum number of concurrent server requests, must be greater than zero
+     * @param <T>            type parameter indicating the returned values are {@link Resource} instances.
+     * @return the per-href outcome of the lookup, in the iteration order of the {@code hrefs} argument.
+     * @since 1.2.0
+     */
+    @Override
+    public <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz, int maxConcurrency) {
+        return this.dataStore.getResources(hrefs, clazz, maxConcurrency);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -29,6 +29,11 @@ import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.client.ClientBuilder;
 import com.stormpath.sdk.client.Proxy;
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
+import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.http.CircuitBreaker;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.ds.cache.NegativeResultCache;
+import com.stormpath.sdk.impl.http.ConnectionPoolConfiguration;
 import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
 import com.stormpath.sdk.impl.authc.credentials.DefaultClientCredentialsProviderChain;
 import com.stormpath.sdk.impl.config.*;
@@ -37,16 +42,25 @@ import com.stormpath.sdk.impl.io.DefaultResourceFactory;
 import com.stormpath.sdk.impl.io.Resource;
 import com.stormpath.sdk.impl.io.ResourceFactory;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+import com.stormpath.sdk.metrics.MetricsRecorder;
 import io.jsonwebtoken.lang.Classes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>The default {@link ClientBuilder} implementation. This looks for configuration files
@@ -63,6 +77,8 @@ import java.util.concurrent.TimeUnit;
  * <li>~/stormpath.json</li>
  * <li>~/stormpath.yaml</li>
  * </ul>
+ * <p>As of 1.2.0, these locations are read lazily, when the configuration is first needed, and concurrently. The time
+ * spent in each phase of client creation is available via {@link #getStartupTimings()}.</p>
  *
  * @since 1.0.alpha
  */
@@ -74,6 +90,11 @@ public class DefaultClientBuilder implements ClientBuilder {
     private Proxy proxy;
     private CacheManager cacheManager;
     private ClientCredentials clientCredentials;
+    private MetricsRecorder metricsRecorder;
+    private CircuitBreaker circuitBreaker;
+    private Duration maxStaleness;
+    private Duration revalidationWindow;
+    private Duration negativeCacheTimeToLive;
 
     private static final String USER_HOME = System.getProperty("user.home") + File.separatorChar;
     private static final String STORMPATH_PROPERTIES = "stormpath.properties";
@@ -84,36 +105,136 @@ public class DefaultClientBuilder implements ClientBuilder {
             USER_HOME + STORMPATH_PROPERTIES
     };
 
-    private ClientConfiguration clientConfig = new ClientConfiguration();
+    /**
+     * The maximum number of threads used to read configuration sources concurrently.
+     *
+     * @since 1.2.0
+     */
+    private static final int MAX_CONFIG_LOADER_THREADS = 4;
+
+    private static final AtomicInteger CONFIG_LOADER_COUNT = new AtomicInteger();
+
+    //lazily loaded: constructing a builder performs no I/O (since 1.2.0)
+    private ClientConfiguration clientConfig;
+
+    private final StartupTimings startupTimings = new StartupTimings();
 
     public DefaultClientBuilder() {
-        Collection<PropertiesSource> sources = new ArrayList<PropertiesSource>();
+    }
+
+    /**
+     * Returns the client configuration, loading all configuration sources on first access.  Loading is deferred
+     * until the configuration is first needed so that merely obtaining a builder is cheap.
+     */
+    private ClientConfiguration getConfig() {
+        if (this.clientConfig == null) {
+            long start = System.nanoTime();
+            this.clientConfig = new ClientConfiguration();
+            applyProperties(loadProperties());
+            startupTimings.record("config", System.nanoTime() - start);
+        }
+        return this.clientConfig;
+    }
+
+    /**
+     * Reads all configuration sources, concurrently when there is more than one, and merges them in order of
+     * precedence (last one wins).  Most locations usually do not exist, and the JSON and YAML sources load their
+     * parsers on first use, so reading them in parallel mostly overlaps file system, classpath and class loading
+     * latency.
+     *
+     * @since 1.2.0
+     */
+    private Map<String, String> loadProperties() {
+
+        //location -> source, in order of precedence:
+        Map<String, PropertiesSource> sourcesByLocation = createPropertiesSources();
+        final List<String> locations = new ArrayList<String>(sourcesByLocation.keySet());
+        final List<PropertiesSource> sources = new ArrayList<PropertiesSource>(sourcesByLocation.values());
+        final int size = sources.size();
+
+        List<Map<String, String>> results = new ArrayList<Map<String, String>>(size);
+        long[] durations = new long[size];
+
+        int threadCount = Math.min(size, MAX_CONFIG_LOADER_THREADS);
+
+        if (threadCount <= 1) {
+            for (int i = 0; i < size; i++) {
+                long start = System.nanoTime();
+                results.add(sources.get(i).getProperties());
+                durations[i] = System.nanoTime() - start;
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ConfigLoaderThreadFactory());
+            try {
+                List<Future<TimedProperties>> futures = new ArrayList<Future<TimedProperties>>(size);
+                for (final PropertiesSource source : sources) {
+                    futures.add(executor.submit(new Callable<TimedProperties>() {
+                        @Override
+                        public TimedProperties call() throws Exception {
+                            long start = System.nanoTime();
+                            Map<String, String> props = source.getProperties();
+                            return new TimedProperties(props, System.nanoTime() - start);
+                        }
+                    }));
+                }
+                for (int i = 0; i < size; i++) {
+                    TimedProperties timed = futures.get(i).get();
+                    results.add(timed.properties);
+                    durations[i] = timed.nanos;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading Stormpath configuration.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Unable to load Stormpath configuration: " + cause.getMessage(), cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        Map<String, String> props = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            props.putAll(results.get(i));
+            startupTimings.record("config:" + locations.get(i), durations[i]);
+        }
+
+        return props;
+    }
+
+    private Map<String, PropertiesSource> createPropertiesSources() {
+        Map<String, PropertiesSource> sources = new LinkedHashMap<String, PropertiesSource>();
         ResourceFactory resourceFactory = new DefaultResourceFactory();
 
         for (String location : DEFAULT_STORMPATH_PROPERTIES_FILE_LOCATIONS) {
             Resource resource = resourceFactory.createResource(location);
             PropertiesSource propertiesSource = new OptionalPropertiesSource(new ResourcePropertiesSource(resource));
-            sources.add(propertiesSource);
+            sources.put(location, propertiesSource);
             // if location is a .properties file and it's not the first one, look for JSON and YAML equivalents
             if (!location.equals(DEFAULT_STORMPATH_PROPERTIES_FILE_LOCATIONS[0]) && location.endsWith(".properties")) {
                 String jsonFile = location.replace(".properties", ".json");
                 resource = resourceFactory.createResource(jsonFile);
                 PropertiesSource jsonSource = new OptionalPropertiesSource(new JSONPropertiesSource(resource));
-                sources.add(jsonSource);
+                sources.put(jsonFile, jsonSource);
 
                 String yamlFile = location.replace(".properties", ".yaml");
                 resource = resourceFactory.createResource(yamlFile);
                 PropertiesSource yamlSource = new OptionalPropertiesSource(new YAMLPropertiesSource(resource));
-                sources.add(yamlSource);
+                sources.put(yamlFile, yamlSource);
             }
         }
 
-        Map<String, String> props = new LinkedHashMap<>();
+        return sources;
+    }
 
-        for (PropertiesSource source : sources) {
-            Map<String, String> srcProps = source.getProperties();
-            props.putAll(srcProps);
-        }
+    private void applyProperties(Map<String, String> props) {
 
         // check to see if property value is null before setting value
         // if != null, allow it to override previously set values
@@ -194,6 +315,18 @@ public class DefaultClientBuilder implements ClientBuilder {
         if (props.get(DEFAULT_CLIENT_PROXY_PASSWORD_PROPERTY_NAME) != null) {
             clientConfig.setProxyPassword(props.get(DEFAULT_CLIENT_PROXY_PASSWORD_PROPERTY_NAME));
         }
+
+        if (props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_TOTAL_PROPERTY_NAME) != null) {
+            clientConfig.setConnectionPoolMaxTotal(Integer.valueOf(props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_TOTAL_PROPERTY_NAME)));
+        }
+
+        if (props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_PER_ROUTE_PROPERTY_NAME) != null) {
+            clientConfig.setConnectionPoolMaxPerRoute(Integer.valueOf(props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_PER_ROUTE_PROPERTY_NAME)));
+        }
+
+        if (props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_IDLE_TIME_PROPERTY_NAME) != null) {
+            clientConfig.setConnectionPoolMaxIdleTime(Integer.valueOf(props.get(DEFAULT_CLIENT_CONNECTION_POOL_MAX_IDLE_TIME_PROPERTY_NAME)));
+        }
     }
 
     @Override
@@ -220,7 +353,7 @@ public class DefaultClientBuilder implements ClientBuilder {
 
     @Override
     public ClientBuilder setAuthenticationScheme(AuthenticationScheme authenticationScheme) {
-        this.clientConfig.setAuthenticationScheme(authenticationScheme);
+        getConfig().setAuthenticationScheme(authenticationScheme);
         return this;
     }
 
@@ -228,13 +361,78 @@ public class DefaultClientBuilder implements ClientBuilder {
     @Override
     public ClientBuilder setConnectionTimeout(int timeout) {
         Assert.isTrue(timeout >= 0, "Timeout cannot be a negative number.");
-        this.clientConfig.setConnectionTimeout(timeout);
+        getConfig().setConnectionTimeout(timeout);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setConnectionPoolMaxTotal(int maxConnections) {
+        Assert.isTrue(maxConnections > 0, "maxConnections must be greater than zero.");
+        getConfig().setConnectionPoolMaxTotal(maxConnections);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setConnectionPoolMaxPerRoute(int maxConnections) {
+        Assert.isTrue(maxConnections > 0, "maxConnections must be greater than zero.");
+        getConfig().setConnectionPoolMaxPerRoute(maxConnections);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setConnectionPoolMaxIdleTime(int seconds) {
+        Assert.isTrue(seconds > 0, "seconds must be greater than zero.");
+        getConfig().setConnectionPoolMaxIdleTime(seconds);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setMaxStaleness(long maxStaleness, TimeUnit unit) {
+        Assert.isTrue(maxStaleness >= 0, "maxStaleness cannot be negative.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.maxStaleness = new Duration(maxStaleness, unit);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setRevalidationWindow(long revalidationWindow, TimeUnit unit) {
+        Assert.isTrue(revalidationWindow > 0, "revalidationWindow must be greater than zero.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.revalidationWindow = new Duration(revalidationWindow, unit);
+        return this;
+    }
+
+    /* @since 1.2.0 */
+    @Override
+    public ClientBuilder setNegativeCacheTimeToLive(long timeToLive, TimeUnit unit) {
+        Assert.isTrue(timeToLive > 0, "timeToLive must be greater than zero.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.negativeCacheTimeToLive = new Duration(timeToLive, unit);
         return this;
     }
 
     public ClientBuilder setRequestAuthenticatorFactory(RequestAuthenticatorFactory factory) {
         Assert.notNull(factory, "factory argument cannot be null");
-        this.clientConfig.setRequestAuthenticatorFactory(factory);
+        getConfig().setRequestAuthenticatorFactory(factory);
         return this;
     }
 
@@ -249,23 +447,30 @@ public class DefaultClientBuilder implements ClientBuilder {
      */
     public ClientBuilder setApiKeyResolver(ApiKeyResolver apiKeyResolver) {
         Assert.notNull(apiKeyResolver, "apiKeyResolver must not be null.");
-        this.clientConfig.setApiKeyResolver(apiKeyResolver);
+        getConfig().setApiKeyResolver(apiKeyResolver);
         return this;
     }
 
     @Override
     public Client build() {
-        if (!this.clientConfig.isCacheManagerEnabled()) {
+        Assert.state(this.maxStaleness == null || this.circuitBreaker != null,
+                     "maxStaleness only applies while a circuit breaker is open: a circuit breaker must be set as well.");
+
+        long buildStart = System.nanoTime();
+        ClientConfiguration clientConfig = getConfig();
+        long start = System.nanoTime();
+
+        if (!clientConfig.isCacheManagerEnabled()) {
             log.debug("CacheManager disabled. Defaulting to DisabledCacheManager");
             this.cacheManager = Caches.newDisabledCacheManager();
         } else if (this.cacheManager == null) {
             log.debug("No CacheManager configured. Defaulting to in-memory CacheManager with default TTL and TTI of five minutes.");
 
             CacheManagerBuilder cacheManagerBuilder = Caches.newCacheManager()
-                    .withDefaultTimeToIdle(this.clientConfig.getCacheManagerTti(), TimeUnit.SECONDS)
-                    .withDefaultTimeToLive(this.clientConfig.getCacheManagerTtl(), TimeUnit.SECONDS);
-            if (this.clientConfig.getCacheManagerCaches().size() > 0) {
-                for (CacheConfigurationBuilder builder : this.clientConfig.getCacheManagerCaches().values()) {
+                    .withDefaultTimeToIdle(clientConfig.getCacheManagerTti(), TimeUnit.SECONDS)
+                    .withDefaultTimeToLive(clientConfig.getCacheManagerTtl(), TimeUnit.SECONDS);
+            if (clientConfig.getCacheManagerCaches().size() > 0) {
+                for (CacheConfigurationBuilder builder : clientConfig.getCacheManagerCaches().values()) {
                     cacheManagerBuilder.withCache(builder);
                 }
             }
@@ -273,15 +478,19 @@ public class DefaultClientBuilder implements ClientBuilder {
             this.cacheManager = cacheManagerBuilder.build();
         }
 
+        startupTimings.record("cacheManager", System.nanoTime() - start);
+
         // use proxy overrides if they're set
-        if (this.clientConfig.getProxyPort() > 0 || this.clientConfig.getProxyHost() != null &&
-                (this.clientConfig.getProxyUsername() == null || this.clientConfig.getProxyPassword() == null)) {
-            this.proxy = new Proxy(this.clientConfig.getProxyHost(), this.clientConfig.getProxyPort());
-        } else if (this.clientConfig.getProxyUsername() != null && this.clientConfig.getProxyPassword() != null) {
-            this.proxy = new Proxy(this.clientConfig.getProxyHost(), this.clientConfig.getProxyPort(),
-                    this.clientConfig.getProxyUsername(), this.clientConfig.getProxyPassword());
+        if (clientConfig.getProxyPort() > 0 || clientConfig.getProxyHost() != null &&
+                (clientConfig.getProxyUsername() == null || clientConfig.getProxyPassword() == null)) {
+            this.proxy = new Proxy(clientConfig.getProxyHost(), clientConfig.getProxyPort());
+        } else if (clientConfig.getProxyUsername() != null && clientConfig.getProxyPassword() != null) {
+            this.proxy = new Proxy(clientConfig.getProxyHost(), clientConfig.getProxyPort(),
+                    clientConfig.getProxyUsername(), clientConfig.getProxyPassword());
         }
 
+        start = System.nanoTime();
+
         ClientCredentials clientCredentials;
 
         if (this.clientCredentials != null) {
@@ -293,15 +502,60 @@ public class DefaultClientBuilder implements ClientBuilder {
             clientCredentials = clientCredentialsProvider.getClientCredentials();
         }
 
-        ApiKeyResolver apiKeyResolver = this.clientConfig.getApiKeyResolver();
+        ApiKeyResolver apiKeyResolver = clientConfig.getApiKeyResolver();
 
         if (apiKeyResolver == null) {
             Assert.isInstanceOf(ApiKeyCredentials.class, clientCredentials, "An ApiKeyResolver must be configured for ClientCredentials other than ApiKeyCredentials.");
             apiKeyResolver = new DefaultApiKeyResolver(((ApiKeyCredentials) clientCredentials).getApiKey());
         }
 
-        return new DefaultClient(clientCredentials, apiKeyResolver, this.clientConfig.getBaseUrl(), this.proxy, this.cacheManager,
-                this.clientConfig.getAuthenticationScheme(), this.clientConfig.getRequestAuthenticatorFactory(), this.clientConfig.getConnectionTimeout());
+        startupTimings.record("credentials", System.nanoTime() - start);
+        start = System.nanoTime();
+
+        ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(
+                clientConfig.getConnectionPoolMaxTotal(), clientConfig.getConnectionPoolMaxPerRoute(),
+                clientConfig.getConnectionPoolMaxIdleTime());
+
+        Client client = new DefaultClient(clientCredentials, apiKeyResolver, clientConfig.getBaseUrl(), this.proxy, this.cacheManager,
+                clientConfig.getAuthenticationScheme(), clientConfig.getRequestAuthenticatorFactory(), clientConfig.getConnectionTimeout(),
+                connectionPoolConfiguration, this.metricsRecorder);
+
+        if (this.circuitBreaker != null) {
+            DataStore dataStore = client.getDataStore();
+            if (dataStore instanceof DefaultDataStore) {
+                ((DefaultDataStore) dataStore).setCircuitBreaker(this.circuitBreaker, this.maxStaleness);
+            } else {
+                log.warn("The configured circuit breaker is not supported by {} and will be ignored.", dataStore.getClass().getName());
+            }
+        }
+
+        if (this.negativeCacheTimeToLive != null) {
+            DataStore dataStore = client.getDataStore();
+            if (dataStore instanceof DefaultDataStore) {
+                ((DefaultDataStore) dataStore).setNegativeResultCache(new NegativeResultCache(this.negativeCacheTimeToLive));
+            } else {
+                log.warn("Negative caching is not supported by {} and will be ignored.", dataStore.getClass().getName());
+            }
+        }
+
+        if (this.revalidationWindow != null) {
+            DataStore dataStore = client.getDataStore();
+            if (dataStore instanceof DefaultDataStore) {
+                ((DefaultDataStore) dataStore).setRevalidationWindow(this.revalidationWindow);
+            } else {
+                log.warn("Cache revalidation is not supported by {} and will be ignored.", dataStore.getClass().getName());
+            }
+        }
+
+        long end = System.nanoTime();
+        startupTimings.record("client", end - start);
+        startupTimings.record("build", end - buildStart);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Stormpath client created. {}", startupTimings);
+        }
+
+        return client;
     }
 
     @Override
@@ -309,12 +563,47 @@ public class DefaultClientBuilder implements ClientBuilder {
         if (baseUrl == null) {
             throw new IllegalArgumentException("baseUrl argument cannot be null.");
         }
-        this.clientConfig.setBaseUrl(baseUrl);
+        getConfig().setBaseUrl(baseUrl);
         return this;
     }
 
+    /**
+     * Returns the time spent in each phase of client creation so far, useful for diagnosing slow startup (for
+     * example, serverless cold starts).  The same report is logged at DEBUG level after {@link #build()}.
+     *
+     * @return the time spent in each phase of client creation so far.
+     * @since 1.2.0
+     */
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
     // Used for testing, package private
     ClientConfiguration getClientConfiguration() {
-        return clientConfig;
+        return getConfig();
+    }
+
+    private static class TimedProperties {
+
+        private final Map<String, String> properties;
+        private final long nanos;
+
+        private TimedProperties(Map<String, String> properties, long nanos) {
+            this.properties = properties;
+            this.nanos = nanos;
+        }
+    }
+
+    private static class ConfigLoaderThreadFactory implements ThreadFactory {
+
+        private final String prefix = "stormpath-config-" + CONFIG_LOADER_COUNT.incrementAndGet() + "-thread-";
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, prefix + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.client;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each phase of creating a {@link com.stormpath.sdk.client.Client Client} took, in the order the
+ * phases were first recorded.  Recording the same phase more than once accumulates its duration.
+ * <p/>
+ * Phases recorded by the {@link DefaultClientBuilder}:
+ * <ul>
+ * <li>{@code config} - reading and merging all configuration sources, and one {@code config:<location>} entry
+ * per source.  Sources are read concurrently, so their individual durations overlap.</li>
+ * <li>{@code cacheManager} - creating the default cache manager, if any.</li>
+ * <li>{@code credentials} - resolving client credentials.</li>
+ * <li>{@code client} - instantiating the client and its data store.</li>
+ * <li>{@code build} - the entire {@code build()} call, including {@code config} if it was not loaded before.</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+public class StartupTimings {
+
+    private final Map<String, Long> nanosByPhase = new LinkedHashMap<String, Long>();
+
+    public synchronized void record(String phase, long nanos) {
+        Assert.hasText(phase, "phase cannot be null or empty.");
+        Long existing = nanosByPhase.get(phase);
+        nanosByPhase.put(phase, existing != null ? existing + nanos : nanos);
+    }
+
+    /**
+     * Returns the recorded duration of the specified phase in nanoseconds, or {@code -1} if it was never recorded.
+     *
+     * @param phase the phase name
+     * @return the recorded duration of the specified phase in nanoseconds, or {@code -1} if it was never recorded.
+     */
+    public synchronized long getNanos(String phase) {
+        Long nanos = nanosByPhase.get(phase);
+        return nanos != null ? nanos : -1;
+    }
+
+    /**
+     * Returns a snapshot of all recorded phases and their durations in nanoseconds, in recording order.
+     *
+     * @return a snapshot of all recorded phases and their durations in nanoseconds, in recording order.
+     */
+    public synchronized Map<String, Long> getNanosByPhase() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(nanosByPhase));
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("Startup timings: ");
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : nanosByPhase.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            long micros = TimeUnit.NANOSECONDS.toMicros(entry.getValue());
+            sb.append(entry.getKey()).append('=').append(micros / 1000).append('.');
+            long fraction = micros % 1000;
+            if (fraction < 100) {
+                sb.append('0');
+            }
+            if (fraction < 10) {
+                sb.append('0');
+            }
+            sb.append(fraction).append("ms");
+        }
+        return sb.toString();
+    }
+}
@@ -35,6 +35,9 @@ public class ClientConfiguration {
     private String proxyHost;
     private String proxyUsername;
     private String proxyPassword;
+    private int connectionPoolMaxTotal;
+    private int connectionPoolMaxPerRoute;
+    private int connectionPoolMaxIdleTime;
 
     public String getApiKeyFile() {
         return apiKeyFile;
@@ -195,6 +198,51 @@ public class ClientConfiguration {
         this.proxyUsername = proxyUsername;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    public int getConnectionPoolMaxTotal() {
+        return connectionPoolMaxTotal;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public void setConnectionPoolMaxTotal(int connectionPoolMaxTotal) {
+        this.connectionPoolMaxTotal = connectionPoolMaxTotal;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public int getConnectionPoolMaxPerRoute() {
+        return connectionPoolMaxPerRoute;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public void setConnectionPoolMaxPerRoute(int connectionPoolMaxPerRoute) {
+        this.connectionPoolMaxPerRoute = connectionPoolMaxPerRoute;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public int getConnectionPoolMaxIdleTime() {
+        return connectionPoolMaxIdleTime;
+    }
+
+    /**
+     * Sets the number of seconds a pooled connection may stay idle before it is closed.
+     *
+     * @param connectionPoolMaxIdleTime the idle time in seconds
+     * @since 1.2.0
+     */
+    public void setConnectionPoolMaxIdleTime(int connectionPoolMaxIdleTime) {
+        this.connectionPoolMaxIdleTime = connectionPoolMaxIdleTime;
+    }
+
     @Override
     public String toString() {
         return "ClientConfiguration{" +
@@ -211,6 +259,9 @@ public class ClientConfiguration {
                 ", proxyHost='" + proxyHost + '\'' +
                 ", proxyUsername='" + proxyUsername + '\'' +
                 ", proxyPassword='" + proxyPassword + '\'' +
+                ", connectionPoolMaxTotal=" + connectionPoolMaxTotal +
+                ", connectionPoolMaxPerRoute=" + connectionPoolMaxPerRoute +
+                ", connectionPoolMaxIdleTime=" + connectionPoolMaxIdleTime +
                 '}';
     }
 }
@@ -26,6 +26,7 @@ import com.stormpath.sdk.directory.Directory;
 import com.stormpath.sdk.directory.DirectoryOptions;
 import com.stormpath.sdk.directory.DirectoryStatus;
 import com.stormpath.sdk.directory.PasswordPolicy;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.group.CreateGroupRequest;
 import com.stormpath.sdk.group.Group;
 import com.stormpath.sdk.group.GroupCriteria;
@@ -160,6 +161,16 @@ public class DefaultDirectory extends AbstractExtendableInstanceResource impleme
         return getDataStore().create(href, account);
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public BatchResult<Account> createAccounts(Iterable<Account> accounts) {
+        Assert.notNull(accounts, "accounts cannot be null.");
+        String href = getAccounts().getHref();
+        return getDataStore().createAll(href, accounts);
+    }
+
     @Override
     public AccountList getAccounts() {
         return getResourceProperty(ACCOUNTS);
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.impl.ds.cache.CacheWriteBuffer;
+import com.stormpath.sdk.impl.http.Deadline;
+import com.stormpath.sdk.impl.http.DeadlineHolder;
+import com.stormpath.sdk.impl.http.HttpHeadersHolder;
+import com.stormpath.sdk.impl.http.RequestPriority;
+import com.stormpath.sdk.impl.http.RequestPriorityHolder;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a batch of independent data store operations with bounded concurrency and collects a per-item
+ * {@link DefaultBatchResult}.  A failure of any one item never prevents the remaining items from being executed.
+ * <p/>
+ * Worker threads only live for the duration of a single batch, and all of them share the data store's
+ * {@code RequestExecutor} (and therefore its HTTP connection pool), so the concurrency value effectively bounds the
+ * number of pooled connections a batch may use at any one time.  At most one window of tasks is in flight at any one
+ * time, and a new task is started as soon as any earlier one completes; the cache writes of the tasks are written in
+ * bulk each time another window's worth of tasks has completed.
+ *
+ * @since 1.2.0
+ */
+public class BatchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecutor.class);
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final int WINDOW_SIZE_PER_THREAD = 4;
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int concurrency;
+
+    public BatchExecutor() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    public BatchExecutor(int concurrency) {
+        Assert.isTrue(concurrency > 0, "concurrency must be greater than zero.");
+        this.concurrency = concurrency;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Returns the maximum number of tasks that are pulled from the task iterator and held in memory at any one time:
+     * a multiple of the concurrency, so that a few slow tasks do not leave the remaining workers without work.
+     *
+     * @return the maximum number of tasks that are pulled from the task iterator and held in memory at any one time.
+     */
+    public int getWindowSize() {
+        return concurrency * WINDOW_SIZE_PER_THREAD;
+    }
+
+    public <T extends Resource> DefaultBatchResult<T> execute(List<? extends Callable<T>> tasks) {
+        Assert.notNull(tasks, "tasks argument cannot be null.");
+        return execute(tasks.size(), tasks.iterator());
+    }
+
+    /**
+     * Executes the first {@code size} tasks of the specified iterator.  Tasks are pulled from the iterator as earlier
+     * ones complete, so that no more than one window (see {@link #getWindowSize()}) of tasks is in flight at any one
+     * time: a batch never holds more than one window of tasks and futures in memory regardless of its size, and a slow
+     * task only occupies its own worker instead of holding back the tasks behind it.
+     * <p/>
+     * Cache writes made by the tasks are buffered (see {@link CacheWriteBuffer}) and written with one bulk operation
+     * per cache region each time another window's worth of tasks has completed, and once more when the batch ends.
+     *
+     * @param size  the number of tasks to execute
+     * @param tasks the iterator supplying the tasks to execute
+     * @param <T>   the type of resource returned by each task
+     * @return the per-task outcome, in iteration order
+     */
+    public <T extends Resource> DefaultBatchResult<T> execute(int size, Iterator<? extends Callable<T>> tasks) {
+        Assert.isTrue(size >= 0, "size cannot be negative.");
+        Assert.notNull(tasks, "tasks argument cannot be null.");
+
+        DefaultBatchResult<T> result = new DefaultBatchResult<T>(size);
+
+        if (size == 0) {
+            return result;
+        }
+
+        int threadCount = Math.min(this.concurrency, size);
+        CacheWriteBuffer cacheWrites = new CacheWriteBuffer();
+
+        if (threadCount == 1) {
+            //no need to pay for a thread pool:
+            CacheWriteBuffer previous = CacheWriteBuffer.get();
+            CacheWriteBuffer.set(cacheWrites);
+            try {
+                for (int i = 0; i < size && tasks.hasNext(); i++) {
+                    try {
+                        result.setResource(i, tasks.next().call());
+                    } catch (Exception e) {
+                        result.setException(i, toRuntimeException(e));
+                    }
+                    if ((i + 1) % getWindowSize() == 0) {
+                        cacheWrites.flush();
+                    }
+                }
+            } finally {
+                restore(previous);
+                cacheWrites.flush();
+            }
+            return result;
+        }
+
+        //Request-scoped headers (e.g. integration user agents), the request priority and the deadline are held in
+        //ThreadLocals, so they need to be propagated to the worker threads:
+        final Map<String, List<String>> headers = HttpHeadersHolder.get();
+        final RequestPriority priority = RequestPriorityHolder.get();
+        final Deadline deadline = DeadlineHolder.get();
+
+        final int windowSize = getWindowSize();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount, new BatchThreadFactory());
+        CompletionService<T> completionService = new ExecutorCompletionService<T>(executorService);
+        Map<Future<T>, Integer> inFlight = new HashMap<Future<T>, Integer>(windowSize * 2);
+
+        try {
+            int submitted = 0;
+            int completed = 0;
+
+            while (true) {
+                //top up to one window of tasks in flight - there is no barrier between windows:
+                while (inFlight.size() < windowSize && submitted < size && tasks.hasNext()) {
+                    Callable<T> task = new ContextPropagatingCallable<T>(tasks.next(), headers, priority, deadline, cacheWrites);
+                    inFlight.put(completionService.submit(task), submitted++);
+                }
+
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+
+                Integer index = null;
+                try {
+                    Future<T> future = completionService.take();
+                    index = inFlight.remove(future);
+                    result.setResource(index, future.get());
+                } catch (ExecutionException e) {
+                    result.setException(index, toRuntimeException(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.debug("Interrupted while awaiting batch completion.  Cancelling remaining items.");
+                    RuntimeException interrupted = new IllegalStateException("Batch execution was interrupted.", e);
+                    if (index != null) {
+                        result.setException(index, interrupted);
+                    }
+                    for (Map.Entry<Future<T>, Integer> entry : inFlight.entrySet()) {
+                        entry.getKey().cancel(true);
+                        result.setException(entry.getValue(), interrupted);
+                    }
+                    for (int j = submitted; j < size; j++) {
+                        result.setException(j, interrupted);
+                    }
+                    return result;
+                }
+
+                if (++completed % windowSize == 0) {
+                    cacheWrites.flush();
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            cacheWrites.flush();
+        }
+
+        return result;
+    }
+
+    private static void restore(CacheWriteBuffer previous) {
+        if (previous != null) {
+            CacheWriteBuffer.set(previous);
+        } else {
+            CacheWriteBuffer.clear();
+        }
+    }
+
+    private static RuntimeException toRuntimeException(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException("Unable to execute batch item: " + t.getMessage(), t);
+    }
+
+    private static class ContextPropagatingCallable<T> implements Callable<T> {
+
+        private final Callable<T> delegate;
+        private final Map<String, List<String>> headers;
+        private final RequestPriority priority;
+        private final Deadline deadline;
+        private final CacheWriteBuffer cacheWrites;
+
+        private ContextPropagatingCallable(Callable<T> delegate, Map<String, List<String>> headers,
+                                           RequestPriority priority, Deadline deadline, CacheWriteBuffer cacheWrites) {
+            this.delegate = delegate;
+            this.headers = headers;
+            this.priority = priority;
+            this.deadline = deadline;
+            this.cacheWrites = cacheWrites;
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (headers != null) {
+                HttpHeadersHolder.set(headers);
+            }
+            RequestPriorityHolder.set(priority);
+            DeadlineHolder.set(deadline);
+            CacheWriteBuffer.set(cacheWrites);
+            try {
+                return delegate.call();
+            } finally {
+                HttpHeadersHolder.clear();
+                RequestPriorityHolder.clear();
+                DeadlineHolder.clear();
+                CacheWriteBuffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Adapts an iterable of items to an iterator of tasks that each apply {@link #call(Object)} to one item.  Tasks are
+     * created as they are pulled by the executor, so a large batch never materializes one task per item up front.
+     *
+     * @param <I> the type of the items
+     * @param <T> the type of resource returned by each task
+     */
+    public abstract static class ItemTasks<I, T extends Resource> implements Iterator<Callable<T>> {
+
+        private final Iterator<I> items;
+
+        public ItemTasks(Iterable<I> items) {
+            Assert.notNull(items, "items argument cannot be null.");
+            this.items = items.iterator();
+        }
+
+        protected abstract T call(I item) throws Exception;
+
+        @Override
+        public boolean hasNext() {
+            return items.hasNext();
+        }
+
+        @Override
+        public Callable<T> next() {
+            final I item = items.next();
+            return new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    return ItemTasks.this.call(item);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported.");
+        }
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+
+        private final String prefix = "stormpath-batch-" + POOL_COUNT.incrementAndGet() + "-thread-";
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, prefix + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
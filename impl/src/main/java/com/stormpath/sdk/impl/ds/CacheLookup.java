@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+/**
+ * How the read cache filter consults the cache for a {@link ResourceDataRequest}.
+ *
+ * @since 1.2.0
+ */
+public enum CacheLookup {
+
+    /**
+     * Answer the request from the cache if possible, otherwise continue the filter chain.
+     */
+    DEFAULT,
+
+    /**
+     * Answer the request from the cache only: a miss ends the filter chain with an empty result instead of a request
+     * to the server.
+     */
+    CACHE_ONLY,
+
+    /**
+     * The cache was already consulted for this request, and the miss recorded, by a previous {@link #CACHE_ONLY}
+     * request: continue the filter chain without consulting the cache again.
+     */
+    AFTER_MISS
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.ds.BatchResult;
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 1.2.0
+ */
+public class DefaultBatchResult<T extends Resource> implements BatchResult<T> {
+
+    private final Object[] resources;
+    private final RuntimeException[] exceptions;
+    private int failureCount = 0;
+
+    public DefaultBatchResult(int size) {
+        this.resources = new Object[size];
+        this.exceptions = new RuntimeException[size];
+    }
+
+    public void setResource(int index, T resource) {
+        this.resources[index] = resource;
+    }
+
+    public void setException(int index, RuntimeException exception) {
+        if (this.exceptions[index] == null) {
+            this.failureCount++;
+        }
+        this.resources[index] = null;
+        this.exceptions[index] = exception;
+    }
+
+    @Override
+    public int size() {
+        return resources.length;
+    }
+
+    @Override
+    public boolean isSuccess(int index) {
+        return exceptions[index] == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getResource(int index) {
+        return (T) resources[index];
+    }
+
+    @Override
+    public RuntimeException getException(int index) {
+        return exceptions[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<T> getResources() {
+        List<T> list = new ArrayList<T>(resources.length);
+        for (Object o : resources) {
+            list.add((T) o);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public int getSuccessCount() {
+        return resources.length - failureCount;
+    }
+
+    @Override
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public boolean hasFailures() {
+        return failureCount > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[size=" + size() + ", successCount=" + getSuccessCount() +
+               ", failureCount=" + getFailureCount() + "]";
+    }
+}
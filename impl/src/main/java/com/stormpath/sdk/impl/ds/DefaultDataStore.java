@@ -16,20 +16,28 @@
 package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.api.ApiKey;
+import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.impl.api.ApiKeyResolver;
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials;
+import com.stormpath.sdk.http.CircuitBreaker;
 import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.idsite.NonceStore;
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.cache.DefaultCacheManager;
 import com.stormpath.sdk.impl.cache.DisabledCacheManager;
 import com.stormpath.sdk.impl.ds.api.ApiKeyQueryFilter;
 import com.stormpath.sdk.impl.ds.api.DecryptApiKeySecretFilter;
 import com.stormpath.sdk.impl.ds.cache.CacheResolver;
 import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver;
+import com.stormpath.sdk.impl.ds.cache.NegativeResultCache;
 import com.stormpath.sdk.impl.ds.cache.ReadCacheFilter;
 import com.stormpath.sdk.impl.ds.cache.WriteCacheFilter;
 import com.stormpath.sdk.impl.error.DefaultError;
 import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.impl.http.CircuitOpenException;
 import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.HttpHeadersHolder;
 import com.stormpath.sdk.impl.http.MediaType;
@@ -41,14 +49,19 @@ import com.stormpath.sdk.impl.http.Response;
 import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.UserAgent;
+import com.stormpath.sdk.impl.idsite.DefaultNonceStore;
+import com.stormpath.sdk.impl.idsite.TimeBucketedNonceStore;
 import com.stormpath.sdk.impl.query.DefaultCriteria;
 import com.stormpath.sdk.impl.query.DefaultOptions;
 import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.impl.resource.ReferenceFactory;
-import com.stormpath.sdk.impl.util.StringInputStream;
+import com.stormpath.sdk.impl.metrics.MetricsAware;
+import com.stormpath.sdk.impl.util.BytesInputStream;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
+import com.stormpath.sdk.lang.Duration;
 import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.metrics.MetricsRecorder;
 import com.stormpath.sdk.provider.ProviderData;
 import com.stormpath.sdk.query.Criteria;
 import com.stormpath.sdk.query.Options;
@@ -59,22 +72,26 @@ import com.stormpath.sdk.resource.Saveable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import static com.stormpath.sdk.impl.http.HttpHeaders.STORMPATH_AGENT;
 
 /**
  * @since 0.1
  */
-public class DefaultDataStore implements InternalDataStore {
+public class DefaultDataStore implements InternalDataStore, MetricsAware {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultDataStore.class);
 
@@ -84,6 +101,12 @@ public class DefaultDataStore implements InternalDataStore {
 
     private static final String APPEND_PARAM_CHAR = "&";
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final List<MediaType> ACCEPT_JSON = java.util.Collections.singletonList(MediaType.APPLICATION_JSON);
+
+    private static final String STORMPATH_AGENT_HEADER_NAME = STORMPATH_AGENT.toLowerCase();
+
     public static final String DEFAULT_CRITERIA_MSG = "The " + DefaultDataStore.class.getName() +
                                                       " implementation only functions with " +
                                                       DefaultCriteria.class.getName() + " instances.";
@@ -98,6 +121,20 @@ public class DefaultDataStore implements InternalDataStore {
 
     private static final boolean COLLECTION_CACHING_ENABLED = false; //EXPERIMENTAL - set to true only while developing.
 
+    /**
+     * Completion handler for cache-only lookups: reaching the end of the filter chain means the cache could not
+     * answer the request, which is reported with a result without any data.
+     *
+     * @since 1.2.0
+     */
+    private static final FilterChain CACHE_MISS_HANDLER = new FilterChain() {
+        @Override
+        public ResourceDataResult filter(ResourceDataRequest request) {
+            return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(),
+                                                 new HashMap<String, Object>());
+        }
+    };
+
     private final String baseUrl;
     private final RequestExecutor requestExecutor;
     private final ResourceFactory resourceFactory;
@@ -108,10 +145,22 @@ public class DefaultDataStore implements InternalDataStore {
     private final QueryStringFactory queryStringFactory;
     private final List<Filter> filters;
     private final ApiKeyResolver apiKeyResolver;
+    private volatile BatchExecutor batchExecutor;
+    private final NonceStore nonceStore;
+    private volatile UserAgentValue lastUserAgent;
+    private ReadCacheFilter readCacheFilter;
+    private WriteCacheFilter writeCacheFilter;
+    private volatile MetricsRecorder metricsRecorder;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile Duration maxStaleness;
+    private volatile Duration revalidationWindow;
 
     /**
      * @since 1.0.RC3
+     * @deprecated since 1.2.0 in favor of {@link UserAgent#getUserAgentString()}, which the data store now uses for
+     * every request; retained for compatibility.
      */
+    @Deprecated
     public static final String USER_AGENT_STRING = UserAgent.getUserAgentString();
 
     /**
@@ -151,6 +200,9 @@ public class DefaultDataStore implements InternalDataStore {
         this.queryStringFactory = new QueryStringFactory();
         this.cacheResolver = new DefaultCacheResolver(this.cacheManager, new DefaultCacheRegionNameResolver());
         this.apiKeyResolver = apiKeyResolver;
+        this.batchExecutor = new BatchExecutor();
+        this.nonceStore = TimeBucketedNonceStore.isPreferredOver(cacheManager) ?
+                          new TimeBucketedNonceStore() : new DefaultNonceStore(this.cacheResolver);
 
         ReferenceFactory referenceFactory = new ReferenceFactory();
         this.resourceConverter = new DefaultResourceConverter(referenceFactory);
@@ -164,8 +216,10 @@ public class DefaultDataStore implements InternalDataStore {
         }
 
         if (isCachingEnabled()) {
-            this.filters.add(new ReadCacheFilter(this.baseUrl, this.cacheResolver, COLLECTION_CACHING_ENABLED));
-            this.filters.add(new WriteCacheFilter(this.cacheResolver, COLLECTION_CACHING_ENABLED, referenceFactory));
+            this.readCacheFilter = new ReadCacheFilter(this.baseUrl, this.cacheResolver, COLLECTION_CACHING_ENABLED);
+            this.filters.add(this.readCacheFilter);
+            this.writeCacheFilter = new WriteCacheFilter(this.cacheResolver, COLLECTION_CACHING_ENABLED, referenceFactory);
+            this.filters.add(this.writeCacheFilter);
         }
 
         if(clientCredentials instanceof ApiKeyCredentials) {
@@ -175,11 +229,106 @@ public class DefaultDataStore implements InternalDataStore {
         this.filters.add(new ProviderAccountResultFilter());
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+        if (this.readCacheFilter != null) {
+            this.readCacheFilter.setMetricsRecorder(metricsRecorder);
+        }
+    }
+
+    /**
+     * Guards all requests to the Stormpath API server with the specified circuit breaker.  While the circuit is open,
+     * reads of individual resources are answered with expired cache entries that expired no longer than
+     * {@code maxStaleness} ago, when the SDK's default cache manager is used.  Requests that cannot be answered from
+     * the cache fail fast with a {@link CircuitOpenException}.
+     *
+     * @param circuitBreaker the circuit breaker guarding requests to the API server, or {@code null} to disable it
+     * @param maxStaleness   how long expired cache entries may still be served while the circuit is open, or
+     *                       {@code null} to never serve expired entries
+     * @since 1.2.0
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker, Duration maxStaleness) {
+        this.circuitBreaker = circuitBreaker;
+        this.maxStaleness = circuitBreaker != null ? maxStaleness : null;
+        applyStaleRetention();
+    }
+
+    /**
+     * Enables revalidation of expired cache entries: instead of fetching an expired resource again in full, a
+     * conditional {@code GET} request is sent with an {@code If-Modified-Since} header set to the cached resource's
+     * {@code modifiedAt} timestamp.  If the server responds with {@code 304 Not Modified}, the cached entry is simply
+     * renewed, so the resource does not need to be transferred, parsed or cached again.  Only resources with a
+     * {@code modifiedAt} property that expired no longer than {@code revalidationWindow} ago are revalidated, and only
+     * when the SDK's default cache manager is used.  Because an HTTP date only has a resolution of one second, a
+     * resource whose {@code modifiedAt} timestamp has a sub-second part is fetched in full instead.
+     *
+     * @param revalidationWindow how long expired cache entries are retained for revalidation, or {@code null} to
+     *                           disable revalidation
+     * @since 1.2.0
+     */
+    public void setRevalidationWindow(Duration revalidationWindow) {
+        this.revalidationWindow = revalidationWindow;
+        if (this.readCacheFilter != null) {
+            this.readCacheFilter.setRevalidationEnabled(revalidationWindow != null);
+        }
+        applyStaleRetention();
+    }
+
+    /**
+     * Enables negative caching: a resource that the server reported as not found ({@code 404}) is remembered in the
+     * specified cache, so that lookups of the same missing resource fail right away until the negative entry expires
+     * or the resource is created.  Negative caching requires caching to be enabled and is disabled by default.
+     *
+     * @param negativeResultCache the cache used to remember resources that were not found, or {@code null} to disable
+     *                            negative caching
+     * @since 1.2.0
+     */
+    public void setNegativeResultCache(NegativeResultCache negativeResultCache) {
+        if (this.readCacheFilter != null) {
+            this.readCacheFilter.setNegativeResultCache(negativeResultCache);
+            this.writeCacheFilter.setNegativeResultCache(negativeResultCache);
+        } else if (negativeResultCache != null) {
+            log.warn("Negative caching requires caching to be enabled and will be ignored.");
+        }
+    }
+
+    /**
+     * Expired entries are retained long enough for both stale reads while the circuit is open and revalidation.
+     *
+     * @since 1.2.0
+     */
+    private void applyStaleRetention() {
+        if (this.cacheManager instanceof DefaultCacheManager) {
+            Duration retention = this.maxStaleness;
+            Duration window = this.revalidationWindow;
+            if (retention == null || (window != null && toMillis(window) > toMillis(retention))) {
+                retention = window;
+            }
+            ((DefaultCacheManager) this.cacheManager).setDefaultStaleRetention(retention);
+        }
+    }
+
+    private static long toMillis(Duration duration) {
+        return duration.getTimeUnit().toMillis(duration.getValue());
+    }
+
     @Override
     public CacheResolver getCacheResolver() {
         return this.cacheResolver;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public NonceStore getNonceStore() {
+        return this.nonceStore;
+    }
+
     @Override
     public ApiKey getApiKey() {
         return this.apiKeyResolver.getApiKey();
@@ -190,6 +339,30 @@ public class DefaultDataStore implements InternalDataStore {
         return this.cacheManager;
     }
 
+    /**
+     * Returns the maximum number of requests that a single bulk operation (such as
+     * {@link #createAll(String, Iterable)}) may execute concurrently.  Defaults to
+     * {@link BatchExecutor#DEFAULT_CONCURRENCY}.
+     *
+     * @return the maximum number of requests that a single bulk operation may execute concurrently.
+     * @since 1.2.0
+     */
+    public int getBatchConcurrency() {
+        return this.batchExecutor.getConcurrency();
+    }
+
+    /**
+     * Sets the maximum number of requests that a single bulk operation may execute concurrently.  All batch requests
+     * share the same HTTP connection pool as any other request, so this value should not exceed the pool's
+     * per-route connection limit.
+     *
+     * @param batchConcurrency the maximum number of requests that a single bulk operation may execute concurrently.
+     * @since 1.2.0
+     */
+    public void setBatchConcurrency(int batchConcurrency) {
+        this.batchExecutor = new BatchExecutor(batchConcurrency);
+    }
+
     /* =====================================================================
        Resource Instantiation
        ===================================================================== */
@@ -301,8 +474,101 @@ public class DefaultDataStore implements InternalDataStore {
         return (T) getResource(href, clazz, (Map) qs);
     }
 
+    /** @since 1.2.0 */
+    @Override
+    public <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz) {
+        return getResources(hrefs, clazz, this.batchExecutor);
+    }
+
+    /** @since 1.2.0 */
+    @Override
+    public <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, Class<T> clazz, int maxConcurrency) {
+        return getResources(hrefs, clazz, new BatchExecutor(maxConcurrency));
+    }
+
+    /**
+     * Resolves all hrefs that can be answered from the cache in a single pass and then retrieves only the
+     * remaining cache misses from the server using the specified {@code batchExecutor}.
+     *
+     * @since 1.2.0
+     */
+    private <T extends Resource> BatchResult<T> getResources(Collection<String> hrefs, final Class<T> clazz, BatchExecutor batchExecutor) {
+        Assert.notNull(hrefs, "hrefs argument cannot be null.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+
+        DefaultBatchResult<T> result = new DefaultBatchResult<T>(hrefs.size());
+
+        List<Integer> missIndices = new ArrayList<Integer>();
+        List<Callable<T>> misses = new ArrayList<Callable<T>>();
+
+        boolean cachingEnabled = isCachingEnabled();
+        //each miss is recorded once, by the cache pass, and is not looked up again when it is fetched:
+        final CacheLookup fetchLookup = cachingEnabled ? CacheLookup.AFTER_MISS : CacheLookup.DEFAULT;
+
+        int i = 0;
+        for (final String href : hrefs) {
+            try {
+                Assert.hasText(href, "href argument cannot be null or empty.");
+                T resource = cachingEnabled ? getCachedResource(href, clazz) : null;
+                if (resource != null) {
+                    result.setResource(i, resource);
+                } else {
+                    missIndices.add(i);
+                    misses.add(new Callable<T>() {
+                        @Override
+                        public T call() throws Exception {
+                            ResourceDataResult result = getResourceData(href, clazz, null, fetchLookup);
+                            return instantiate(clazz, result.getData(), result.getUri().getQuery());
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                result.setException(i, e);
+            }
+            i++;
+        }
+
+        if (!misses.isEmpty()) {
+            BatchResult<T> fetched = batchExecutor.execute(misses);
+            for (int j = 0; j < fetched.size(); j++) {
+                int index = missIndices.get(j);
+                if (fetched.isSuccess(j)) {
+                    result.setResource(index, fetched.getResource(j));
+                } else {
+                    result.setException(index, fetched.getException(j));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the resource at the specified href if it can be answered by the filter chain without executing an HTTP
+     * request (i.e. from the cache), or {@code null} otherwise.
+     *
+     * @since 1.2.0
+     */
+    private <T extends Resource> T getCachedResource(String href, Class<T> clazz) {
+        FilterChain chain = new DefaultFilterChain(this.filters, CACHE_MISS_HANDLER);
+        CanonicalUri uri = canonicalize(href, null);
+        ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz,
+                                                                 new HashMap<String,Object>(), null,
+                                                                 CacheLookup.CACHE_ONLY);
+        ResourceDataResult result = chain.filter(req);
+        if (Collections.isEmpty(result.getData())) {
+            return null;
+        }
+        return instantiate(clazz, result.getData(), result.getUri().getQuery());
+    }
+
     @SuppressWarnings("unchecked")
     private ResourceDataResult getResourceData(String href, Class<? extends Resource> clazz, Map<String,?> queryParameters) {
+        return getResourceData(href, clazz, queryParameters, CacheLookup.DEFAULT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult getResourceData(String href, Class<? extends Resource> clazz, Map<String,?> queryParameters, CacheLookup cacheLookup) {
 
         Assert.hasText(href, "href argument cannot be null or empty.");
         Assert.notNull(clazz, "Resource class argument cannot be null.");
@@ -314,7 +580,18 @@ public class DefaultDataStore implements InternalDataStore {
                 CanonicalUri uri = req.getUri();
 
                 Request getRequest = new DefaultRequest(HttpMethod.GET, uri.getAbsolutePath(), uri.getQuery());
+                long ifModifiedSince = req.getHttpHeaders().getIfNotModifiedSince();
+                if (ifModifiedSince >= 0) {
+                    getRequest.getHeaders().setIfModifiedSince(ifModifiedSince);
+                }
                 Response getResponse = execute(getRequest);
+
+                if (ifModifiedSince >= 0 && getResponse.getHttpStatus() == 304) {
+                    //the cached representation is still current: an empty result tells the ReadCacheFilter to renew
+                    //it, and prevents the WriteCacheFilter from caching anything
+                    return new DefaultResourceDataResult(req.getAction(), uri, req.getResourceClass(), new HashMap<String,Object>());
+                }
+
                 Map<String,?> body = getBody(getResponse);
 
                 if (Collections.isEmpty(body)) {
@@ -326,8 +603,72 @@ public class DefaultDataStore implements InternalDataStore {
         });
 
         CanonicalUri uri = canonicalize(href, queryParameters);
-        ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>());
-        return chain.filter(req);
+        ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>(), null, cacheLookup);
+        try {
+            return filter(chain, req);
+        } catch (CircuitOpenException e) {
+            ResourceDataResult stale = getStaleResourceData(req);
+            if (stale == null) {
+                throw e;
+            }
+            return stale;
+        }
+    }
+
+    /**
+     * Returns the possibly expired cache entry for the specified request, or {@code null} if there is none.  Only
+     * plain (non-collection, non-expanded) resources are eligible, because only their cache key is their href.
+     * The result does not pass through the filter chain, so the stale entry is never cached again as if it were fresh.
+     *
+     * @since 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult getStaleResourceData(ResourceDataRequest req) {
+        CanonicalUri uri = req.getUri();
+        Class<? extends Resource> clazz = req.getResourceClass();
+
+        if (!isCachingEnabled() || uri.hasQuery() || CollectionResource.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        Cache cache = this.cacheResolver.getCache(clazz);
+        if (!(cache instanceof DefaultCache)) {
+            return null;
+        }
+
+        Duration maxStaleness = this.maxStaleness;
+        Map<String, Object> data = maxStaleness != null ?
+            (Map<String, Object>) ((DefaultCache) cache).getStale(uri.getAbsolutePath(), maxStaleness) :
+            (Map<String, Object>) ((DefaultCache) cache).getStale(uri.getAbsolutePath());
+        if (Collections.isEmpty(data)) {
+            return null;
+        }
+
+        log.debug("The Stormpath API is unavailable.  Serving possibly stale cached data for {}", uri.getAbsolutePath());
+        return new DefaultResourceDataResult(ResourceAction.READ, uri, clazz, data);
+    }
+
+    /**
+     * Executes the filter chain for the specified request, recording the duration of the entire chain if metrics are
+     * enabled.
+     *
+     * @since 1.2.0
+     */
+    private ResourceDataResult filter(FilterChain chain, ResourceDataRequest request) {
+        MetricsRecorder recorder = this.metricsRecorder;
+        if (recorder == null) {
+            return chain.filter(request);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResourceDataResult result = chain.filter(request);
+            success = true;
+            return result;
+        } finally {
+            recorder.recordDataStoreOperation(request.getAction().name(), request.getResourceClass(),
+                                              System.nanoTime() - start, success);
+        }
     }
 
     private ResourceAction getPostAction(ResourceDataRequest request, Response response) {
@@ -378,6 +719,28 @@ public class DefaultDataStore implements InternalDataStore {
         return save(parentHref, resource, null, returnType, qs, true);
     }
 
+    /** @since 1.2.0 */
+    @Override
+    public <T extends Resource> BatchResult<T> createAll(final String parentHref, Iterable<T> resources) {
+        Assert.hasText(parentHref, "parentHref argument cannot be null or empty.");
+        Assert.notNull(resources, "resources argument cannot be null.");
+
+        //copied (and validated) up front so that the caller's iterable is only iterated once and an invalid element
+        //fails the call before any resource is created:
+        List<T> items = new ArrayList<T>();
+        for (T resource : resources) {
+            Assert.notNull(resource, "resources cannot contain null elements.");
+            items.add(resource);
+        }
+
+        return this.batchExecutor.execute(items.size(), new BatchExecutor.ItemTasks<T, T>(items) {
+            @Override
+            protected T call(T resource) {
+                return create(parentHref, resource);
+            }
+        });
+    }
+
     @Override
     public <T extends Resource & Saveable> void save(T resource) {
         String href = resource.getHref();
@@ -400,6 +763,29 @@ public class DefaultDataStore implements InternalDataStore {
         return save(resource.getHref(), resource, null, returnType, null, false);
     }
 
+    /** @since 1.2.0 */
+    @Override
+    public <T extends Resource & Saveable> BatchResult<T> saveAll(Iterable<T> resources) {
+        Assert.notNull(resources, "resources argument cannot be null.");
+
+        //copied (and validated) up front so that the caller's iterable is only iterated once and an invalid element
+        //fails the call before any resource is saved:
+        List<T> items = new ArrayList<T>();
+        for (T resource : resources) {
+            Assert.notNull(resource, "resources cannot contain null elements.");
+            Assert.hasText(resource.getHref(), HREF_REQD_MSG);
+            items.add(resource);
+        }
+
+        return this.batchExecutor.execute(items.size(), new BatchExecutor.ItemTasks<T, T>(items) {
+            @Override
+            protected T call(T resource) {
+                save(resource);
+                return resource;
+            }
+        });
+    }
+
     private QueryString toQueryString(String href, Options options) {
         if (options == null) {
             return null;
@@ -425,15 +811,15 @@ public class DefaultDataStore implements InternalDataStore {
             @Override
             public ResourceDataResult filter(final ResourceDataRequest req) {
 
-                String bodyString;
+                byte[] bodyBytes;
                 if (req.getHttpHeaders().getContentType() != null && req.getHttpHeaders().getContentType().equals(MediaType.APPLICATION_FORM_URLENCODED)){
-                    bodyString = buildCanonicalBodyQueryParams(req.getData());
+                    bodyBytes = toUtf8Bytes(buildCanonicalBodyQueryParams(req.getData()));
                 } else {
-
-                    bodyString = mapMarshaller.marshal(req.getData());
+                    bodyBytes = marshal(req.getData());
                 }
-                StringInputStream body = new StringInputStream(bodyString);
-                long length = body.available();
+                //the same bytes are hashed by the request authenticator and written by the request executor:
+                BytesInputStream body = new BytesInputStream(bodyBytes);
+                long length = bodyBytes.length;
 
                 CanonicalUri uri = req.getUri();
                 String href = uri.getAbsolutePath();
@@ -463,7 +849,7 @@ public class DefaultDataStore implements InternalDataStore {
         ResourceAction action = create ? ResourceAction.CREATE : ResourceAction.UPDATE;
         ResourceDataRequest request = new DefaultResourceDataRequest(action, uri, abstractResource.getClass(), props, requestHeaders);
 
-        ResourceDataResult result = chain.filter(request);
+        ResourceDataResult result = filter(chain, request);
 
         Map<String,Object> data = result.getData();
 
@@ -537,7 +923,7 @@ public class DefaultDataStore implements InternalDataStore {
 
         final CanonicalUri resourceUri = canonicalize(resourceHref, null);
         ResourceDataRequest request = new DefaultResourceDataRequest(ResourceAction.DELETE, resourceUri, resource.getClass(), new HashMap<String, Object>());
-        chain.filter(request);
+        filter(chain, request);
     }
 
     /* =====================================================================
@@ -567,7 +953,7 @@ public class DefaultDataStore implements InternalDataStore {
 
         applyDefaultRequestHeaders(request);
 
-        Response response = this.requestExecutor.executeRequest(request);
+        Response response = executeGuarded(request);
         log.trace("Executed HTTP request.");
 
         if (response.isError()) {
@@ -587,6 +973,39 @@ public class DefaultDataStore implements InternalDataStore {
         return response;
     }
 
+    /**
+     * Executes the request, subject to the circuit breaker if one is configured.  Only server errors and requests
+     * that could not be completed count as failures: client errors (4xx) show that the server is responsive.
+     *
+     * @since 1.2.0
+     */
+    private Response executeGuarded(Request request) {
+        CircuitBreaker breaker = this.circuitBreaker;
+        if (breaker == null) {
+            return this.requestExecutor.executeRequest(request);
+        }
+
+        if (!breaker.tryAcquire()) {
+            throw new CircuitOpenException("The Stormpath API is considered unavailable: " + request.getMethod() +
+                                           " " + request.getResourceUrl().getPath() + " was not sent.");
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = this.requestExecutor.executeRequest(request);
+            failed = response.isServerError();
+            return response;
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (failed) {
+                breaker.onFailure(duration);
+            } else {
+                breaker.onSuccess(duration);
+            }
+        }
+    }
+
     private Map<String, Object> getBody(Response response) {
 
         Assert.notNull(response, "response argument cannot be null.");
@@ -594,26 +1013,79 @@ public class DefaultDataStore implements InternalDataStore {
         Map<String, Object> out = null;
 
         if (response.hasBody()) {
-            out = mapMarshaller.unmarshall(response.getBody());
+            InputStream body = response.getBody();
+            MetricsRecorder recorder = this.metricsRecorder;
+            long start = recorder != null ? System.nanoTime() : 0;
+            try {
+                out = mapMarshaller.unmarshall(body);
+            } finally {
+                if (recorder != null) {
+                    recorder.recordDeserialization(System.nanoTime() - start);
+                }
+                //the body may be streamed directly from a pooled connection: release it as soon as it has been parsed
+                close(body);
+            }
         }
 
         return out;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    private void close(InputStream body) {
+        if (body != null) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                log.debug("Unable to close response body: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Serializes the specified data to UTF-8 JSON bytes, without an intermediate String when the marshaller supports
+     * it.
+     *
+     * @since 1.2.0
+     */
+    private byte[] marshal(Map<String, Object> data) {
+        MetricsRecorder recorder = this.metricsRecorder;
+        if (recorder == null) {
+            return doMarshal(data);
+        }
+        long start = System.nanoTime();
+        byte[] bytes = doMarshal(data);
+        recorder.recordSerialization(System.nanoTime() - start, bytes.length);
+        return bytes;
+    }
+
+    private byte[] doMarshal(Map<String, Object> data) {
+        if (mapMarshaller instanceof JacksonMapMarshaller) {
+            return ((JacksonMapMarshaller) mapMarshaller).marshalToBytes(data);
+        }
+        return toUtf8Bytes(mapMarshaller.marshal(data));
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static byte[] toUtf8Bytes(String s) {
+        return s.getBytes(UTF_8);
+    }
+
     protected void applyDefaultRequestHeaders(Request request) {
-        request.getHeaders().setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
+        request.getHeaders().setAccept(ACCEPT_JSON);
 
         // Get runtime headers from http client
         Map<String, List<String>> headerMap = HttpHeadersHolder.get();
-        String stormpathAgentHeaderName = STORMPATH_AGENT.toLowerCase();
-        if (headerMap != null && headerMap.get(stormpathAgentHeaderName) != null) {
-            List<String> stormpathAgents = headerMap.get(stormpathAgentHeaderName);
+        if (headerMap != null && headerMap.get(STORMPATH_AGENT_HEADER_NAME) != null) {
+            List<String> stormpathAgents = headerMap.get(STORMPATH_AGENT_HEADER_NAME);
             if (stormpathAgents != null && stormpathAgents.size() > 0) {
-                String stormpathAgent = Strings.arrayToDelimitedString(stormpathAgents.toArray(), " ");
-                request.getHeaders().set("User-Agent", stormpathAgent + " " + USER_AGENT_STRING);
+                request.getHeaders().set("User-Agent", getUserAgent(stormpathAgents));
             }
         } else {
-            request.getHeaders().set("User-Agent", USER_AGENT_STRING);
+            request.getHeaders().set("User-Agent", UserAgent.getUserAgentString());
         }
         if (request.getHeaders().getContentType() == null) {
             if (request.getBody() != null) {
@@ -623,6 +1095,37 @@ public class DefaultDataStore implements InternalDataStore {
         }
     }
 
+    /**
+     * Returns the User-Agent value for the specified integration agents.  Integrations send the same agents with
+     * every request, so the most recently computed value is reused while the agents are unchanged.
+     *
+     * @since 1.2.0
+     */
+    private String getUserAgent(List<String> stormpathAgents) {
+        UserAgentValue last = this.lastUserAgent;
+        if (last != null && last.agents.equals(stormpathAgents)) {
+            return last.value;
+        }
+        String stormpathAgent = Strings.arrayToDelimitedString(stormpathAgents.toArray(), " ");
+        String value = stormpathAgent + " " + UserAgent.getUserAgentString();
+        this.lastUserAgent = new UserAgentValue(new ArrayList<String>(stormpathAgents), value);
+        return value;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static class UserAgentValue {
+
+        private final List<String> agents;
+        private final String value;
+
+        private UserAgentValue(List<String> agents, String value) {
+            this.agents = agents;
+            this.value = value;
+        }
+    }
+
     protected CanonicalUri canonicalize(String href, Map<String,?> queryParams) {
         href = ensureFullyQualified(href);
         return DefaultCanonicalUri.create(href, queryParams);
@@ -679,4 +1182,5 @@ public class DefaultDataStore implements InternalDataStore {
             return null;
         }
     }
+
 }
@@ -17,6 +17,7 @@ package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.impl.http.CanonicalUri;
 import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.resource.Resource;
 
 import java.util.Map;
@@ -24,11 +25,30 @@ import java.util.Map;
 //todo - remove this - DefaultResourceMessage currently contains everything necessary
 public class DefaultResourceDataRequest extends DefaultResourceMessage implements ResourceDataRequest {
 
+    private final CacheLookup cacheLookup;
+
     public DefaultResourceDataRequest(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String,Object> data) {
-        super(action, uri, resourceClass, data);
+        this(action, uri, resourceClass, data, null, CacheLookup.DEFAULT);
     }
 
     public DefaultResourceDataRequest(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String,Object> data, HttpHeaders customHeaders) {
+        this(action, uri, resourceClass, data, customHeaders, CacheLookup.DEFAULT);
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public DefaultResourceDataRequest(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String,Object> data, HttpHeaders customHeaders, CacheLookup cacheLookup) {
         super(action, uri, resourceClass, data, customHeaders);
+        Assert.notNull(cacheLookup, "cacheLookup cannot be null.");
+        this.cacheLookup = cacheLookup;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public CacheLookup getCacheLookup() {
+        return cacheLookup;
     }
 }
@@ -15,7 +15,9 @@
  */
 package com.stormpath.sdk.impl.ds;
 
+import com.stormpath.sdk.ds.BatchResult;
 import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.idsite.NonceStore;
 import com.stormpath.sdk.impl.ds.cache.CacheResolver;
 import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.query.Criteria;
@@ -63,8 +65,24 @@ public interface InternalDataStore extends DataStore {
     /** @since 1.0.RC5 */
     <T extends Resource, R extends Resource> R create(String parentHref, T resource, Class<? extends R> returnType, Options options);
 
+    /**
+     * Creates all of the specified resources in the collection at {@code parentHref}, concurrently issuing at most
+     * the data store's configured batch concurrency number of requests at a time.
+     *
+     * @since 1.2.0
+     */
+    <T extends Resource> BatchResult<T> createAll(String parentHref, Iterable<T> resources);
+
     <T extends Resource & Saveable> void save(T resource);
 
+    /**
+     * Saves all of the specified resources, concurrently issuing at most the data store's configured batch
+     * concurrency number of requests at a time.
+     *
+     * @since 1.2.0
+     */
+    <T extends Resource & Saveable> BatchResult<T> saveAll(Iterable<T> resources);
+
     <T extends Resource & Saveable> void save(T resource, Options options);
 
     <T extends Resource & Saveable, R extends Resource> R save(T resource, Class<? extends R> returnType);
@@ -84,6 +102,14 @@ public interface InternalDataStore extends DataStore {
 
     CacheResolver getCacheResolver();
 
+    /**
+     * Returns the nonce store shared by all ID Site and SAML callback handlers of this data store.
+     *
+     * @return the nonce store shared by all ID Site and SAML callback handlers of this data store.
+     * @since 1.2.0
+     */
+    NonceStore getNonceStore();
+
     String getBaseUrl();
 
 }
@@ -64,6 +64,22 @@ public class JacksonMapMarshaller implements MapMarshaller {
         }
     }
 
+    /**
+     * Serializes the specified map directly to UTF-8 JSON bytes, using Jackson's recycled internal buffers instead of
+     * building an intermediate String.
+     *
+     * @param map the map to serialize
+     * @return the UTF-8 JSON bytes representing the specified map
+     * @since 1.2.0
+     */
+    public byte[] marshalToBytes(Map map) {
+        try {
+            return this.objectMapper.writeValueAsBytes(map);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert Map to JSON bytes.", e);
+        }
+    }
+
     @Override
     public Map unmarshal(String marshalled) {
         try {
@@ -74,6 +90,22 @@ public class JacksonMapMarshaller implements MapMarshaller {
         }
     }
 
+    /**
+     * Parses the specified UTF-8 JSON bytes directly, without decoding them into an intermediate String first.
+     *
+     * @param marshalled the UTF-8 JSON bytes to parse
+     * @return the map represented by the specified JSON bytes
+     * @since 1.2.0
+     */
+    public Map<String, Object> unmarshal(byte[] marshalled) {
+        try {
+            TypeReference<LinkedHashMap<String,Object>> typeRef = new TypeReference<LinkedHashMap<String,Object>>(){};
+            return this.objectMapper.readValue(marshalled, typeRef);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert JSON bytes to Map.", e);
+        }
+    }
+
     @Override
     public Map<String, Object> unmarshall(InputStream marshalled) {
         try {
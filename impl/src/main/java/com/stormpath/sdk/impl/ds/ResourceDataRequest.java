@@ -31,4 +31,12 @@ public interface ResourceDataRequest extends ResourceMessage {
      * @since 1.0.RC7
      */
     HttpHeaders getHttpHeaders();
+
+    /**
+     * Returns how the cache should be consulted for this request.
+     *
+     * @return how the cache should be consulted for this request.
+     * @since 1.2.0
+     */
+    CacheLookup getCacheLookup();
 }
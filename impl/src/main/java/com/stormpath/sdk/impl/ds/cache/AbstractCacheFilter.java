@@ -16,6 +16,7 @@
 package com.stormpath.sdk.impl.ds.cache;
 
 import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.ExtendedCache;
 import com.stormpath.sdk.impl.ds.Filter;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.http.CanonicalUri;
@@ -73,4 +74,37 @@ abstract class AbstractCacheFilter implements Filter {
     protected <T> Cache<String, Map<String, ?>> getCache(Class<T> clazz) {
         return this.cacheResolver.getCache(clazz);
     }
+
+    /**
+     * Removes the entry for the specified key without fetching the previous value when the cache supports it.
+     *
+     * @since 1.2.0
+     */
+    protected static <K> void evict(Cache<K, ?> cache, K key) {
+        if (cache instanceof ExtendedCache) {
+            ((ExtendedCache<K, ?>) cache).evict(key);
+        } else {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Writes all of the specified entries, in a single bulk operation when the cache supports it.
+     *
+     * @since 1.2.0
+     */
+    protected static <K, V> void putAll(Cache<K, V> cache, Map<K, V> entries) {
+        if (cache instanceof ExtendedCache) {
+            if (entries.size() == 1) {
+                Map.Entry<K, V> entry = entries.entrySet().iterator().next();
+                ((ExtendedCache<K, V>) cache).set(entry.getKey(), entry.getValue());
+            } else {
+                ((ExtendedCache<K, V>) cache).putAll(entries);
+            }
+        } else {
+            for (Map.Entry<K, V> entry : entries.entrySet()) {
+                cache.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
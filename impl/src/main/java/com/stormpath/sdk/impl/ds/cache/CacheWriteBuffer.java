@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects cache writes so they can be written with one bulk operation per cache region instead of one round trip per
+ * resource.  Entries are written in the order they were added, which keeps nested resources ahead of the resources
+ * referencing them.
+ * <p/>
+ * A buffer bound to the current thread (see {@link #set(CacheWriteBuffer)}) defers the writes of the
+ * {@link WriteCacheFilter} until the buffer is {@link #flush() flushed}.  The {@code BatchExecutor} binds one buffer to
+ * all of the workers of a batch and flushes it each time another window's worth of tasks has completed, so resources
+ * created or updated by a bulk operation may only become visible in the cache a little while after they were written.
+ *
+ * @since 1.2.0
+ */
+public class CacheWriteBuffer {
+
+    private static final ThreadLocal<CacheWriteBuffer> current = new ThreadLocal<>();
+
+    private Map<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>> writes =
+        new IdentityHashMap<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>>();
+
+    private List<Cache<String, Map<String, ?>>> order = new ArrayList<Cache<String, Map<String, ?>>>();
+
+    public static void set(CacheWriteBuffer buffer) {
+        current.set(buffer);
+    }
+
+    /**
+     * Returns the buffer bound to the current thread, or {@code null} if cache writes should be made immediately.
+     *
+     * @return the buffer bound to the current thread, or {@code null} if cache writes should be made immediately.
+     */
+    public static CacheWriteBuffer get() {
+        return current.get();
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    public synchronized void add(Cache<String, Map<String, ?>> cache, String key, Map<String, ?> value) {
+        Map<String, Map<String, ?>> entries = writes.get(cache);
+        if (entries == null) {
+            entries = new LinkedHashMap<String, Map<String, ?>>();
+            writes.put(cache, entries);
+            order.add(cache);
+        }
+        entries.put(key, value);
+    }
+
+    /**
+     * Adds all of the writes of the specified buffer to this one.
+     *
+     * @param buffer the buffer whose writes should be added to this one
+     */
+    public void addAll(CacheWriteBuffer buffer) {
+        Map<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>> writes;
+        List<Cache<String, Map<String, ?>>> order;
+        synchronized (buffer) {
+            writes = buffer.writes;
+            order = buffer.order;
+        }
+        synchronized (this) {
+            for (Cache<String, Map<String, ?>> cache : order) {
+                for (Map.Entry<String, Map<String, ?>> entry : writes.get(cache).entrySet()) {
+                    add(cache, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered entries, one bulk operation per cache region, and empties the buffer.
+     */
+    public void flush() {
+        Map<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>> writes;
+        List<Cache<String, Map<String, ?>>> order;
+        synchronized (this) {
+            if (this.order.isEmpty()) {
+                return;
+            }
+            writes = this.writes;
+            order = this.order;
+            this.writes = new IdentityHashMap<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>>();
+            this.order = new ArrayList<Cache<String, Map<String, ?>>>();
+        }
+        //written outside of the lock: a distributed cache may take a network round trip per region
+        for (Cache<String, Map<String, ?>> cache : order) {
+            AbstractCacheFilter.putAll(cache, writes.get(cache));
+        }
+    }
+}
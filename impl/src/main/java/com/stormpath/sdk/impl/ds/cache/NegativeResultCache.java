@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.error.Error;
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers, for a short time, that a resource does not exist, so that repeated lookups of a deleted or unknown href
+ * (for example a stale account href or a revoked api key id) do not each result in a request to the Stormpath API
+ * server.  Entries are kept in one region per resource type and expire after the configured {@code timeToLive}.
+ * <p/>
+ * Negative entries are local to this client: they are not stored in the (possibly distributed) cache manager because
+ * they are only meant to absorb bursts of lookups of the same missing resource.
+ *
+ * @since 1.2.0
+ */
+public class NegativeResultCache {
+
+    private final Duration timeToLive;
+
+    private final ConcurrentMap<String, DefaultCache<String, Error>> regions;
+
+    public NegativeResultCache(Duration timeToLive) {
+        Assert.notNull(timeToLive, "timeToLive cannot be null.");
+        Assert.isTrue(timeToLive.getValue() > 0, "timeToLive must be greater than zero.");
+        this.timeToLive = timeToLive;
+        this.regions = new ConcurrentHashMap<String, DefaultCache<String, Error>>();
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Returns the error that was returned when the resource at the specified href was last requested, or
+     * {@code null} if the resource is not known to be missing.
+     *
+     * @param region the name of the region, usually the name of the requested resource type
+     * @param href   the href of the resource
+     * @return the error that was returned when the resource was last requested, or {@code null} if the resource is not
+     *         known to be missing.
+     */
+    public Error get(String region, String href) {
+        DefaultCache<String, Error> cache = regions.get(region);
+        return cache != null ? cache.get(href) : null;
+    }
+
+    /**
+     * Remembers that the resource at the specified href does not exist.
+     *
+     * @param region the name of the region, usually the name of the requested resource type
+     * @param href   the href of the resource
+     * @param error  the error returned by the server
+     */
+    public void put(String region, String href, Error error) {
+        Assert.notNull(error, "error cannot be null.");
+        getRegion(region).put(href, error);
+    }
+
+    /**
+     * Forgets that the resource at the specified href does not exist, in every region, for example because it has
+     * just been created.
+     *
+     * @param href the href of the resource
+     */
+    public void remove(String href) {
+        for (DefaultCache<String, Error> cache : regions.values()) {
+            cache.evict(href);
+        }
+    }
+
+    public void clear() {
+        regions.clear();
+    }
+
+    private DefaultCache<String, Error> getRegion(String region) {
+        DefaultCache<String, Error> cache = regions.get(region);
+        if (cache == null) {
+            cache = new DefaultCache<String, Error>(region);
+            cache.setTimeToLive(timeToLive);
+            DefaultCache<String, Error> existing = regions.putIfAbsent(region, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public String toString() {
+        return "NegativeResultCache[timeToLive=" + timeToLive + ", regions=" + regions.keySet() + "]";
+    }
+}
@@ -17,30 +17,50 @@ package com.stormpath.sdk.impl.ds.cache;
 
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyList;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.error.Error;
 import com.stormpath.sdk.impl.authc.LoginAttempt;
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.ds.CacheLookup;
+import com.stormpath.sdk.impl.ds.DefaultResourceDataRequest;
 import com.stormpath.sdk.impl.ds.DefaultResourceDataResult;
 import com.stormpath.sdk.impl.ds.FilterChain;
 import com.stormpath.sdk.impl.ds.ResourceAction;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
+import com.stormpath.sdk.impl.error.DefaultError;
 import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.metrics.MetricsAware;
 import com.stormpath.sdk.impl.provider.ProviderAccountAccess;
+import com.stormpath.sdk.impl.resource.AbstractCollectionResource;
+import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.CollectionProperties;
+import com.stormpath.sdk.impl.util.Iso8601Dates;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
+import com.stormpath.sdk.metrics.MetricsRecorder;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.resource.ResourceException;
 
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.stormpath.sdk.impl.api.ApiKeyParameter.ID;
 import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.LIMIT;
 import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.OFFSET;
 
-public class ReadCacheFilter extends AbstractCacheFilter {
+public class ReadCacheFilter extends AbstractCacheFilter implements MetricsAware {
 
     private final String baseUrl;
+    private volatile MetricsRecorder metricsRecorder;
+    private volatile boolean revalidationEnabled = false;
+    private volatile NegativeResultCache negativeResultCache;
 
     public ReadCacheFilter(String baseUrl, CacheResolver cacheResolver, boolean collectionCachingEnabled) {
         super(cacheResolver, collectionCachingEnabled);
@@ -48,20 +68,181 @@ public class ReadCacheFilter extends AbstractCacheFilter {
         this.baseUrl = baseUrl;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    @Override
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public boolean isRevalidationEnabled() {
+        return revalidationEnabled;
+    }
+
+    /**
+     * Sets whether expired cache entries should be revalidated with a conditional request instead of being fetched
+     * again in full.  The server's {@code 304 Not Modified} response renews the expired entry without transferring,
+     * parsing or caching the resource again.  Only applies to {@link DefaultCache} instances that retain expired
+     * entries (see {@link DefaultCache#setStaleRetention(com.stormpath.sdk.lang.Duration)}).
+     *
+     * @since 1.2.0
+     */
+    public void setRevalidationEnabled(boolean revalidationEnabled) {
+        this.revalidationEnabled = revalidationEnabled;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    public NegativeResultCache getNegativeResultCache() {
+        return negativeResultCache;
+    }
+
+    /**
+     * Sets the cache used to remember resources that were not found, so that repeated lookups of the same missing
+     * resource are answered without a request to the server.  Negative caching is disabled by default ({@code null}).
+     *
+     * @since 1.2.0
+     */
+    public void setNegativeResultCache(NegativeResultCache negativeResultCache) {
+        this.negativeResultCache = negativeResultCache;
+    }
+
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
-        if (isCacheRetrievalEnabled(request)) {
-            ResourceDataResult result = getCachedResourceData(request);
+        CacheLookup lookup = request.getCacheLookup();
+
+        if (!isCacheRetrievalEnabled(request)) {
+            return lookup == CacheLookup.CACHE_ONLY ? createMissResult(request) : chain.filter(request);
+        }
+
+        ResourceDataResult result = null;
+        if (lookup != CacheLookup.AFTER_MISS) {
+            //the miss of an AFTER_MISS request has already been recorded, so the cache is not consulted again:
+            result = getCachedResourceData(request);
             if (result != null) {
                 return result;
             }
         }
 
-        //cache miss - let the chain continue:
+        NegativeResultCache negativeCache = this.negativeResultCache;
+        if (negativeCache == null) {
+            return lookup == CacheLookup.CACHE_ONLY ? createMissResult(request) : getResourceData(request, chain);
+        }
+
+        String region = getNegativeCacheRegion(request);
+        String key = getNegativeCacheKey(request);
+
+        Error error = negativeCache.get(region, key);
+        if (error != null) {
+            if (isApiKeyCollectionQuery(request)) {
+                //the server reports an unknown api key id as an empty collection, not as an error:
+                return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(),
+                                                     getEmptyCollection(request));
+            }
+            throw new ResourceException(error);
+        }
+
+        if (lookup == CacheLookup.CACHE_ONLY) {
+            return createMissResult(request);
+        }
+
+        try {
+            result = getResourceData(request, chain);
+        } catch (ResourceException e) {
+            if (e.getStatus() == 404) {
+                negativeCache.put(region, key, e.getStormpathError());
+            }
+            throw e;
+        }
+
+        if (isApiKeyCollectionQuery(request) && isEmptyCollection(result.getData())) {
+            negativeCache.put(region, key, createNotFoundError(key));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the result of a {@link CacheLookup#CACHE_ONLY} request that could not be answered from the cache: a
+     * result without any data, which is never a valid cached representation.
+     *
+     * @since 1.2.0
+     */
+    private static ResourceDataResult createMissResult(ResourceDataRequest request) {
+        return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(),
+                                             new HashMap<String, Object>());
+    }
+
+    /**
+     * Cache miss - let the chain continue, revalidating an expired entry if possible.
+     *
+     * @since 1.2.0
+     */
+    private ResourceDataResult getResourceData(ResourceDataRequest request, FilterChain chain) {
+        if (revalidationEnabled) {
+            ResourceDataResult result = revalidate(request, chain);
+            if (result != null) {
+                return result;
+            }
+        }
         return chain.filter(request);
     }
 
+    /**
+     * @since 1.2.0
+     */
+    private String getNegativeCacheRegion(ResourceDataRequest request) {
+        return isApiKeyCollectionQuery(request) ? ApiKey.class.getName() : request.getResourceClass().getName();
+    }
+
+    /**
+     * Api key lookups by id are remembered under the api key's href, so that creating the api key clears them.
+     *
+     * @since 1.2.0
+     */
+    private String getNegativeCacheKey(ResourceDataRequest request) {
+        if (isApiKeyCollectionQuery(request)) {
+            return baseUrl + "/apiKeys/" + request.getUri().getQuery().get(ID.getName());
+        }
+        return getCacheKey(request);
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private Map<String, Object> getEmptyCollection(ResourceDataRequest request) {
+        QueryString query = request.getUri().getQuery();
+        int offset = getValue(query, OFFSET.getName(), 0);
+        int limit = getValue(query, LIMIT.getName(), 25);
+        return new CollectionProperties.Builder().setHref(request.getUri().getAbsolutePath()).setOffset(offset)
+                                                 .setLimit(limit).build();
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static boolean isEmptyCollection(Map<String, ?> data) {
+        Object items = data != null ? data.get(AbstractCollectionResource.ITEMS_PROPERTY_NAME) : null;
+        return items instanceof Collection && ((Collection) items).isEmpty();
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private static Error createNotFoundError(String href) {
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put("status", 404);
+        props.put("message", "The requested resource does not exist.");
+        props.put("developerMessage", "The resource " + href + " does not exist.");
+        return new DefaultError(props);
+    }
+
     private ResourceDataResult getCachedResourceData(ResourceDataRequest request) {
 
         final CanonicalUri uri = request.getUri();
@@ -77,6 +258,7 @@ public class ReadCacheFilter extends AbstractCacheFilter {
             Class<ApiKey> cacheClass = ApiKey.class;
 
             Map<String, ?> apiKeyData = getCachedValue(cacheHref, cacheClass);
+            recordCacheAccess(cacheClass, apiKeyData);
 
             if (!Collections.isEmpty(apiKeyData)) {
                 int offset = getValue(query, OFFSET.getName(), 0);
@@ -89,6 +271,7 @@ public class ReadCacheFilter extends AbstractCacheFilter {
             String cacheKey = getCacheKey(request);
             if (! (request.getUri().hasQuery() && request.getUri().getQuery().containsKey("expand") ^ (cacheKey != null && cacheKey.contains("expand=")))) {
                 data = getCachedValue(cacheKey, clazz);
+                recordCacheAccess(clazz, data);
             }
         }
 
@@ -99,6 +282,89 @@ public class ReadCacheFilter extends AbstractCacheFilter {
         return new DefaultResourceDataResult(request.getAction(), uri, clazz, coerce(data));
     }
 
+    /**
+     * Revalidates the expired cache entry for the specified request, if there is one, by asking the server for the
+     * resource only if it was modified after the entry's {@code modifiedAt} timestamp.  Returns {@code null} if there
+     * is no expired entry that can be revalidated.
+     * <p/>
+     * The {@code If-Modified-Since} header only has a resolution of one second.  If {@code modifiedAt} has a
+     * sub-second part, the header would name an earlier time, and a second modification within that same second could
+     * be reported as {@code 304 Not Modified}.  Such entries are therefore not revalidated.
+     *
+     * @since 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult revalidate(ResourceDataRequest request, FilterChain chain) {
+
+        final CanonicalUri uri = request.getUri();
+        final Class<? extends Resource> clazz = request.getResourceClass();
+
+        //only plain instance resources are cached under their href:
+        if (uri.hasQuery() || CollectionResource.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        Cache<String, Map<String, ?>> cache = getCache(clazz);
+        if (!(cache instanceof DefaultCache)) {
+            return null;
+        }
+
+        DefaultCache<String, Map<String, ?>> defaultCache = (DefaultCache<String, Map<String, ?>>) cache;
+        String href = uri.getAbsolutePath();
+        Map<String, ?> stale = defaultCache.getStale(href);
+        long modifiedAt = getModifiedAt(stale);
+        if (modifiedAt < 0 || modifiedAt % 1000 != 0) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHttpHeaders());
+        headers.setIfModifiedSince(modifiedAt);
+
+        ResourceDataResult result =
+            chain.filter(new DefaultResourceDataRequest(request.getAction(), uri, clazz, request.getData(), headers));
+
+        if (!Collections.isEmpty(result.getData())) {
+            //modified - the new representation has already been cached further down the chain:
+            return result;
+        }
+
+        //304 Not Modified:
+        defaultCache.renew(href, stale);
+        return new DefaultResourceDataResult(request.getAction(), uri, clazz, coerce(stale));
+    }
+
+    /**
+     * Returns the {@code modifiedAt} timestamp of the specified cached resource, or {@code -1} if it has none.
+     *
+     * @since 1.2.0
+     */
+    private static long getModifiedAt(Map<String, ?> data) {
+        if (Collections.isEmpty(data)) {
+            return -1;
+        }
+        Object value = data.get(AbstractExtendableInstanceResource.MODIFIED_AT.getName());
+        if (!(value instanceof String)) {
+            return -1;
+        }
+        try {
+            return Iso8601Dates.parseMillis((String) value);
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private void recordCacheAccess(Class<? extends Resource> clazz, Map<String, ?> data) {
+        MetricsRecorder recorder = this.metricsRecorder;
+        if (recorder != null) {
+            //cache regions are named after the resource type by default:
+            recorder.recordCacheAccess(clazz.getName(), !Collections.isEmpty(data));
+        }
+    }
+
     private int getValue(QueryString query, String propName, int defaultValue) {
         return query.containsKey(propName) ? Integer.valueOf(query.get(propName)) : defaultValue;
     }
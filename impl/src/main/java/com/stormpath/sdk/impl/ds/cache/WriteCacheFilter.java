@@ -47,6 +47,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
     private final ReferenceFactory referenceFactory;
     private final CacheMapInitializer cacheMapInitializer;
+    private volatile NegativeResultCache negativeResultCache;
 
     public WriteCacheFilter(CacheResolver cacheResolver, boolean collectionCachingEnabled, ReferenceFactory referenceFactory) {
         super(cacheResolver, collectionCachingEnabled);
@@ -55,6 +56,16 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         this.cacheMapInitializer = new DefaultCacheMapInitializer();
     }
 
+    /**
+     * Sets the cache of resources that were not found, whose entries are cleared when a resource is created at their
+     * href.
+     *
+     * @since 1.2.0
+     */
+    public void setNegativeResultCache(NegativeResultCache negativeResultCache) {
+        this.negativeResultCache = negativeResultCache;
+    }
+
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
@@ -65,8 +76,22 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
         ResourceDataResult result = chain.filter(request);
 
+        NegativeResultCache negativeCache = this.negativeResultCache;
+        if (negativeCache != null &&
+            (request.getAction() == ResourceAction.CREATE || result.getAction() == ResourceAction.CREATE)) {
+            //the resource exists now:
+            negativeCache.remove(request.getUri().getAbsolutePath());
+            Object href = result.getData() != null ? result.getData().get(HREF_PROP_NAME) : null;
+            if (href instanceof String) {
+                negativeCache.remove((String) href);
+            }
+        }
+
         if (isCacheable(request, result)) {
-            cache(result.getResourceClass(), result.getData(), result.getUri().getQuery());
+            //a resource and all of its materialized nested resources are written together, one bulk write per cache:
+            CacheWriteBuffer writes = new CacheWriteBuffer();
+            cache(result.getResourceClass(), result.getData(), result.getUri().getQuery(), writes);
+            flush(writes);
         }
 
         //since 0.9.2: custom data quick fix for https://github.com/stormpath/stormpath-sdk-java/issues/30
@@ -99,8 +124,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         if (emailVerification) {
             String accountHref = (String) result.getData().get(HREF_PROP_NAME);
             if (Strings.hasText(accountHref)) {
-                Cache<String, ?> cache = getCache(Account.class);
-                cache.remove(accountHref);
+                evict(getCache(Account.class), accountHref);
             }
         }
 
@@ -167,14 +191,16 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         //we pass 'null' in as the querystring param because the querystring is only valid for
         //the top-most item being cached - we don't want to propagate it for nested resources because the nested
         //resource wasn't acquired w/ that query string.
-        cache(CustomData.class, customDataToCache, null);
+        CacheWriteBuffer writes = new CacheWriteBuffer();
+        cache(CustomData.class, customDataToCache, null, writes);
+        flush(writes);
     }
 
     /**
      * @since 0.8
      */
     @SuppressWarnings("unchecked")
-    private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString) {
+    private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString, CacheWriteBuffer writes) {
 
         Assert.notEmpty(data, "Resource data cannot be null or empty.");
         String href = (String) data.get(AbstractResource.HREF_PROP_NAME);
@@ -189,8 +215,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         Map<String, Object> cacheValue = cacheMapInitializer.initialize(clazz, data, queryString);
 
         if (CustomData.class.isAssignableFrom(clazz)) {
-            Cache cache = getCache(clazz);
-            cache.put(href, cacheValue);
+            writes.add(getCache(clazz), href, cacheValue);
             return;
         }
 
@@ -236,7 +261,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
                     //we pass 'null' in as the querystring param because the querystring is only valid for
                     //the top-most item being cached - we don't want to propagate it for nested resources because the nested
                     //resource wasn't acquired w/ that query string.
-                    cache(property.getType(), nested, null);
+                    cache(property.getType(), nested, null, writes);
 
                     //Because the materialized reference has now been cached, we don't need to store
                     //all of its properties again in the 'toCache' instance.  Instead, we just want to store
@@ -269,7 +294,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
                             //we pass 'null' in as the querystring param because the querystring is only valid for
                             //the top-most item being cached - we don't want to propagate it for nested resources because the nested
                             //resource wasn't acquired w/ that query string.
-                            cache(itemType, referenceData, null);
+                            cache(itemType, referenceData, null, writes);
                             element = toCanonicalReference(null, referenceData);
                         }
                     }
@@ -285,9 +310,8 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         }
 
         if (isDirectlyCacheable(clazz, cacheValue)) {
-            Cache cache = getCache(clazz);
             String cacheKey = getCacheKey(href, queryString, clazz);
-            cache.put(cacheKey, cacheValue);
+            writes.add(getCache(clazz), cacheKey, cacheValue);
         }
     }
 
@@ -367,13 +391,26 @@ public class WriteCacheFilter extends AbstractCacheFilter {
     private void uncache(String cacheKey, Class<? extends Resource> resourceType) {
         Assert.hasText(cacheKey, "cacheKey cannot be null or empty.");
         Assert.notNull(resourceType, "resourceType cannot be null.");
-        Cache<String, Map<String, ?>> cache = getCache(resourceType);
-        cache.remove(cacheKey);
+        evict(getCache(resourceType), cacheKey);
+    }
+
+    /**
+     * Writes the entries collected while caching a resource graph, or defers them to the buffer bound to the current
+     * thread by a bulk operation.
+     *
+     * @since 1.2.0
+     */
+    private static void flush(CacheWriteBuffer writes) {
+        CacheWriteBuffer deferred = CacheWriteBuffer.get();
+        if (deferred != null) {
+            deferred.addAll(writes);
+        } else {
+            writes.flush();
+        }
     }
 
     private boolean isApiKeyCollectionQuery(ResourceDataRequest request) {
         return ApiKeyList.class.isAssignableFrom(request.getResourceClass()) &&
                 request.getUri().hasQuery() && request.getUri().getQuery().containsKey(ID.getName());
     }
-
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * Thrown instead of sending a request to the Stormpath API server while the client's
+ * {@link com.stormpath.sdk.http.CircuitBreaker circuit breaker} is open, that is, while the server is
+ * considered unavailable.  Failing fast avoids tying up request threads in retries that are unlikely to succeed.
+ *
+ * @since 1.2.0
+ */
+public class CircuitOpenException extends RestException {
+
+    public CircuitOpenException(String s) {
+        super(s);
+    }
+}
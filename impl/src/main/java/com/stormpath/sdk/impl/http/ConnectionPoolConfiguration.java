@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import com.stormpath.sdk.lang.Assert;
+
+/**
+ * Connection pool settings handed to a {@link RequestExecutor} implementation when it is created.  A value of zero
+ * means 'not configured', in which case the {@code RequestExecutor} implementation chooses its own default.
+ *
+ * @since 1.2.0
+ */
+public class ConnectionPoolConfiguration {
+
+    private final int maxConnectionsTotal;
+    private final int maxConnectionsPerRoute;
+    private final int maxIdleTime;
+
+    /**
+     * @param maxConnectionsTotal    the maximum number of pooled connections across all routes, or zero for the default
+     * @param maxConnectionsPerRoute the maximum number of pooled connections to a single host, or zero for the default
+     * @param maxIdleTime            the number of seconds a pooled connection may stay idle before it is closed, or
+     *                               zero for the default
+     */
+    public ConnectionPoolConfiguration(int maxConnectionsTotal, int maxConnectionsPerRoute, int maxIdleTime) {
+        Assert.isTrue(maxConnectionsTotal >= 0, "maxConnectionsTotal cannot be a negative number.");
+        Assert.isTrue(maxConnectionsPerRoute >= 0, "maxConnectionsPerRoute cannot be a negative number.");
+        Assert.isTrue(maxIdleTime >= 0, "maxIdleTime cannot be a negative number.");
+        this.maxConnectionsTotal = maxConnectionsTotal;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns the number of seconds a pooled connection may stay idle before it is closed, or zero for the default.
+     *
+     * @return the number of seconds a pooled connection may stay idle before it is closed, or zero for the default.
+     */
+    public int getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfiguration{" +
+                "maxConnectionsTotal=" + maxConnectionsTotal +
+                ", maxConnectionsPerRoute=" + maxConnectionsPerRoute +
+                ", maxIdleTime=" + maxIdleTime +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which an operation must complete.  Deadlines are measured with {@link System#nanoTime()}, so
+ * they are not affected by wall clock adjustments.
+ *
+ * @see DeadlineHolder
+ * @since 1.2.0
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns a deadline that expires after the specified amount of time from now.
+     *
+     * @param duration the amount of time until the deadline expires
+     * @param unit     the unit of the duration
+     * @return a deadline that expires after the specified amount of time from now.
+     */
+    public static Deadline after(long duration, TimeUnit unit) {
+        Assert.isTrue(duration >= 0, "duration cannot be negative.");
+        Assert.notNull(unit, "unit cannot be null.");
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * Returns the number of milliseconds left until the deadline expires, rounded up, or {@code 0} if it has expired.
+     *
+     * @return the number of milliseconds left until the deadline expires, or {@code 0} if it has expired.
+     */
+    public long getRemainingMillis() {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            return 0;
+        }
+        return (remaining + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Returns the specified timeout limited to the time left until this deadline expires.
+     *
+     * @param timeoutMillis the timeout in milliseconds, where {@code 0} or less means 'no timeout'
+     * @return the specified timeout limited to the time left until this deadline expires, at least 1 millisecond.
+     */
+    public int limit(int timeoutMillis) {
+        long remaining = Math.max(getRemainingMillis(), 1);
+        if (timeoutMillis > 0 && timeoutMillis < remaining) {
+            return timeoutMillis;
+        }
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + getRemainingMillis() + "ms]";
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * Thrown when a request to the Stormpath API server could not be completed before the
+ * {@link DeadlineHolder current deadline}.  Requests are never retried once their deadline has expired.
+ *
+ * @since 1.2.0
+ */
+public class DeadlineExceededException extends RestException {
+
+    public DeadlineExceededException(String s) {
+        super(s);
+    }
+
+    public DeadlineExceededException(String s, Throwable cause) {
+        super(s, cause);
+    }
+}
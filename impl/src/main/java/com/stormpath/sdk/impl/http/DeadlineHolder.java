@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * Holds the {@link Deadline} of the data store operations made by the current thread.  Every HTTP request made on
+ * behalf of such an operation - including retries, redirects and hedged requests - must complete before the deadline,
+ * otherwise it is abandoned with a {@link DeadlineExceededException}:
+ * <pre>
+ * DeadlineHolder.set(Deadline.after(250, TimeUnit.MILLISECONDS));
+ * try {
+ *     Account account = client.getResource(href, Account.class);
+ * } finally {
+ *     DeadlineHolder.clear();
+ * }
+ * </pre>
+ * Operations without a deadline are only bounded by the client's connection timeout and retry policy.
+ *
+ * @since 1.2.0
+ */
+public abstract class DeadlineHolder {
+    private static ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+    public static void set(Deadline deadline) {
+        current.set(deadline);
+    }
+
+    /**
+     * Returns the current thread's deadline, or {@code null} if it has none.
+     *
+     * @return the current thread's deadline, or {@code null} if it has none.
+     */
+    public static Deadline get() {
+        return current.get();
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+}
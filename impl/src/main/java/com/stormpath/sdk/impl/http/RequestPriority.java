@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * The scheduling priority of an outbound Stormpath API request.  When a client is throttled, queued
+ * {@link #INTERACTIVE} requests (e.g. logins made while an end-user waits) are sent before {@link #BACKGROUND}
+ * requests (e.g. bulk imports or directory synchronization).
+ *
+ * @see RequestPriorityHolder
+ * @since 1.2.0
+ */
+public enum RequestPriority {
+
+    INTERACTIVE,
+
+    BACKGROUND
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * Holds the {@link RequestPriority} of the requests made by the current thread.  Requests are
+ * {@link RequestPriority#INTERACTIVE interactive} unless a thread declares otherwise, for example:
+ * <pre>
+ * RequestPriorityHolder.set(RequestPriority.BACKGROUND);
+ * try {
+ *     directory.createAccounts(accounts);
+ * } finally {
+ *     RequestPriorityHolder.clear();
+ * }
+ * </pre>
+ *
+ * @since 1.2.0
+ */
+public abstract class RequestPriorityHolder {
+    private static ThreadLocal<RequestPriority> current = new ThreadLocal<>();
+
+    public static void set(RequestPriority priority) {
+        current.set(priority);
+    }
+
+    public static RequestPriority get() {
+        RequestPriority priority = current.get();
+        return priority != null ? priority : RequestPriority.INTERACTIVE;
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * Thrown when the Stormpath API server rejects a request with {@code HTTP 429 Too Many Requests} because the tenant
+ * exceeded its request rate limit.
+ *
+ * @since 1.2.0
+ */
+public class TooManyRequestsException extends RestException {
+
+    private final long retryAfterMillis;
+
+    /**
+     * @param s                the exception message
+     * @param retryAfterMillis the number of milliseconds the server asked the client to wait before retrying (as
+     *                         indicated by the {@code Retry-After} response header), or {@code -1} if unspecified.
+     */
+    public TooManyRequestsException(String s, long retryAfterMillis) {
+        super(s);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Returns the number of milliseconds the server asked the client to wait before retrying, or {@code -1} if the
+     * response did not contain a {@code Retry-After} header.
+     *
+     * @return the number of milliseconds the server asked the client to wait before retrying, or {@code -1} if the
+     * response did not contain a {@code Retry-After} header.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
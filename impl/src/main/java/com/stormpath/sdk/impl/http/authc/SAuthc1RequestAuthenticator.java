@@ -18,6 +18,7 @@ package com.stormpath.sdk.impl.http.authc;
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
 import com.stormpath.sdk.impl.http.Request;
 import com.stormpath.sdk.impl.http.support.RequestAuthenticationException;
+import com.stormpath.sdk.impl.util.BytesInputStream;
 import com.stormpath.sdk.impl.util.RequestUtils;
 import com.stormpath.sdk.impl.util.StringInputStream;
 import com.stormpath.sdk.lang.Assert;
@@ -40,6 +41,8 @@ import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.SimpleTimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 0.1
@@ -64,8 +67,18 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
 
     private static final Logger log = LoggerFactory.getLogger(SAuthc1RequestAuthenticator.class);
 
+    /**
+     * The maximum number of canonical resource paths remembered by each authenticator.
+     *
+     * @since 1.2.0
+     */
+    private static final int MAX_CANONICAL_RESOURCE_PATHS = 1024;
+
     private final ApiKeyCredentials apiKeyCredentials;
 
+    //resource path -> canonical (encoded) resource path; the same few hrefs tend to be requested over and over:
+    private final ConcurrentMap<String, String> canonicalResourcePaths = new ConcurrentHashMap<String, String>();
+
     public SAuthc1RequestAuthenticator(ApiKeyCredentials apiKeyCredentials) {
         Assert.notNull(apiKeyCredentials, "apiKeyCredentials must not be null.");
         this.apiKeyCredentials = apiKeyCredentials;
@@ -105,7 +118,7 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         String canonicalQueryString = canonicalizeQueryString(request);
         String canonicalHeadersString = canonicalizeHeadersString(request);
         String signedHeadersString = getSignedHeadersString(request);
-        String requestPayloadHashHex = toHex(hash(getRequestPayload(request)));
+        String requestPayloadHashHex = toHex(hashRequestPayload(request));
 
         String canonicalRequest =
                 method + NL +
@@ -195,15 +208,45 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
      * @throws RequestAuthenticationException If the hash cannot be computed.
      */
     protected byte[] hash(String text) throws RequestAuthenticationException {
+        try {
+            return hash(text.getBytes(DEFAULT_ENCODING));
+        } catch (UnsupportedEncodingException e) {
+            throw new RequestAuthenticationException("Unable to compute hash while signing request.", e);
+        }
+    }
+
+    /**
+     * Hashes the specified bytes using the SHA-256 algorithm.
+     *
+     * @param data The bytes to hash.
+     * @return The hashed bytes.
+     * @throws RequestAuthenticationException If the hash cannot be computed.
+     * @since 1.2.0
+     */
+    protected byte[] hash(byte[] data) throws RequestAuthenticationException {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(text.getBytes(DEFAULT_ENCODING));
+            md.update(data);
             return md.digest();
         } catch (Exception e) {
             throw new RequestAuthenticationException("Unable to compute hash while signing request.", e);
         }
     }
 
+    /**
+     * Hashes the request payload.  A pre-serialized {@link BytesInputStream} body is hashed directly, exactly as it
+     * will be sent, without reading the stream or decoding it to a String.
+     *
+     * @since 1.2.0
+     */
+    protected byte[] hashRequestPayload(Request request) {
+        InputStream content = request.getBody();
+        if (content instanceof BytesInputStream) {
+            return hash(((BytesInputStream) content).getBytes());
+        }
+        return hash(getRequestPayload(request));
+    }
+
     protected byte[] sign(String stringData, byte[] key, MacAlgorithm algorithm) throws RequestAuthenticationException {
         try {
             byte[] data = stringData.getBytes(DEFAULT_ENCODING);
@@ -267,9 +310,17 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
     private String canonicalizeResourcePath(String resourcePath) {
         if (resourcePath == null || resourcePath.length() == 0) {
             return "/";
-        } else {
-            return RequestUtils.encodeUrl(resourcePath, true, true);
         }
+        String canonical = canonicalResourcePaths.get(resourcePath);
+        if (canonical == null) {
+            canonical = RequestUtils.encodeUrl(resourcePath, true, true);
+            if (canonicalResourcePaths.size() >= MAX_CANONICAL_RESOURCE_PATHS) {
+                //crude, but bounded: most requests target a small working set of hrefs that is quickly re-learned
+                canonicalResourcePaths.clear();
+            }
+            canonicalResourcePaths.put(resourcePath, canonical);
+        }
+        return canonical;
     }
 
     private String canonicalizeHeadersString(Request request) {
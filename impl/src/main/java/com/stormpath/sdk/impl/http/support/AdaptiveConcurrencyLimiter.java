@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.impl.http.RequestPriority;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent requests a client sends to the Stormpath API server using an
+ * additive-increase/multiplicative-decrease (AIMD) algorithm:
+ * <ul>
+ * <li>Every successful request raises the limit by roughly one request per round trip, up to the maximum.</li>
+ * <li>Every throttled ({@code HTTP 429}) request halves the limit, down to the minimum, and - if the server specified
+ * a {@code Retry-After} delay - holds back all requests until that delay has elapsed.</li>
+ * </ul>
+ * Requests that cannot be sent right away are queued.  Queued {@link RequestPriority#INTERACTIVE interactive} requests
+ * are always admitted before queued {@link RequestPriority#BACKGROUND background} requests.
+ * <p/>
+ * The limit starts at the maximum, so a limiter has no effect until the server actually starts throttling.  A limiter
+ * only knows about the requests sent through it: by default every {@code RequestExecutor} creates its own, starting
+ * at its connection pool's maximum number of connections per route.  Stormpath applies rate limits per tenant, so
+ * executors (or clients) sending requests on behalf of the same tenant should share a single limiter instance if
+ * they need to back off together.
+ *
+ * @since 1.2.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition interactiveTurn = lock.newCondition();
+    private final Condition backgroundTurn = lock.newCondition();
+
+    private double limit;
+    private int inFlight = 0;
+    private int interactiveWaiting = 0;
+    private int backgroundWaiting = 0;
+    private long pausedUntilNanos = 0;
+
+    public AdaptiveConcurrencyLimiter(int maxLimit) {
+        this(1, maxLimit);
+    }
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit) {
+        Assert.isTrue(minLimit > 0, "minLimit must be greater than zero.");
+        Assert.isTrue(maxLimit >= minLimit, "maxLimit cannot be less than minLimit.");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Blocks until a request with the specified priority may be sent.  Every successful call must be followed by
+     * exactly one call to {@link #onSuccess()}, {@link #onThrottled(long)} or {@link #onDropped()}.
+     *
+     * @param priority the priority of the request about to be sent
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire(RequestPriority priority) throws InterruptedException {
+        boolean interactive = priority != RequestPriority.BACKGROUND;
+
+        lock.lockInterruptibly();
+        try {
+            if (interactive) {
+                interactiveWaiting++;
+            } else {
+                backgroundWaiting++;
+            }
+            try {
+                Condition turn = interactive ? interactiveTurn : backgroundTurn;
+                while (true) {
+                    long pausedNanos = pausedUntilNanos - System.nanoTime();
+                    if (pausedNanos > 0) {
+                        turn.awaitNanos(pausedNanos);
+                    } else if (inFlight >= (int) limit || (!interactive && interactiveWaiting > 0)) {
+                        turn.await();
+                    } else {
+                        break;
+                    }
+                }
+            } finally {
+                if (interactive) {
+                    interactiveWaiting--;
+                } else {
+                    backgroundWaiting--;
+                }
+            }
+            inFlight++;
+        } finally {
+            //admit the next waiter if there is still room (or if this thread gave up its turn):
+            signalNext();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a request that completed without being throttled and raises the limit.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            limit = Math.min(maxLimit, limit + (1.0 / limit));
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a request that was throttled by the server, halves the limit and, if {@code retryAfterMillis} is
+     * positive, holds back all requests for that many milliseconds.
+     *
+     * @param retryAfterMillis the delay requested by the server, or a value less than or equal to zero if none
+     */
+    public void onThrottled(long retryAfterMillis) {
+        lock.lock();
+        try {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            if (retryAfterMillis > 0) {
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+                if (until - pausedUntilNanos > 0) {
+                    pausedUntilNanos = until;
+                }
+            }
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a request that failed for a reason unrelated to the server's load (e.g. a network error) without
+     * changing the limit.
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        Assert.state(inFlight > 0, "release called without a matching acquire.");
+        inFlight--;
+        signalNext();
+    }
+
+    private void signalNext() {
+        if (pausedUntilNanos - System.nanoTime() > 0 || inFlight >= (int) limit) {
+            return;
+        }
+        if (interactiveWaiting > 0) {
+            interactiveTurn.signal();
+        } else if (backgroundWaiting > 0) {
+            backgroundTurn.signal();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of requests currently waiting to be sent.
+     *
+     * @return the number of requests currently waiting to be sent.
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return interactiveWaiting + backgroundWaiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
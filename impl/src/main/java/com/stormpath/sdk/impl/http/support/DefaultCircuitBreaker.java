@@ -0,0 +1,332 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.http.CircuitBreaker;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default {@link CircuitBreaker}: it stops requests from being sent to the Stormpath API server while it appears
+ * to be unavailable, so that callers fail (or fall back to cached data) within microseconds instead of waiting for
+ * retries and back-off delays that are unlikely to succeed.
+ * <ul>
+ * <li><b>Closed</b>: requests are sent and their outcomes are recorded in a sliding window of the most recent calls.
+ * When the window holds at least {@link #setMinimumCalls(int) minimumCalls} outcomes and either the failure rate
+ * reaches the {@link #setFailureRateThreshold(double) failureRateThreshold} or the rate of calls slower than the
+ * {@link #setSlowCallDuration(long, TimeUnit) slowCallDuration} reaches the
+ * {@link #setSlowCallRateThreshold(double) slowCallRateThreshold}, the circuit opens.</li>
+ * <li><b>Open</b>: requests are rejected without being sent.  After the {@link #setOpenDuration(long, TimeUnit)
+ * openDuration} has elapsed, the circuit becomes half-open.</li>
+ * <li><b>Half-open</b>: a limited number of {@link #setHalfOpenCalls(int) probe requests} are sent, while any other
+ * requests are still rejected.  If all probes succeed in time, the circuit closes; if any of them fails or is slow,
+ * the circuit opens again.</li>
+ * </ul>
+ * Every call to {@link #tryAcquire()} that returns {@code true} must be followed by exactly one call to
+ * {@link #onSuccess(long)} or {@link #onFailure(long)}.
+ *
+ * @since 1.2.0
+ */
+public class DefaultCircuitBreaker implements CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+    public static final long DEFAULT_SLOW_CALL_DURATION_MILLIS = 10 * 1000;
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 30 * 1000;
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    //outcomes of the most recent calls, used as a ring buffer:
+    private final byte[] window;
+    private int windowIndex = 0;
+    private int recordedCount = 0;
+    private int failureCount = 0;
+    private int slowCount = 0;
+
+    private volatile int minimumCalls = DEFAULT_MINIMUM_CALLS;
+    private volatile double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private volatile double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    private volatile long slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_CALL_DURATION_MILLIS);
+    private volatile long openDurationNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_OPEN_DURATION_MILLIS);
+    private volatile int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public DefaultCircuitBreaker() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize the number of most recent calls whose outcomes determine whether the circuit opens
+     */
+    public DefaultCircuitBreaker(int windowSize) {
+        Assert.isTrue(windowSize > 0, "windowSize must be greater than zero.");
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(DEFAULT_MINIMUM_CALLS, windowSize);
+    }
+
+    /**
+     * Returns {@code true} if a request may be sent, {@code false} if it must be rejected because the circuit is open
+     * or all half-open probes are already in flight.
+     *
+     * @return {@code true} if a request may be sent, {@code false} otherwise.
+     */
+    @Override
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (nanoTime() - openedAtNanos < openDurationNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Records a call that completed normally after the specified duration.
+     *
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    @Override
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    /**
+     * Records a call that failed after the specified duration because the server could not be reached or returned a
+     * server error.
+     *
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    @Override
+    public void onFailure(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    private synchronized void record(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallDurationNanos;
+
+        switch (state) {
+            case HALF_OPEN:
+                if (failed || slow) {
+                    open();
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+                break;
+            case CLOSED:
+                add((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+                if (recordedCount >= minimumCalls &&
+                    (failureCount >= failureRateThreshold * recordedCount ||
+                     slowCount >= slowCallRateThreshold * recordedCount)) {
+                    open();
+                }
+                break;
+            default:
+                //a call that was already in flight when the circuit opened: its outcome is irrelevant
+                break;
+        }
+    }
+
+    private void add(byte outcome) {
+        if (recordedCount == window.length) {
+            byte evicted = window[windowIndex];
+            if ((evicted & FAILED) != 0) {
+                failureCount--;
+            }
+            if ((evicted & SLOW) != 0) {
+                slowCount--;
+            }
+        } else {
+            recordedCount++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if ((outcome & FAILED) != 0) {
+            failureCount++;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCount++;
+        }
+    }
+
+    private void open() {
+        openedAtNanos = nanoTime();
+        transitionTo(State.OPEN);
+    }
+
+    private void close() {
+        windowIndex = 0;
+        recordedCount = 0;
+        failureCount = 0;
+        slowCount = 0;
+        transitionTo(State.CLOSED);
+    }
+
+    private void transitionTo(State newState) {
+        State previous = this.state;
+        this.state = newState;
+        if (newState == State.OPEN) {
+            log.warn("Circuit breaker opened (previous state: {}).  Requests to the Stormpath API will be rejected " +
+                     "for {} ms.", previous, TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+        } else {
+            log.info("Circuit breaker state changed from {} to {}.", previous, newState);
+        }
+    }
+
+    /**
+     * Returns the current time in nanoseconds.  Exists so tests can control the passing of time.
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getWindowSize() {
+        return window.length;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Sets the number of outcomes that must be recorded before failure and slow call rates are evaluated.
+     *
+     * @param minimumCalls the number of outcomes that must be recorded before the circuit may open, at most the
+     *                     window size.
+     */
+    public void setMinimumCalls(int minimumCalls) {
+        Assert.isTrue(minimumCalls > 0 && minimumCalls <= window.length,
+                      "minimumCalls must be greater than zero and cannot exceed the window size.");
+        this.minimumCalls = minimumCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Sets the fraction of failed calls in the window, between {@code 0} (exclusive) and {@code 1}, at which the
+     * circuit opens.
+     *
+     * @param failureRateThreshold the fraction of failed calls at which the circuit opens.
+     */
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1,
+                      "failureRateThreshold must be greater than 0 and at most 1.");
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Sets the fraction of slow calls in the window, between {@code 0} (exclusive) and {@code 1}, at which the
+     * circuit opens.
+     *
+     * @param slowCallRateThreshold the fraction of slow calls at which the circuit opens.
+     */
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+        Assert.isTrue(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1,
+                      "slowCallRateThreshold must be greater than 0 and at most 1.");
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowCallDurationNanos);
+    }
+
+    /**
+     * Sets the duration at or above which a call is considered slow, even if it succeeds.
+     *
+     * @param duration the duration at or above which a call is considered slow.
+     * @param unit     the unit of the duration
+     */
+    public void setSlowCallDuration(long duration, TimeUnit unit) {
+        Assert.isTrue(duration > 0, "slow call duration must be greater than zero.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.slowCallDurationNanos = unit.toNanos(duration);
+    }
+
+    public long getOpenDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(openDurationNanos);
+    }
+
+    /**
+     * Sets how long the circuit stays open before probe requests are allowed.
+     *
+     * @param duration how long the circuit stays open before probe requests are allowed.
+     * @param unit     the unit of the duration
+     */
+    public void setOpenDuration(long duration, TimeUnit unit) {
+        Assert.isTrue(duration > 0, "open duration must be greater than zero.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.openDurationNanos = unit.toNanos(duration);
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * Sets the number of probe requests that must succeed while half-open for the circuit to close.
+     *
+     * @param halfOpenCalls the number of probe requests that must succeed for the circuit to close.
+     */
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        Assert.isTrue(halfOpenCalls > 0, "halfOpenCalls must be greater than zero.");
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultCircuitBreaker[state=" + state + ", windowSize=" + window.length + "]";
+    }
+}
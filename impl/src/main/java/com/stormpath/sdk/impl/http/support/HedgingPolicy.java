@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when an idempotent request that has not completed yet should be <em>hedged</em>, that is, sent a second
+ * time so that whichever response arrives first can be used.  Hedging trims the latency tail caused by occasional
+ * slow responses at the cost of a few extra requests.
+ * <ul>
+ * <li>A request is hedged once it has been outstanding for longer than the configured percentile (95th by default) of
+ * recently observed latencies, so only the slowest requests are hedged.  Until enough latencies have been observed,
+ * the {@link #setInitialDelay(long, TimeUnit) initial delay} is used.</li>
+ * <li>Hedges are limited by a budget: every request earns {@code budgetRatio} (10% by default) of a hedge and every
+ * hedge spends a whole one, so hedging can never add more than that fraction of extra load - even when the server
+ * slows down for everyone.</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+public class HedgingPolicy {
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 500;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 10;
+
+    private static final int SAMPLE_SIZE = 256;
+    private static final int MIN_SAMPLES = 32;
+    //the delay is recomputed after this many new samples rather than on every request:
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    //the budget is kept in thousandths of a hedge, and at most MAX_BURST unspent hedges may be saved up:
+    private static final long TOKEN = 1000;
+    private static final long MAX_BURST = 10 * TOKEN;
+
+    private final double percentile;
+    private final long budgetDeposit;
+
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private int sampleIndex = 0;
+    private int sampleCount = 0;
+    private int samplesSinceRecompute = 0;
+
+    private volatile long initialDelayMillis = DEFAULT_INITIAL_DELAY_MILLIS;
+    private volatile long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+    private volatile long percentileDelayMillis = -1;
+
+    private final AtomicLong budget = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+
+    public HedgingPolicy() {
+        this(DEFAULT_PERCENTILE, DEFAULT_BUDGET_RATIO);
+    }
+
+    /**
+     * @param percentile  the latency percentile, between {@code 0} and {@code 1}, after which a request is hedged
+     * @param budgetRatio the maximum number of hedges per request, greater than {@code 0} and at most {@code 1}
+     */
+    public HedgingPolicy(double percentile, double budgetRatio) {
+        Assert.isTrue(percentile > 0 && percentile < 1, "percentile must be between 0 and 1.");
+        Assert.isTrue(budgetRatio > 0 && budgetRatio <= 1, "budgetRatio must be greater than 0 and at most 1.");
+        this.percentile = percentile;
+        this.budgetDeposit = Math.max(1, Math.round(budgetRatio * TOKEN));
+    }
+
+    /**
+     * Returns how long a request should be outstanding before it is hedged.
+     *
+     * @return how long a request should be outstanding before it is hedged, in milliseconds.
+     */
+    public long getDelayMillis() {
+        long delay = this.percentileDelayMillis;
+        if (delay < 0) {
+            delay = this.initialDelayMillis;
+        }
+        return Math.max(delay, this.minDelayMillis);
+    }
+
+    /**
+     * Records the latency of a completed request.
+     *
+     * @param nanos the latency of a completed request in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        long[] snapshot = null;
+        synchronized (samples) {
+            samples[sampleIndex] = nanos;
+            sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+            if (sampleCount < SAMPLE_SIZE) {
+                sampleCount++;
+            }
+            samplesSinceRecompute++;
+            if (sampleCount >= MIN_SAMPLES && samplesSinceRecompute >= RECOMPUTE_INTERVAL) {
+                samplesSinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, sampleCount);
+            }
+        }
+        if (snapshot != null) {
+            //sorted outside of the lock:
+            Arrays.sort(snapshot);
+            int index = (int) Math.min(snapshot.length - 1, Math.ceil(percentile * snapshot.length) - 1);
+            this.percentileDelayMillis = TimeUnit.NANOSECONDS.toMillis(snapshot[Math.max(index, 0)]);
+        }
+    }
+
+    /**
+     * Called for every request that is eligible for hedging, whether or not it ends up being hedged, to earn
+     * hedging budget.
+     */
+    public void onRequest() {
+        long current;
+        long next;
+        do {
+            current = budget.get();
+            if (current >= MAX_BURST) {
+                return;
+            }
+            next = Math.min(current + budgetDeposit, MAX_BURST);
+        } while (!budget.compareAndSet(current, next));
+    }
+
+    /**
+     * Returns {@code true} and spends budget if a request may be hedged now, {@code false} if the budget is exhausted.
+     *
+     * @return {@code true} if a request may be hedged now, {@code false} if the budget is exhausted.
+     */
+    public boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        hedgeCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the total number of hedged requests.
+     *
+     * @return the total number of hedged requests.
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * Sets the delay to use until enough latencies have been observed to compute the percentile.
+     *
+     * @param delay the delay to use until enough latencies have been observed
+     * @param unit  the unit of the delay
+     */
+    public void setInitialDelay(long delay, TimeUnit unit) {
+        Assert.isTrue(delay >= 0, "delay cannot be negative.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.initialDelayMillis = unit.toMillis(delay);
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * Sets the smallest delay after which a request may be hedged, regardless of observed latencies, so that very fast
+     * responses are never hedged needlessly.
+     *
+     * @param delay the smallest delay after which a request may be hedged
+     * @param unit  the unit of the delay
+     */
+    public void setMinDelay(long delay, TimeUnit unit) {
+        Assert.isTrue(delay >= 0, "delay cannot be negative.");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.minDelayMillis = unit.toMillis(delay);
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingPolicy[percentile=" + percentile + ", delay=" + getDelayMillis() + "ms, hedgeCount=" +
+               getHedgeCount() + "]";
+    }
+}
@@ -24,6 +24,8 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -44,8 +46,10 @@ import java.util.jar.JarFile;
  *     <li>All other system information included in parentheses
  * </ol>
  * <p/>
- * The User-Agent value is created when this class is loaded. The string can be obtained just by invoking
- * {@link com.stormpath.sdk.impl.http.support.UserAgent#getUserAgentString() UserAgent.getUserAgentString()}.
+ * The User-Agent value is created when this class is loaded, which happens the first time the string is obtained by
+ * invoking {@link com.stormpath.sdk.impl.http.support.UserAgent#getUserAgentString() UserAgent.getUserAgentString()}
+ * (as of 1.2.0, the first time a request is sent rather than when the data store class is initialized).  Each probed
+ * class is looked up only once.
  * <p/>
  * This is a sample User-Agent string:
  * <i>stormpath-spring-security/0.7.0 stormpath-sdk-java/1.0.0 spring/4.0.4.RELEASE java/1.7.0_45 Mac OS X/10.9.2 (spring-security/3.2.0.RELEASE jetty/8.1.5.v20120716)</i>
@@ -117,6 +121,10 @@ public class UserAgent {
     private static final String VERSION_SEPARATOR = "/";
     private static final String ENTRY_SEPARATOR = " ";
 
+    //Memoized class lookups, so each candidate class is loaded at most once (null values mean 'not available'). Only
+    //used while the User-Agent String is created during class initialization, so it need not be thread-safe:
+    private static final Map<String, Class<?>> PROBED_CLASSES = new HashMap<String, Class<?>>();
+
     //Placeholder for the actual User-Agent String
     private static final String USER_AGENT = createUserAgentString();
 
@@ -256,36 +264,61 @@ public class UserAgent {
         return "";
     }
 
-    private static String getFullEntryStringUsingPomProperties(String fqcn, String entryId) {
+    /**
+     * Returns the class with the specified name, or {@code null} if it is not available, loading it at most once.
+     *
+     * @since 1.2.0
+     */
+    private static Class<?> findClass(String fqcn) {
+        if (PROBED_CLASSES.containsKey(fqcn)) {
+            return PROBED_CLASSES.get(fqcn);
+        }
+        Class<?> clazz = null;
         if (Classes.isAvailable(fqcn)) {
+            try {
+                clazz = Classes.forName(fqcn);
+            } catch (Exception e) {
+                //not loadable after all
+            }
+        }
+        PROBED_CLASSES.put(fqcn, clazz);
+        return clazz;
+    }
+
+    private static boolean isAvailable(String fqcn) {
+        return findClass(fqcn) != null;
+    }
+
+    private static String getFullEntryStringUsingPomProperties(String fqcn, String entryId) {
+        if (isAvailable(fqcn)) {
             return entryId + VERSION_SEPARATOR + getVersionInfoFromPomProperties(fqcn) + ENTRY_SEPARATOR;
         }
         return null;
     }
 
     private static String getFullEntryStringUsingManifest(String fqcn, String entryId) {
-        if (Classes.isAvailable(fqcn)) {
+        if (isAvailable(fqcn)) {
             return entryId + VERSION_SEPARATOR + getVersionInfoInManifest(fqcn) + ENTRY_SEPARATOR;
         }
         return null;
     }
 
     private static String getFullEntryStringUsingSDKVersion(String fqcn, String entryId) {
-        if (Classes.isAvailable(fqcn)) {
+        if (isAvailable(fqcn)) {
             return entryId + VERSION_SEPARATOR + Version.getClientVersion() + ENTRY_SEPARATOR;
         }
         return null;
     }
 
     private static String getWebSphereEntryString() {
-        if (Classes.isAvailable(WEB_SERVER_WEBSPHERE_CLASS)) {
+        if (isAvailable(WEB_SERVER_WEBSPHERE_CLASS)) {
             return WEB_SERVER_WEBSPHERE_ID + VERSION_SEPARATOR + getWebSphereVersion() + ENTRY_SEPARATOR;
         }
         return null;
     }
 
     private static String getWebLogicEntryString() {
-        if (Classes.isAvailable(WEB_SERVER_WEBLOGIC_CLASS)) {
+        if (isAvailable(WEB_SERVER_WEBLOGIC_CLASS)) {
             return WEB_SERVER_WEBLOGIC_ID + VERSION_SEPARATOR + getWebLogicVersion() + ENTRY_SEPARATOR;
         }
         return null;
@@ -293,8 +326,8 @@ public class UserAgent {
 
     private static String getWildFlyEntryString() {
         try {
-            if (Classes.isAvailable(WEB_SERVER_WILDFLY_CLASS)) {
-                Package wildFlyPkg = Classes.forName(WEB_SERVER_WILDFLY_CLASS).getPackage();
+            if (isAvailable(WEB_SERVER_WILDFLY_CLASS)) {
+                Package wildFlyPkg = findClass(WEB_SERVER_WILDFLY_CLASS).getPackage();
                 if (wildFlyPkg != null) {
                     if (Strings.hasText(wildFlyPkg.getImplementationTitle()) && wildFlyPkg.getImplementationTitle().contains("WildFly")) {
                         return WEB_SERVER_WILDFLY_ID + VERSION_SEPARATOR + wildFlyPkg.getImplementationVersion() + ENTRY_SEPARATOR;
@@ -315,7 +348,7 @@ public class UserAgent {
     private static String getVersionInfoFromPomProperties(String fqcn) {
         String version = "unknown";
         try{
-            Class clazz = Classes.forName(fqcn);
+            Class clazz = findClass(fqcn);
             String className = clazz.getSimpleName() + ".class";
             String classPath = clazz.getResource(className).toString();
 
@@ -333,24 +366,32 @@ public class UserAgent {
                 return version;
             }
 
-            JarFile jarFile = new JarFile(jarPath);
-            Enumeration<JarEntry> enumeration = jarFile.entries();
             String pomPropertiesPath = null;
-            while (enumeration.hasMoreElements()) {
-                JarEntry entry = enumeration.nextElement();
-                if (entry.getName().endsWith("pom.properties")) {
-                    pomPropertiesPath = entry.getName();
-                    break;
+            JarFile jarFile = new JarFile(jarPath);
+            try {
+                Enumeration<JarEntry> enumeration = jarFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    JarEntry entry = enumeration.nextElement();
+                    if (entry.getName().endsWith("pom.properties")) {
+                        pomPropertiesPath = entry.getName();
+                        break;
+                    }
                 }
+            } finally {
+                jarFile.close();
             }
             if (pomPropertiesPath != null) {
                 BufferedReader reader = new BufferedReader(new InputStreamReader(clazz.getResourceAsStream("/" + pomPropertiesPath)));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.startsWith("version=")) {
-                        version = line.split("=")[1];
-                        break;
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith("version=")) {
+                            version = line.split("=")[1];
+                            break;
+                        }
                     }
+                } finally {
+                    reader.close();
                 }
             }
         } catch (Exception e) {
@@ -365,7 +406,7 @@ public class UserAgent {
      */
     private static String getVersionInfoInManifest(String fqcn){
         //get class package
-        Package thePackage = Classes.forName(fqcn).getPackage();
+        Package thePackage = findClass(fqcn).getPackage();
         //examine the package object
         String version = thePackage.getSpecificationVersion();
         if (!Strings.hasText(version)) {
@@ -384,7 +425,7 @@ public class UserAgent {
      */
     private static String getWebSphereVersion() {
         try {
-            Class<?> versionClass = Class.forName(WEB_SERVER_WEBSPHERE_CLASS);
+            Class<?> versionClass = findClass(WEB_SERVER_WEBSPHERE_CLASS);
             Object versionInfo = versionClass.newInstance();
             Method method = versionClass.getDeclaredMethod("runReport", String.class, PrintWriter.class);
             StringWriter stringWriter = new StringWriter();
@@ -441,7 +482,7 @@ public class UserAgent {
      */
     private static String getWebLogicVersion() {
         try {
-            Class<?> versionClass = Class.forName(WEB_SERVER_WEBLOGIC_CLASS);
+            Class<?> versionClass = findClass(WEB_SERVER_WEBLOGIC_CLASS);
             Object version = versionClass.newInstance();
             Method method = versionClass.getDeclaredMethod("getReleaseBuildVersion");
             return (String) method.invoke(version);
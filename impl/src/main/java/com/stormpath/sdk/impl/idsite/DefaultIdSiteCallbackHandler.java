@@ -91,7 +91,6 @@ public class DefaultIdSiteCallbackHandler implements IdSiteCallbackHandler {
         this.dataStore = dataStore;
         this.application = application;
         this.jwtResponse = getJwtResponse(httpRequest);
-        this.nonceStore = new DefaultNonceStore(dataStore.getCacheResolver());
     }
 
     @Override
@@ -101,6 +100,16 @@ public class DefaultIdSiteCallbackHandler implements IdSiteCallbackHandler {
         return this;
     }
 
+    /**
+     * Returns the nonce store explicitly set on this handler or, if none was set, the data store's shared nonce
+     * store.
+     *
+     * @since 1.2.0
+     */
+    private NonceStore getNonceStore() {
+        return this.nonceStore != null ? this.nonceStore : dataStore.getNonceStore();
+    }
+
     @Override
     public AccountResult getAccountResult() {
 
@@ -129,6 +138,8 @@ public class DefaultIdSiteCallbackHandler implements IdSiteCallbackHandler {
 
         String responseNonce = getRequiredValue(jsonPayload, RESPONSE_ID);
 
+        NonceStore nonceStore = getNonceStore();
+
         if (nonceStore.hasNonce(responseNonce)) {
             throw new InvalidJwtException(InvalidJwtException.ALREADY_USED_JWT_ERROR);
         }
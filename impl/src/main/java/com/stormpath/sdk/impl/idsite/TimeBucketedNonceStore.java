@@ -0,0 +1,329 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.idsite;
+
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.idsite.NonceStore;
+import com.stormpath.sdk.impl.cache.DefaultCacheManager;
+import com.stormpath.sdk.impl.cache.DisabledCacheManager;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A purpose-built, in-memory {@link NonceStore} that does not depend on any cache configuration.
+ * <p/>
+ * Nonces are partitioned into a fixed ring of time buckets.  A nonce is added to the bucket of the current time
+ * window, and a bucket is discarded as a whole once its window is older than the configured time-to-live.  Each
+ * bucket is an open-addressing hash table whose array is reused when the bucket is recycled (and only shrunk after a
+ * burst of traffic has passed), so {@link #hasNonce(String)} and {@link #putNonce(String)} do not allocate once the
+ * tables have grown to the application's steady-state volume.
+ * <p/>
+ * Memory is bounded: the store never holds more than {@code maxSize} live nonces.  What happens once that limit is
+ * reached is determined by the store's {@link OverflowPolicy}: by default ({@link OverflowPolicy#REJECT REJECT})
+ * {@code putNonce} fails with an {@link IllegalStateException}, since forgetting a nonce early would weaken replay
+ * protection.  Either way the condition is logged as an error, because it means the store is too small for the
+ * application's traffic (or is being flooded).
+ * <p/>
+ * This store only protects a single JVM.  Applications deployed to more than one JVM should use a distributed
+ * {@code NonceStore}, for example the {@code HazelcastNonceStore} of the Stormpath Hazelcast extension.
+ *
+ * @since 1.2.0
+ */
+public class TimeBucketedNonceStore implements NonceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeBucketedNonceStore.class);
+
+    /**
+     * Two minutes: comfortably longer than the one minute lifespan of ID Site and SAML reply messages.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    public static final int DEFAULT_BUCKET_COUNT = 8;
+
+    public static final int DEFAULT_MAX_SIZE = 100000;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * What a {@code TimeBucketedNonceStore} does with a new nonce once it already holds its maximum number of nonces.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * New nonces are rejected with an {@link IllegalStateException} until older nonces expire.  No nonce is ever
+         * forgotten before its time-to-live has elapsed, but every message that needs a new nonce - even a perfectly
+         * valid one - is refused while the store is full.
+         */
+        REJECT,
+
+        /**
+         * The nonces of the oldest time window are forgotten early to make room for new ones.  The store keeps
+         * accepting new nonces, but the forgotten ones could be replayed for the rest of their lifetime.  This suits
+         * nonces that are only a second line of defense, such as CSRF tokens that are also bound to a session or
+         * account.
+         */
+        FORGET_OLDEST
+    }
+
+    private final long bucketMillis;
+    private final int maxSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Bucket[] buckets;
+    private long lastOverflowWindow = Long.MIN_VALUE;
+
+    public TimeBucketedNonceStore() {
+        this(DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    public TimeBucketedNonceStore(long timeToLiveMillis) {
+        this(timeToLiveMillis, DEFAULT_BUCKET_COUNT, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new store that {@link OverflowPolicy#REJECT rejects} new nonces once it is full.
+     *
+     * @param timeToLiveMillis the minimum time in milliseconds a nonce is remembered
+     * @param bucketCount      the number of time buckets; more buckets forget expired nonces more promptly
+     * @param maxSize          the maximum number of nonces held at any one time
+     */
+    public TimeBucketedNonceStore(long timeToLiveMillis, int bucketCount, int maxSize) {
+        this(timeToLiveMillis, bucketCount, maxSize, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Creates a new store.
+     *
+     * @param timeToLiveMillis the minimum time in milliseconds a nonce is remembered
+     * @param bucketCount      the number of time buckets; more buckets forget expired nonces more promptly
+     * @param maxSize          the maximum number of nonces held at any one time
+     * @param overflowPolicy   what to do with new nonces once {@code maxSize} nonces are held
+     */
+    public TimeBucketedNonceStore(long timeToLiveMillis, int bucketCount, int maxSize, OverflowPolicy overflowPolicy) {
+        Assert.isTrue(timeToLiveMillis > 0, "timeToLiveMillis must be greater than zero.");
+        Assert.isTrue(bucketCount >= 2, "bucketCount must be at least 2.");
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than zero.");
+        Assert.notNull(overflowPolicy, "overflowPolicy cannot be null.");
+        //a nonce added at the very end of a bucket's window must survive for another timeToLive, so the remaining
+        //(bucketCount - 1) buckets must together span at least the timeToLive:
+        this.bucketMillis = (timeToLiveMillis + bucketCount - 2) / (bucketCount - 1);
+        this.maxSize = maxSize;
+        this.overflowPolicy = overflowPolicy;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Returns {@code true} if a {@code TimeBucketedNonceStore} should be used instead of a nonce store backed by the
+     * specified cache manager: when caching is disabled (a cache-based store would not remember anything) or when
+     * the cache manager is the SDK's own single-JVM implementation (this store offers the same scope without
+     * depending on resource cache TTL settings).  Returns {@code false} for any other, possibly distributed, cache
+     * manager.
+     *
+     * @param cacheManager the cache manager configured for the client
+     * @return {@code true} if a {@code TimeBucketedNonceStore} should be used instead of a cache-based nonce store.
+     */
+    public static boolean isPreferredOver(CacheManager cacheManager) {
+        return cacheManager == null || cacheManager instanceof DisabledCacheManager ||
+               cacheManager instanceof DefaultCacheManager;
+    }
+
+    /**
+     * Returns the current time in milliseconds.  Exists to allow tests to control time.
+     *
+     * @return the current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public synchronized boolean hasNonce(String nonce) {
+        Assert.hasText(nonce);
+        long current = currentTimeMillis() / bucketMillis;
+        int hash = nonce.hashCode();
+        for (Bucket bucket : buckets) {
+            if (isLive(bucket, current) && bucket.contains(nonce, hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void putNonce(String nonce) {
+        Assert.hasText(nonce);
+        long current = currentTimeMillis() / bucketMillis;
+        int hash = nonce.hashCode();
+
+        Bucket bucket = buckets[(int) (current % buckets.length)];
+        if (bucket.epoch != current) {
+            bucket.recycle(current); //drops every nonce of the expired window at once
+        }
+        if (bucket.contains(nonce, hash)) {
+            return;
+        }
+        if (size(current) >= maxSize && !makeRoom(current)) {
+            throw new IllegalStateException("Unable to store nonce: the nonce store already holds its maximum of " +
+                                            maxSize + " nonces.");
+        }
+        bucket.add(nonce, hash);
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Applies the overflow policy to a full store.  Returns {@code true} if there is room for a new nonce afterwards.
+     */
+    private boolean makeRoom(long current) {
+        boolean forget = overflowPolicy == OverflowPolicy.FORGET_OLDEST;
+
+        if (lastOverflowWindow != current) { //log loudly, but only once per time window
+            lastOverflowWindow = current;
+            log.error("The nonce store is full: it already holds its maximum of {} nonces, so {}.  Increase its " +
+                      "maxSize if this is expected traffic.", maxSize,
+                      forget ? "the nonces of the oldest time window are forgotten early and could be replayed" :
+                      "new nonces are rejected until older ones expire");
+        }
+
+        if (!forget) {
+            return false;
+        }
+        while (size(current) >= maxSize) {
+            Bucket oldest = null;
+            for (Bucket bucket : buckets) {
+                if (bucket.epoch != current && bucket.size > 0 && isLive(bucket, current) &&
+                    (oldest == null || bucket.epoch < oldest.epoch)) {
+                    oldest = bucket;
+                }
+            }
+            if (oldest == null) { //every live nonce was added in the current window - never forget those
+                return false;
+            }
+            oldest.recycle(Long.MIN_VALUE);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of nonces currently remembered.
+     *
+     * @return the number of nonces currently remembered.
+     */
+    public synchronized int size() {
+        return size(currentTimeMillis() / bucketMillis);
+    }
+
+    private int size(long current) {
+        int size = 0;
+        for (Bucket bucket : buckets) {
+            if (isLive(bucket, current)) {
+                size += bucket.size;
+            }
+        }
+        return size;
+    }
+
+    // Used for testing, package private
+    synchronized int getCurrentBucketCapacity() {
+        return buckets[(int) ((currentTimeMillis() / bucketMillis) % buckets.length)].keys.length;
+    }
+
+    private boolean isLive(Bucket bucket, long current) {
+        return bucket.epoch <= current && bucket.epoch > current - buckets.length;
+    }
+
+    /**
+     * An open-addressing hash set of nonces.
+     */
+    private static final class Bucket {
+
+        private long epoch = Long.MIN_VALUE;
+        private int size = 0;
+        private String[] keys = new String[MIN_CAPACITY];
+
+        void recycle(long epoch) {
+            this.epoch = epoch;
+            //keep a table that fits the previous window's volume, but release the nonces themselves - and, once a
+            //burst has passed, the oversized table - so they can be garbage collected:
+            int capacity = capacityFor(size);
+            if (capacity < keys.length) {
+                keys = new String[capacity];
+            } else {
+                Arrays.fill(keys, null);
+            }
+            this.size = 0;
+        }
+
+        boolean contains(String nonce, int hash) {
+            if (size == 0) {
+                return false;
+            }
+            int mask = keys.length - 1;
+            for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (nonce.equals(keys[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(String nonce, int hash) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            insert(keys, nonce, hash);
+            size++;
+        }
+
+        private static void insert(String[] keys, String nonce, int hash) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = nonce;
+        }
+
+        private void grow() {
+            String[] newKeys = new String[keys.length * 2];
+            for (String key : keys) {
+                if (key != null) {
+                    insert(newKeys, key, key.hashCode());
+                }
+            }
+            keys = newKeys;
+        }
+
+        /**
+         * Returns the smallest table size that holds the specified number of nonces at most half full.
+         */
+        private static int capacityFor(int size) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+    }
+}
@@ -21,11 +21,16 @@ import com.stormpath.sdk.impl.jwt.signer.DefaultJwtSigner;
 import com.stormpath.sdk.impl.jwt.signer.JwtSigner;
 import com.stormpath.sdk.lang.Assert;
 
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+
 /**
  * @since 1.0.RC
  */
 public class JwtSignatureValidator {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private final JwtSigner jwtSigner;
 
     public JwtSignatureValidator(ApiKey apiKey) {
@@ -44,7 +49,9 @@ public class JwtSignatureValidator {
 
         String calculatedSignature = jwtSigner.calculateSignature(jwtWrapper.getBase64JwtHeader(), jwtWrapper.getBase64JsonPayload());
 
-        if (jwtWrapper.getBase64JwtSignature().equals(calculatedSignature)) {
+        //constant-time comparison so the time taken does not reveal how much of a forged signature is correct (@since 1.2.0):
+        if (calculatedSignature != null &&
+            MessageDigest.isEqual(jwtWrapper.getBase64JwtSignature().getBytes(UTF_8), calculatedSignature.getBytes(UTF_8))) {
             return;
         }
         throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_SIGNATURE_ERROR);
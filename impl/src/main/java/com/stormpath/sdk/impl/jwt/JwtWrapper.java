@@ -17,24 +17,25 @@ package com.stormpath.sdk.impl.jwt;
 
 import com.stormpath.sdk.error.jwt.InvalidJwtException;
 import com.stormpath.sdk.impl.ds.JacksonMapMarshaller;
-import com.stormpath.sdk.impl.ds.MapMarshaller;
 import com.stormpath.sdk.impl.util.Base64;
 import com.stormpath.sdk.lang.Strings;
 
-import java.nio.charset.Charset;
 import java.util.Map;
-import java.util.StringTokenizer;
 
 /**
  * JwtWrapper encapsulates the value of a jwt token.
+ * <p/>
+ * The header and payload are only decoded and parsed when they are first requested, and then only once.  All
+ * instances share a single (thread-safe) JSON parser.
  *
  * @since 1.0.RC
  */
 public class JwtWrapper {
 
-    private final static Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char SEPARATOR = '.';
 
-    private static final String SEPARATOR = ".";
+    //ObjectMapper instances are thread-safe once configured and expensive to create (@since 1.2.0):
+    private static final JacksonMapMarshaller MAP_MARSHALLER = new JacksonMapMarshaller();
 
     private final String base64JwtHeader;
 
@@ -42,24 +43,26 @@ public class JwtWrapper {
 
     private final String base64JwtSignature;
 
-    private final MapMarshaller mapMarshaller;
+    private Map jsonHeader;
+
+    private Map jsonPayload;
 
     public JwtWrapper(String jwt) {
         if (!Strings.hasText(jwt)) {
             throw new InvalidJwtException(InvalidJwtException.JWT_REQUIRED_ERROR);
         }
 
-        StringTokenizer tokenizer = new StringTokenizer(jwt, SEPARATOR);
+        int headerEnd = jwt.indexOf(SEPARATOR);
+        int payloadEnd = headerEnd > 0 ? jwt.indexOf(SEPARATOR, headerEnd + 1) : -1;
 
-        if (tokenizer.countTokens() != 3) {
+        //exactly three non-empty segments:
+        if (payloadEnd <= headerEnd + 1 || payloadEnd == jwt.length() - 1 || jwt.indexOf(SEPARATOR, payloadEnd + 1) >= 0) {
             throw new InvalidJwtException(InvalidJwtException.JWT_INVALID_VALUE_ERROR);
         }
 
-        this.base64JwtHeader = tokenizer.nextToken();
-        this.base64JsonPayload = tokenizer.nextToken();
-        this.base64JwtSignature = tokenizer.nextToken();
-
-        this.mapMarshaller = new JacksonMapMarshaller();
+        this.base64JwtHeader = jwt.substring(0, headerEnd);
+        this.base64JsonPayload = jwt.substring(headerEnd + 1, payloadEnd);
+        this.base64JwtSignature = jwt.substring(payloadEnd + 1);
     }
 
     public String getBase64JwtHeader() {
@@ -75,25 +78,32 @@ public class JwtWrapper {
     }
 
     public Map getJsonHeaderAsMap() {
-
-        byte[] jsonBytes = Base64.decodeBase64(base64JwtHeader);
-
-        if (jsonBytes == null) {
-            throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_HEADER_ENCODING_ERROR);
+        if (jsonHeader == null) {
+            jsonHeader = parse(base64JwtHeader, InvalidJwtException.INVALID_JWT_HEADER_ENCODING_ERROR);
         }
-
-        return mapMarshaller.unmarshal(new String(jsonBytes, UTF_8));
+        return jsonHeader;
     }
 
     public Map getJsonPayloadAsMap() {
+        if (jsonPayload == null) {
+            jsonPayload = parse(base64JsonPayload, InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR);
+        }
+        return jsonPayload;
+    }
 
-        byte[] jsonBytes = Base64.decodeBase64(base64JsonPayload);
+    /**
+     * Decodes the specified base64url segment straight into bytes for the JSON parser, without intermediate Strings.
+     *
+     * @since 1.2.0
+     */
+    private static Map parse(String base64Segment, String encodingError) {
+
+        byte[] jsonBytes = Base64.decodeBase64Url(base64Segment);
 
         if (jsonBytes == null) {
-            throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR);
+            throw new InvalidJwtException(encodingError);
         }
 
-        return mapMarshaller.unmarshal(new String(jsonBytes, UTF_8));
+        return MAP_MARSHALLER.unmarshal(jsonBytes);
     }
-
 }
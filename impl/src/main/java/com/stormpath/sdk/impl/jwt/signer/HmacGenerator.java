@@ -22,12 +22,29 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.Charset;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
+ * Computes HMACs for a single algorithm.
+ * <p/>
+ * As of 1.2.0, {@link Mac} instances are not created per call: each thread keeps one initialized {@code Mac} per
+ * algorithm and only re-initializes it when it is asked to compute an HMAC with a different key.  Since this state is
+ * shared by all generators of the same algorithm on a thread, short-lived generators (e.g. one per request) benefit
+ * too.
+ *
  * @since 1.0.RC
  */
 public class HmacGenerator {
 
+    private static final ThreadLocal<Map<String, KeyedMac>> MACS = new ThreadLocal<Map<String, KeyedMac>>() {
+        @Override
+        protected Map<String, KeyedMac> initialValue() {
+            return new HashMap<>(2);
+        }
+    };
+
     private final Charset ENCODING_CHARSET;
 
     private final String ALGORITHM;
@@ -43,14 +60,55 @@ public class HmacGenerator {
         Assert.hasText(msg, "msg to digest cannot be null or empty");
         Assert.notNull(secretKey, "secretKey cannot be null.");
         try {
-            SecretKeySpec key = new SecretKeySpec(secretKey, ALGORITHM);
-            Mac mac = Mac.getInstance(ALGORITHM);
-            mac.init(key);
-            return mac.doFinal(msg.getBytes(ENCODING_CHARSET));
+            //doFinal resets the Mac, so it is ready for the next message with the same key:
+            return getMac(secretKey).doFinal(msg.getBytes(ENCODING_CHARSET));
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("The algorithm provided is not valid: " + ALGORITHM, e);
         } catch (InvalidKeyException e) {
             throw new IllegalStateException("The calculated SecretKey is not valid for algorithm: " + ALGORITHM, e);
         }
     }
+
+    /**
+     * Returns this thread's {@code Mac} for this generator's algorithm, initialized with the specified key.
+     *
+     * @since 1.2.0
+     */
+    private Mac getMac(byte[] secretKey) throws NoSuchAlgorithmException, InvalidKeyException {
+
+        Map<String, KeyedMac> macs = MACS.get();
+
+        KeyedMac keyedMac = macs.get(ALGORITHM);
+
+        if (keyedMac == null) {
+            keyedMac = new KeyedMac(Mac.getInstance(ALGORITHM));
+            macs.put(ALGORITHM, keyedMac);
+        }
+
+        if (!Arrays.equals(keyedMac.key, secretKey)) {
+            //don't keep a Mac with a half-applied key around if init fails:
+            keyedMac.key = null;
+            keyedMac.mac.init(new SecretKeySpec(secretKey, ALGORITHM));
+            //copy, so a caller modifying its array afterwards can't make us skip a re-init:
+            keyedMac.key = secretKey.clone();
+        }
+
+        return keyedMac.mac;
+    }
+
+    /**
+     * A {@code Mac} along with the key it was last initialized with.
+     *
+     * @since 1.2.0
+     */
+    private static class KeyedMac {
+
+        private final Mac mac;
+
+        private byte[] key;
+
+        private KeyedMac(Mac mac) {
+            this.mac = mac;
+        }
+    }
 }
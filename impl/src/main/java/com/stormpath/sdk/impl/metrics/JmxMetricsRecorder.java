@@ -0,0 +1,340 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricsRecorder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MetricsRecorder} that aggregates the SDK's measurements in memory and exposes them as a JMX MXBean, so
+ * they can be inspected with standard tools such as JConsole or VisualVM, or scraped by any JMX-capable monitoring
+ * agent, without additional dependencies:
+ * <pre>
+ * JmxMetricsRecorder metrics = new JmxMetricsRecorder();
+ * metrics.register(); //com.stormpath.sdk:type=Metrics,name=default
+ *
+ * Client client = Clients.builder().setMetricsRecorder(metrics).build();
+ * </pre>
+ *
+ * @since 1.2.0
+ */
+public class JmxMetricsRecorder implements MetricsRecorder, StormpathSdkMetricsMXBean {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private static final String OBJECT_NAME_PREFIX = "com.stormpath.sdk:type=Metrics,name=";
+
+    private final String name;
+
+    private final LatencyHistogram dataStoreLatency = new LatencyHistogram();
+    private final AtomicLong dataStoreFailures = new AtomicLong();
+
+    private final ConcurrentMap<String, AtomicLong> cacheHits = new ConcurrentHashMap<String, AtomicLong>();
+    private final ConcurrentMap<String, AtomicLong> cacheMisses = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final LatencyHistogram httpLatency = new LatencyHistogram();
+    private final AtomicLong httpFailures = new AtomicLong();
+    private final AtomicLong httpRetries = new AtomicLong();
+    private final AtomicLong httpThrottled = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    private final LatencyHistogram serializationLatency = new LatencyHistogram();
+    private final LatencyHistogram deserializationLatency = new LatencyHistogram();
+
+    public JmxMetricsRecorder() {
+        this(DEFAULT_NAME);
+    }
+
+    /**
+     * Creates a new recorder that is registered under the specified name, so that several clients in the same JVM can
+     * be monitored separately.
+     *
+     * @param name the value of the {@code name} key of the JMX object name.
+     */
+    public JmxMetricsRecorder(String name) {
+        Assert.hasText(name, "name cannot be null or empty.");
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ObjectName getObjectName() {
+        try {
+            return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid metrics name '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Registers this recorder with the platform MBean server.
+     *
+     * @return this recorder for method chaining
+     * @throws IllegalStateException if a recorder with the same name is already registered
+     */
+    public JmxMetricsRecorder register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, getObjectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register Stormpath SDK metrics MBean: " + e.getMessage(), e);
+        }
+        return this;
+    }
+
+    /**
+     * Removes this recorder from the platform MBean server if it was registered.
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = getObjectName();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister Stormpath SDK metrics MBean: " + e.getMessage(), e);
+        }
+    }
+
+    /* =====================================================================
+       MetricsRecorder
+       ===================================================================== */
+
+    @Override
+    public void recordDataStoreOperation(String action, Class<?> resourceType, long durationNanos, boolean success) {
+        dataStoreLatency.record(durationNanos);
+        if (!success) {
+            dataStoreFailures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void recordCacheAccess(String region, boolean hit) {
+        increment(hit ? cacheHits : cacheMisses, region);
+    }
+
+    @Override
+    public void recordHttpRequest(HttpMethod method, int statusCode, long durationNanos, int retryCount,
+                                  int throttledCount, long bytesSent, long bytesReceived) {
+        httpLatency.record(durationNanos);
+        if (statusCode < 200 || statusCode >= 400) {
+            httpFailures.incrementAndGet();
+        }
+        if (retryCount > 0) {
+            httpRetries.addAndGet(retryCount);
+        }
+        if (throttledCount > 0) {
+            httpThrottled.addAndGet(throttledCount);
+        }
+        if (bytesSent > 0) {
+            this.bytesSent.addAndGet(bytesSent);
+        }
+        if (bytesReceived > 0) {
+            this.bytesReceived.addAndGet(bytesReceived);
+        }
+    }
+
+    @Override
+    public void recordSerialization(long durationNanos, long bytes) {
+        serializationLatency.record(durationNanos);
+    }
+
+    @Override
+    public void recordDeserialization(long durationNanos) {
+        deserializationLatency.record(durationNanos);
+    }
+
+    private static void increment(ConcurrentMap<String, AtomicLong> counters, String key) {
+        AtomicLong counter = counters.get(key);
+        if (counter == null) {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(key, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    private static long sum(Map<String, AtomicLong> counters) {
+        long sum = 0;
+        for (AtomicLong counter : counters.values()) {
+            sum += counter.get();
+        }
+        return sum;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> snapshot = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /* =====================================================================
+       StormpathSdkMetricsMXBean
+       ===================================================================== */
+
+    @Override
+    public long getDataStoreOperationCount() {
+        return dataStoreLatency.getCount();
+    }
+
+    @Override
+    public long getDataStoreOperationFailureCount() {
+        return dataStoreFailures.get();
+    }
+
+    @Override
+    public double getDataStoreOperationMeanMillis() {
+        return toMillis(dataStoreLatency.getMeanNanos());
+    }
+
+    @Override
+    public double getDataStoreOperation99thPercentileMillis() {
+        return toMillis(dataStoreLatency.getPercentileNanos(0.99));
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return sum(cacheHits);
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return sum(cacheMisses);
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = getCacheHitCount();
+        long total = hits + getCacheMissCount();
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    @Override
+    public Map<String, Long> getCacheHitCountByRegion() {
+        return snapshot(cacheHits);
+    }
+
+    @Override
+    public Map<String, Long> getCacheMissCountByRegion() {
+        return snapshot(cacheMisses);
+    }
+
+    @Override
+    public long getHttpRequestCount() {
+        return httpLatency.getCount();
+    }
+
+    @Override
+    public long getHttpRequestFailureCount() {
+        return httpFailures.get();
+    }
+
+    @Override
+    public long getHttpRetryCount() {
+        return httpRetries.get();
+    }
+
+    @Override
+    public long getHttpThrottledCount() {
+        return httpThrottled.get();
+    }
+
+    @Override
+    public double getHttpRequestMeanMillis() {
+        return toMillis(httpLatency.getMeanNanos());
+    }
+
+    @Override
+    public double getHttpRequest50thPercentileMillis() {
+        return toMillis(httpLatency.getPercentileNanos(0.5));
+    }
+
+    @Override
+    public double getHttpRequest99thPercentileMillis() {
+        return toMillis(httpLatency.getPercentileNanos(0.99));
+    }
+
+    @Override
+    public double getHttpRequestMaxMillis() {
+        return toMillis(httpLatency.getMaxNanos());
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Override
+    public double getSerializationMeanMillis() {
+        return toMillis(serializationLatency.getMeanNanos());
+    }
+
+    @Override
+    public double getDeserializationMeanMillis() {
+        return toMillis(deserializationLatency.getMeanNanos());
+    }
+
+    @Override
+    public void reset() {
+        dataStoreLatency.reset();
+        dataStoreFailures.set(0);
+        cacheHits.clear();
+        cacheMisses.clear();
+        httpLatency.reset();
+        httpFailures.set(0);
+        httpRetries.set(0);
+        httpThrottled.set(0);
+        bytesSent.set(0);
+        bytesReceived.set(0);
+        serializationLatency.reset();
+        deserializationLatency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "JmxMetricsRecorder[name=" + name + ", dataStore={" + dataStoreLatency + "}, http={" + httpLatency +
+               "}, cacheHitRatio=" + getCacheHitRatio() + "]";
+    }
+}
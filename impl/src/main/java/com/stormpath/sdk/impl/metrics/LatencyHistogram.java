@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, fixed-size latency histogram.  Durations are counted in buckets whose upper bounds are successive
+ * powers of two (1, 2, 4 ... microseconds, up to about 36 minutes), so recording a value is a couple of atomic
+ * increments and percentiles are accurate to within a factor of two, which is sufficient to spot latency regressions
+ * without any allocation on the request path.
+ *
+ * @since 1.2.0
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        //bucket i holds durations of up to 2^i microseconds:
+        int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the average duration in nanoseconds, or {@code 0} if nothing has been recorded.
+     *
+     * @return the average duration in nanoseconds, or {@code 0} if nothing has been recorded.
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / n;
+    }
+
+    /**
+     * Returns an upper bound of the duration, in nanoseconds, below which the specified fraction of recorded durations
+     * fall, or {@code 0} if nothing has been recorded.  The result is never greater than the largest recorded
+     * duration.
+     *
+     * @param quantile the quantile, between {@code 0} and {@code 1}, for example {@code 0.99} for the 99th percentile.
+     * @return an upper bound of the duration below which the specified fraction of recorded durations fall.
+     */
+    public long getPercentileNanos(double quantile) {
+        Assert.isTrue(quantile >= 0 && quantile <= 1, "quantile must be between 0 and 1.");
+
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long max = maxNanos.get();
+        long seen = 0;
+        //the last bucket is unbounded, so it is represented by the largest recorded value:
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + getMeanNanos() + "ns, p50=" + getPercentileNanos(0.5) +
+               "ns, p99=" + getPercentileNanos(0.99) + "ns, max=" + getMaxNanos() + "ns";
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.metrics.MetricsRecorder;
+
+/**
+ * Implemented by SDK components that can report performance measurements to a {@link MetricsRecorder}.  Components
+ * that are never given a recorder take no measurements.
+ *
+ * @since 1.2.0
+ */
+public interface MetricsAware {
+
+    /**
+     * Sets the recorder that receives this component's measurements, or {@code null} to disable measurements.
+     *
+     * @param metricsRecorder the recorder that receives this component's measurements, or {@code null} to disable
+     *                        measurements.
+     */
+    void setMetricsRecorder(MetricsRecorder metricsRecorder);
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of a {@link JmxMetricsRecorder}.  Durations are reported in milliseconds.
+ *
+ * @since 1.2.0
+ */
+public interface StormpathSdkMetricsMXBean {
+
+    long getDataStoreOperationCount();
+
+    long getDataStoreOperationFailureCount();
+
+    double getDataStoreOperationMeanMillis();
+
+    double getDataStoreOperation99thPercentileMillis();
+
+    long getCacheHitCount();
+
+    long getCacheMissCount();
+
+    double getCacheHitRatio();
+
+    Map<String, Long> getCacheHitCountByRegion();
+
+    Map<String, Long> getCacheMissCountByRegion();
+
+    long getHttpRequestCount();
+
+    long getHttpRequestFailureCount();
+
+    long getHttpRetryCount();
+
+    long getHttpThrottledCount();
+
+    double getHttpRequestMeanMillis();
+
+    double getHttpRequest50thPercentileMillis();
+
+    double getHttpRequest99thPercentileMillis();
+
+    double getHttpRequestMaxMillis();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    double getSerializationMeanMillis();
+
+    double getDeserializationMeanMillis();
+
+    void reset();
+}
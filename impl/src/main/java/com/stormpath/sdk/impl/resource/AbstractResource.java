@@ -15,9 +15,9 @@
  */
 package com.stormpath.sdk.impl.resource;
 
-import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
 import com.stormpath.sdk.impl.ds.Enlistment;
 import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.util.Iso8601Dates;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.resource.CollectionResource;
@@ -25,7 +25,6 @@ import com.stormpath.sdk.resource.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
@@ -39,8 +38,6 @@ public abstract class AbstractResource implements Resource {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractResource.class);
 
-    private static final DateFormat dateFormatter = new ISO8601DateFormat();
-
     public static final String HREF_PROP_NAME = "href";
 
     protected Map<String, Object> properties;       //Protected by read/write lock
@@ -51,6 +48,9 @@ public abstract class AbstractResource implements Resource {
     protected final Lock writeLock;
 
     private volatile boolean materialized;
+
+    //parsed date property values, replaced (never modified) as a whole so reads need no locking (@since 1.2.0):
+    private volatile Map<String, ParsedDate> parsedDates;
     protected volatile boolean dirty;
 
     protected final ReferenceFactory referenceFactory;
@@ -113,6 +113,7 @@ public abstract class AbstractResource implements Resource {
     public final void setProperties(Map<String, Object> properties) {
         writeLock.lock();
         try {
+            this.parsedDates = null;
             this.dirtyProperties.clear();
             this.dirty = false;
             if(properties != null && !properties.isEmpty()) {
@@ -189,6 +190,8 @@ public abstract class AbstractResource implements Resource {
             //retain dirty properties:
             this.properties.putAll(this.dirtyProperties);
 
+            this.parsedDates = null;
+
             this.materialized = true;
         } finally {
             writeLock.unlock();
@@ -304,6 +307,7 @@ public abstract class AbstractResource implements Resource {
         writeLock.lock();
         Object previous;
         try {
+            forgetParsedDate(name);
             previous = this.dirtyProperties.put(name, value);
             if(previous == null) {
                 previous = this.properties.get(name);
@@ -349,22 +353,78 @@ public abstract class AbstractResource implements Resource {
     }
 
     protected Date getDateProperty(DateProperty key) {
-        Object value = getProperty(key.getName());
+        String name = key.getName();
+        Object value = getProperty(name);
         if (value == null) {
             return null;
         }
 
+        if (value instanceof Date) { //set locally, but not yet persisted
+            return new Date(((Date) value).getTime());
+        }
+
+        String s = String.valueOf(value);
+
+        //the raw value is checked too, in case the properties were changed without going through setProperty:
+        Map<String, ParsedDate> dates = this.parsedDates;
+        ParsedDate parsed = dates != null ? dates.get(name) : null;
+        if (parsed != null && parsed.value.equals(s)) {
+            //Date is mutable, so every caller gets its own instance:
+            return new Date(parsed.time);
+        }
+
         try {
-            return dateFormatter.parse(String.valueOf(value));
+            long time = Iso8601Dates.parseMillis(s);
+            rememberParsedDate(name, new ParsedDate(s, time));
+            return new Date(time);
         } catch (ParseException e) {
             if (log.isErrorEnabled()) {
                 String msg = "Unabled to parse string '{}' into an date value.  Defaulting to null.";
-                log.error(msg, e);
+                log.error(msg, s, e);
             }
         }
         return null;
     }
 
+    /**
+     * @since 1.2.0
+     */
+    private void rememberParsedDate(String name, ParsedDate parsed) {
+        //copy-on-write: concurrent updates may lose an entry, which only costs another parse later
+        Map<String, ParsedDate> dates = this.parsedDates;
+        Map<String, ParsedDate> updated = dates != null ? new HashMap<>(dates) : new HashMap<String, ParsedDate>(4);
+        updated.put(name, parsed);
+        this.parsedDates = updated;
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    private void forgetParsedDate(String name) {
+        Map<String, ParsedDate> dates = this.parsedDates;
+        if (dates != null && dates.containsKey(name)) {
+            Map<String, ParsedDate> updated = new HashMap<>(dates);
+            updated.remove(name);
+            this.parsedDates = updated;
+        }
+    }
+
+    /**
+     * A date property value along with the raw value it was parsed from.
+     *
+     * @since 1.2.0
+     */
+    private static final class ParsedDate {
+
+        private final String value;
+        private final long time;
+
+        private ParsedDate(String value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+
     /**
      * @since 0.8
      */
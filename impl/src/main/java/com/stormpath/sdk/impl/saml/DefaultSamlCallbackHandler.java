@@ -30,7 +30,6 @@ import com.stormpath.sdk.impl.authc.HttpServletRequestWrapper;
 import com.stormpath.sdk.impl.ds.InternalDataStore;
 import com.stormpath.sdk.impl.error.DefaultError;
 import com.stormpath.sdk.impl.http.HttpHeaders;
-import com.stormpath.sdk.impl.idsite.DefaultNonceStore;
 import com.stormpath.sdk.impl.jwt.JwtSignatureValidator;
 import com.stormpath.sdk.impl.jwt.JwtWrapper;
 import com.stormpath.sdk.lang.Assert;
@@ -88,7 +87,6 @@ public class DefaultSamlCallbackHandler implements SamlCallbackHandler {
         this.dataStore = dataStore;
         this.application = application;
         this.jwtResponse = getJwtResponse(httpRequest);
-        this.nonceStore = new DefaultNonceStore(dataStore.getCacheResolver());
     }
 
     @Override
@@ -98,6 +96,16 @@ public class DefaultSamlCallbackHandler implements SamlCallbackHandler {
         return this;
     }
 
+    /**
+     * Returns the nonce store explicitly set on this handler or, if none was set, the data store's shared nonce
+     * store.
+     *
+     * @since 1.2.0
+     */
+    private NonceStore getNonceStore() {
+        return this.nonceStore != null ? this.nonceStore : dataStore.getNonceStore();
+    }
+
     @Override
     public AccountResult getAccountResult() {
 
@@ -124,6 +132,8 @@ public class DefaultSamlCallbackHandler implements SamlCallbackHandler {
 
         String responseNonce = getRequiredValue(jsonPayload, RESPONSE_ID);
 
+        NonceStore nonceStore = getNonceStore();
+
         if (nonceStore.hasNonce(responseNonce)) {
             throw new InvalidJwtException(InvalidJwtException.ALREADY_USED_JWT_ERROR);
         }
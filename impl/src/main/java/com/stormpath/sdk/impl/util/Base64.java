@@ -659,6 +659,48 @@ public class Base64 extends BaseNCodec {
         return new Base64().decode(base64Data);
     }
 
+    /**
+     * Decodes an unchunked Base64 or Base64url character sequence - such as a JWT segment - into octets.  Unlike
+     * {@link #decodeBase64(String)}, the characters are decoded directly, without first being copied into a byte
+     * array, padding is optional and any character outside of the Base64 alphabets makes the input invalid.
+     *
+     * @param base64 the Base64 or Base64url characters to decode
+     * @return the decoded octets, or {@code null} if the input is {@code null} or not valid Base64.
+     * @since 1.2.0
+     */
+    public static byte[] decodeBase64Url(final CharSequence base64) {
+        if (base64 == null) {
+            return null;
+        }
+
+        int length = base64.length();
+        while (length > 0 && base64.charAt(length - 1) == PAD_DEFAULT) {
+            length--;
+        }
+        if (length % 4 == 1) {
+            return null;
+        }
+
+        byte[] out = new byte[length * 3 / 4];
+        int bits = 0;
+        int bitCount = 0;
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            char c = base64.charAt(i);
+            int value = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (value < 0) {
+                return null;
+            }
+            bits = ((bits << 6) | value) & 0xFFFF;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[pos++] = (byte) (bits >> bitCount);
+            }
+        }
+        return out;
+    }
+
     // Implementation of the Encoder Interface
 
     // Implementation of integer encoding used for crypto
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link ByteArrayInputStream} over an already-serialized request body that also exposes the underlying bytes, so
+ * that request signers and HTTP transports can use the exact same bytes directly instead of reading the stream (and
+ * resetting it) or converting between Strings and bytes.
+ *
+ * @since 1.2.0
+ */
+public class BytesInputStream extends ByteArrayInputStream {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final byte[] bytes;
+
+    public BytesInputStream(byte[] bytes) {
+        super(assertNotNull(bytes));
+        this.bytes = bytes;
+    }
+
+    private static byte[] assertNotNull(byte[] bytes) {
+        Assert.notNull(bytes, "bytes argument cannot be null.");
+        return bytes;
+    }
+
+    /**
+     * Returns the complete body, regardless of how much of this stream has been read.  The returned array is not a
+     * copy and must not be modified.
+     *
+     * @return the complete body, regardless of how much of this stream has been read.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns the complete body decoded as UTF-8.
+     *
+     * @return the complete body decoded as UTF-8.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, UTF_8);
+    }
+}
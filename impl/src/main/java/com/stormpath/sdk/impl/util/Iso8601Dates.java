@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.fasterxml.jackson.databind.util.ISO8601Utils;
+import com.stormpath.sdk.lang.Assert;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Date;
+
+/**
+ * Thread-safe ISO 8601 date parsing.
+ * <p/>
+ * Timestamps in the form the Stormpath REST API uses, e.g. {@code 2016-08-12T17:45:33.123Z} (with any number of
+ * fractional second digits and a {@code Z}, {@code +hh:mm} or {@code +hhmm} zone designator), are
+ * converted straight to epoch milliseconds without creating any intermediate objects.  Any other form - e.g. dates
+ * without a time, which are interpreted in the JVM's default time zone - is delegated to Jackson's
+ * {@link ISO8601Utils}, so the results are always the same as Jackson's {@code ISO8601DateFormat}.
+ *
+ * @since 1.2.0
+ */
+public final class Iso8601Dates {
+
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
+    //the proleptic Gregorian calendar used below only matches java.util.GregorianCalendar after its cutover:
+    private static final int MIN_FAST_YEAR = 1583;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    private Iso8601Dates() {
+    }
+
+    /**
+     * Parses the specified ISO 8601 date into a {@code Date}.
+     *
+     * @param date the ISO 8601 date to parse
+     * @return the parsed date
+     * @throws ParseException if the specified string is not a valid ISO 8601 date.
+     */
+    public static Date parse(String date) throws ParseException {
+        return new Date(parseMillis(date));
+    }
+
+    /**
+     * Parses the specified ISO 8601 date into milliseconds since the epoch.
+     *
+     * @param date the ISO 8601 date to parse
+     * @return the number of milliseconds since January 1, 1970, 00:00:00 GMT represented by the specified date.
+     * @throws ParseException if the specified string is not a valid ISO 8601 date.
+     */
+    public static long parseMillis(String date) throws ParseException {
+        Assert.notNull(date, "date argument cannot be null.");
+
+        long millis = parseDateTime(date);
+        if (millis != NOT_PARSED) {
+            return millis;
+        }
+
+        return ISO8601Utils.parse(date, new ParsePosition(0)).getTime();
+    }
+
+    /**
+     * Returns the epoch milliseconds of a {@code yyyy-MM-ddTHH:mm:ss[.S+](Z|+hh:mm|+hhmm)} date, or
+     * {@link #NOT_PARSED} if the specified string is in any other form or is not a valid date.
+     */
+    private static long parseDateTime(String s) {
+
+        int length = s.length();
+        if (length < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T' ||
+            s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return NOT_PARSED;
+        }
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+
+        if (year < MIN_FAST_YEAR || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) ||
+            hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_PARSED;
+        }
+
+        int i = 19;
+
+        int millisOfSecond = 0;
+        if (s.charAt(i) == '.') {
+            int start = ++i;
+            while (i < length && isDigit(s.charAt(i))) {
+                if (i - start < 3) {
+                    millisOfSecond = millisOfSecond * 10 + (s.charAt(i) - '0');
+                }
+                i++;
+            }
+            int fractionDigits = i - start;
+            if (fractionDigits == 0) {
+                return NOT_PARSED;
+            }
+            //scale .5 and .25 to 500 and 250 milliseconds:
+            for (int d = fractionDigits; d < 3; d++) {
+                millisOfSecond *= 10;
+            }
+        }
+
+        if (i >= length) {
+            return NOT_PARSED;
+        }
+
+        long offset;
+        char designator = s.charAt(i);
+        if (designator == 'Z') {
+            if (i + 1 != length) {
+                return NOT_PARSED;
+            }
+            offset = 0;
+        } else if (designator == '+' || designator == '-') {
+            int remaining = length - i - 1;
+            int offsetHours = digits(s, i + 1, 2);
+            int offsetMinutes;
+            if (remaining == 4) {
+                offsetMinutes = digits(s, i + 3, 2);
+            } else if (remaining == 5 && s.charAt(i + 3) == ':') {
+                offsetMinutes = digits(s, i + 4, 2);
+            } else {
+                return NOT_PARSED;
+            }
+            if (offsetHours < 0 || offsetHours > 23 || offsetMinutes < 0 || offsetMinutes > 59 ||
+                (designator == '-' && offsetHours == 0 && offsetMinutes == 0)) {
+                return NOT_PARSED;
+            }
+            offset = offsetHours * MILLIS_PER_HOUR + offsetMinutes * MILLIS_PER_MINUTE;
+            if (designator == '-') {
+                offset = -offset;
+            }
+        } else {
+            return NOT_PARSED;
+        }
+
+        return daysSinceEpoch(year, month, day) * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR +
+               minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millisOfSecond - offset;
+    }
+
+    /**
+     * Returns the value of the specified number of decimal digits starting at {@code start}, or {@code -1} if any of
+     * them is not a digit or the string is too short.
+     */
+    private static int digits(String s, int start, int count) {
+        if (start + count > s.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and the specified (proleptic Gregorian) date.
+     */
+    private static long daysSinceEpoch(int year, int month, int day) {
+        //shift the year to start in March, so the leap day is the last day of the year:
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400; //only years >= MIN_FAST_YEAR get here, so no negative rounding to worry about
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class BinaryCacheValueCodecTest {
+
+    def codec = new BinaryCacheValueCodec()
+
+    static Map<String, Object> account(int i) {
+        def href = "https://api.stormpath.com/v1/accounts/${i}abcdefghijklmnop".toString()
+        def groups = (0..<5).collect { int g ->
+            [
+                    href: "https://api.stormpath.com/v1/groups/${g}abcdefghijklmnop".toString(),
+                    name: "Group ${g}".toString(),
+                    description: 'A group',
+                    status: 'ENABLED',
+                    createdAt: '2016-09-01T10:00:00.000Z',
+                    modifiedAt: '2016-09-01T10:00:00.000Z',
+                    customData: [href: "https://api.stormpath.com/v1/groups/${g}abcdefghijklmnop/customData".toString()]
+            ] as LinkedHashMap
+        }
+        return [
+                href: href,
+                username: "user${i}".toString(),
+                email: "user${i}@example.com".toString(),
+                givenName: 'Jöhn',
+                middleName: null,
+                surname: 'Smith',
+                fullName: 'Jöhn Smith',
+                status: 'ENABLED',
+                createdAt: '2016-09-01T10:00:00.000Z',
+                modifiedAt: '2016-09-01T10:00:00.000Z',
+                emailVerificationStatus: 'VERIFIED',
+                passwordModifiedAt: '2016-09-01T10:00:00.000Z',
+                customData: [href: "${href}/customData".toString(), score: i, ratio: i / 3.0d, premium: true, visits: 1234567890123L],
+                directory: [href: 'https://api.stormpath.com/v1/directories/abcdefghijklmnop'],
+                tenant: [href: 'https://api.stormpath.com/v1/tenants/abcdefghijklmnop'],
+                groups: [href: "${href}/groups".toString(), offset: 0, limit: 25, size: 5, items: groups]
+        ] as LinkedHashMap
+    }
+
+    static byte[] javaSerialize(Object o) {
+        def baos = new ByteArrayOutputStream()
+        def oos = new ObjectOutputStream(baos)
+        oos.writeObject(o)
+        oos.close()
+        return baos.toByteArray()
+    }
+
+    @Test
+    void testRoundTripResourceMap() {
+        def value = account(1)
+        def decoded = codec.decode(codec.encode(value))
+        assertEquals decoded, value
+        assertTrue decoded instanceof LinkedHashMap
+        assertEquals new ArrayList(decoded.keySet()), new ArrayList(value.keySet()) //order is preserved
+    }
+
+    @Test
+    void testRoundTripScalars() {
+        [null, '', 'ascii', 'ünïcödé ✓', true, false,
+         0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE,
+         0L, Long.MAX_VALUE, Long.MIN_VALUE,
+         1.5f, -0.0d, Double.NaN, Double.MAX_VALUE,
+         new BigInteger('123456789012345678901234567890'), new BigDecimal('-1234.5678'),
+         new Date(), [1, 'two', [three: 3]]].each {
+            def decoded = codec.decode(codec.encode(it))
+            assertEquals decoded, it
+            if (it != null) {
+                assertEquals decoded.getClass(), it.getClass()
+            }
+        }
+        assertEquals codec.decode(codec.encode('bytes'.getBytes('UTF-8'))), 'bytes'.getBytes('UTF-8')
+    }
+
+    @Test
+    void testSerializableFallback() {
+        def set = new TreeSet(['a', 'b'])
+        assertEquals codec.decode(codec.encode(set)), set
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNonSerializableValue() {
+        codec.encode([value: new Object()])
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testUnknownVersion() {
+        codec.decode([99, 0] as byte[])
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testTruncated() {
+        def bytes = codec.encode(account(1))
+        codec.decode(Arrays.copyOf(bytes, bytes.length - 3))
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testCorruptLength() {
+        //a map claiming more entries than there are bytes:
+        codec.decode([BinaryCacheValueCodec.FORMAT_VERSION, 9, 0x7F] as byte[])
+    }
+
+    /**
+     * Compares the encoded size with Java serialization, which is what remote caches use by default.
+     */
+    @Test
+    void testSmallerThanJavaSerialization() {
+        def values = (0..<200).collect { account(it) }
+
+        long binarySize = 0
+        long javaSize = 0
+        values.each {
+            binarySize += codec.encode(it).length
+            javaSize += javaSerialize(it).length
+        }
+
+        assertTrue binarySize * 2 < javaSize, "Expected the binary format to be less than half the size of Java " +
+                "serialization, but was ${binarySize} vs ${javaSize} bytes."
+    }
+}
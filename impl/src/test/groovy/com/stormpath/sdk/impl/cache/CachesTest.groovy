@@ -73,4 +73,12 @@ class CachesTest {
         assertNotNull cm
         assertTrue cm instanceof DisabledCacheManager
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testNewBinaryValueCodec() {
+        assertTrue newBinaryValueCodec() instanceof BinaryCacheValueCodec
+    }
 }
@@ -133,4 +133,24 @@ class DefaultCacheManagerTest {
         }
     }
 
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testDefaultStaleRetention() {
+        def mgr = new DefaultCacheManager()
+        def existing = mgr.getCache('existing') as DefaultCache
+        assertNull existing.staleRetention
+
+        def retention = new Duration(5, TimeUnit.MINUTES)
+        mgr.defaultStaleRetention = retention
+
+        assertEquals mgr.defaultStaleRetention, retention
+        assertEquals existing.staleRetention, retention
+        assertEquals((mgr.getCache('created') as DefaultCache).staleRetention, retention)
+
+        mgr.defaultStaleRetention = null
+        assertNull existing.staleRetention
+    }
 }
@@ -263,4 +263,122 @@ class DefaultCacheTest {
         assertNull found
         assertEquals 0, cache.size()
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testExtendedOperations() {
+        def cache = new DefaultCache('foo')
+
+        cache.putAll([a: 1, b: 2])
+        cache.set('c', 3)
+        assertEquals cache.size(), 3
+        assertEquals cache.getAll(['a', 'c', 'missing']), [a: 1, c: 3]
+
+        cache.evict('a')
+        assertNull cache.get('a')
+
+        assertTrue cache.setAsync('d', 4).isDone()
+        assertEquals cache.get('d'), 4
+
+        def future = cache.evictAsync('d')
+        assertTrue future.isDone()
+        assertNull future.get()
+        assertNull cache.get('d')
+        assertEquals cache.size(), 2
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testStaleEntriesAreRetainedButNotReturnedByGet() {
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleRetention = new Duration(1, TimeUnit.MINUTES)
+
+        cache.put('key', 'value')
+        assertEquals cache.getStale('key'), 'value' //fresh entries are returned as well
+
+        Thread.sleep(15)
+
+        assertNull cache.get('key')
+        assertEquals cache.size(), 1 //retained for stale reads
+        assertEquals cache.getStale('key'), 'value'
+        assertNull cache.getStale('missing')
+
+        cache.put('key', 'value2')
+        assertEquals cache.get('key'), 'value2'
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testStaleEntriesAreRemovedAfterStaleRetention() {
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleRetention = new Duration(10, TimeUnit.MILLISECONDS)
+
+        cache.put('key', 'value')
+
+        Thread.sleep(30)
+
+        assertNull cache.getStale('key')
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testNoStaleRetentionByDefault() {
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        assertNull cache.staleRetention
+
+        cache.put('key', 'value')
+        Thread.sleep(15)
+
+        assertNull cache.getStale('key')
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testGetStaleWithMaxStaleness() {
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleRetention = new Duration(1, TimeUnit.MINUTES)
+
+        cache.put('key', 'value')
+        Thread.sleep(40)
+
+        assertEquals cache.getStale('key', new Duration(1, TimeUnit.SECONDS)), 'value'
+        assertNull cache.getStale('key', new Duration(5, TimeUnit.MILLISECONDS))
+        assertEquals cache.getStale('key'), 'value'
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testRenew() {
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleRetention = new Duration(1, TimeUnit.MINUTES)
+        def value = 'value'
+
+        cache.put('key', value)
+        Thread.sleep(15)
+        assertNull cache.get('key')
+
+        assertTrue cache.renew('key', value)
+        assertSame cache.get('key'), value
+
+        //an entry that was replaced in the meantime is not renewed:
+        cache.put('key', 'other')
+        assertFalse cache.renew('key', value)
+        assertFalse cache.renew('missing', value)
+    }
 }
@@ -17,7 +17,7 @@ package com.stormpath.sdk.impl.cache
 
 import org.testng.annotations.Test
 
-import static org.testng.Assert.assertNull
+import static org.testng.Assert.*
 
 /**
  * @since 0.8
@@ -38,4 +38,21 @@ class DisabledCacheTest {
         cache.put('foo', 'bar')
         assertNull cache.remove('foo')
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testExtendedOperations() {
+
+        DisabledCache cache = new DisabledCache();
+
+        cache.putAll([foo: 'bar'])
+        cache.set('foo', 'bar')
+        assertTrue cache.getAll(['foo']).isEmpty()
+        assertTrue cache.setAsync('foo', 'bar').isDone()
+        cache.evict('foo')
+        assertTrue cache.evictAsync('foo').isDone()
+        assertNull cache.get('foo')
+    }
 }
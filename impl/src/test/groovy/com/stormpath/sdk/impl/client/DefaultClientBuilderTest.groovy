@@ -2,12 +2,14 @@ package com.stormpath.sdk.impl.client
 
 import com.stormpath.sdk.api.ApiKey
 import com.stormpath.sdk.client.AuthenticationScheme
+import com.stormpath.sdk.client.ClientBuilder
 import com.stormpath.sdk.client.Clients
 import com.stormpath.sdk.impl.api.ClientApiKey
 import com.stormpath.sdk.impl.api.DefaultApiKeyResolver
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials
 import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.http.support.DefaultCircuitBreaker
 import com.stormpath.sdk.lang.Duration
 import org.testng.annotations.BeforeMethod
 import org.testng.annotations.Test
@@ -65,6 +67,35 @@ class DefaultClientBuilderTest {
         assertEquals clientBuilder.clientConfiguration.proxyUsername, "fooyaml" // from yaml
         assertEquals clientBuilder.clientConfiguration.proxyPassword, "bar" // from properties
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testStartupTimings() {
+        StartupTimings timings = ((DefaultClientBuilder) builder).startupTimings
+        def phases = timings.nanosByPhase.keySet() as List
+
+        ['config', 'cacheManager', 'credentials', 'client', 'build'].each {
+            assertTrue phases.contains(it)
+            assertTrue timings.getNanos(it) >= 0
+        }
+        assertTrue phases.contains('config:classpath:stormpath.properties')
+        assertTrue phases.contains('config:classpath:stormpath.yaml')
+        assertTrue timings.getNanos('build') >= timings.getNanos('client')
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testConfigurationIsLoadedLazily() {
+        DefaultClientBuilder clientBuilder = new DefaultClientBuilder()
+        assertEquals clientBuilder.startupTimings.getNanos('config'), -1L
+
+        assertEquals clientBuilder.clientConfiguration.baseUrl, "https://api.stormpath.com/v42"
+        assertTrue clientBuilder.startupTimings.getNanos('config') >= 0
+    }
 }
 
 class DefaultClientBuilderTestCustomCredentials{
@@ -156,4 +187,31 @@ class DefaultClientBuilderTestCustomCredentials{
         assertEquals testClient.dataStore.apiKey.id, keyId
         assertEquals testClient.dataStore.apiKey.secret, keySecret
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testResilienceOptionsAreAvailableOnClientBuilder() {
+        def circuitBreaker = new DefaultCircuitBreaker()
+
+        ClientBuilder clientBuilder = Clients.builder()
+                .setCircuitBreaker(circuitBreaker)
+                .setMaxStaleness(1, TimeUnit.MINUTES)
+                .setRevalidationWindow(2, TimeUnit.MINUTES)
+                .setNegativeCacheTimeToLive(5, TimeUnit.SECONDS)
+        def testClient = clientBuilder.build()
+
+        assertTrue testClient.dataStore.circuitBreaker.is(circuitBreaker)
+        assertEquals testClient.dataStore.maxStaleness, new Duration(1, TimeUnit.MINUTES)
+        assertEquals testClient.dataStore.revalidationWindow, new Duration(2, TimeUnit.MINUTES)
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test(expectedExceptions = IllegalStateException)
+    void testMaxStalenessRequiresCircuitBreaker() {
+        Clients.builder().setMaxStaleness(1, TimeUnit.MINUTES).build()
+    }
 }
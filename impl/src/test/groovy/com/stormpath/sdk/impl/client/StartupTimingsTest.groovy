@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.client
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class StartupTimingsTest {
+
+    @Test
+    void testRecord() {
+        def timings = new StartupTimings()
+        timings.record('config', 1234567)
+        timings.record('client', 5000)
+        timings.record('config', 1000000)
+
+        assertEquals timings.getNanos('config'), 2234567L
+        assertEquals timings.getNanos('client'), 5000L
+        assertEquals timings.getNanos('build'), -1L
+        assertEquals timings.nanosByPhase.keySet() as List, ['config', 'client']
+        assertEquals timings.toString(), 'Startup timings: config=2.234ms, client=0.005ms'
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException)
+    void testSnapshotIsImmutable() {
+        def timings = new StartupTimings()
+        timings.record('config', 1)
+        timings.nanosByPhase.put('client', 1L)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testEmptyPhase() {
+        new StartupTimings().record('', 1)
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.cache.ExtendedCache
+import com.stormpath.sdk.impl.ds.cache.CacheWriteBuffer
+import com.stormpath.sdk.impl.http.Deadline
+import com.stormpath.sdk.impl.http.DeadlineHolder
+import com.stormpath.sdk.impl.http.HttpHeadersHolder
+import com.stormpath.sdk.impl.http.RequestPriority
+import com.stormpath.sdk.impl.http.RequestPriorityHolder
+import org.easymock.IAnswer
+import org.testng.annotations.Test
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class BatchExecutorTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidConcurrency() {
+        new BatchExecutor(0)
+    }
+
+    @Test
+    void testEmptyBatch() {
+        def result = new BatchExecutor().execute([])
+        assertEquals result.size(), 0
+        assertFalse result.hasFailures()
+        assertTrue result.getResources().isEmpty()
+    }
+
+    @Test
+    void testResultsAreInSubmissionOrder() {
+        def accounts = (0..<50).collect { createMock(Account) }
+        def tasks = accounts.collect { Account a ->
+            return { ->
+                Thread.sleep((long) (Math.random() * 5))
+                return a
+            } as Callable<Account>
+        }
+
+        def result = new BatchExecutor(4).execute(tasks)
+
+        assertEquals result.size(), 50
+        assertEquals result.getSuccessCount(), 50
+        assertEquals result.getFailureCount(), 0
+        assertEquals result.getResources(), accounts
+        for (int i = 0; i < 50; i++) {
+            assertTrue result.isSuccess(i)
+            assertSame result.getResource(i), accounts[i]
+            assertNull result.getException(i)
+        }
+    }
+
+    @Test
+    void testFailuresAreReportedPerItem() {
+        def account = createMock(Account)
+        def failure = new IllegalStateException("boom")
+        def tasks = [
+                { -> account } as Callable<Account>,
+                { -> throw failure } as Callable<Account>,
+                { -> throw new IOException("checked") } as Callable<Account>,
+                { -> account } as Callable<Account>
+        ]
+
+        def result = new BatchExecutor(2).execute(tasks)
+
+        assertEquals result.size(), 4
+        assertTrue result.hasFailures()
+        assertEquals result.getSuccessCount(), 2
+        assertEquals result.getFailureCount(), 2
+
+        assertSame result.getResource(0), account
+        assertFalse result.isSuccess(1)
+        assertNull result.getResource(1)
+        assertSame result.getException(1), failure
+        assertTrue result.getException(2) instanceof IllegalStateException
+        assertTrue result.getException(2).getCause() instanceof IOException
+        assertSame result.getResource(3), account
+        assertEquals result.getResources(), [account, null, null, account]
+    }
+
+    @Test
+    void testConcurrencyIsBounded() {
+        def active = new AtomicInteger()
+        def max = new AtomicInteger()
+        def account = createMock(Account)
+
+        def tasks = (0..<40).collect {
+            return { ->
+                int current = active.incrementAndGet()
+                synchronized (max) {
+                    max.set(Math.max(max.get(), current))
+                }
+                Thread.sleep(2)
+                active.decrementAndGet()
+                return account
+            } as Callable<Account>
+        }
+
+        def result = new BatchExecutor(3).execute(tasks)
+
+        assertEquals result.getSuccessCount(), 40
+        assertTrue max.get() <= 3
+    }
+
+    @Test
+    void testRequestHeadersArePropagatedToWorkers() {
+        def headers = ['stormpath-agent': ['stormpath-servlet-java/1.2.0']]
+        def seen = Collections.synchronizedList([])
+        def account = createMock(Account)
+
+        def tasks = (0..<10).collect {
+            return { ->
+                seen.add(HttpHeadersHolder.get())
+                return account
+            } as Callable<Account>
+        }
+
+        HttpHeadersHolder.set(headers)
+        try {
+            new BatchExecutor(4).execute(tasks)
+        } finally {
+            HttpHeadersHolder.clear()
+        }
+
+        assertEquals seen.size(), 10
+        seen.each { assertEquals it, headers }
+    }
+
+    @Test
+    void testRequestPriorityIsPropagatedToWorkers() {
+        def seen = Collections.synchronizedList([])
+        def account = createMock(Account)
+
+        def tasks = (0..<10).collect {
+            return { ->
+                seen.add(RequestPriorityHolder.get())
+                return account
+            } as Callable<Account>
+        }
+
+        RequestPriorityHolder.set(RequestPriority.BACKGROUND)
+        try {
+            new BatchExecutor(4).execute(tasks)
+        } finally {
+            RequestPriorityHolder.clear()
+        }
+
+        assertEquals seen.size(), 10
+        seen.each { assertEquals it, RequestPriority.BACKGROUND }
+    }
+
+    @Test
+    void testDeadlineIsPropagatedToWorkers() {
+        def deadline = Deadline.after(1, TimeUnit.MINUTES)
+        def seen = Collections.synchronizedList([])
+        def account = createMock(Account)
+
+        def tasks = (0..<10).collect {
+            return { ->
+                seen.add(DeadlineHolder.get())
+                return account
+            } as Callable<Account>
+        }
+
+        DeadlineHolder.set(deadline)
+        try {
+            new BatchExecutor(4).execute(tasks)
+        } finally {
+            DeadlineHolder.clear()
+        }
+
+        assertEquals seen.size(), 10
+        seen.each { assertSame it, deadline }
+    }
+
+    @Test
+    void testTasksArePulledOneWindowAtATime() {
+        def executor = new BatchExecutor(2)
+        def account = createMock(Account)
+        def pulled = new AtomicInteger()
+        def completed = new AtomicInteger()
+        def maxAhead = new AtomicInteger()
+
+        def tasks = new BatchExecutor.ItemTasks<Integer, Account>(0..<100) {
+            @Override
+            Callable<Account> next() {
+                int ahead = pulled.incrementAndGet() - completed.get()
+                synchronized (maxAhead) {
+                    maxAhead.set(Math.max(maxAhead.get(), ahead))
+                }
+                return super.next()
+            }
+
+            @Override
+            protected Account call(Integer item) {
+                completed.incrementAndGet()
+                return account
+            }
+        }
+
+        def result = executor.execute(100, tasks)
+
+        assertEquals result.getSuccessCount(), 100
+        assertEquals pulled.get(), 100
+        assertTrue maxAhead.get() <= executor.getWindowSize()
+    }
+
+    @Test
+    void testStragglerDoesNotHoldBackLaterTasks() {
+        def executor = new BatchExecutor(2)
+        def account = createMock(Account)
+        def othersDone = new CountDownLatch(99)
+
+        def tasks = new BatchExecutor.ItemTasks<Integer, Account>(0..<100) {
+            @Override
+            protected Account call(Integer item) {
+                if (item == 0) {
+                    //with a barrier between windows, the tasks after the first window would never start:
+                    assertTrue othersDone.await(10, TimeUnit.SECONDS)
+                } else {
+                    othersDone.countDown()
+                }
+                return account
+            }
+        }
+
+        def result = executor.execute(100, tasks)
+
+        assertEquals result.getSuccessCount(), 100
+    }
+
+    @Test
+    void testCacheWritesAreFlushedInBulk() {
+        def executor = new BatchExecutor(2)
+        def cache = createMock(ExtendedCache)
+        def account = createMock(Account)
+        def bulkWrites = Collections.synchronizedList([])
+
+        def tasks = new BatchExecutor.ItemTasks<Integer, Account>(0..<20) {
+            @Override
+            protected Account call(Integer item) {
+                //a deferred write, as made by the WriteCacheFilter:
+                CacheWriteBuffer.get().add(cache, "https://api.stormpath.com/v1/accounts/" + item, [href: item])
+                return account
+            }
+        }
+
+        cache.putAll(anyObject(Map))
+        expectLastCall().andAnswer({
+            bulkWrites.add(new LinkedHashMap(getCurrentArguments()[0] as Map))
+            return null
+        } as IAnswer).anyTimes()
+        replay cache
+
+        def result = executor.execute(20, tasks)
+
+        verify cache
+        assertEquals result.getSuccessCount(), 20
+        assertNull CacheWriteBuffer.get()
+        assertTrue bulkWrites.size() <= (int) Math.ceil(20 / (double) executor.getWindowSize())
+        assertEquals bulkWrites.sum { it.size() }, 20
+    }
+}
@@ -15,21 +15,35 @@
  */
 package com.stormpath.sdk.impl.ds
 
+import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.api.ApiKey
 import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.directory.Directory
+import com.stormpath.sdk.http.HttpMethod
 import com.stormpath.sdk.impl.api.ApiKeyResolver
 import com.stormpath.sdk.impl.api.DefaultApiKeyResolver
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.ds.cache.NegativeResultCache
 import com.stormpath.sdk.impl.application.DefaultApplication
+import com.stormpath.sdk.impl.http.CircuitOpenException
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.Request
 import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
+import com.stormpath.sdk.impl.http.RestException
+import com.stormpath.sdk.impl.http.support.DefaultCircuitBreaker
 import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.http.support.DefaultResponse
 import com.stormpath.sdk.impl.provider.DefaultGoogleProviderData
 import com.stormpath.sdk.impl.provider.IdentityProviderType
 import com.stormpath.sdk.impl.query.DefaultOptions
+import com.stormpath.sdk.lang.Duration
+import com.stormpath.sdk.metrics.MetricsRecorder
 import com.stormpath.sdk.provider.*
 import com.stormpath.sdk.query.Options
 import com.stormpath.sdk.resource.Resource
+import com.stormpath.sdk.resource.ResourceException
 import org.testng.annotations.Test
 
 import java.util.concurrent.TimeUnit
@@ -418,4 +432,340 @@ class DefaultDataStoreTest {
         assertEquals(defaultDataStore.getApiKey(), apiKeyForResolver)
 
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testGetResourcesAnswersCacheHitsBeforeFetchingMisses() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def cachedHref = baseUrl + "/accounts/cached"
+        def fetchedHref = baseUrl + "/accounts/fetched"
+        def failedHref = baseUrl + "/accounts/failed"
+        def mapMarshaller = new JacksonMapMarshaller()
+        def requested = Collections.synchronizedList([])
+
+        def requestExecutor = [executeRequest: { Request request ->
+            String href = request.resourceUrl.toString()
+            requested.add(href)
+            if (href == failedHref) {
+                throw new RestException("Unable to execute HTTP request")
+            }
+            def body = mapMarshaller.marshal([href: href, email: "test@example.com", username: "test"]).getBytes("UTF-8")
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build()
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, cacheManager)
+
+        //prime the cache:
+        defaultDataStore.getResource(cachedHref, Account)
+        requested.clear()
+
+        def result = defaultDataStore.getResources([failedHref, cachedHref, fetchedHref, ""], Account, 2)
+
+        assertEquals result.size(), 4
+        assertEquals result.getSuccessCount(), 2
+        assertEquals result.getFailureCount(), 2
+
+        assertFalse result.isSuccess(0)
+        assertTrue result.getException(0) instanceof RestException
+        assertEquals result.getResource(1).getHref(), cachedHref
+        assertEquals result.getResource(2).getHref(), fetchedHref
+        assertFalse result.isSuccess(3)
+        assertTrue result.getException(3) instanceof IllegalArgumentException
+
+        //the cached href must never have been requested from the server:
+        assertEquals requested.sort(), [failedHref, fetchedHref].sort()
+
+        //the fetched account is now cached, so a second lookup does not hit the server at all:
+        requested.clear()
+        result = defaultDataStore.getResources([cachedHref, fetchedHref], Account)
+        assertEquals result.getSuccessCount(), 2
+        assertTrue requested.isEmpty()
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testGetResourcesRecordsEachCacheMissOnce() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def hrefs = [baseUrl + "/accounts/a", baseUrl + "/accounts/b", baseUrl + "/accounts/c"]
+        def mapMarshaller = new JacksonMapMarshaller()
+
+        def requestExecutor = [executeRequest: { Request request ->
+            String href = request.resourceUrl.toString()
+            def body = mapMarshaller.marshal([href: href, email: "test@example.com", username: "test"]).getBytes("UTF-8")
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build()
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, cacheManager)
+
+        def result = defaultDataStore.getResources(hrefs, Account, 2)
+        assertEquals result.getSuccessCount(), 3
+
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        assertEquals cache.getMissCount(), 3
+        assertEquals cache.getHitCount(), 0
+
+        result = defaultDataStore.getResources(hrefs, Account, 2)
+        assertEquals result.getSuccessCount(), 3
+        assertEquals cache.getMissCount(), 3
+        assertEquals cache.getHitCount(), 3
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testOpenCircuitServesStaleCacheEntries() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def href = baseUrl + "/accounts/stale"
+        def mapMarshaller = new JacksonMapMarshaller()
+        def available = true
+        def requestCount = 0
+
+        def requestExecutor = [executeRequest: { Request request ->
+            requestCount++
+            if (!available) {
+                throw new RestException("Unable to execute HTTP request")
+            }
+            def body = mapMarshaller.marshal([href: request.resourceUrl.toString(), email: "test@example.com"]).getBytes("UTF-8")
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToLive(10, TimeUnit.MILLISECONDS)
+                .build()
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, cacheManager)
+        defaultDataStore.setCircuitBreaker(new DefaultCircuitBreaker(1), new Duration(1, TimeUnit.MINUTES))
+
+        assertEquals defaultDataStore.getResource(href, Account).getEmail(), "test@example.com"
+        assertEquals requestCount, 1
+
+        Thread.sleep(20) //expire the cache entry
+        available = false
+
+        try {
+            defaultDataStore.getResource(href, Account)
+            fail()
+        } catch (RestException expected) {
+            //the circuit is closed, so the failure is reported and opens the circuit
+        }
+        assertEquals requestCount, 2
+
+        //the circuit is open: the expired entry is served without sending a request
+        assertEquals defaultDataStore.getResource(href, Account).getEmail(), "test@example.com"
+        assertEquals requestCount, 2
+
+        //nothing cached: fail fast
+        try {
+            defaultDataStore.getResource(baseUrl + "/accounts/uncached", Account)
+            fail()
+        } catch (CircuitOpenException expected) {
+        }
+        assertEquals requestCount, 2
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testExpiredEntriesAreRevalidated() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def href = baseUrl + "/directories/static"
+        def mapMarshaller = new JacksonMapMarshaller()
+
+        //a stub server for a resource that rarely changes:
+        def name = "Employees"
+        def modifiedAt = "2016-01-01T12:00:00.000Z"
+        def lastModified = Date.parse("yyyy-MM-dd'T'HH:mm:ss.SSSX", modifiedAt).time
+        def requestCount = 0
+        def notModifiedCount = 0
+        long bytesReceived = 0
+        long lastBodyLength = 0
+
+        def requestExecutor = [executeRequest: { Request request ->
+            requestCount++
+            long ifModifiedSince = request.headers.getIfNotModifiedSince()
+            if (ifModifiedSince >= 0 && lastModified <= ifModifiedSince) {
+                notModifiedCount++
+                return new DefaultResponse(304, null, null, 0)
+            }
+            def body = mapMarshaller.marshal([
+                    href: href, name: name, description: "x" * 4096, status: "ENABLED", modifiedAt: modifiedAt,
+                    customData: [href: href + "/customData"], accounts: [href: href + "/accounts"]
+            ]).getBytes("UTF-8")
+            bytesReceived += body.length
+            lastBodyLength = body.length
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        int parsed = 0
+        def metricsRecorder = [
+                recordDataStoreOperation: { String action, Class type, long nanos, boolean success -> },
+                recordCacheAccess       : { String region, boolean hit -> },
+                recordHttpRequest       : { HttpMethod method, int status, long nanos, int retries, int throttled, long sent, long received -> },
+                recordSerialization     : { long nanos, long bytes -> },
+                recordDeserialization   : { long nanos -> parsed++ }
+        ] as MetricsRecorder
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToLive(50, TimeUnit.MILLISECONDS)
+                .build()
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, cacheManager)
+        defaultDataStore.setMetricsRecorder(metricsRecorder)
+        defaultDataStore.setRevalidationWindow(new Duration(1, TimeUnit.MINUTES))
+
+        assertEquals defaultDataStore.getResource(href, Directory).getName(), "Employees"
+        assertEquals requestCount, 1
+        assertEquals parsed, 1
+        long fullResponseBytes = bytesReceived
+
+        //every time the entry expires, it is revalidated without transferring or parsing the resource again:
+        10.times {
+            Thread.sleep(60)
+            assertEquals defaultDataStore.getResource(href, Directory).getName(), "Employees"
+        }
+        assertEquals requestCount, 11
+        assertEquals notModifiedCount, 10
+        assertEquals parsed, 1
+        assertEquals bytesReceived, fullResponseBytes
+
+        //a renewed entry is fresh again:
+        assertEquals defaultDataStore.getResource(href, Directory).getName(), "Employees"
+        assertEquals requestCount, 11
+
+        //a modified resource is fetched in full and cached again:
+        name = "Staff"
+        modifiedAt = "2016-06-01T12:00:00.000Z"
+        lastModified = Date.parse("yyyy-MM-dd'T'HH:mm:ss.SSSX", modifiedAt).time
+        Thread.sleep(60)
+        assertEquals defaultDataStore.getResource(href, Directory).getName(), "Staff"
+        assertEquals requestCount, 12
+        assertEquals notModifiedCount, 10
+        assertEquals parsed, 2
+        //only the two full representations were transferred - "Staff" is shorter than "Employees":
+        assertEquals bytesReceived, fullResponseBytes + lastBodyLength
+        assertTrue lastBodyLength < fullResponseBytes
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testSameSecondModificationIsNotMissedByRevalidation() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def href = baseUrl + "/directories/busy"
+        def mapMarshaller = new JacksonMapMarshaller()
+
+        def name = "Employees"
+        def modifiedAt = "2016-01-01T12:00:00.300Z"
+        def requestCount = 0
+        def conditionalCount = 0
+
+        //a stub server that, like HTTP dates, compares modification times with a resolution of one second:
+        def requestExecutor = [executeRequest: { Request request ->
+            requestCount++
+            long lastModified = Date.parse("yyyy-MM-dd'T'HH:mm:ss.SSSX", modifiedAt).time
+            long ifModifiedSince = request.headers.getIfNotModifiedSince()
+            if (ifModifiedSince >= 0) {
+                conditionalCount++
+                if (lastModified - lastModified % 1000 <= ifModifiedSince) {
+                    return new DefaultResponse(304, null, null, 0)
+                }
+            }
+            def body = mapMarshaller.marshal([
+                    href: href, name: name, status: "ENABLED", modifiedAt: modifiedAt,
+                    customData: [href: href + "/customData"], accounts: [href: href + "/accounts"]
+            ]).getBytes("UTF-8")
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToLive(50, TimeUnit.MILLISECONDS)
+                .build()
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, cacheManager)
+        defaultDataStore.setRevalidationWindow(new Duration(1, TimeUnit.MINUTES))
+
+        assertEquals defaultDataStore.getResource(href, Directory).getName(), "Employees"
+
+        //modified again within the same second:
+        name = "Staff"
+        modifiedAt = "2016-01-01T12:00:00.800Z"
+        Thread.sleep(60)
+
+        assertEquals defaultDataStore.getResource(href, Directory).getName(), "Staff"
+        assertEquals requestCount, 2
+        assertEquals conditionalCount, 0
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testNotFoundResultsAreCachedUntilCreated() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrl = "https://api.stormpath.com/v1"
+        def href = baseUrl + "/accounts/missing"
+        def mapMarshaller = new JacksonMapMarshaller()
+        def exists = false
+        def requestCount = 0
+
+        def requestExecutor = [executeRequest: { Request request ->
+            requestCount++
+            def status = 200
+            def props = [href: href, email: "test@example.com"]
+            if (request.method == HttpMethod.POST) {
+                exists = true
+                status = 201
+            } else if (!exists) {
+                status = 404
+                props = [status: 404, code: 404, message: "The requested resource does not exist."]
+            }
+            def body = mapMarshaller.marshal(props).getBytes("UTF-8")
+            return new DefaultResponse(status, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length)
+        }] as RequestExecutor
+
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrl, apiKeyCredentials, apiKeyResolver, Caches.newCacheManager().build())
+        defaultDataStore.setNegativeResultCache(new NegativeResultCache(new Duration(1, TimeUnit.MINUTES)))
+
+        3.times {
+            try {
+                defaultDataStore.getResource(href, Account)
+                fail()
+            } catch (ResourceException expected) {
+                assertEquals expected.status, 404
+            }
+        }
+        assertEquals requestCount, 1
+
+        def account = defaultDataStore.instantiate(Account)
+        account.email = "test@example.com"
+        defaultDataStore.create(baseUrl + "/directories/foo/accounts", account)
+        assertEquals requestCount, 2
+
+        //the negative entry was cleared and the created account was cached:
+        assertEquals defaultDataStore.getResource(href, Account).email, "test@example.com"
+        assertEquals requestCount, 2
+    }
 }
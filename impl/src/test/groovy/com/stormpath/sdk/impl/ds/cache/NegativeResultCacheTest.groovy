@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache
+
+import com.stormpath.sdk.error.Error
+import com.stormpath.sdk.lang.Duration
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.easymock.EasyMock.createMock
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class NegativeResultCacheTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testTimeToLiveIsRequired() {
+        new NegativeResultCache(null)
+    }
+
+    @Test
+    void testRegionsAreSeparate() {
+        def cache = new NegativeResultCache(new Duration(1, TimeUnit.MINUTES))
+        def error = createMock(Error)
+
+        assertNull cache.get('accounts', '/accounts/1')
+
+        cache.put('accounts', '/accounts/1', error)
+
+        assertSame cache.get('accounts', '/accounts/1'), error
+        assertNull cache.get('groups', '/accounts/1')
+        assertNull cache.get('accounts', '/accounts/2')
+    }
+
+    @Test
+    void testEntriesExpire() {
+        def cache = new NegativeResultCache(new Duration(10, TimeUnit.MILLISECONDS))
+        cache.put('accounts', '/accounts/1', createMock(Error))
+
+        Thread.sleep(20)
+
+        assertNull cache.get('accounts', '/accounts/1')
+    }
+
+    @Test
+    void testRemoveClearsAllRegions() {
+        def cache = new NegativeResultCache(new Duration(1, TimeUnit.MINUTES))
+        cache.put('accounts', '/accounts/1', createMock(Error))
+        cache.put('resources', '/accounts/1', createMock(Error))
+        cache.put('accounts', '/accounts/2', createMock(Error))
+
+        cache.remove('/accounts/1')
+
+        assertNull cache.get('accounts', '/accounts/1')
+        assertNull cache.get('resources', '/accounts/1')
+        assertNotNull cache.get('accounts', '/accounts/2')
+    }
+}
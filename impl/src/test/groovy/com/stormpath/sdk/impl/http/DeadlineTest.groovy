@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class DeadlineTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNegativeDuration() {
+        Deadline.after(-1, TimeUnit.SECONDS)
+    }
+
+    @Test
+    void testRemaining() {
+        def deadline = Deadline.after(10, TimeUnit.SECONDS)
+        assertFalse deadline.isExpired()
+        assertTrue deadline.remainingMillis > 9000
+        assertTrue deadline.remainingMillis <= 10000
+    }
+
+    @Test
+    void testExpired() {
+        def deadline = Deadline.after(0, TimeUnit.MILLISECONDS)
+        assertTrue deadline.isExpired()
+        assertEquals deadline.remainingMillis, 0L
+        //a timeout of 0 would mean 'wait forever' to HttpClient:
+        assertEquals deadline.limit(5000), 1
+    }
+
+    @Test
+    void testLimit() {
+        def deadline = Deadline.after(10, TimeUnit.SECONDS)
+        assertEquals deadline.limit(500), 500
+        assertTrue deadline.limit(60000) <= 10000
+        assertTrue deadline.limit(0) > 9000
+        assertTrue deadline.limit(-1) <= 10000
+    }
+
+    @Test
+    void testHolder() {
+        def deadline = Deadline.after(1, TimeUnit.SECONDS)
+        assertNull DeadlineHolder.get()
+        DeadlineHolder.set(deadline)
+        try {
+            assertSame DeadlineHolder.get(), deadline
+        } finally {
+            DeadlineHolder.clear()
+        }
+        assertNull DeadlineHolder.get()
+    }
+}
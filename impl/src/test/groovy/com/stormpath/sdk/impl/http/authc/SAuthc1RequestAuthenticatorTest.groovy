@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.authc
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.Request
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.BytesInputStream
+import com.stormpath.sdk.impl.util.StringInputStream
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class SAuthc1RequestAuthenticatorTest {
+
+    static final String HREF = 'https://api.stormpath.com/v1/accounts/abc%20123'
+    static final String JSON = '{"givenName":"Jörg","surname":"Smith"}'
+
+    static ApiKeyCredentials credentials() {
+        def credentials = createMock(ApiKeyCredentials)
+        expect(credentials.getId()).andStubReturn('id')
+        expect(credentials.getSecret()).andStubReturn('secret')
+        replay credentials
+        return credentials
+    }
+
+    static Request request(InputStream body, long length) {
+        def headers = new HttpHeaders()
+        headers.setContentType(MediaType.APPLICATION_JSON)
+        return new DefaultRequest(HttpMethod.POST, HREF, null, headers, body, length)
+    }
+
+    static String sign(SAuthc1RequestAuthenticator authenticator, Request request) {
+        authenticator.authenticate(request, new Date(1476835200000L), 'a-nonce')
+        return request.getHeaders().getFirst('Authorization')
+    }
+
+    @Test
+    void testBytesBodyIsSignedLikeStringBody() {
+        def authenticator = new SAuthc1RequestAuthenticator(credentials())
+
+        byte[] bytes = JSON.getBytes('UTF-8')
+        def bytesBody = new BytesInputStream(bytes)
+        def stringBody = new StringInputStream(JSON)
+
+        String bytesSignature = sign(authenticator, request(bytesBody, bytes.length))
+        String stringSignature = sign(authenticator, request(stringBody, bytes.length))
+
+        assertNotNull bytesSignature
+        assertEquals bytesSignature, stringSignature
+
+        //the body was hashed from its bytes, not read from the stream:
+        assertEquals bytesBody.available(), bytes.length
+    }
+
+    @Test
+    void testCanonicalResourcePathIsReused() {
+        def authenticator = new SAuthc1RequestAuthenticator(credentials())
+
+        String first = sign(authenticator, request(null, 0))
+        String second = sign(authenticator, request(null, 0))
+
+        assertEquals second, first
+        assertEquals authenticator.canonicalResourcePaths.size(), 1
+        assertEquals authenticator.canonicalResourcePaths.values().iterator().next(), '/v1/accounts/abc%20123'
+    }
+}
@@ -18,6 +18,7 @@ package com.stormpath.sdk.impl.http.httpclient
 import com.stormpath.sdk.client.AuthenticationScheme
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials
 import com.stormpath.sdk.client.Proxy
+import com.stormpath.sdk.impl.http.ConnectionPoolConfiguration
 import com.stormpath.sdk.impl.http.Request
 import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
@@ -42,4 +43,8 @@ public class HttpClientRequestExecutor implements RequestExecutor {
     public HttpClientRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, Integer connectionTimeout) {
 
     }
+
+    public HttpClientRequestExecutor(ClientCredentials clientCredentials, Proxy proxy, AuthenticationScheme authenticationScheme, RequestAuthenticatorFactory requestAuthenticatorFactory, Integer connectionTimeout, ConnectionPoolConfiguration connectionPoolConfiguration) {
+
+    }
 }
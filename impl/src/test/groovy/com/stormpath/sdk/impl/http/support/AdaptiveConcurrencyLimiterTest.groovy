@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import com.stormpath.sdk.impl.http.RequestPriority
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidLimits() {
+        new AdaptiveConcurrencyLimiter(5, 4)
+    }
+
+    @Test
+    void testLimitStartsAtMaximum() {
+        def limiter = new AdaptiveConcurrencyLimiter(10)
+        assertEquals limiter.limit, 10
+
+        limiter.acquire(RequestPriority.INTERACTIVE)
+        assertEquals limiter.inFlight, 1
+        limiter.onSuccess()
+
+        assertEquals limiter.limit, 10
+        assertEquals limiter.inFlight, 0
+    }
+
+    @Test
+    void testThrottlingDecreasesAndSuccessIncreasesLimit() {
+        def limiter = new AdaptiveConcurrencyLimiter(2, 16)
+
+        limiter.acquire(RequestPriority.INTERACTIVE)
+        limiter.onThrottled(-1)
+        assertEquals limiter.limit, 8
+
+        3.times {
+            limiter.acquire(RequestPriority.INTERACTIVE)
+            limiter.onThrottled(-1)
+        }
+        assertEquals limiter.limit, 2 //never below the minimum
+
+        20.times {
+            limiter.acquire(RequestPriority.INTERACTIVE)
+            limiter.onSuccess()
+        }
+        assertTrue limiter.limit > 2
+        assertTrue limiter.limit < 16 //additive, not multiplicative, increase
+    }
+
+    @Test
+    void testDroppedRequestsDoNotChangeLimit() {
+        def limiter = new AdaptiveConcurrencyLimiter(4)
+        limiter.acquire(RequestPriority.INTERACTIVE)
+        limiter.onDropped()
+        assertEquals limiter.limit, 4
+        assertEquals limiter.inFlight, 0
+    }
+
+    @Test(expectedExceptions = IllegalStateException)
+    void testReleaseWithoutAcquire() {
+        new AdaptiveConcurrencyLimiter(4).onSuccess()
+    }
+
+    @Test
+    void testRequestsAreQueuedWhenLimitIsReached() {
+        def limiter = new AdaptiveConcurrencyLimiter(1)
+        limiter.acquire(RequestPriority.INTERACTIVE)
+
+        def admitted = false
+        def t = Thread.start {
+            limiter.acquire(RequestPriority.INTERACTIVE)
+            admitted = true
+            limiter.onSuccess()
+        }
+
+        awaitQueued(limiter, 1)
+        assertFalse admitted
+
+        limiter.onSuccess()
+        t.join(5000)
+
+        assertTrue admitted
+        assertEquals limiter.inFlight, 0
+    }
+
+    @Test
+    void testInteractiveRequestsAreAdmittedBeforeBackgroundRequests() {
+        def limiter = new AdaptiveConcurrencyLimiter(1)
+        limiter.acquire(RequestPriority.INTERACTIVE)
+
+        def order = Collections.synchronizedList([])
+        def background = Thread.start {
+            limiter.acquire(RequestPriority.BACKGROUND)
+            order << RequestPriority.BACKGROUND
+            limiter.onSuccess()
+        }
+        awaitQueued(limiter, 1)
+
+        def interactive = Thread.start {
+            limiter.acquire(RequestPriority.INTERACTIVE)
+            order << RequestPriority.INTERACTIVE
+            limiter.onSuccess()
+        }
+        awaitQueued(limiter, 2)
+
+        limiter.onSuccess()
+        interactive.join(5000)
+        background.join(5000)
+
+        assertEquals order, [RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND]
+    }
+
+    @Test
+    void testRetryAfterPausesAllRequests() {
+        def limiter = new AdaptiveConcurrencyLimiter(10)
+
+        limiter.acquire(RequestPriority.INTERACTIVE)
+        limiter.onThrottled(200)
+
+        long start = System.currentTimeMillis()
+        limiter.acquire(RequestPriority.INTERACTIVE)
+        long waited = System.currentTimeMillis() - start
+        limiter.onSuccess()
+
+        assertTrue waited >= 150, "waited only ${waited}ms"
+    }
+
+    private static void awaitQueued(AdaptiveConcurrencyLimiter limiter, int count) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (limiter.queued < count) {
+            assertTrue System.currentTimeMillis() < deadline, "timed out waiting for queued requests"
+            Thread.sleep(5)
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class DefaultCircuitBreakerTest {
+
+    static final long FAST = TimeUnit.MILLISECONDS.toNanos(5)
+    static final long SLOW = TimeUnit.SECONDS.toNanos(15)
+
+    static class TestCircuitBreaker extends DefaultCircuitBreaker {
+
+        long now = 0
+
+        TestCircuitBreaker(int windowSize) {
+            super(windowSize)
+        }
+
+        @Override
+        protected long nanoTime() {
+            return now
+        }
+
+        void advance(long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis)
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidWindowSize() {
+        new DefaultCircuitBreaker(0)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testMinimumCallsCannotExceedWindowSize() {
+        new DefaultCircuitBreaker(5).minimumCalls = 6
+    }
+
+    @Test
+    void testDefaults() {
+        def breaker = new DefaultCircuitBreaker()
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+        assertEquals breaker.windowSize, DefaultCircuitBreaker.DEFAULT_WINDOW_SIZE
+        assertEquals breaker.minimumCalls, DefaultCircuitBreaker.DEFAULT_MINIMUM_CALLS
+        assertEquals breaker.openDurationMillis, DefaultCircuitBreaker.DEFAULT_OPEN_DURATION_MILLIS
+        assertEquals breaker.slowCallDurationMillis, DefaultCircuitBreaker.DEFAULT_SLOW_CALL_DURATION_MILLIS
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        def breaker = new TestCircuitBreaker(10)
+        breaker.minimumCalls = 5
+
+        4.times {
+            assertTrue breaker.tryAcquire()
+            breaker.onFailure(FAST)
+        }
+
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+    }
+
+    @Test
+    void testOpensAtFailureRateThreshold() {
+        def breaker = new TestCircuitBreaker(10)
+        breaker.minimumCalls = 4
+        breaker.failureRateThreshold = 0.5
+
+        breaker.onSuccess(FAST)
+        breaker.onSuccess(FAST)
+        breaker.onFailure(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+
+        breaker.onFailure(FAST) //2 out of 4
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+        assertFalse breaker.tryAcquire()
+    }
+
+    @Test
+    void testOpensAtSlowCallRateThreshold() {
+        def breaker = new TestCircuitBreaker(4)
+        breaker.minimumCalls = 4
+        breaker.slowCallRateThreshold = 0.75
+
+        breaker.onSuccess(SLOW)
+        breaker.onSuccess(SLOW)
+        breaker.onSuccess(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+
+        breaker.onSuccess(SLOW) //3 out of 4
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        def breaker = new TestCircuitBreaker(4)
+        breaker.minimumCalls = 4
+
+        breaker.onFailure(FAST)
+        3.times { breaker.onSuccess(FAST) }
+        //the failure is evicted by the following successes, so the rate never reaches 50%:
+        10.times {
+            breaker.onSuccess(FAST)
+            breaker.onSuccess(FAST)
+            breaker.onFailure(FAST)
+            breaker.onSuccess(FAST)
+        }
+
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+    }
+
+    @Test
+    void testHalfOpenProbesCloseTheCircuit() {
+        def breaker = new TestCircuitBreaker(2)
+        breaker.minimumCalls = 2
+        breaker.halfOpenCalls = 2
+        breaker.setOpenDuration(1, TimeUnit.SECONDS)
+
+        breaker.onFailure(FAST)
+        breaker.onFailure(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+
+        breaker.advance(999)
+        assertFalse breaker.tryAcquire()
+
+        breaker.advance(1)
+        assertTrue breaker.tryAcquire()
+        assertEquals breaker.state, DefaultCircuitBreaker.State.HALF_OPEN
+        assertTrue breaker.tryAcquire()
+        assertFalse breaker.tryAcquire() //only 2 probes are allowed in flight
+
+        breaker.onSuccess(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.HALF_OPEN
+        breaker.onSuccess(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+
+        //the window starts over after closing:
+        breaker.onFailure(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.CLOSED
+    }
+
+    @Test
+    void testFailedOrSlowProbeReopensTheCircuit() {
+        def breaker = new TestCircuitBreaker(1)
+        breaker.setOpenDuration(1, TimeUnit.SECONDS)
+
+        breaker.onFailure(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+
+        breaker.advance(1000)
+        assertTrue breaker.tryAcquire()
+        breaker.onFailure(FAST)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+        assertFalse breaker.tryAcquire()
+
+        breaker.advance(1000)
+        assertTrue breaker.tryAcquire()
+        breaker.onSuccess(SLOW)
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+    }
+
+    @Test
+    void testOutcomesRecordedWhileOpenAreIgnored() {
+        def breaker = new TestCircuitBreaker(1)
+        breaker.setOpenDuration(1, TimeUnit.SECONDS)
+
+        breaker.onFailure(FAST)
+        breaker.onSuccess(FAST) //was in flight when the circuit opened
+        assertEquals breaker.state, DefaultCircuitBreaker.State.OPEN
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class HedgingPolicyTest {
+
+    static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidPercentile() {
+        new HedgingPolicy(1.0d, 0.1d)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidBudgetRatio() {
+        new HedgingPolicy(0.95d, 0d)
+    }
+
+    @Test
+    void testInitialDelayIsUsedUntilEnoughSamples() {
+        def policy = new HedgingPolicy()
+        policy.setInitialDelay(200, TimeUnit.MILLISECONDS)
+        assertEquals policy.delayMillis, 200L
+
+        31.times { policy.recordLatency(millis(20)) }
+        assertEquals policy.delayMillis, 200L
+
+        policy.recordLatency(millis(20))
+        assertEquals policy.delayMillis, 20L
+    }
+
+    @Test
+    void testDelayTracksPercentile() {
+        def policy = new HedgingPolicy()
+
+        //less than 5% slow responses don't affect the 95th percentile:
+        250.times { policy.recordLatency(millis(30)) }
+        6.times { policy.recordLatency(millis(900)) }
+        assertEquals policy.delayMillis, 30L
+
+        //but once the server slows down for everyone, so does hedging:
+        256.times { policy.recordLatency(millis(900)) }
+        assertEquals policy.delayMillis, 900L
+    }
+
+    @Test
+    void testMinimumDelay() {
+        def policy = new HedgingPolicy()
+        64.times { policy.recordLatency(millis(1)) }
+        assertEquals policy.delayMillis, HedgingPolicy.DEFAULT_MIN_DELAY_MILLIS
+
+        policy.setMinDelay(0, TimeUnit.MILLISECONDS)
+        assertEquals policy.delayMillis, 1L
+    }
+
+    @Test
+    void testBudget() {
+        def policy = new HedgingPolicy(0.95d, 0.1d)
+        assertFalse policy.tryAcquireHedge()
+
+        9.times { policy.onRequest() }
+        assertFalse policy.tryAcquireHedge()
+
+        policy.onRequest()
+        assertTrue policy.tryAcquireHedge()
+        assertFalse policy.tryAcquireHedge()
+        assertEquals policy.hedgeCount, 1L
+    }
+
+    @Test
+    void testBudgetBurstIsCapped() {
+        def policy = new HedgingPolicy(0.95d, 1d)
+        1000.times { policy.onRequest() }
+
+        int hedges = 0
+        while (policy.tryAcquireHedge()) {
+            hedges++
+        }
+        assertEquals hedges, 10
+        assertEquals policy.hedgeCount, 10L
+    }
+}
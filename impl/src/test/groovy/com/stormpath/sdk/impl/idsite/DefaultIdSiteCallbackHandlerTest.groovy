@@ -204,7 +204,6 @@ class DefaultIdSiteCallbackHandlerTest {
 
         expect(request.getMethod()).andReturn(HttpMethod.GET)
         expect(request.getParameter(JWT_RESPONSE)).andReturn(jwtResponse)
-        expect(dataStore.getCacheResolver()).andReturn(cacheResolver)
 
         replay dataStore, application, request, cacheResolver
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.idsite
+
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import com.stormpath.sdk.impl.cache.DisabledCacheManager
+import com.stormpath.sdk.cache.CacheManager
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.createMock
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class TimeBucketedNonceStoreTest {
+
+    static class TestStore extends TimeBucketedNonceStore {
+
+        long now = 1000000
+
+        TestStore(long ttl, int buckets, int maxSize) {
+            super(ttl, buckets, maxSize)
+        }
+
+        TestStore(long ttl, int buckets, int maxSize, TimeBucketedNonceStore.OverflowPolicy policy) {
+            super(ttl, buckets, maxSize, policy)
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidBucketCount() {
+        new TimeBucketedNonceStore(1000, 1, 10)
+    }
+
+    @Test
+    void testPutAndHas() {
+        def store = new TimeBucketedNonceStore()
+        assertFalse store.hasNonce('a')
+        store.putNonce('a')
+        store.putNonce('a')
+        assertTrue store.hasNonce('a')
+        assertFalse store.hasNonce('b')
+        assertEquals store.size(), 1
+    }
+
+    @Test
+    void testNoncesAreRememberedForAtLeastTheTimeToLive() {
+        def store = new TestStore(800, 5, 1000) //200 millis per bucket
+
+        //added at the very end of a bucket window:
+        store.now = 1000199
+        store.putNonce('late')
+        store.now = 1000199 + 800
+        assertTrue store.hasNonce('late')
+
+        //added at the very start of a bucket window:
+        store.now = 1000200
+        store.putNonce('early')
+        store.now = 1000200 + 800
+        assertTrue store.hasNonce('early')
+
+        //once every bucket has rotated, everything is forgotten:
+        store.now += 1000
+        assertFalse store.hasNonce('early')
+        assertFalse store.hasNonce('late')
+        assertEquals store.size(), 0
+    }
+
+    @Test
+    void testExpiredBucketIsRecycled() {
+        def store = new TestStore(300, 4, 1000) //100 millis per bucket
+
+        (0..<100).each { store.putNonce("old-${it}".toString()) }
+        store.now += 400 //same ring slot, next cycle
+        store.putNonce('new')
+
+        assertTrue store.hasNonce('new')
+        assertFalse store.hasNonce('old-0')
+        assertEquals store.size(), 1
+    }
+
+    @Test
+    void testManyNonces() {
+        def store = new TestStore(1000, 8, 100000)
+        (0..<20000).each { store.putNonce("nonce-${it}".toString()) }
+        (0..<20000).each { assertTrue store.hasNonce("nonce-${it}".toString()) }
+        assertFalse store.hasNonce('nonce-20000')
+        assertEquals store.size(), 20000
+    }
+
+    @Test
+    void testMaxSize() {
+        def store = new TestStore(1000, 4, 3)
+        store.putNonce('a')
+        store.putNonce('b')
+        store.putNonce('c')
+        store.putNonce('c') //already present, not a new entry
+        try {
+            store.putNonce('d')
+            fail()
+        } catch (IllegalStateException expected) {
+        }
+        assertFalse store.hasNonce('d')
+    }
+
+    @Test
+    void testMaxSizeForgetOldest() {
+        def store = new TestStore(300, 4, 3, TimeBucketedNonceStore.OverflowPolicy.FORGET_OLDEST) //100 millis per bucket
+        store.putNonce('a')
+        store.now += 100
+        store.putNonce('b')
+        store.putNonce('c')
+
+        store.putNonce('d') //full: the oldest window ('a') is forgotten early
+
+        assertFalse store.hasNonce('a')
+        assertTrue store.hasNonce('b')
+        assertTrue store.hasNonce('c')
+        assertTrue store.hasNonce('d')
+        assertEquals store.size(), 3
+
+        //nonces of the current window are never forgotten:
+        try {
+            store.putNonce('e')
+            fail()
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    void testRecycledBucketReleasesNonces() {
+        def store = new TestStore(300, 4, 100000) //100 millis per bucket
+
+        (0..<1000).each { store.putNonce("burst-${it}".toString()) }
+        assertEquals store.getCurrentBucketCapacity(), 2048
+
+        store.now += 400 //same ring slot, next cycle: sized for the burst, but emptied
+        store.putNonce('quiet')
+        assertEquals store.getCurrentBucketCapacity(), 2048
+        assertEquals store.size(), 1
+
+        store.now += 400 //the burst has passed: the table shrinks back
+        store.putNonce('quiet')
+        assertEquals store.getCurrentBucketCapacity(), 16
+        assertEquals store.size(), 1
+    }
+
+    @Test
+    void testIsPreferredOver() {
+        assertTrue TimeBucketedNonceStore.isPreferredOver(new DisabledCacheManager())
+        assertTrue TimeBucketedNonceStore.isPreferredOver(new DefaultCacheManager())
+        assertFalse TimeBucketedNonceStore.isPreferredOver(createMock(CacheManager))
+    }
+}
@@ -1,11 +1,13 @@
 package com.stormpath.sdk.impl.jwt
 
 import com.stormpath.sdk.error.jwt.InvalidJwtException
+import com.stormpath.sdk.impl.util.Base64
 import org.powermock.core.classloader.annotations.PrepareForTest
 import org.testng.annotations.Test
 
 import static org.powermock.api.easymock.PowerMock.createPartialMock
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertSame
 import static org.testng.Assert.fail
 
 /**
@@ -51,4 +53,87 @@ class JwtWrapperTest {
             assertEquals e.getMessage(), InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR
         }
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testParsesSegmentsOnceAndMemoizes() {
+        def jwt = createJwt('{"alg":"HS256","typ":"JWT"}', '{"sub":"jsmith","exp":1300819380,"name":"J\u00f6rg"}')
+        def jwtWrapper = new JwtWrapper(jwt)
+
+        def header = jwtWrapper.getJsonHeaderAsMap()
+        assertEquals header.alg, 'HS256'
+        assertEquals header.typ, 'JWT'
+        assertSame jwtWrapper.getJsonHeaderAsMap(), header
+
+        def payload = jwtWrapper.getJsonPayloadAsMap()
+        assertEquals payload.sub, 'jsmith'
+        assertEquals payload.exp, 1300819380
+        assertEquals payload.name, 'J\u00f6rg'
+        assertSame jwtWrapper.getJsonPayloadAsMap(), payload
+
+        assertEquals jwtWrapper.getBase64JwtSignature(), 'c2lnbmF0dXJl'
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testInvalidSegmentCount() {
+        for (def jwt : ['abc', 'abc.def', 'abc.def.ghi.jkl', '.def.ghi', 'abc..ghi', 'abc.def.', 'abc.def.ghi.']) {
+            try {
+                new JwtWrapper(jwt)
+                fail "shouldn't be here: $jwt"
+            } catch (InvalidJwtException e) {
+                assertEquals e.getMessage(), InvalidJwtException.JWT_INVALID_VALUE_ERROR
+            }
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testInvalidSegmentEncoding() {
+        def payload = Base64.encodeBase64URLSafeString('{"sub":"jsmith"}'.getBytes('UTF-8'))
+
+        def jwtWrapper = new JwtWrapper('e30*.' + payload + '.sig')
+        try {
+            jwtWrapper.getJsonHeaderAsMap()
+            fail "shouldn't be here"
+        } catch (InvalidJwtException e) {
+            assertEquals e.getMessage(), InvalidJwtException.INVALID_JWT_HEADER_ENCODING_ERROR
+        }
+        assertEquals jwtWrapper.getJsonPayloadAsMap().sub, 'jsmith'
+
+        //a single trailing base64 character can never encode a whole byte:
+        jwtWrapper = new JwtWrapper('e30.e30AB.sig')
+        assertEquals jwtWrapper.getJsonHeaderAsMap(), [:]
+        try {
+            jwtWrapper.getJsonPayloadAsMap()
+            fail "shouldn't be here"
+        } catch (InvalidJwtException e) {
+            assertEquals e.getMessage(), InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR
+        }
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testDecodeBase64UrlMatchesDecodeBase64() {
+        def random = new Random(7)
+        for (int i = 0; i < 200; i++) {
+            byte[] bytes = new byte[i]
+            random.nextBytes(bytes)
+            assertEquals Base64.decodeBase64Url(Base64.encodeBase64URLSafeString(bytes)), bytes
+            assertEquals Base64.decodeBase64Url(Base64.encodeBase64String(bytes)), bytes
+        }
+    }
+
+    private static String createJwt(String header, String payload) {
+        return Base64.encodeBase64URLSafeString(header.getBytes('UTF-8')) + '.' +
+                Base64.encodeBase64URLSafeString(payload.getBytes('UTF-8')) + '.c2lnbmF0dXJl'
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.jwt.signer
+
+import org.testng.annotations.Test
+
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+import java.nio.charset.Charset
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static org.testng.Assert.assertEquals
+
+/**
+ * @since 1.2.0
+ */
+class HmacGeneratorTest {
+
+    private static final Charset UTF_8 = StandardCharsets.UTF_8
+
+    @Test
+    void testReusedMacMatchesNewMac() {
+
+        def generator = new HmacGenerator('HmacSHA256', UTF_8)
+        byte[] key1 = 'key-one'.getBytes(UTF_8)
+        byte[] key2 = 'key-two'.getBytes(UTF_8)
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals generator.computeHmac('message' + i, key1), hmac('HmacSHA256', 'message' + i, key1)
+            assertEquals generator.computeHmac('message' + i, key2), hmac('HmacSHA256', 'message' + i, key2)
+        }
+    }
+
+    @Test
+    void testModifyingKeyArrayIsDetected() {
+
+        def generator = new HmacGenerator('HmacSHA256', UTF_8)
+        byte[] key = 'mutable-key'.getBytes(UTF_8)
+
+        generator.computeHmac('message', key)
+        key[0] = (byte) 'M'
+
+        assertEquals generator.computeHmac('message', key), hmac('HmacSHA256', 'message', key)
+    }
+
+    @Test
+    void testGeneratorsOfDifferentAlgorithmsOnSameThread() {
+
+        def sha256 = new HmacGenerator('HmacSHA256', UTF_8)
+        def sha512 = new HmacGenerator('HmacSHA512', UTF_8)
+        byte[] key = 'key'.getBytes(UTF_8)
+
+        assertEquals sha256.computeHmac('message', key), hmac('HmacSHA256', 'message', key)
+        assertEquals sha512.computeHmac('message', key), hmac('HmacSHA512', 'message', key)
+        assertEquals sha256.computeHmac('message', key), hmac('HmacSHA256', 'message', key)
+    }
+
+    @Test
+    void testConcurrentUse() {
+
+        def generator = new HmacGenerator('HmacSHA256', UTF_8)
+        def executor = Executors.newFixedThreadPool(4)
+
+        try {
+            def futures = (0..<32).collect { int i ->
+                executor.submit(new Callable<Boolean>() {
+                    @Override
+                    Boolean call() throws Exception {
+                        byte[] key = ('key' + (i % 3)).getBytes(UTF_8)
+                        for (int j = 0; j < 100; j++) {
+                            if (!Arrays.equals(generator.computeHmac('msg' + j, key), HmacGeneratorTest.hmac('HmacSHA256', 'msg' + j, key))) {
+                                return false
+                            }
+                        }
+                        return true
+                    }
+                })
+            }
+            futures.each { assertEquals it.get(), Boolean.TRUE }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    static byte[] hmac(String algorithm, String msg, byte[] key) {
+        Mac mac = Mac.getInstance(algorithm)
+        mac.init(new SecretKeySpec(key, algorithm))
+        return mac.doFinal(msg.getBytes(UTF_8))
+    }
+}
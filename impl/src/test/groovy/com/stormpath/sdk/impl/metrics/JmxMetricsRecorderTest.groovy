@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.http.HttpMethod
+import org.testng.annotations.Test
+
+import java.lang.management.ManagementFactory
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class JmxMetricsRecorderTest {
+
+    @Test
+    void testDefaultName() {
+        def recorder = new JmxMetricsRecorder()
+        assertEquals recorder.name, JmxMetricsRecorder.DEFAULT_NAME
+        assertEquals recorder.objectName.toString(), 'com.stormpath.sdk:type=Metrics,name="default"'
+    }
+
+    @Test
+    void testCacheAccess() {
+        def recorder = new JmxMetricsRecorder()
+
+        recorder.recordCacheAccess(Account.name, true)
+        recorder.recordCacheAccess(Account.name, true)
+        recorder.recordCacheAccess(Account.name, false)
+        recorder.recordCacheAccess('com.stormpath.sdk.group.Group', false)
+
+        assertEquals recorder.cacheHitCount, 2
+        assertEquals recorder.cacheMissCount, 2
+        assertEquals recorder.cacheHitRatio, 0.5d
+        assertEquals recorder.cacheHitCountByRegion, [(Account.name): 2L]
+        assertEquals recorder.cacheMissCountByRegion, [(Account.name): 1L, 'com.stormpath.sdk.group.Group': 1L]
+    }
+
+    @Test
+    void testHttpRequests() {
+        def recorder = new JmxMetricsRecorder()
+
+        recorder.recordHttpRequest(HttpMethod.GET, 200, 2000000, 0, 0, 0, 1024)
+        recorder.recordHttpRequest(HttpMethod.POST, 201, 4000000, 2, 1, 512, -1)
+        recorder.recordHttpRequest(HttpMethod.GET, -1, 6000000, 4, 0, 0, -1)
+
+        assertEquals recorder.httpRequestCount, 3
+        assertEquals recorder.httpRequestFailureCount, 1
+        assertEquals recorder.httpRetryCount, 6
+        assertEquals recorder.httpThrottledCount, 1
+        assertEquals recorder.bytesSent, 512
+        assertEquals recorder.bytesReceived, 1024
+        assertEquals recorder.httpRequestMeanMillis, 4d
+        assertEquals recorder.httpRequestMaxMillis, 6d
+    }
+
+    @Test
+    void testDataStoreAndMarshalling() {
+        def recorder = new JmxMetricsRecorder()
+
+        recorder.recordDataStoreOperation('READ', Account, 1000000, true)
+        recorder.recordDataStoreOperation('CREATE', Account, 3000000, false)
+        recorder.recordSerialization(500000, 128)
+        recorder.recordDeserialization(250000)
+
+        assertEquals recorder.dataStoreOperationCount, 2
+        assertEquals recorder.dataStoreOperationFailureCount, 1
+        assertEquals recorder.dataStoreOperationMeanMillis, 2d
+        assertEquals recorder.serializationMeanMillis, 0.5d
+        assertEquals recorder.deserializationMeanMillis, 0.25d
+    }
+
+    @Test
+    void testReset() {
+        def recorder = new JmxMetricsRecorder()
+        recorder.recordCacheAccess(Account.name, true)
+        recorder.recordHttpRequest(HttpMethod.GET, 200, 1000, 1, 1, 0, 10)
+
+        recorder.reset()
+
+        assertEquals recorder.cacheHitCount, 0
+        assertTrue recorder.cacheHitCountByRegion.isEmpty()
+        assertEquals recorder.httpRequestCount, 0
+        assertEquals recorder.httpRetryCount, 0
+        assertEquals recorder.bytesReceived, 0
+    }
+
+    @Test
+    void testRegisterAndUnregister() {
+        def recorder = new JmxMetricsRecorder('JmxMetricsRecorderTest')
+        def server = ManagementFactory.getPlatformMBeanServer()
+
+        recorder.register()
+        try {
+            recorder.recordCacheAccess(Account.name, true)
+            assertTrue server.isRegistered(recorder.objectName)
+            assertEquals server.getAttribute(recorder.objectName, 'CacheHitCount'), 1L
+
+            try {
+                new JmxMetricsRecorder('JmxMetricsRecorderTest').register()
+                fail()
+            } catch (IllegalStateException expected) {
+            }
+        } finally {
+            recorder.unregister()
+        }
+
+        assertFalse server.isRegistered(recorder.objectName)
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testEmpty() {
+        def h = new LatencyHistogram()
+        assertEquals h.count, 0
+        assertEquals h.meanNanos, 0
+        assertEquals h.maxNanos, 0
+        assertEquals h.getPercentileNanos(0.99), 0
+    }
+
+    @Test
+    void testCountMeanAndMax() {
+        def h = new LatencyHistogram()
+        h.record(TimeUnit.MILLISECONDS.toNanos(1))
+        h.record(TimeUnit.MILLISECONDS.toNanos(3))
+        h.record(-5) //clock anomalies are recorded as zero
+
+        assertEquals h.count, 3
+        assertEquals h.totalNanos, TimeUnit.MILLISECONDS.toNanos(4)
+        assertEquals h.meanNanos, TimeUnit.MILLISECONDS.toNanos(4).intdiv(3)
+        assertEquals h.maxNanos, TimeUnit.MILLISECONDS.toNanos(3)
+    }
+
+    @Test
+    void testPercentilesAreWithinAFactorOfTwo() {
+        def h = new LatencyHistogram()
+        for (int i = 1; i <= 100; i++) {
+            h.record(TimeUnit.MILLISECONDS.toNanos(i))
+        }
+
+        long p50 = h.getPercentileNanos(0.5)
+        assertTrue p50 >= TimeUnit.MILLISECONDS.toNanos(50)
+        assertTrue p50 <= TimeUnit.MILLISECONDS.toNanos(100)
+
+        //never reported above the largest recorded value:
+        assertEquals h.getPercentileNanos(0.99), TimeUnit.MILLISECONDS.toNanos(100)
+        assertEquals h.getPercentileNanos(1), TimeUnit.MILLISECONDS.toNanos(100)
+    }
+
+    @Test
+    void testVeryLargeValuesAreClampedToTheLastBucket() {
+        def h = new LatencyHistogram()
+        h.record(TimeUnit.DAYS.toNanos(10))
+        assertEquals h.count, 1
+        assertEquals h.getPercentileNanos(0.5), TimeUnit.DAYS.toNanos(10)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidQuantile() {
+        new LatencyHistogram().getPercentileNanos(1.5)
+    }
+
+    @Test
+    void testReset() {
+        def h = new LatencyHistogram()
+        h.record(1000)
+        h.reset()
+        assertEquals h.count, 0
+        assertEquals h.maxNanos, 0
+        assertEquals h.getPercentileNanos(0.5), 0
+    }
+}
@@ -19,11 +19,14 @@ import com.fasterxml.jackson.databind.util.ISO8601DateFormat
 import com.stormpath.sdk.impl.ds.InternalDataStore
 import org.testng.annotations.Test
 
+import java.lang.reflect.Field
 import java.text.DateFormat
 
 import static org.easymock.EasyMock.createStrictMock
 import static org.easymock.EasyMock.replay
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNotSame
+import static org.testng.Assert.assertNull
 
 /**
  * @since 1.0.RC4.6
@@ -48,4 +51,65 @@ class AuditableResourceTest {
         assertEquals dateFormatter.parse(properties.createdAt), resource.getCreatedAt()
         assertEquals dateFormatter.parse(properties.modifiedAt), resource.getModifiedAt()
     }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testParsedDatesAreMemoizedButNotShared() {
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        AuditableTestResource resource = new AuditableTestResource(ds, ['href': 'http://test.com/values/123',
+                                                                        'createdAt': '2014-04-18T21:32:19.651Z'])
+
+        Date createdAt = resource.getCreatedAt()
+        assertEquals createdAt.getTime(), 1397856739651L
+
+        //callers must not be able to change the memoized value:
+        createdAt.setTime(0)
+        def again = resource.getCreatedAt()
+        assertNotSame again, createdAt
+        assertEquals again.getTime(), 1397856739651L
+    }
+
+    /**
+     * @since 1.2.0
+     */
+    @Test
+    void testMemoizedDateIsDroppedWhenPropertyChanges() {
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        def properties = ['href': 'http://test.com/values/123', 'modifiedAt': '2014-06-19T20:48:48.000Z']
+        AuditableTestResource resource = new AuditableTestResource(ds, properties)
+
+        assertEquals resource.getModifiedAt().getTime(), 1403210928000L
+
+        resource.setProperty('modifiedAt', '2020-01-01T00:00:00Z')
+        assertEquals resource.getModifiedAt().getTime(), 1577836800000L
+
+        //a locally set Date is returned as is (as a copy):
+        resource.setModifiedAt(new Date(5000))
+        assertEquals resource.getModifiedAt().getTime(), 5000L
+
+        resource.setProperties(['href': properties.href, 'modifiedAt': '2021-01-01T00:00:00Z'])
+        assertEquals resource.getModifiedAt().getTime(), 1609459200000L
+
+        //even when the backing map is changed directly:
+        Map backingMap = getValue(AbstractResource, resource, "properties")
+        backingMap.put('modifiedAt', '2022-01-01T00:00:00Z')
+        assertEquals resource.getModifiedAt().getTime(), 1640995200000L
+
+        backingMap.put('modifiedAt', 'not a date')
+        assertNull resource.getModifiedAt()
+    }
+
+    private Object getValue(Class clazz, Object object, String fieldName){
+        Field field = clazz.getDeclaredField(fieldName)
+        field.setAccessible(true)
+        return field.get(object)
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class BytesInputStreamTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullBytes() {
+        new BytesInputStream(null)
+    }
+
+    @Test
+    void testBytesAreExposedWithoutCopying() {
+        byte[] bytes = 'héllo'.getBytes('UTF-8')
+        def is = new BytesInputStream(bytes)
+
+        assertSame is.getBytes(), bytes
+        assertEquals is.getLength(), bytes.length
+        assertEquals is.toString(), 'héllo'
+
+        //reading does not affect the exposed body:
+        assertEquals is.read(), (int) ('h' as char)
+        assertSame is.getBytes(), bytes
+        assertEquals is.toString(), 'héllo'
+        assertTrue is.markSupported()
+    }
+}
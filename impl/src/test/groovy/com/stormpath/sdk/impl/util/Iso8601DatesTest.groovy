@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util
+
+import com.fasterxml.jackson.databind.util.ISO8601DateFormat
+import com.fasterxml.jackson.databind.util.ISO8601Utils
+import org.testng.annotations.Test
+
+import java.text.ParseException
+import java.text.ParsePosition
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.2.0
+ */
+class Iso8601DatesTest {
+
+    @Test
+    void testParse() {
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T00:00:00Z'), 0L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T17:45:33.123Z'), 1471023933123L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T17:45:33.1Z'), 1471023933100L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T17:45:33.12Z'), 1471023933120L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T17:45:33.123456789Z'), 1471023933123L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T19:45:33.123+02:00'), 1471023933123L
+        assertEquals Iso8601Dates.parseMillis('2016-08-12T12:15:33.123-0530'), 1471023933123L
+        assertEquals Iso8601Dates.parseMillis('2016-02-29T00:00:00Z'), 1456704000000L
+        assertEquals Iso8601Dates.parse('2014-04-18T21:32:19.651Z'), new ISO8601DateFormat().parse('2014-04-18T21:32:19.651Z')
+    }
+
+    @Test
+    void testOtherFormsAreParsedLikeJackson() {
+        for (String s : ['2016-08-12', '20160812T174533Z', '2016-08-12T17:45Z', '2016-08-12T17:45:60Z',
+                         '2016-08-12T17:45:33.123Ztrailing', '1500-01-01T00:00:00Z', '2016-08-12T17:45:33-00:00']) {
+            assertEquals Iso8601Dates.parseMillis(s), ISO8601Utils.parse(s, new ParsePosition(0)).getTime(), s
+        }
+    }
+
+    @Test
+    void testInvalid() {
+        for (String s : ['', 'foo', '2015-02-29T00:00:00Z', '2016-13-01T00:00:00Z', '2016-08-12T24:00:00Z',
+                         '2016-08-12T17:45:33.Z', '2016-08-12T17:45:33+05', '2016-08-12T17:45:33']) {
+            try {
+                Iso8601Dates.parseMillis(s)
+                fail "shouldn't be here: $s"
+            } catch (ParseException expected) {
+            }
+        }
+    }
+
+    @Test
+    void testMatchesJacksonForRandomInstants() {
+
+        def random = new Random(42)
+        def zones = ['Z', '+00:00', '+0530', '-08:00', '-0330', '+14:00']
+        def fractions = ['', '.5', '.25', '.123', '.123456']
+
+        for (int i = 0; i < 10000; i++) {
+            //anything from year 1600 to 9999:
+            long time = -11676096000000L + (long) (random.nextDouble() * 265078396800000L)
+            def calendar = new GregorianCalendar(TimeZone.getTimeZone('UTC'))
+            calendar.setTimeInMillis(time)
+            String s = String.format('%04d-%02d-%02dT%02d:%02d:%02d', calendar.get(Calendar.YEAR),
+                    calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH),
+                    calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND)) +
+                    fractions[random.nextInt(fractions.size())] + zones[random.nextInt(zones.size())]
+
+            assertEquals Iso8601Dates.parseMillis(s), ISO8601Utils.parse(s, new ParsePosition(0)).getTime(), s
+        }
+    }
+}